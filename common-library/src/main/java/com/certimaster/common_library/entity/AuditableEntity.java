@@ -0,0 +1,119 @@
+package com.certimaster.common_library.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Base class providing audit fields, leaving the primary key to subclasses.
+ * Extend {@link BaseEntity} for IDENTITY keys. Entities with high-volume inserts
+ * extend this class directly and declare a pooled sequence key so Hibernate can
+ * batch their inserts:
+ * <pre>
+ * &#64;Id
+ * &#64;GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "my_table_seq")
+ * &#64;SequenceGenerator(name = "my_table_seq", sequenceName = "my_table_seq",
+ *         allocationSize = AuditableEntity.POOLED_SEQUENCE_ALLOCATION_SIZE)
+ * &#64;Column(name = "id", nullable = false, updatable = false)
+ * private Long id;
+ * </pre>
+ * The database sequence must use {@code INCREMENT BY} the same allocation size.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@MappedSuperclass
+@EntityListeners(AuditingEntityListener.class)
+public abstract class AuditableEntity implements Serializable {
+
+    /**
+     * IDs reserved per sequence call; must match the sequences' INCREMENT BY.
+     */
+    public static final int POOLED_SEQUENCE_ALLOCATION_SIZE = 50;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @CreatedBy
+    @Column(name = "created_by", length = 50, updatable = false)
+    private String createdBy;
+
+    @LastModifiedBy
+    @Column(name = "updated_by", length = 50)
+    private String updatedBy;
+
+    /**
+     * Primary key of the entity.
+     */
+    public abstract Long getId();
+
+    /**
+     * Check if entity is new (not persisted yet)
+     */
+    @Transient
+    public boolean isNew() {
+        return getId() == null;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuditableEntity that = (AuditableEntity) o;
+        return getId() != null && getId().equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "id=" + getId() +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
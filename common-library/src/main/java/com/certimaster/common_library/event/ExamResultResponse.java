@@ -16,7 +16,7 @@ import java.util.List;
  * Sent from result-service back to exam-service via Kafka reply pattern.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExamResultResponse implements Serializable {
@@ -79,6 +79,12 @@ public class ExamResultResponse implements Serializable {
      */
     private BigDecimal percentage;
 
+    /**
+     * Percentage of earlier attempts of the same exam that scored strictly lower (0-100).
+     * Null when no earlier attempt has been recorded.
+     */
+    private BigDecimal percentileRank;
+
     /**
      * Pass/fail status (PASSED or FAILED).
      */
@@ -106,6 +112,7 @@ public class ExamResultResponse implements Serializable {
 
     /**
      * Per-question results with explanations.
+     * Null in Kafka replies; served page by page by result-service instead.
      */
     private List<QuestionResultData> questionResults;
 
@@ -119,6 +126,13 @@ public class ExamResultResponse implements Serializable {
      */
     private String errorMessage;
 
+    /**
+     * Copy carrying the headline scores and topic breakdown only, as sent in Kafka replies.
+     */
+    public ExamResultResponse withoutQuestionResults() {
+        return toBuilder().questionResults(null).build();
+    }
+
     /**
      * Topic performance data.
      */
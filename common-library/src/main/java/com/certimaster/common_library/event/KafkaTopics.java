@@ -20,4 +20,10 @@ public final class KafkaTopics {
      * Sent from result-service back to exam-service with calculated results.
      */
     public static final String EXAM_RESULT_REPLY = "exam-result-reply";
+
+    /**
+     * Dead-letter topic for exam completed events.
+     * Receives events result-service could not process after its retry tiers, and undeserializable records.
+     */
+    public static final String EXAM_COMPLETED_DLT = "exam-completed-dlt";
 }
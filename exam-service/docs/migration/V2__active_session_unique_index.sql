@@ -0,0 +1,43 @@
+-- ============================================================================
+-- Exam Service Migration: Idempotent Active Sessions
+-- ============================================================================
+-- Description: Enforces at most one IN_PROGRESS session per (user, exam) so that
+--              startExam can use INSERT ... ON CONFLICT DO NOTHING RETURNING
+--              instead of a pre-check query that races on double submits.
+-- Version: 2.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: RESOLVE EXISTING DUPLICATES
+-- ============================================================================
+-- Keep the most recent active session per (user, exam) and abandon the rest,
+-- otherwise the unique index below cannot be built.
+UPDATE user_exam_sessions s
+SET status = 'ABANDONED',
+    updated_at = CURRENT_TIMESTAMP
+WHERE s.status = 'IN_PROGRESS'
+  AND EXISTS (
+        SELECT 1
+        FROM user_exam_sessions newer
+        WHERE newer.user_id = s.user_id
+          AND newer.exam_id = s.exam_id
+          AND newer.status = 'IN_PROGRESS'
+          AND newer.id > s.id
+  );
+
+-- ============================================================================
+-- SECTION 2: PARTIAL UNIQUE INDEX
+-- ============================================================================
+-- Conflict target for insertActiveSessionIfAbsent; also serves the active
+-- session lookup by (user_id, exam_id).
+CREATE UNIQUE INDEX uq_user_exam_sessions_active
+    ON user_exam_sessions(user_id, exam_id)
+    WHERE status = 'IN_PROGRESS';
+
+-- Superseded by uq_user_exam_sessions_active for the active session check
+DROP INDEX IF EXISTS idx_user_exam_sessions_user_exam_status;
+
+COMMIT;
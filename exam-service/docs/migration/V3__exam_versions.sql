@@ -0,0 +1,78 @@
+-- ============================================================================
+-- Exam Service Migration: Immutable Exam Versions
+-- ============================================================================
+-- Description: Freezes published exams into exam_versions so sessions reference
+--              an immutable paper (question ids, answer keys, topic ids).
+--              Completion reads one version row instead of walking
+--              exams -> exam_questions -> questions -> topics.
+-- Version: 3.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: CREATE TABLES
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- Table: exam_versions
+-- Description: Append-only snapshots of an exam's paper. Rows are never updated.
+-- ----------------------------------------------------------------------------
+CREATE TABLE exam_versions (
+    id BIGSERIAL PRIMARY KEY,
+    exam_id BIGINT NOT NULL,
+    version_number INTEGER NOT NULL,
+    certification_id BIGINT,
+    title VARCHAR(500),
+    duration_minutes INTEGER,
+    passing_score INTEGER,
+    total_questions INTEGER NOT NULL,
+    checksum VARCHAR(64) NOT NULL,
+    paper JSONB NOT NULL,
+    published_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+
+    CONSTRAINT fk_exam_version_exam FOREIGN KEY (exam_id)
+        REFERENCES exams(id) ON DELETE CASCADE,
+    CONSTRAINT chk_exam_version_questions CHECK (total_questions >= 0)
+);
+
+COMMENT ON TABLE exam_versions IS 'Immutable published snapshots of exam papers referenced by sessions';
+COMMENT ON COLUMN exam_versions.version_number IS 'Sequential version number per exam';
+COMMENT ON COLUMN exam_versions.checksum IS 'SHA-256 of exam header and serialized paper; identifies identical papers';
+COMMENT ON COLUMN exam_versions.paper IS 'Compact paper: {"q":[{"id":questionId,"t":topicId,"k":[correctOptionIds]}],"t":{topicId:topicName}}';
+
+-- ============================================================================
+-- SECTION 2: LINK SESSIONS TO VERSIONS
+-- ============================================================================
+ALTER TABLE user_exam_sessions
+    ADD COLUMN exam_version_id BIGINT;
+
+ALTER TABLE user_exam_sessions
+    ADD CONSTRAINT fk_session_exam_version FOREIGN KEY (exam_version_id)
+        REFERENCES exam_versions(id) ON DELETE SET NULL;
+
+COMMENT ON COLUMN user_exam_sessions.exam_version_id IS 'Frozen exam version the session is graded against (null for legacy sessions)';
+
+-- ============================================================================
+-- SECTION 3: CREATE PERFORMANCE INDEXES
+-- ============================================================================
+
+-- Conflict target for freezing and lookup of an exam's current paper
+CREATE UNIQUE INDEX uq_exam_versions_exam_checksum
+    ON exam_versions(exam_id, checksum);
+
+-- Index for listing versions of an exam
+CREATE INDEX idx_exam_versions_exam_version
+    ON exam_versions(exam_id, version_number DESC);
+
+-- Index for finding sessions by version
+CREATE INDEX idx_user_exam_sessions_exam_version
+    ON user_exam_sessions(exam_version_id)
+    WHERE exam_version_id IS NOT NULL;
+
+COMMIT;
@@ -0,0 +1,119 @@
+-- ============================================================================
+-- Exam Service Migration: Incremental Exam and Certification Statistics
+-- ============================================================================
+-- Description: Running totals per exam and per certification, updated with
+--              single-row deltas as sessions start and complete, so the
+--              stats endpoints read one row instead of aggregating sessions.
+-- Version: 4.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: CREATE TABLES
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- Table: exam_stats
+-- Description: Attempt, completion and score totals per exam
+-- ----------------------------------------------------------------------------
+CREATE TABLE exam_stats (
+    id BIGSERIAL PRIMARY KEY,
+    exam_id BIGINT NOT NULL,
+    certification_id BIGINT,
+    total_attempts BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    passed_count BIGINT NOT NULL DEFAULT 0,
+    score_sum NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+
+    CONSTRAINT uq_exam_stats_exam UNIQUE (exam_id),
+    CONSTRAINT fk_exam_stats_exam FOREIGN KEY (exam_id)
+        REFERENCES exams(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE exam_stats IS 'Running totals per exam maintained by delta upserts';
+COMMENT ON COLUMN exam_stats.score_sum IS 'Sum of score percentages of completed sessions';
+
+-- ----------------------------------------------------------------------------
+-- Table: certification_stats
+-- Description: Enrollment, completion and score totals per certification
+-- ----------------------------------------------------------------------------
+CREATE TABLE certification_stats (
+    id BIGSERIAL PRIMARY KEY,
+    certification_id BIGINT NOT NULL,
+    total_enrollments BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    passed_count BIGINT NOT NULL DEFAULT 0,
+    score_sum NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+
+    CONSTRAINT uq_certification_stats_certification UNIQUE (certification_id),
+    CONSTRAINT fk_certification_stats_certification FOREIGN KEY (certification_id)
+        REFERENCES certifications(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE certification_stats IS 'Running totals per certification maintained by delta upserts';
+COMMENT ON COLUMN certification_stats.total_enrollments IS 'Distinct users who started any exam of the certification';
+
+-- ----------------------------------------------------------------------------
+-- Table: certification_enrollments
+-- Description: First session of a user in a certification; makes the
+--              enrollment counter distinct without a COUNT(DISTINCT) scan
+-- ----------------------------------------------------------------------------
+CREATE TABLE certification_enrollments (
+    user_id BIGINT NOT NULL,
+    certification_id BIGINT NOT NULL,
+    enrolled_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (user_id, certification_id)
+);
+
+-- ============================================================================
+-- SECTION 2: BACKFILL FROM EXISTING SESSIONS
+-- ============================================================================
+INSERT INTO certification_enrollments (user_id, certification_id, enrolled_at)
+SELECT user_id, certification_id, MIN(start_time)
+FROM user_exam_sessions
+WHERE certification_id IS NOT NULL
+GROUP BY user_id, certification_id;
+
+WITH scored AS (
+    SELECT s.exam_id,
+           s.certification_id,
+           s.status,
+           CASE WHEN s.total_questions > 0
+                THEN ROUND(s.correct_count * 100.0 / s.total_questions, 2)
+                ELSE 0 END AS percentage,
+           e.passing_score
+    FROM user_exam_sessions s
+    JOIN exams e ON e.id = s.exam_id
+)
+INSERT INTO exam_stats (exam_id, certification_id, total_attempts, completed_count, passed_count, score_sum)
+SELECT exam_id,
+       MAX(certification_id),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+       COUNT(*) FILTER (WHERE status = 'COMPLETED' AND percentage >= COALESCE(passing_score, 0)),
+       COALESCE(SUM(percentage) FILTER (WHERE status = 'COMPLETED'), 0)
+FROM scored
+GROUP BY exam_id;
+
+INSERT INTO certification_stats (certification_id, total_enrollments, completed_count, passed_count, score_sum)
+SELECT es.certification_id,
+       (SELECT COUNT(*) FROM certification_enrollments ce WHERE ce.certification_id = es.certification_id),
+       SUM(es.completed_count),
+       SUM(es.passed_count),
+       SUM(es.score_sum)
+FROM exam_stats es
+WHERE es.certification_id IS NOT NULL
+GROUP BY es.certification_id;
+
+COMMIT;
@@ -0,0 +1,19 @@
+-- ============================================================================
+-- Exam Service Migration: Session History Covering Index
+-- ============================================================================
+-- Description: Covering index for GET /api/v1/exam-sessions/history.
+--              Keyset pages seek on (user_id, start_time DESC, id DESC) and
+--              read the listed columns from the index (index-only scan), so
+--              page cost is independent of how many sessions a user has.
+-- Version: 5.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+CREATE INDEX idx_user_exam_sessions_history
+    ON user_exam_sessions(user_id, start_time DESC, id DESC)
+    INCLUDE (exam_id, certification_id, exam_title, status, mode, end_time,
+             total_questions, answered_count, correct_count, time_spent_seconds);
+
+COMMIT;
@@ -0,0 +1,45 @@
+-- ============================================================================
+-- Exam Service Migration: Pooled Sequences for High-Volume Tables
+-- ============================================================================
+-- Description: Per-table sequences with INCREMENT BY 50 for entities that use
+--              pooled sequence IDs (AuditableEntity.POOLED_SEQUENCE_ALLOCATION_SIZE).
+--              Hibernate reserves 50 IDs per nextval and can then batch INSERTs,
+--              which IDENTITY columns prevent.
+--              Each sequence starts past the current MAX(id), and the column
+--              default is switched to it so native/raw inserts stay disjoint
+--              from the ranges Hibernate hands out.
+-- Version: 6.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ----------------------------------------------------------------------------
+-- user_answers
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE user_answers_seq INCREMENT BY 50 OWNED BY user_answers.id;
+SELECT setval('user_answers_seq', COALESCE(MAX(id), 0) + 50, false) FROM user_answers;
+ALTER TABLE user_answers ALTER COLUMN id SET DEFAULT nextval('user_answers_seq');
+
+-- ----------------------------------------------------------------------------
+-- question_options
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE question_options_seq INCREMENT BY 50 OWNED BY question_options.id;
+SELECT setval('question_options_seq', COALESCE(MAX(id), 0) + 50, false) FROM question_options;
+ALTER TABLE question_options ALTER COLUMN id SET DEFAULT nextval('question_options_seq');
+
+-- ----------------------------------------------------------------------------
+-- exam_questions
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE exam_questions_seq INCREMENT BY 50 OWNED BY exam_questions.id;
+SELECT setval('exam_questions_seq', COALESCE(MAX(id), 0) + 50, false) FROM exam_questions;
+ALTER TABLE exam_questions ALTER COLUMN id SET DEFAULT nextval('exam_questions_seq');
+
+-- ----------------------------------------------------------------------------
+-- question_tags
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE question_tags_seq INCREMENT BY 50 OWNED BY question_tags.id;
+SELECT setval('question_tags_seq', COALESCE(MAX(id), 0) + 50, false) FROM question_tags;
+ALTER TABLE question_tags ALTER COLUMN id SET DEFAULT nextval('question_tags_seq');
+
+COMMIT;
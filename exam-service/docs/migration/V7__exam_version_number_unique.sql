@@ -0,0 +1,37 @@
+-- ============================================================================
+-- Exam Service Migration: Unique Version Numbers per Exam
+-- ============================================================================
+-- Description: version_number is assigned as MAX + 1 when a paper is frozen.
+--              Only (exam_id, checksum) was unique, so two concurrent starts
+--              freezing different papers could take the same number.
+--              Renumbers existing versions in creation order and makes
+--              (exam_id, version_number) unique; freezing now also locks the
+--              exam row (ExamVersionRepository.lockExamForVersioning).
+-- Version: 7.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: RENUMBER VERSIONS IN CREATION ORDER
+-- ============================================================================
+
+UPDATE exam_versions v
+SET version_number = r.rn
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY exam_id ORDER BY id) AS rn
+      FROM exam_versions) r
+WHERE v.id = r.id
+  AND v.version_number <> r.rn;
+
+-- ============================================================================
+-- SECTION 2: UNIQUE (exam_id, version_number)
+-- ============================================================================
+
+-- The unique index also serves version listing (scanned backwards)
+DROP INDEX IF EXISTS idx_exam_versions_exam_version;
+
+ALTER TABLE exam_versions
+    ADD CONSTRAINT uq_exam_versions_exam_version UNIQUE (exam_id, version_number);
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- ============================================================================
+-- Exam Service Migration: Session History Index without Per-Answer Columns
+-- ============================================================================
+-- Description: idx_user_exam_sessions_history (V5) included answered_count,
+--              correct_count and time_spent_seconds, which every answer
+--              submit updates. An update of an indexed column cannot be HOT,
+--              so each submit wrote a new index entry on the hottest write
+--              path, and the churn kept heap pages from staying all-visible,
+--              which the index-only scan relied on anyway. The index now only
+--              includes columns written at start and completion; a history
+--              page seeks in the index and reads the counters of its rows
+--              (at most page size + 1) from the heap.
+-- Version: 8.0
+-- Database: PostgreSQL 12+
+-- Note: Run outside a transaction block (CREATE/DROP INDEX CONCURRENTLY).
+-- ============================================================================
+
+-- Build the replacement first so history pages keep their seek
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_exam_sessions_history_v2
+    ON user_exam_sessions(user_id, start_time DESC, id DESC)
+    INCLUDE (exam_id, certification_id, exam_title, status, mode, end_time, total_questions);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_exam_sessions_history;
+
+ALTER INDEX idx_user_exam_sessions_history_v2 RENAME TO idx_user_exam_sessions_history;
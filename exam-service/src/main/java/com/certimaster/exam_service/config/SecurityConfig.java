@@ -33,6 +33,7 @@ public class SecurityConfig {
     private static final String[] PUBLIC_GET_ENDPOINTS = {
             "/api/v1/certifications",
             "/api/v1/certifications/{id}",
+            "/api/v1/catalog",
     };
 
     /**
@@ -0,0 +1,72 @@
+package com.certimaster.exam_service.controller;
+
+import com.certimaster.exam_service.service.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the catalog snapshot.
+ * Serves pre-serialized (and pre-gzipped) bytes from memory with a strong ETag,
+ * so repeat clients revalidate with If-None-Match and receive 304 Not Modified.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private static final String GZIP = "gzip";
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    /**
+     * Get certifications with their topics and published exams.
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getCatalog(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        CatalogSnapshotService.CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        boolean useGzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+        // Strong validators must differ per content-coding
+        String etag = useGzip ? gzipEtag(snapshot.getEtag()) : snapshot.getEtag();
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(snapshot.getEtag())
+                || ifNoneMatch.contains(gzipEtag(snapshot.getEtag())) || "*".equals(ifNoneMatch.trim()))) {
+            log.debug("Catalog not modified for etag {}", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (useGzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .contentLength(snapshot.getGzip().length)
+                    .body(snapshot.getGzip());
+        }
+        return builder.contentLength(snapshot.getJson().length)
+                .body(snapshot.getJson());
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+}
@@ -6,7 +6,9 @@ import com.certimaster.exam_service.dto.request.CertificationRequest;
 import com.certimaster.exam_service.dto.request.CertificationSearchRequest;
 import com.certimaster.exam_service.dto.response.CertificationDetailResponse;
 import com.certimaster.exam_service.dto.response.CertificationResponse;
+import com.certimaster.exam_service.dto.response.CertificationStatsResponse;
 import com.certimaster.exam_service.service.CertificationService;
+import com.certimaster.exam_service.service.ExamStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CertificationController {
 
     private final CertificationService certificationService;
+    private final ExamStatsService examStatsService;
 
     /**
      * Search certifications with filters and pagination.
@@ -77,6 +80,17 @@ public class CertificationController {
         return ResponseEntity.ok(ResponseDto.success(result));
     }
 
+    /**
+     * Get certification statistics.
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ResponseDto<CertificationStatsResponse>> getStats(@PathVariable Long id) {
+        log.debug("Get stats for certification id: {}", id);
+
+        CertificationStatsResponse result = examStatsService.getCertificationStats(id);
+        return ResponseEntity.ok(ResponseDto.success(result));
+    }
+
     /**
      * Create a new certification.
      */
@@ -6,7 +6,9 @@ import com.certimaster.exam_service.dto.request.ExamRequest;
 import com.certimaster.exam_service.dto.request.ExamSearchRequest;
 import com.certimaster.exam_service.dto.response.ExamDetailResponse;
 import com.certimaster.exam_service.dto.response.ExamResponse;
+import com.certimaster.exam_service.dto.response.ExamStatsResponse;
 import com.certimaster.exam_service.service.ExamService;
+import com.certimaster.exam_service.service.ExamStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +36,7 @@ import java.util.List;
 public class ExamController {
 
     private final ExamService examService;
+    private final ExamStatsService examStatsService;
 
     /**
      * Search exams with filters and pagination.
@@ -79,6 +82,17 @@ public class ExamController {
         return ResponseEntity.ok(ResponseDto.success(result));
     }
 
+    /**
+     * Get exam statistics.
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ResponseDto<ExamStatsResponse>> getStats(@PathVariable Long id) {
+        log.debug("Get stats for exam id: {}", id);
+
+        ExamStatsResponse result = examStatsService.getExamStats(id);
+        return ResponseEntity.ok(ResponseDto.success(result));
+    }
+
     /**
      * Get exams by certification ID.
      */
@@ -6,6 +6,7 @@ import com.certimaster.exam_service.dto.request.AnswerQuestionRequest;
 import com.certimaster.exam_service.dto.request.StartExamRequest;
 import com.certimaster.exam_service.dto.response.AnswerFeedbackResponse;
 import com.certimaster.exam_service.dto.response.ExamSessionResponse;
+import com.certimaster.exam_service.dto.response.SessionHistoryResponse;
 import com.certimaster.exam_service.dto.response.UserExamSessionResponse;
 import com.certimaster.exam_service.security.SecurityUtils;
 import com.certimaster.exam_service.service.ExamSessionService;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -71,6 +73,20 @@ public class ExamSessionController {
         return ResponseEntity.ok(ResponseDto.success("Active sessions retrieved successfully", result));
     }
 
+    /**
+     * Get the current user's session history, newest first, using keyset pagination.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<ResponseDto<SessionHistoryResponse>> getSessionHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Long userId = SecurityUtils.getCurrentUserId().orElseThrow();
+        log.debug("Get session history for user {} (cursor={}, size={})", userId, cursor, size);
+        SessionHistoryResponse result = examSessionService.getSessionHistory(userId, cursor, size);
+        return ResponseEntity.ok(ResponseDto.success("Session history retrieved successfully", result));
+    }
+
     /**
      * Submit an answer for a question.
      */
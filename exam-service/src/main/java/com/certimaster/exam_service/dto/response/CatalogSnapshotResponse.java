@@ -0,0 +1,92 @@
+package com.certimaster.exam_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for the read-optimized catalog snapshot.
+ * Lists active certifications with their topics and published exams,
+ * built in memory and served pre-serialized by the catalog endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshotResponse {
+
+    /**
+     * Active certifications ordered by name.
+     */
+    private List<CatalogCertification> certifications;
+
+    /**
+     * Catalog entry for a certification.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CatalogCertification {
+
+        private Long id;
+        private String name;
+        private String code;
+        private String provider;
+        private String level;
+        private Integer durationMinutes;
+        private BigDecimal passingScore;
+        private Integer totalQuestions;
+        private BigDecimal price;
+
+        /**
+         * Number of topics in this certification.
+         */
+        private Integer topicCount;
+
+        /**
+         * Number of published exams in this certification.
+         */
+        private Integer examCount;
+
+        private List<CatalogTopic> topics;
+        private List<CatalogExam> exams;
+    }
+
+    /**
+     * Catalog entry for a topic.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CatalogTopic {
+
+        private Long id;
+        private String name;
+        private String code;
+        private BigDecimal weightPercentage;
+        private Integer orderIndex;
+    }
+
+    /**
+     * Catalog entry for a published exam.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CatalogExam {
+
+        private Long id;
+        private String title;
+        private String type;
+        private Integer durationMinutes;
+        private Integer totalQuestions;
+        private Integer passingScore;
+    }
+}
@@ -0,0 +1,80 @@
+package com.certimaster.exam_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a session for the history listing.
+ * Every field is a column of user_exam_sessions carried by the history index,
+ * so a page is served without touching exams or certifications.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionHistoryItemResponse {
+
+    /**
+     * Session ID.
+     */
+    private Long id;
+
+    /**
+     * Exam ID.
+     */
+    private Long examId;
+
+    /**
+     * Certification ID.
+     */
+    private Long certificationId;
+
+    /**
+     * Exam title captured when the session started.
+     */
+    private String examTitle;
+
+    /**
+     * Session status (IN_PROGRESS, COMPLETED, ABANDONED, TIMED_OUT).
+     */
+    private String status;
+
+    /**
+     * Exam mode (PRACTICE, TIMED).
+     */
+    private String mode;
+
+    /**
+     * When the session started.
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * When the session ended.
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * Total number of questions.
+     */
+    private Integer totalQuestions;
+
+    /**
+     * Number of questions answered.
+     */
+    private Integer answeredCount;
+
+    /**
+     * Number of correct answers.
+     */
+    private Integer correctCount;
+
+    /**
+     * Total time spent in seconds.
+     */
+    private Integer timeSpentSeconds;
+}
@@ -0,0 +1,34 @@
+package com.certimaster.exam_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a user's session history.
+ * Pages are keyset based: pass {@code nextCursor} back as {@code cursor} to fetch the next page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionHistoryResponse {
+
+    /**
+     * Sessions on this page, newest first.
+     */
+    private List<SessionHistoryItemResponse> items;
+
+    /**
+     * Opaque cursor for the next page, or null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Whether more sessions exist after this page.
+     */
+    private boolean hasNext;
+}
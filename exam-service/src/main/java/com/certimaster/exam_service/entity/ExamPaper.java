@@ -0,0 +1,77 @@
+package com.certimaster.exam_service.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compact, frozen representation of an exam's question paper.
+ * Stored as JSON in exam_versions.paper: question ids in order, answer keys and topic ids,
+ * with topic names stored once per topic instead of once per question.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamPaper implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Questions in paper order.
+     */
+    @JsonProperty("q")
+    @Builder.Default
+    private List<PaperQuestion> questions = new ArrayList<>();
+
+    /**
+     * Topic names keyed by topic ID.
+     */
+    @JsonProperty("t")
+    @Builder.Default
+    private Map<Long, String> topicNames = new HashMap<>();
+
+    /**
+     * Index questions by ID for per-answer lookups.
+     */
+    @JsonIgnore
+    public Map<Long, PaperQuestion> questionsById() {
+        return questions.stream()
+                .collect(Collectors.toMap(PaperQuestion::getQuestionId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * A single question entry in the frozen paper.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PaperQuestion implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @JsonProperty("id")
+        private Long questionId;
+
+        @JsonProperty("t")
+        private Long topicId;
+
+        @JsonProperty("k")
+        private Long[] correctOptionIds;
+    }
+}
@@ -0,0 +1,50 @@
+package com.certimaster.exam_service.entity;
+
+import com.certimaster.common_library.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity holding running totals for an exam.
+ * Maintained by delta upserts as sessions start and complete; never recomputed on read.
+ */
+@Entity
+@Table(name = "exam_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class ExamStats extends BaseEntity {
+
+    @Column(name = "exam_id", nullable = false, unique = true)
+    private Long examId;
+
+    @Column(name = "certification_id")
+    private Long certificationId;
+
+    @Column(name = "total_attempts", nullable = false)
+    @Builder.Default
+    private Long totalAttempts = 0L;
+
+    @Column(name = "completed_count", nullable = false)
+    @Builder.Default
+    private Long completedCount = 0L;
+
+    @Column(name = "passed_count", nullable = false)
+    @Builder.Default
+    private Long passedCount = 0L;
+
+    @Column(name = "score_sum", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+}
@@ -0,0 +1,63 @@
+package com.certimaster.exam_service.entity;
+
+import com.certimaster.common_library.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an immutable, published version of an exam.
+ * Sessions reference a version so grading and event building read one row
+ * instead of walking the mutable Exam -> ExamQuestion -> Question -> Topic graph.
+ */
+@Entity
+@Table(name = "exam_versions")
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class ExamVersion extends BaseEntity {
+
+    @Column(name = "exam_id", nullable = false)
+    private Long examId;
+
+    @Column(name = "version_number", nullable = false)
+    private Integer versionNumber;
+
+    @Column(name = "certification_id")
+    private Long certificationId;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @Column(name = "passing_score")
+    private Integer passingScore;
+
+    @Column(name = "total_questions", nullable = false)
+    private Integer totalQuestions;
+
+    @Column(name = "checksum", length = 64, nullable = false)
+    private String checksum;
+
+    @Column(name = "paper", columnDefinition = "jsonb", nullable = false)
+    @JdbcTypeCode(SqlTypes.JSON)
+    private ExamPaper paper;
+
+    @Column(name = "published_at", nullable = false)
+    private LocalDateTime publishedAt;
+}
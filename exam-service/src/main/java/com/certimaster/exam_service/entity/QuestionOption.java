@@ -1,11 +1,15 @@
 package com.certimaster.exam_service.entity;
 
-import com.certimaster.common_library.entity.BaseEntity;
+import com.certimaster.common_library.entity.AuditableEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +24,14 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class QuestionOption extends BaseEntity {
+public class QuestionOption extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_options_seq")
+    @SequenceGenerator(name = "question_options_seq", sequenceName = "question_options_seq",
+            allocationSize = AuditableEntity.POOLED_SEQUENCE_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "question_id", nullable = false)
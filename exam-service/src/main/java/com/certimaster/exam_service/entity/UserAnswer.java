@@ -1,11 +1,15 @@
 package com.certimaster.exam_service.entity;
 
-import com.certimaster.common_library.entity.BaseEntity;
+import com.certimaster.common_library.entity.AuditableEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +34,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class UserAnswer extends BaseEntity {
+public class UserAnswer extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_answers_seq")
+    @SequenceGenerator(name = "user_answers_seq", sequenceName = "user_answers_seq",
+            allocationSize = AuditableEntity.POOLED_SEQUENCE_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "session_id", nullable = false)
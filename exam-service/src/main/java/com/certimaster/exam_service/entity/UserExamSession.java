@@ -44,6 +44,12 @@ public class UserExamSession extends BaseEntity {
     @JoinColumn(name = "certification_id")
     private Certification certification;
 
+    /**
+     * Frozen exam version this session was started against (null for legacy sessions).
+     */
+    @Column(name = "exam_version_id")
+    private Long examVersionId;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
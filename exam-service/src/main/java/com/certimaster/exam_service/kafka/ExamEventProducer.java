@@ -38,7 +38,8 @@ public class ExamEventProducer {
      * @return the exam result response with calculated scores
      */
     public ExamResultResponse publishExamCompletedAndWaitReply(ExamCompletedEvent event) {
-        String key = event.getSessionId() + "-" + event.getUserId();
+        // Keyed by user so all of a user's results land on one partition and are processed in order
+        String key = String.valueOf(event.getUserId());
 
         ProducerRecord<String, ExamCompletedEvent> record =
                 new ProducerRecord<>(KafkaTopics.EXAM_COMPLETED, key, event);
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -54,4 +55,24 @@ public interface CertificationRepository extends JpaRepository<Certification, Lo
      */
     @Query("SELECT c FROM Certification c WHERE c.id = :id AND c.status != 'DELETED'")
     Optional<Certification> findActiveById(@Param("id") Long id);
+
+    /**
+     * Find certifications by status ordered by name.
+     * Used to build the catalog snapshot.
+     */
+    List<Certification> findByStatusOrderByNameAsc(String status);
+
+    /**
+     * Fingerprint of the tables the catalog snapshot is built from: row count and latest update
+     * of certifications, topics, exams and exam_questions. Any insert, update or delete through
+     * the application changes it.
+     */
+    @Query(value = """
+        SELECT concat_ws('/',
+            (SELECT count(*) || ':' || coalesce(max(updated_at)::text, '') FROM certifications),
+            (SELECT count(*) || ':' || coalesce(max(updated_at)::text, '') FROM topics),
+            (SELECT count(*) || ':' || coalesce(max(updated_at)::text, '') FROM exams),
+            (SELECT count(*) || ':' || coalesce(max(updated_at)::text, '') FROM exam_questions))
+        """, nativeQuery = true)
+    String findCatalogVersion();
 }
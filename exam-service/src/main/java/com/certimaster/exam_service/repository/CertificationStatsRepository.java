@@ -0,0 +1,72 @@
+package com.certimaster.exam_service.repository;
+
+import com.certimaster.exam_service.entity.CertificationStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Repository for CertificationStats entity and certification enrollments.
+ * Writes are single-row delta upserts so concurrent sessions never lose updates.
+ */
+@Repository
+public interface CertificationStatsRepository extends JpaRepository<CertificationStats, Long> {
+
+    /**
+     * Find stats by certification ID.
+     *
+     * @param certificationId the certification ID
+     * @return the stats row if the certification has activity
+     */
+    Optional<CertificationStats> findByCertificationId(Long certificationId);
+
+    /**
+     * Record that a user has enrolled (started any exam) in a certification.
+     *
+     * @return 1 if this is the user's first session in the certification, 0 otherwise
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO certification_enrollments (user_id, certification_id, enrolled_at)
+            VALUES (:userId, :certificationId, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, certification_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertEnrollmentIfAbsent(@Param("userId") Long userId, @Param("certificationId") Long certificationId);
+
+    /**
+     * Count one new enrollment.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO certification_stats (certification_id, total_enrollments, completed_count, passed_count,
+                                             score_sum, created_at, updated_at)
+            VALUES (:certificationId, 1, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (certification_id) DO UPDATE
+            SET total_enrollments = certification_stats.total_enrollments + 1,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void incrementEnrollments(@Param("certificationId") Long certificationId);
+
+    /**
+     * Add one completed exam with its score percentage.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO certification_stats (certification_id, total_enrollments, completed_count, passed_count,
+                                             score_sum, created_at, updated_at)
+            VALUES (:certificationId, 0, 1, :passed, :score, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (certification_id) DO UPDATE
+            SET completed_count = certification_stats.completed_count + 1,
+                passed_count = certification_stats.passed_count + EXCLUDED.passed_count,
+                score_sum = certification_stats.score_sum + EXCLUDED.score_sum,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void addCompletion(@Param("certificationId") Long certificationId,
+                       @Param("passed") int passed,
+                       @Param("score") BigDecimal score);
+}
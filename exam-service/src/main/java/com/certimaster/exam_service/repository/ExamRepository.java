@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +46,17 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
      */
     List<Exam> findByCertificationId(Long certificationId);
 
+    /**
+     * Find exams by certification id and status.
+     */
+    List<Exam> findByCertificationIdAndStatus(Long certificationId, String status);
+
+    /**
+     * Find exams of several certifications with a given status.
+     * Used to build the catalog snapshot in a single query.
+     */
+    List<Exam> findByCertificationIdInAndStatus(Collection<Long> certificationIds, String status);
+
     /**
      * Check if exam exists by title and certification (excluding a specific id for update).
      */
@@ -0,0 +1,60 @@
+package com.certimaster.exam_service.repository;
+
+import com.certimaster.exam_service.entity.ExamStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Repository for ExamStats entity.
+ * Writes are single-row delta upserts so concurrent sessions never lose updates.
+ */
+@Repository
+public interface ExamStatsRepository extends JpaRepository<ExamStats, Long> {
+
+    /**
+     * Find stats by exam ID.
+     *
+     * @param examId the exam ID
+     * @return the stats row if the exam has been attempted
+     */
+    Optional<ExamStats> findByExamId(Long examId);
+
+    /**
+     * Count one started attempt.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO exam_stats (exam_id, certification_id, total_attempts, completed_count, passed_count,
+                                    score_sum, created_at, updated_at)
+            VALUES (:examId, :certificationId, 1, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (exam_id) DO UPDATE
+            SET total_attempts = exam_stats.total_attempts + 1,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void incrementAttempts(@Param("examId") Long examId, @Param("certificationId") Long certificationId);
+
+    /**
+     * Add one completed attempt with its score percentage.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO exam_stats (exam_id, certification_id, total_attempts, completed_count, passed_count,
+                                    score_sum, created_at, updated_at)
+            VALUES (:examId, :certificationId, 0, 1, :passed, :score, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (exam_id) DO UPDATE
+            SET completed_count = exam_stats.completed_count + 1,
+                passed_count = exam_stats.passed_count + EXCLUDED.passed_count,
+                score_sum = exam_stats.score_sum + EXCLUDED.score_sum,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void addCompletion(@Param("examId") Long examId,
+                       @Param("certificationId") Long certificationId,
+                       @Param("passed") int passed,
+                       @Param("score") BigDecimal score);
+}
@@ -0,0 +1,70 @@
+package com.certimaster.exam_service.repository;
+
+import com.certimaster.exam_service.entity.ExamVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for ExamVersion entity.
+ * Versions are append-only; an exam's paper is identified by its content checksum.
+ */
+@Repository
+public interface ExamVersionRepository extends JpaRepository<ExamVersion, Long> {
+
+    /**
+     * Find the version of an exam with the given paper checksum.
+     *
+     * @param examId the exam ID
+     * @param checksum the paper checksum
+     * @return the version if this exact paper has already been frozen
+     */
+    Optional<ExamVersion> findByExamIdAndChecksum(Long examId, String checksum);
+
+    /**
+     * Lock the exam row until the end of the transaction so concurrent starts that freeze
+     * different papers take version numbers one after another.
+     *
+     * @param examId the exam ID
+     * @return the exam ID, or empty if the exam does not exist
+     */
+    @Query(value = "SELECT id FROM exams WHERE id = :examId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockExamForVersioning(@Param("examId") Long examId);
+
+    /**
+     * Freeze a new version unless the same paper is already frozen for the exam.
+     * Concurrent starts of the same exam race on uq_exam_versions_exam_checksum
+     * instead of creating duplicate versions. Call with the exam locked
+     * ({@link #lockExamForVersioning}): the MAX + 1 version number is only unique
+     * (uq_exam_versions_exam_version) if inserts of one exam are serialized.
+     *
+     * @return the new version ID, or empty if the paper already exists
+     */
+    @Query(value = """
+            INSERT INTO exam_versions (exam_id, version_number, certification_id, title, duration_minutes,
+                                       passing_score, total_questions, checksum, paper, published_at,
+                                       created_at, updated_at)
+            VALUES (:examId,
+                    (SELECT COALESCE(MAX(v.version_number), 0) + 1 FROM exam_versions v WHERE v.exam_id = :examId),
+                    :certificationId, :title, :durationMinutes,
+                    :passingScore, :totalQuestions, :checksum, CAST(:paper AS jsonb), :publishedAt,
+                    :publishedAt, :publishedAt)
+            ON CONFLICT (exam_id, checksum) DO NOTHING
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> insertVersionIfAbsent(
+            @Param("examId") Long examId,
+            @Param("certificationId") Long certificationId,
+            @Param("title") String title,
+            @Param("durationMinutes") Integer durationMinutes,
+            @Param("passingScore") Integer passingScore,
+            @Param("totalQuestions") Integer totalQuestions,
+            @Param("checksum") String checksum,
+            @Param("paper") String paper,
+            @Param("publishedAt") LocalDateTime publishedAt
+    );
+}
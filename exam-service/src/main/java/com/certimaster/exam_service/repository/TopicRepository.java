@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +37,12 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
      */
     List<Topic> findByCertificationIdOrderByOrderIndexAsc(Long certificationId);
 
+    /**
+     * Find topics of several certifications ordered by orderIndex.
+     * Used to build the catalog snapshot in a single query.
+     */
+    List<Topic> findByCertificationIdInOrderByOrderIndexAsc(Collection<Long> certificationIds);
+
     /**
      * Find topic by code and certification.
      */
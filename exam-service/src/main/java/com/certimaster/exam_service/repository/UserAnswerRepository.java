@@ -2,6 +2,8 @@ package com.certimaster.exam_service.repository;
 
 import com.certimaster.exam_service.entity.UserAnswer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -33,6 +35,16 @@ public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
      */
     List<UserAnswer> findByUserExamSessionId(Long sessionId);
 
+    /**
+     * Find all answers for a session with their questions fetched in the same query.
+     * Used when building the completion event so question text is not loaded per answer.
+     *
+     * @param sessionId the session ID
+     * @return list of all answers in the session
+     */
+    @Query("SELECT ua FROM UserAnswer ua JOIN FETCH ua.question WHERE ua.userExamSession.id = :sessionId")
+    List<UserAnswer> findWithQuestionByUserExamSessionId(@Param("sessionId") Long sessionId);
+
     /**
      * Count answered questions in a session (where selectedOptionIds is not null).
      *
@@ -1,9 +1,14 @@
 package com.certimaster.exam_service.repository;
 
+import com.certimaster.exam_service.dto.response.SessionHistoryItemResponse;
 import com.certimaster.exam_service.entity.UserExamSession;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +21,7 @@ public interface UserExamSessionRepository extends JpaRepository<UserExamSession
 
     /**
      * Find a session by user ID, exam ID, and status.
-     * Used to check for existing active sessions before starting a new one.
+     * Used to return the existing active session when a start request hits the active session conflict.
      *
      * @param userId the user ID
      * @param examId the exam ID
@@ -35,6 +40,49 @@ public interface UserExamSessionRepository extends JpaRepository<UserExamSession
      */
     List<UserExamSession> findByUserIdAndStatus(Long userId, String status);
 
+    /**
+     * First page of a user's session history, newest first.
+     * Seeks idx_user_exam_sessions_history; the per-answer counters are read from the heap rows
+     * of the page, as the index leaves them out to keep answer updates HOT (migration V8).
+     *
+     * @param userId the user ID
+     * @param limit maximum number of rows
+     * @return history rows ordered by (start_time DESC, id DESC)
+     */
+    @Query("""
+            SELECT new com.certimaster.exam_service.dto.response.SessionHistoryItemResponse(
+                s.id, s.exam.id, s.certification.id, s.examTitle, s.status, s.mode, s.startTime, s.endTime,
+                s.totalQuestions, s.answeredCount, s.correctCount, s.timeSpentSeconds)
+            FROM UserExamSession s
+            WHERE s.userId = :userId
+            ORDER BY s.startTime DESC, s.id DESC
+            """)
+    List<SessionHistoryItemResponse> findHistoryFirstPage(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Next page of a user's session history strictly after the given keyset position.
+     * The row-value comparison lets the index seek straight to the cursor regardless of depth.
+     *
+     * @param userId the user ID
+     * @param startTime start time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return history rows ordered by (start_time DESC, id DESC)
+     */
+    @Query("""
+            SELECT new com.certimaster.exam_service.dto.response.SessionHistoryItemResponse(
+                s.id, s.exam.id, s.certification.id, s.examTitle, s.status, s.mode, s.startTime, s.endTime,
+                s.totalQuestions, s.answeredCount, s.correctCount, s.timeSpentSeconds)
+            FROM UserExamSession s
+            WHERE s.userId = :userId
+              AND (s.startTime, s.id) < (:startTime, :id)
+            ORDER BY s.startTime DESC, s.id DESC
+            """)
+    List<SessionHistoryItemResponse> findHistoryPageAfter(@Param("userId") Long userId,
+                                                          @Param("startTime") LocalDateTime startTime,
+                                                          @Param("id") Long id,
+                                                          Limit limit);
+
     /**
      * Find a session by ID and user ID.
      * Used to validate session ownership before operations.
@@ -44,4 +92,35 @@ public interface UserExamSessionRepository extends JpaRepository<UserExamSession
      * @return the session if found and owned by the user
      */
     Optional<UserExamSession> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Insert a new IN_PROGRESS session unless the user already has one for the exam.
+     * Relies on the partial unique index uq_user_exam_sessions_active, so a concurrent
+     * duplicate start is resolved by the database in a single round-trip.
+     *
+     * @return the new session ID, or empty if an active session already exists
+     */
+    @Query(value = """
+            INSERT INTO user_exam_sessions (user_id, exam_id, exam_version_id, certification_id, start_time, status, mode,
+                                            exam_title, total_questions, duration_minutes, answered_count,
+                                            correct_count, wrong_count, unanswered_count, flagged_count,
+                                            time_spent_seconds, created_at, updated_at)
+            VALUES (:userId, :examId, :examVersionId, :certificationId, :startTime, 'IN_PROGRESS', :mode,
+                    :examTitle, :totalQuestions, :durationMinutes, 0,
+                    0, 0, :totalQuestions, 0,
+                    0, :startTime, :startTime)
+            ON CONFLICT (user_id, exam_id) WHERE status = 'IN_PROGRESS' DO NOTHING
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> insertActiveSessionIfAbsent(
+            @Param("userId") Long userId,
+            @Param("examId") Long examId,
+            @Param("examVersionId") Long examVersionId,
+            @Param("certificationId") Long certificationId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("mode") String mode,
+            @Param("examTitle") String examTitle,
+            @Param("totalQuestions") Integer totalQuestions,
+            @Param("durationMinutes") Integer durationMinutes
+    );
 }
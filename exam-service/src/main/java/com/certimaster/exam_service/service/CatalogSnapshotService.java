@@ -0,0 +1,69 @@
+package com.certimaster.exam_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the in-memory catalog snapshot.
+ * The snapshot is built once at startup and rebuilt per certification after admin writes commit.
+ * Writes committed elsewhere (other instances, question assignment) are picked up by a periodic
+ * version check against the database.
+ */
+public interface CatalogSnapshotService {
+
+    /**
+     * Get the current pre-serialized snapshot.
+     *
+     * @return the current catalog snapshot
+     */
+    CatalogSnapshot getSnapshot();
+
+    /**
+     * Rebuild the whole snapshot from the database.
+     */
+    void rebuild();
+
+    /**
+     * Refresh the catalog entry of a certification once the current transaction commits.
+     * Runs immediately when called outside a transaction.
+     *
+     * @param certificationId certification ID
+     */
+    void refreshCertification(Long certificationId);
+
+    /**
+     * Rebuild the snapshot if the catalog tables changed since the last rebuild, or if the
+     * snapshot is older than its maximum age.
+     */
+    void checkForChanges();
+
+    /**
+     * Immutable, pre-serialized catalog body with its strong entity tag.
+     */
+    @Getter
+    @AllArgsConstructor
+    final class CatalogSnapshot {
+
+        /**
+         * Strong entity tag derived from the catalog content.
+         */
+        private final String etag;
+
+        /**
+         * JSON body (identity encoding).
+         */
+        private final byte[] json;
+
+        /**
+         * JSON body gzip-compressed.
+         */
+        private final byte[] gzip;
+
+        /**
+         * When the snapshot content last changed.
+         */
+        private final LocalDateTime generatedAt;
+    }
+}
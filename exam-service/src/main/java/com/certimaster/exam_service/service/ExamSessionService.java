@@ -5,6 +5,7 @@ import com.certimaster.exam_service.dto.request.AnswerQuestionRequest;
 import com.certimaster.exam_service.dto.request.StartExamRequest;
 import com.certimaster.exam_service.dto.response.AnswerFeedbackResponse;
 import com.certimaster.exam_service.dto.response.ExamSessionResponse;
+import com.certimaster.exam_service.dto.response.SessionHistoryResponse;
 import com.certimaster.exam_service.dto.response.UserExamSessionResponse;
 
 import java.util.List;
@@ -16,6 +17,8 @@ public interface ExamSessionService {
 
     /**
      * Start a new exam session.
+     * Idempotent per user and exam: if an IN_PROGRESS session already exists
+     * (e.g. a concurrent duplicate start), that session is returned instead.
      *
      * @param examId exam ID
      * @param userId user ID from auth
@@ -62,4 +65,14 @@ public interface ExamSessionService {
      * @return list of active sessions
      */
     List<UserExamSessionResponse> getActiveSessions(Long userId);
+
+    /**
+     * Get one page of the user's session history, newest first.
+     *
+     * @param userId the user ID
+     * @param cursor cursor returned by the previous page, or null for the first page
+     * @param size page size
+     * @return page of history items with the cursor for the next page
+     */
+    SessionHistoryResponse getSessionHistory(Long userId, String cursor, int size);
 }
@@ -0,0 +1,51 @@
+package com.certimaster.exam_service.service;
+
+import com.certimaster.exam_service.dto.response.CertificationStatsResponse;
+import com.certimaster.exam_service.dto.response.ExamStatsResponse;
+
+import java.math.BigDecimal;
+
+/**
+ * Service interface for exam and certification statistics.
+ * Stats are running totals updated with deltas as sessions start and complete,
+ * so reads are a single-row lookup.
+ */
+public interface ExamStatsService {
+
+    /**
+     * Record a newly started session. Must run in the transaction that created the session,
+     * as its last statement: the stats rows are shared by every session of the certification.
+     *
+     * @param examId exam ID
+     * @param certificationId certification ID
+     * @param userId user who started the session
+     */
+    void recordSessionStarted(Long examId, Long certificationId, Long userId);
+
+    /**
+     * Record a completed session. Must run in the transaction that marked the session COMPLETED,
+     * as its last statement, with the score derived from the session itself.
+     *
+     * @param examId exam ID
+     * @param certificationId certification ID
+     * @param percentage score percentage achieved
+     * @param passed whether the session passed
+     */
+    void recordSessionCompleted(Long examId, Long certificationId, BigDecimal percentage, boolean passed);
+
+    /**
+     * Get statistics for an exam.
+     *
+     * @param examId exam ID
+     * @return exam statistics (zeros if the exam has never been attempted)
+     */
+    ExamStatsResponse getExamStats(Long examId);
+
+    /**
+     * Get statistics for a certification.
+     *
+     * @param certificationId certification ID
+     * @return certification statistics (zeros if the certification has no activity)
+     */
+    CertificationStatsResponse getCertificationStats(Long certificationId);
+}
@@ -0,0 +1,33 @@
+package com.certimaster.exam_service.service;
+
+import com.certimaster.exam_service.entity.Exam;
+import com.certimaster.exam_service.entity.ExamVersion;
+import com.certimaster.exam_service.entity.Question;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for immutable exam versions.
+ */
+public interface ExamVersionService {
+
+    /**
+     * Resolve the frozen version matching the exam's current paper.
+     * Freezes a new version if the paper (questions, answer keys, topics, passing score)
+     * has changed since the last one.
+     *
+     * @param exam the exam being started
+     * @param questions the exam questions in paper order
+     * @return the version sessions should reference
+     */
+    ExamVersion resolveCurrentVersion(Exam exam, List<Question> questions);
+
+    /**
+     * Find a version by ID.
+     *
+     * @param versionId version ID
+     * @return the version if found
+     */
+    Optional<ExamVersion> findById(Long versionId);
+}
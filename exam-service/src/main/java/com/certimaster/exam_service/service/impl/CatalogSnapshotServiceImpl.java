@@ -0,0 +1,286 @@
+package com.certimaster.exam_service.service.impl;
+
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.exam_service.dto.response.CatalogSnapshotResponse;
+import com.certimaster.exam_service.entity.Certification;
+import com.certimaster.exam_service.entity.Exam;
+import com.certimaster.exam_service.entity.Topic;
+import com.certimaster.exam_service.repository.CertificationRepository;
+import com.certimaster.exam_service.repository.ExamRepository;
+import com.certimaster.exam_service.repository.TopicRepository;
+import com.certimaster.exam_service.service.CatalogSnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of CatalogSnapshotService.
+ * Keeps one catalog entry per active certification in memory; an admin write re-reads only
+ * the affected certification (three indexed queries) and re-serializes the snapshot. That
+ * refresh runs only on the instance that committed the write, so every instance also compares
+ * a fingerprint of the catalog tables with the one read before its last rebuild and rebuilds
+ * when it changed or the snapshot reached its maximum age (catches writes that bypass
+ * updated_at). A rebuild that changes nothing keeps the snapshot and its ETag.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final String ACTIVE_STATUS = "ACTIVE";
+
+    private final CertificationRepository certificationRepository;
+    private final TopicRepository topicRepository;
+    private final ExamRepository examRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final long maxAgeMs;
+
+    /**
+     * Catalog entries keyed by certification ID. Guarded by this.
+     */
+    private final Map<Long, CatalogSnapshotResponse.CatalogCertification> entries = new TreeMap<>();
+
+    private volatile CatalogSnapshot snapshot;
+
+    /**
+     * Catalog table fingerprint read before the last full rebuild, and when it was read.
+     */
+    private volatile String catalogVersion;
+    private volatile long rebuiltAt;
+
+    public CatalogSnapshotServiceImpl(CertificationRepository certificationRepository,
+                                      TopicRepository topicRepository,
+                                      ExamRepository examRepository,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${exam.catalog.max-age-ms:600000}") long maxAgeMs) {
+        this.certificationRepository = certificationRepository;
+        this.topicRepository = topicRepository;
+        this.examRepository = examRepository;
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        // Read before the catalog, so a write committed in between shows up at the next check
+        String version = readTransaction.execute(status -> certificationRepository.findCatalogVersion());
+        Map<Long, CatalogSnapshotResponse.CatalogCertification> loaded = readTransaction.execute(status -> {
+            List<Certification> certifications = certificationRepository.findByStatusOrderByNameAsc(ACTIVE_STATUS);
+            List<Long> ids = certifications.stream().map(Certification::getId).toList();
+            if (ids.isEmpty()) {
+                return Map.<Long, CatalogSnapshotResponse.CatalogCertification>of();
+            }
+
+            Map<Long, List<Topic>> topicsByCertification = topicRepository.findByCertificationIdInOrderByOrderIndexAsc(ids)
+                    .stream()
+                    .collect(Collectors.groupingBy(topic -> topic.getCertification().getId()));
+            Map<Long, List<Exam>> examsByCertification = examRepository.findByCertificationIdInAndStatus(ids, ACTIVE_STATUS)
+                    .stream()
+                    .collect(Collectors.groupingBy(exam -> exam.getCertification().getId()));
+
+            Map<Long, CatalogSnapshotResponse.CatalogCertification> result = new TreeMap<>();
+            for (Certification certification : certifications) {
+                result.put(certification.getId(), toEntry(certification,
+                        topicsByCertification.getOrDefault(certification.getId(), List.of()),
+                        examsByCertification.getOrDefault(certification.getId(), List.of())));
+            }
+            return result;
+        });
+
+        entries.clear();
+        entries.putAll(loaded);
+        publish();
+        catalogVersion = version;
+        rebuiltAt = start;
+        log.info("Built catalog snapshot with {} certifications in {} ms",
+                entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void refreshCertification(Long certificationId) {
+        if (certificationId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshNow(certificationId);
+                }
+            });
+        } else {
+            refreshNow(certificationId);
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${exam.catalog.check-interval-ms:30000}",
+            fixedDelayString = "${exam.catalog.check-interval-ms:30000}")
+    public void checkForChanges() {
+        try {
+            String version = readTransaction.execute(status -> certificationRepository.findCatalogVersion());
+            if (!Objects.equals(version, catalogVersion) || System.currentTimeMillis() - rebuiltAt >= maxAgeMs) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the current snapshot; the next check retries
+            log.warn("Failed to check the catalog for changes", e);
+        }
+    }
+
+    private synchronized void refreshNow(Long certificationId) {
+        try {
+            CatalogSnapshotResponse.CatalogCertification entry = readTransaction.execute(status ->
+                    certificationRepository.findActiveById(certificationId)
+                            .filter(certification -> ACTIVE_STATUS.equals(certification.getStatus()))
+                            .map(certification -> toEntry(certification,
+                                    topicRepository.findByCertificationIdOrderByOrderIndexAsc(certificationId),
+                                    examRepository.findByCertificationIdAndStatus(certificationId, ACTIVE_STATUS)))
+                            .orElse(null));
+
+            if (entry == null) {
+                entries.remove(certificationId);
+            } else {
+                entries.put(certificationId, entry);
+            }
+            publish();
+            log.debug("Refreshed catalog entry for certification {}", certificationId);
+        } catch (RuntimeException e) {
+            // The write itself has committed; fall back to a full rebuild on next read
+            log.error("Failed to refresh catalog entry for certification {}", certificationId, e);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Serialize the current entries and swap the snapshot if the content changed.
+     */
+    private void publish() {
+        List<CatalogSnapshotResponse.CatalogCertification> certifications = entries.values().stream()
+                .sorted(Comparator.comparing(CatalogSnapshotResponse.CatalogCertification::getName,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        CatalogSnapshotResponse content = CatalogSnapshotResponse.builder()
+                .certifications(certifications)
+                .build();
+
+        try {
+            String etag = "\"" + sha256(objectMapper.writeValueAsBytes(content)) + "\"";
+            CatalogSnapshot current = snapshot;
+            if (current != null && current.getEtag().equals(etag)) {
+                return;
+            }
+
+            byte[] json = objectMapper.writeValueAsBytes(ResponseDto.success(content));
+            snapshot = new CatalogSnapshot(etag, json, gzip(json), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog snapshot", e);
+        }
+    }
+
+    private CatalogSnapshotResponse.CatalogCertification toEntry(Certification certification,
+                                                                 List<Topic> topics, List<Exam> exams) {
+        List<CatalogSnapshotResponse.CatalogTopic> catalogTopics = topics.stream()
+                .map(topic -> CatalogSnapshotResponse.CatalogTopic.builder()
+                        .id(topic.getId())
+                        .name(topic.getName())
+                        .code(topic.getCode())
+                        .weightPercentage(topic.getWeightPercentage())
+                        .orderIndex(topic.getOrderIndex())
+                        .build())
+                .toList();
+
+        List<CatalogSnapshotResponse.CatalogExam> catalogExams = exams.stream()
+                .sorted(Comparator.comparing(Exam::getId))
+                .map(exam -> CatalogSnapshotResponse.CatalogExam.builder()
+                        .id(exam.getId())
+                        .title(exam.getTitle())
+                        .type(exam.getType())
+                        .durationMinutes(exam.getDurationMinutes())
+                        .totalQuestions(exam.getTotalQuestions())
+                        .passingScore(exam.getPassingScore())
+                        .build())
+                .toList();
+
+        return CatalogSnapshotResponse.CatalogCertification.builder()
+                .id(certification.getId())
+                .name(certification.getName())
+                .code(certification.getCode())
+                .provider(certification.getProvider())
+                .level(certification.getLevel())
+                .durationMinutes(certification.getDurationMinutes())
+                .passingScore(certification.getPassingScore())
+                .totalQuestions(certification.getTotalQuestions())
+                .price(certification.getPrice())
+                .topicCount(catalogTopics.size())
+                .examCount(catalogExams.size())
+                .topics(catalogTopics)
+                .exams(catalogExams)
+                .build();
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
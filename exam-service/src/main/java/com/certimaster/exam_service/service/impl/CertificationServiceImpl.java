@@ -10,6 +10,7 @@ import com.certimaster.exam_service.dto.response.CertificationDetailResponse;
 import com.certimaster.exam_service.dto.response.CertificationResponse;
 import com.certimaster.exam_service.entity.Certification;
 import com.certimaster.exam_service.repository.CertificationRepository;
+import com.certimaster.exam_service.service.CatalogSnapshotService;
 import com.certimaster.exam_service.service.CertificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +35,7 @@ public class CertificationServiceImpl implements CertificationService {
 
     private final CertificationRepository certificationRepository;
     private final CertificationMapper certificationMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @Override
     public PageDto<CertificationResponse> search(CertificationSearchRequest request) {
@@ -77,6 +79,7 @@ public class CertificationServiceImpl implements CertificationService {
 
         Certification saved = certificationRepository.save(certification);
         log.info("Created certification with id: {}", saved.getId());
+        catalogSnapshotService.refreshCertification(saved.getId());
 
         return certificationMapper.toResponse(saved);
     }
@@ -92,6 +95,7 @@ public class CertificationServiceImpl implements CertificationService {
         certificationMapper.updateEntity(certification, request);
         Certification saved = certificationRepository.save(certification);
         log.info("Updated certification with id: {}", saved.getId());
+        catalogSnapshotService.refreshCertification(saved.getId());
 
         return certificationMapper.toResponse(saved);
     }
@@ -106,6 +110,7 @@ public class CertificationServiceImpl implements CertificationService {
         certificationRepository.save(certification);
 
         log.info("Soft deleted certification with id: {}", id);
+        catalogSnapshotService.refreshCertification(id);
     }
 
     private Certification findActiveOrThrow(Long id) {
@@ -12,6 +12,7 @@ import com.certimaster.exam_service.entity.Certification;
 import com.certimaster.exam_service.entity.Exam;
 import com.certimaster.exam_service.repository.CertificationRepository;
 import com.certimaster.exam_service.repository.ExamRepository;
+import com.certimaster.exam_service.service.CatalogSnapshotService;
 import com.certimaster.exam_service.service.ExamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +41,7 @@ public class ExamServiceImpl implements ExamService {
     private final ExamRepository examRepository;
     private final CertificationRepository certificationRepository;
     private final ExamMapper examMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @Override
     public PageDto<ExamResponse> search(ExamSearchRequest request) {
@@ -99,6 +101,7 @@ public class ExamServiceImpl implements ExamService {
 
         Exam saved = examRepository.save(exam);
         log.info("Created exam with id: {}", saved.getId());
+        catalogSnapshotService.refreshCertification(certification.getId());
 
         return examMapper.toResponse(saved);
     }
@@ -109,7 +112,8 @@ public class ExamServiceImpl implements ExamService {
         log.debug("Updating exam with id: {}", id);
 
         Exam exam = findActiveOrThrow(id);
-        
+        Long previousCertificationId = exam.getCertification().getId();
+
         // Update certification if changed
         if (!exam.getCertification().getId().equals(request.getCertificationId())) {
             Certification certification = findCertificationOrThrow(request.getCertificationId());
@@ -121,6 +125,10 @@ public class ExamServiceImpl implements ExamService {
 
         Exam saved = examRepository.save(exam);
         log.info("Updated exam with id: {}", saved.getId());
+        catalogSnapshotService.refreshCertification(previousCertificationId);
+        if (!previousCertificationId.equals(saved.getCertification().getId())) {
+            catalogSnapshotService.refreshCertification(saved.getCertification().getId());
+        }
 
         return examMapper.toResponse(saved);
     }
@@ -135,6 +143,7 @@ public class ExamServiceImpl implements ExamService {
         examRepository.save(exam);
 
         log.info("Soft deleted exam with id: {}", id);
+        catalogSnapshotService.refreshCertification(exam.getCertification().getId());
     }
 
     private Exam findActiveOrThrow(Long id) {
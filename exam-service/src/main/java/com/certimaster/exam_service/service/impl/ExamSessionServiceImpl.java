@@ -10,11 +10,14 @@ import com.certimaster.exam_service.dto.request.StartExamRequest;
 import com.certimaster.exam_service.dto.response.AnswerFeedbackResponse;
 import com.certimaster.exam_service.dto.response.ExamSessionResponse;
 import com.certimaster.exam_service.dto.response.QuestionResponse;
+import com.certimaster.exam_service.dto.response.SessionHistoryItemResponse;
+import com.certimaster.exam_service.dto.response.SessionHistoryResponse;
 import com.certimaster.exam_service.dto.response.UserExamSessionResponse;
 import com.certimaster.exam_service.entity.Exam;
+import com.certimaster.exam_service.entity.ExamPaper;
 import com.certimaster.exam_service.entity.ExamQuestion;
+import com.certimaster.exam_service.entity.ExamVersion;
 import com.certimaster.exam_service.entity.Question;
-import com.certimaster.exam_service.entity.QuestionOption;
 import com.certimaster.exam_service.entity.UserAnswer;
 import com.certimaster.exam_service.entity.UserExamSession;
 import com.certimaster.exam_service.kafka.ExamEventProducer;
@@ -22,16 +25,28 @@ import com.certimaster.exam_service.repository.ExamRepository;
 import com.certimaster.exam_service.repository.UserAnswerRepository;
 import com.certimaster.exam_service.repository.UserExamSessionRepository;
 import com.certimaster.exam_service.service.ExamSessionService;
+import com.certimaster.exam_service.service.ExamStatsService;
+import com.certimaster.exam_service.service.ExamVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -45,27 +60,24 @@ public class ExamSessionServiceImpl implements ExamSessionService {
     private static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
     private static final String STATUS_COMPLETED = "COMPLETED";
     private static final String MODE_PRACTICE = "PRACTICE";
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+    // Same default as result-service's grading
+    private static final int DEFAULT_PASSING_SCORE = 70;
 
     private final ExamRepository examRepository;
     private final QuestionMapper questionMapper;
     private final UserExamSessionRepository userExamSessionRepository;
     private final UserAnswerRepository userAnswerRepository;
     private final ExamEventProducer examEventProducer;
+    private final ExamVersionService examVersionService;
+    private final ExamStatsService examStatsService;
 
     @Override
     @Transactional
     public ExamSessionResponse startExam(Long examId, Long userId, String username, StartExamRequest request) {
         log.info("Starting exam {} for user {} with mode {}", examId, userId, request.getMode());
 
-        // Check for existing active session locally in exam-service database
-        userExamSessionRepository.findByUserIdAndExam_IdAndStatus(userId, examId, STATUS_IN_PROGRESS)
-                .ifPresent(existingSession -> {
-                    log.info("User {} already has active session {} for exam {}", userId, existingSession.getId(), examId);
-                    throw BusinessException.invalidInput(
-                            String.format("You already have an active session (ID: %d) for this exam. Please complete or abandon it first.", existingSession.getId())
-                    );
-                });
-
         // Get exam with questions
         Exam exam = examRepository.findActiveById(examId)
                 .orElseThrow(() -> ResourceNotFoundException.byId(EXAM, examId));
@@ -76,37 +88,44 @@ public class ExamSessionServiceImpl implements ExamSessionService {
             throw BusinessException.invalidInput("This exam has no questions");
         }
 
+        // Freeze (or reuse) the published paper this session is graded against
+        ExamVersion version = examVersionService.resolveCurrentVersion(exam, questions);
+        Map<Long, ExamPaper.PaperQuestion> paperQuestions = version.getPaper().questionsById();
+
         LocalDateTime startTime = LocalDateTime.now();
 
-        // Create UserExamSession locally in exam-service database
-        UserExamSession session = UserExamSession.builder()
-                .userId(userId)
-                .exam(exam)
-                .certification(exam.getCertification())
-                .startTime(startTime)
-                .status(STATUS_IN_PROGRESS)
-                .mode(request.getMode())
-                .examTitle(exam.getTitle())
-                .totalQuestions(questions.size())
-                .durationMinutes(exam.getDurationMinutes())
-                .answeredCount(0)
-                .correctCount(0)
-                .wrongCount(0)
-                .unansweredCount(questions.size())
-                .flaggedCount(0)
-                .timeSpentSeconds(0)
-                .build();
+        // Create UserExamSession locally; the partial unique index on active sessions makes
+        // a duplicate start (e.g. double click) a no-op instead of a second session
+        Optional<Long> insertedId = userExamSessionRepository.insertActiveSessionIfAbsent(
+                userId,
+                exam.getId(),
+                version.getId(),
+                exam.getCertification().getId(),
+                startTime,
+                request.getMode(),
+                exam.getTitle(),
+                questions.size(),
+                exam.getDurationMinutes());
+
+        if (insertedId.isEmpty()) {
+            UserExamSession existingSession = userExamSessionRepository
+                    .findByUserIdAndExam_IdAndStatus(userId, examId, STATUS_IN_PROGRESS)
+                    .orElseThrow(() -> BusinessException.operationFailed("start exam session"));
+            log.info("User {} already has active session {} for exam {}, returning it",
+                    userId, existingSession.getId(), examId);
+            return buildActiveSessionResponse(existingSession, exam, questions);
+        }
 
-        userExamSessionRepository.save(session);
-        log.info("Session {} created locally for user {} exam {}", session.getId(), userId, examId);
+        Long sessionId = insertedId.get();
+        UserExamSession session = userExamSessionRepository.getReferenceById(sessionId);
+        log.info("Session {} created locally for user {} exam {}", sessionId, userId, examId);
 
-        // Create UserAnswer records for all questions (pre-populate for tracking)
+        // Create UserAnswer records for all questions (pre-populate for tracking);
+        // pooled sequence IDs let Hibernate send these as one JDBC batch
+        List<UserAnswer> userAnswers = new ArrayList<>(questions.size());
         for (Question question : questions) {
-            // Get correct option IDs for this question
-            Long[] correctOptionIds = question.getQuestionOptions().stream()
-                    .filter(QuestionOption::getIsCorrect)
-                    .map(QuestionOption::getId)
-                    .toArray(Long[]::new);
+            // Answer key comes from the frozen paper, not the live options
+            Long[] correctOptionIds = paperQuestions.get(question.getId()).getCorrectOptionIds();
 
             UserAnswer userAnswer = UserAnswer.builder()
                     .userExamSession(session)
@@ -117,29 +136,16 @@ public class ExamSessionServiceImpl implements ExamSessionService {
                     .timeSpentSeconds(0)
                     .build();
 
-            userAnswerRepository.save(userAnswer);
+            userAnswers.add(userAnswer);
         }
+        userAnswerRepository.saveAll(userAnswers);
+        userAnswerRepository.flush();
 
-        // Build response with local session ID
-        List<QuestionResponse> questionResponses = questions.stream()
-                .map(questionMapper::toResponseWithoutCorrect)
-                .toList();
+        // Last statement of the transaction: the exam and certification stats rows are shared by
+        // every start of the certification, so they stay locked only until the commit
+        examStatsService.recordSessionStarted(exam.getId(), exam.getCertification().getId(), userId);
 
-        return ExamSessionResponse.builder()
-                .id(session.getId())
-                .examId(exam.getId())
-                .examTitle(exam.getTitle())
-                .certificationId(exam.getCertification().getId())
-                .certificationName(exam.getCertification().getName())
-                .mode(request.getMode())
-                .status(STATUS_IN_PROGRESS)
-                .startTime(startTime)
-                .durationMinutes(exam.getDurationMinutes())
-                .passingScore(exam.getPassingScore())
-                .totalQuestions(questions.size())
-                .currentQuestionIndex(0)
-                .questions(questionResponses)
-                .build();
+        return buildExamSessionResponse(sessionId, exam, request.getMode(), startTime, questions);
     }
 
     @Override
@@ -242,8 +248,8 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         session.setEndTime(endTime);
         userExamSessionRepository.save(session);
 
-        // Get all user answers for this session
-        List<UserAnswer> userAnswers = userAnswerRepository.findByUserExamSessionId(sessionId);
+        // Get all user answers for this session (questions fetched in the same query)
+        List<UserAnswer> userAnswers = userAnswerRepository.findWithQuestionByUserExamSessionId(sessionId);
 
         // Build ExamCompletedEvent with all session data and answers
         ExamCompletedEvent event = buildExamCompletedEvent(session, userAnswers, endTime);
@@ -255,6 +261,17 @@ public class ExamSessionServiceImpl implements ExamSessionService {
 
         log.info("Session {} completed for user {} with score {}%", sessionId, userId, result.getPercentage());
 
+        // Counted with the COMPLETED status, whatever the reply carried: the score is derived from
+        // the session counters exactly as result-service grades it. A reply timeout or failure
+        // rolls back the status and the count together. Last statement, so the shared stats rows
+        // are not locked while waiting for the reply.
+        BigDecimal percentage = scorePercentage(event);
+        examStatsService.recordSessionCompleted(
+                session.getExam().getId(),
+                session.getCertification().getId(),
+                percentage,
+                percentage.compareTo(BigDecimal.valueOf(passingScoreOf(event))) >= 0);
+
         return result;
     }
 
@@ -279,6 +296,133 @@ public class ExamSessionServiceImpl implements ExamSessionService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public SessionHistoryResponse getSessionHistory(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<SessionHistoryItemResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userExamSessionRepository.findHistoryFirstPage(userId, limit);
+        } else {
+            HistoryCursor position = decodeHistoryCursor(cursor);
+            rows = userExamSessionRepository.findHistoryPageAfter(
+                    userId, position.startTime(), position.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<SessionHistoryItemResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? encodeHistoryCursor(items.get(items.size() - 1)) : null;
+
+        return SessionHistoryResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private String encodeHistoryCursor(SessionHistoryItemResponse last) {
+        String raw = last.getStartTime() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeHistoryCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw BusinessException.invalidInput("Invalid history cursor");
+            }
+            return new HistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw BusinessException.invalidInput("Invalid history cursor");
+        }
+    }
+
+    /**
+     * Score percentage of a completed session, computed like result-service's grading
+     * (correct answers over total questions, two decimals).
+     */
+    private BigDecimal scorePercentage(ExamCompletedEvent event) {
+        int totalQuestions = event.getTotalQuestions() != null ? event.getTotalQuestions() : 0;
+        int correctCount = event.getCorrectCount() != null ? event.getCorrectCount() : 0;
+        if (totalQuestions == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(correctCount)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(BigDecimal.valueOf(totalQuestions), 2, RoundingMode.HALF_UP);
+    }
+
+    private int passingScoreOf(ExamCompletedEvent event) {
+        return event.getPassingScore() != null ? event.getPassingScore() : DEFAULT_PASSING_SCORE;
+    }
+
+    /**
+     * Keyset position (start_time, id) of the last row of a history page.
+     */
+    private record HistoryCursor(LocalDateTime startTime, Long id) {
+    }
+
+    /**
+     * Response for a session that was already active. Its questions and settings come from the
+     * version the session is pinned to, which differs from the live exam if it was edited since;
+     * legacy sessions without a version fall back to the live questions.
+     */
+    private ExamSessionResponse buildActiveSessionResponse(UserExamSession session, Exam exam,
+                                                           List<Question> liveQuestions) {
+        ExamVersion version = session.getExamVersionId() != null
+                ? examVersionService.findById(session.getExamVersionId()).orElse(null)
+                : null;
+        if (version == null) {
+            return buildExamSessionResponse(session.getId(), exam, session.getMode(), session.getStartTime(),
+                    liveQuestions);
+        }
+
+        // The session's answer rows were created from the paper, so they hold exactly its questions
+        Map<Long, Question> sessionQuestions = userAnswerRepository.findWithQuestionByUserExamSessionId(session.getId())
+                .stream()
+                .collect(Collectors.toMap(answer -> answer.getQuestion().getId(), UserAnswer::getQuestion,
+                        (a, b) -> a));
+        List<Question> paperQuestions = version.getPaper().getQuestions().stream()
+                .map(paperQuestion -> sessionQuestions.get(paperQuestion.getQuestionId()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        ExamSessionResponse response = buildExamSessionResponse(session.getId(), exam, session.getMode(),
+                session.getStartTime(), paperQuestions);
+        response.setExamTitle(version.getTitle());
+        response.setDurationMinutes(version.getDurationMinutes());
+        response.setPassingScore(version.getPassingScore());
+        return response;
+    }
+
+    private ExamSessionResponse buildExamSessionResponse(Long sessionId, Exam exam, String mode,
+                                                         LocalDateTime startTime, List<Question> questions) {
+        List<QuestionResponse> questionResponses = questions.stream()
+                .map(questionMapper::toResponseWithoutCorrect)
+                .toList();
+
+        return ExamSessionResponse.builder()
+                .id(sessionId)
+                .examId(exam.getId())
+                .examTitle(exam.getTitle())
+                .certificationId(exam.getCertification().getId())
+                .certificationName(exam.getCertification().getName())
+                .mode(mode)
+                .status(STATUS_IN_PROGRESS)
+                .startTime(startTime)
+                .durationMinutes(exam.getDurationMinutes())
+                .passingScore(exam.getPassingScore())
+                .totalQuestions(questions.size())
+                .currentQuestionIndex(0)
+                .questions(questionResponses)
+                .build();
+    }
+
     /**
      * Map UserExamSession entity to UserExamSessionResponse DTO.
      */
@@ -309,25 +453,46 @@ public class ExamSessionServiceImpl implements ExamSessionService {
 
     /**
      * Build ExamCompletedEvent from session and answers.
+     * Exam metadata and topics come from the session's frozen version (one row read);
+     * legacy sessions without a version fall back to the live exam graph.
      */
     private ExamCompletedEvent buildExamCompletedEvent(UserExamSession session, List<UserAnswer> userAnswers, LocalDateTime endTime) {
-        Exam exam = session.getExam();
-
-        // Convert UserAnswer entities to UserAnswerData
-        List<ExamCompletedEvent.UserAnswerData> answerDataList = userAnswers.stream()
-                .map(this::convertToUserAnswerData)
-                .collect(Collectors.toList());
+        ExamVersion version = session.getExamVersionId() != null
+                ? examVersionService.findById(session.getExamVersionId()).orElse(null)
+                : null;
+
+        Long examId;
+        Integer passingScore;
+        List<ExamCompletedEvent.UserAnswerData> answerDataList;
+
+        if (version != null) {
+            ExamPaper paper = version.getPaper();
+            Map<Long, ExamPaper.PaperQuestion> paperQuestions = paper.questionsById();
+            examId = version.getExamId();
+            passingScore = version.getPassingScore();
+            answerDataList = userAnswers.stream()
+                    .map(answer -> convertToUserAnswerData(answer, paperQuestions.get(answer.getQuestion().getId()),
+                            paper.getTopicNames()))
+                    .collect(Collectors.toList());
+        } else {
+            Exam exam = session.getExam();
+            examId = exam.getId();
+            passingScore = exam.getPassingScore();
+            answerDataList = userAnswers.stream()
+                    .map(this::convertToUserAnswerData)
+                    .collect(Collectors.toList());
+        }
 
         return ExamCompletedEvent.builder()
                 .sessionId(session.getId())
                 .userId(session.getUserId())
-                .examId(exam.getId())
+                .examId(examId)
                 .certificationId(session.getCertification() != null ? session.getCertification().getId() : null)
                 .mode(session.getMode())
                 .examTitle(session.getExamTitle())
                 .totalQuestions(session.getTotalQuestions())
                 .durationMinutes(session.getDurationMinutes())
-                .passingScore(exam.getPassingScore())
+                .passingScore(passingScore)
                 .startTime(session.getStartTime())
                 .endTime(endTime)
                 .answeredCount(session.getAnsweredCount())
@@ -340,6 +505,33 @@ public class ExamSessionServiceImpl implements ExamSessionService {
                 .build();
     }
 
+    /**
+     * Convert UserAnswer entity to UserAnswerData using topic data from the frozen paper.
+     */
+    private ExamCompletedEvent.UserAnswerData convertToUserAnswerData(UserAnswer userAnswer,
+                                                                       ExamPaper.PaperQuestion paperQuestion,
+                                                                       Map<Long, String> topicNames) {
+        if (paperQuestion == null) {
+            return convertToUserAnswerData(userAnswer);
+        }
+        Question question = userAnswer.getQuestion();
+
+        return ExamCompletedEvent.UserAnswerData.builder()
+                .questionId(question.getId())
+                .topicId(paperQuestion.getTopicId())
+                .topicName(paperQuestion.getTopicId() != null ? topicNames.get(paperQuestion.getTopicId()) : null)
+                .selectedOptionIds(userAnswer.getSelectedOptionIds())
+                .correctOptionIds(userAnswer.getCorrectOptionIds())
+                .isCorrect(userAnswer.getIsCorrect())
+                .isFlagged(userAnswer.getIsFlagged())
+                .timeSpentSeconds(userAnswer.getTimeSpentSeconds())
+                .answeredAt(userAnswer.getAnsweredAt())
+                .questionText(question.getContent())
+                .explanation(question.getExplanation())
+                .reference(question.getReferenceUrl())
+                .build();
+    }
+
     /**
      * Convert UserAnswer entity to UserAnswerData for the event.
      */
@@ -0,0 +1,114 @@
+package com.certimaster.exam_service.service.impl;
+
+import com.certimaster.common_library.exception.business.ResourceNotFoundException;
+import com.certimaster.exam_service.dto.response.CertificationStatsResponse;
+import com.certimaster.exam_service.dto.response.ExamStatsResponse;
+import com.certimaster.exam_service.entity.CertificationStats;
+import com.certimaster.exam_service.entity.ExamStats;
+import com.certimaster.exam_service.repository.CertificationRepository;
+import com.certimaster.exam_service.repository.CertificationStatsRepository;
+import com.certimaster.exam_service.repository.ExamRepository;
+import com.certimaster.exam_service.repository.ExamStatsRepository;
+import com.certimaster.exam_service.service.ExamStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExamStatsServiceImpl implements ExamStatsService {
+
+    private static final String EXAM = "Exam";
+    private static final String CERTIFICATION = "Certification";
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ExamStatsRepository examStatsRepository;
+    private final CertificationStatsRepository certificationStatsRepository;
+    private final ExamRepository examRepository;
+    private final CertificationRepository certificationRepository;
+
+    @Override
+    @Transactional
+    public void recordSessionStarted(Long examId, Long certificationId, Long userId) {
+        examStatsRepository.incrementAttempts(examId, certificationId);
+
+        // Enrollment counts distinct users, so only the first session per certification adds one
+        if (certificationStatsRepository.insertEnrollmentIfAbsent(userId, certificationId) > 0) {
+            certificationStatsRepository.incrementEnrollments(certificationId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordSessionCompleted(Long examId, Long certificationId, BigDecimal percentage, boolean passed) {
+        int passedDelta = passed ? 1 : 0;
+        examStatsRepository.addCompletion(examId, certificationId, passedDelta, percentage);
+        certificationStatsRepository.addCompletion(certificationId, passedDelta, percentage);
+    }
+
+    @Override
+    public ExamStatsResponse getExamStats(Long examId) {
+        return examStatsRepository.findByExamId(examId)
+                .map(this::toResponse)
+                .orElseGet(() -> {
+                    if (!examRepository.existsById(examId)) {
+                        throw ResourceNotFoundException.byId(EXAM, examId);
+                    }
+                    return ExamStatsResponse.builder()
+                            .totalAttempts(0L)
+                            .averageScore(BigDecimal.ZERO)
+                            .passRate(BigDecimal.ZERO)
+                            .completionRate(BigDecimal.ZERO)
+                            .build();
+                });
+    }
+
+    @Override
+    public CertificationStatsResponse getCertificationStats(Long certificationId) {
+        return certificationStatsRepository.findByCertificationId(certificationId)
+                .map(this::toResponse)
+                .orElseGet(() -> {
+                    if (!certificationRepository.existsById(certificationId)) {
+                        throw ResourceNotFoundException.byId(CERTIFICATION, certificationId);
+                    }
+                    return CertificationStatsResponse.builder()
+                            .totalEnrollments(0L)
+                            .totalExamsTaken(0L)
+                            .averageScore(BigDecimal.ZERO)
+                            .passRate(BigDecimal.ZERO)
+                            .build();
+                });
+    }
+
+    private ExamStatsResponse toResponse(ExamStats stats) {
+        return ExamStatsResponse.builder()
+                .totalAttempts(stats.getTotalAttempts())
+                .averageScore(ratio(stats.getScoreSum(), stats.getCompletedCount(), false))
+                .passRate(ratio(BigDecimal.valueOf(stats.getPassedCount()), stats.getCompletedCount(), true))
+                .completionRate(ratio(BigDecimal.valueOf(stats.getCompletedCount()), stats.getTotalAttempts(), true))
+                .build();
+    }
+
+    private CertificationStatsResponse toResponse(CertificationStats stats) {
+        return CertificationStatsResponse.builder()
+                .totalEnrollments(stats.getTotalEnrollments())
+                .totalExamsTaken(stats.getCompletedCount())
+                .averageScore(ratio(stats.getScoreSum(), stats.getCompletedCount(), false))
+                .passRate(ratio(BigDecimal.valueOf(stats.getPassedCount()), stats.getCompletedCount(), true))
+                .build();
+    }
+
+    private BigDecimal ratio(BigDecimal numerator, long denominator, boolean asPercentage) {
+        if (denominator == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal value = asPercentage ? numerator.multiply(HUNDRED) : numerator;
+        return value.divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+    }
+}
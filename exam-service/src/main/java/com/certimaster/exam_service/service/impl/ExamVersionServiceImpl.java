@@ -0,0 +1,135 @@
+package com.certimaster.exam_service.service.impl;
+
+import com.certimaster.common_library.exception.business.BusinessException;
+import com.certimaster.exam_service.entity.Exam;
+import com.certimaster.exam_service.entity.ExamPaper;
+import com.certimaster.exam_service.entity.ExamVersion;
+import com.certimaster.exam_service.entity.Question;
+import com.certimaster.exam_service.entity.QuestionOption;
+import com.certimaster.exam_service.repository.ExamVersionRepository;
+import com.certimaster.exam_service.service.ExamVersionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Implementation of ExamVersionService.
+ * A version is identified by the SHA-256 of its serialized paper, so an unchanged exam
+ * resolves to its existing version with a single indexed lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExamVersionServiceImpl implements ExamVersionService {
+
+    private final ExamVersionRepository examVersionRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public ExamVersion resolveCurrentVersion(Exam exam, List<Question> questions) {
+        ExamPaper paper = buildPaper(questions);
+        String paperJson = toJson(paper);
+        String checksum = checksum(exam, paperJson);
+
+        Optional<ExamVersion> existing = examVersionRepository.findByExamIdAndChecksum(exam.getId(), checksum);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        // New paper: serialize version numbering per exam, then check again in case a
+        // concurrent start froze the same paper while we waited for the lock
+        examVersionRepository.lockExamForVersioning(exam.getId());
+        existing = examVersionRepository.findByExamIdAndChecksum(exam.getId(), checksum);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        LocalDateTime publishedAt = LocalDateTime.now();
+        examVersionRepository.insertVersionIfAbsent(
+                exam.getId(),
+                exam.getCertification() != null ? exam.getCertification().getId() : null,
+                exam.getTitle(),
+                exam.getDurationMinutes(),
+                exam.getPassingScore(),
+                questions.size(),
+                checksum,
+                paperJson,
+                publishedAt
+        ).ifPresent(id -> log.info("Froze exam {} into version {} ({} questions)", exam.getId(), id, questions.size()));
+
+        return examVersionRepository.findByExamIdAndChecksum(exam.getId(), checksum)
+                .orElseThrow(() -> BusinessException.operationFailed("freeze exam version"));
+    }
+
+    @Override
+    public Optional<ExamVersion> findById(Long versionId) {
+        return examVersionRepository.findById(versionId);
+    }
+
+    private ExamPaper buildPaper(List<Question> questions) {
+        ExamPaper paper = ExamPaper.builder().build();
+        Map<Long, String> topicNames = new TreeMap<>();
+
+        for (Question question : questions) {
+            Long[] correctOptionIds = question.getQuestionOptions().stream()
+                    .filter(QuestionOption::getIsCorrect)
+                    .map(QuestionOption::getId)
+                    .sorted(Comparator.naturalOrder())
+                    .toArray(Long[]::new);
+
+            Long topicId = question.getTopic() != null ? question.getTopic().getId() : null;
+            if (topicId != null) {
+                topicNames.putIfAbsent(topicId, question.getTopic().getName());
+            }
+
+            paper.getQuestions().add(ExamPaper.PaperQuestion.builder()
+                    .questionId(question.getId())
+                    .topicId(topicId)
+                    .correctOptionIds(correctOptionIds)
+                    .build());
+        }
+
+        paper.setTopicNames(topicNames);
+        return paper;
+    }
+
+    private String toJson(ExamPaper paper) {
+        try {
+            return objectMapper.writeValueAsString(paper);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("OPERATION_FAILED", "Failed to serialize exam paper", e);
+        }
+    }
+
+    private String checksum(Exam exam, String paperJson) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("title", exam.getTitle());
+        header.put("durationMinutes", exam.getDurationMinutes());
+        header.put("passingScore", exam.getPassingScore());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(header.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(paperJson.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.certimaster.exam_service.entity.Certification;
 import com.certimaster.exam_service.entity.Topic;
 import com.certimaster.exam_service.repository.CertificationRepository;
 import com.certimaster.exam_service.repository.TopicRepository;
+import com.certimaster.exam_service.service.CatalogSnapshotService;
 import com.certimaster.exam_service.service.TopicService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +39,7 @@ public class TopicServiceImpl implements TopicService {
     private final TopicRepository topicRepository;
     private final CertificationRepository certificationRepository;
     private final TopicMapper topicMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @Override
     public PageDto<TopicResponse> search(TopicSearchRequest request) {
@@ -92,6 +94,7 @@ public class TopicServiceImpl implements TopicService {
 
         Topic saved = topicRepository.save(topic);
         log.info("Created topic with id: {}", saved.getId());
+        catalogSnapshotService.refreshCertification(certification.getId());
 
         return topicMapper.toResponse(saved);
     }
@@ -102,6 +105,7 @@ public class TopicServiceImpl implements TopicService {
         log.debug("Updating topic with id: {}", id);
 
         Topic topic = findOrThrow(id);
+        Long previousCertificationId = topic.getCertification().getId();
 
         // Update certification if changed
         if (!topic.getCertification().getId().equals(request.getCertificationId())) {
@@ -119,6 +123,10 @@ public class TopicServiceImpl implements TopicService {
 
         Topic saved = topicRepository.save(topic);
         log.info("Updated topic with id: {}", saved.getId());
+        catalogSnapshotService.refreshCertification(previousCertificationId);
+        if (!previousCertificationId.equals(saved.getCertification().getId())) {
+            catalogSnapshotService.refreshCertification(saved.getCertification().getId());
+        }
 
         return topicMapper.toResponse(saved);
     }
@@ -129,9 +137,11 @@ public class TopicServiceImpl implements TopicService {
         log.debug("Deleting topic with id: {}", id);
 
         Topic topic = findOrThrow(id);
+        Long certificationId = topic.getCertification().getId();
         topicRepository.delete(topic);
 
         log.info("Deleted topic with id: {}", id);
+        catalogSnapshotService.refreshCertification(certificationId);
     }
 
     private Topic findOrThrow(Long id) {
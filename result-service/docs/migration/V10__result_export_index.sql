@@ -0,0 +1,17 @@
+-- ============================================================================
+-- Result Service Migration: Index for Result Exports
+-- ============================================================================
+-- Description: /api/v1/results/export streams every result of a certification
+--              in a completed_at range, oldest first. The index serves the
+--              filter and the order in each monthly partition, so the export
+--              cursor returns its first rows without sorting the range.
+-- Version: 10.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_exam_results_part_cert_completed
+    ON exam_results(certification_id, completed_at, id);
+
+COMMIT;
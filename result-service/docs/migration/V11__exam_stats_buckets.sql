@@ -0,0 +1,60 @@
+-- ============================================================================
+-- Result Service Migration: Windowed Exam Statistics
+-- ============================================================================
+-- Description: Hourly and daily aggregates per exam (count, passes, percentage
+--              and time sums, score and time histograms), merged in by delta
+--              batches from every instance (ExamStatsService). A range query
+--              merges the daily buckets it covers and the hourly buckets at its
+--              edges, so admin dashboards never group exam_results.
+--              Histogram layout is fixed in ExamWindowStats: 20 score buckets
+--              of 5 percentage points, 11 time buckets bounded at 5, 10, 15,
+--              20, 30, 45, 60, 90, 120 and 180 minutes.
+-- Version: 11.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: ARRAY ADDITION
+-- ============================================================================
+-- Element-wise sum of two histograms of the same length
+CREATE OR REPLACE FUNCTION add_bigint_arrays(a BIGINT[], b BIGINT[])
+RETURNS BIGINT[] AS $$
+    SELECT array_agg(COALESCE(x, 0) + COALESCE(y, 0) ORDER BY i)
+    FROM unnest(a, b) WITH ORDINALITY AS t(x, y, i)
+$$ LANGUAGE sql IMMUTABLE;
+
+-- ============================================================================
+-- SECTION 2: BUCKET TABLE
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS exam_stats_buckets (
+    granularity      VARCHAR(4)    NOT NULL,
+    exam_id          BIGINT        NOT NULL,
+    bucket_start     TIMESTAMP     NOT NULL,
+    certification_id BIGINT        NOT NULL,
+    result_count     BIGINT        NOT NULL DEFAULT 0,
+    pass_count       BIGINT        NOT NULL DEFAULT 0,
+    percentage_sum   NUMERIC(16,2) NOT NULL DEFAULT 0,
+    time_count       BIGINT        NOT NULL DEFAULT 0,
+    time_sum         BIGINT        NOT NULL DEFAULT 0,
+    score_histogram  BIGINT[]      NOT NULL,
+    time_histogram   BIGINT[]      NOT NULL,
+    updated_at       TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (granularity, exam_id, bucket_start),
+    CONSTRAINT chk_exam_stats_buckets_granularity CHECK (granularity IN ('HOUR', 'DAY'))
+);
+
+COMMENT ON TABLE exam_stats_buckets IS 'Hourly and daily result aggregates per exam; hourly rows are purged after result.exam-stats.hour-retention-days';
+
+-- Certification-wide ranges (the primary key serves per-exam ranges)
+CREATE INDEX IF NOT EXISTS idx_exam_stats_buckets_certification
+    ON exam_stats_buckets(granularity, certification_id, bucket_start);
+
+COMMIT;
+
+-- ============================================================================
+-- SECTION 3: BACKFILL
+-- ============================================================================
+-- Start result-service once with --rebuild-exam-stats (consumers paused) to
+-- fill the table from exam_results.
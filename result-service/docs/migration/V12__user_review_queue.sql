@@ -0,0 +1,52 @@
+-- ============================================================================
+-- Result Service Migration: Spaced-Repetition Review Queue
+-- ============================================================================
+-- Description: One row per (user, question) the user has answered wrongly,
+--              scheduled SM-2 style: a wrong answer resets the interval to one
+--              day and lowers the ease factor, a later correct answer grows the
+--              interval (1, 6, then interval * ease days). Rows are upserted in
+--              the transaction that inserts the result (ReviewQueueService), and
+--              "next questions to review" is a range read on (user_id, due_at).
+-- Version: 12.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: QUEUE TABLE
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS user_review_queue (
+    user_id          BIGINT       NOT NULL,
+    question_id      BIGINT       NOT NULL,
+    repetitions      INTEGER      NOT NULL DEFAULT 0,
+    interval_days    INTEGER      NOT NULL DEFAULT 1,
+    ease_factor      NUMERIC(4,2) NOT NULL DEFAULT 2.50,
+    lapse_count      INTEGER      NOT NULL DEFAULT 0,
+    last_reviewed_at TIMESTAMP    NOT NULL,
+    due_at           TIMESTAMP    NOT NULL,
+    created_at       TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP,
+    PRIMARY KEY (user_id, question_id)
+);
+
+COMMENT ON TABLE user_review_queue IS 'SM-2 review schedule of the questions a user answered wrongly';
+
+-- Next questions to review of a user, earliest due first
+CREATE INDEX IF NOT EXISTS idx_user_review_queue_due
+    ON user_review_queue(user_id, due_at, question_id);
+
+-- ============================================================================
+-- SECTION 2: SEED FROM QUESTION ACCURACY
+-- ============================================================================
+-- Full answer order is not replayed: every question answered wrongly at least
+-- once starts as a fresh lapse, due a day after its last answer.
+INSERT INTO user_review_queue (user_id, question_id, repetitions, interval_days, ease_factor, lapse_count,
+                               last_reviewed_at, due_at, created_at, updated_at)
+SELECT user_id, question_id, 0, 1, 2.50, wrong_count, last_answered_at, last_answered_at + INTERVAL '1 day',
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM user_question_accuracy
+WHERE wrong_count > 0 AND last_answered_at IS NOT NULL
+ON CONFLICT (user_id, question_id) DO NOTHING;
+
+COMMIT;
@@ -0,0 +1,24 @@
+-- ============================================================================
+-- Result Service Migration: Percentile Rank Stored with the Result
+-- ============================================================================
+-- Description: The percentile rank ("better than X% of takers") is computed
+--              from the exam's score histogram when the result is graded and
+--              stored with it. Reads return the stored value instead of
+--              recomputing it against the current histogram, which includes
+--              the result itself and every later attempt, so the same session
+--              always reports the same rank. Results stored before this
+--              migration keep a null rank (not backfilled: the histogram as of
+--              their grading is not known).
+-- Version: 13.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- Added to the partitioned parent, so every monthly partition gets the column
+ALTER TABLE exam_results
+    ADD COLUMN IF NOT EXISTS percentile_rank NUMERIC(5,2);
+
+COMMENT ON COLUMN exam_results.percentile_rank IS 'Percentage of earlier attempts of the exam scoring strictly lower, at grading time (null if none or graded before V13)';
+
+COMMIT;
@@ -0,0 +1,22 @@
+-- ============================================================================
+-- Result Service Migration: Single-Step Sequences for JDBC-Written Tables
+-- ============================================================================
+-- Description: exam_results, topic_performance and question_results are only
+--              written by the JDBC batch writer (ExamResultBatchRepository),
+--              which draws one nextval per row. With the INCREMENT BY 50 of
+--              V1__pooled_sequences.sql every row burned 50 IDs, and the pooled
+--              Hibernate generators those 50 were reserved for never run.
+--              The sequences now step by 1 (the entities declare
+--              allocationSize = 1 to match). The next value continues after the
+--              last one handed out, so existing IDs stay unique.
+-- Version: 14.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+ALTER SEQUENCE exam_results_seq INCREMENT BY 1;
+ALTER SEQUENCE topic_performance_seq INCREMENT BY 1;
+ALTER SEQUENCE question_results_seq INCREMENT BY 1;
+
+COMMIT;
@@ -0,0 +1,90 @@
+-- ============================================================================
+-- Result Service Migration: Archived Month Record and Default Partitions
+-- ============================================================================
+-- Description: result_archived_months records every month whose partitions
+--              were exported and dropped (PartitionMaintenanceService). The
+--              rebuilds that recompute a projection from stored results refuse
+--              to run once a month is archived, since its results would drop
+--              out of the totals; the exam statistics rebuild keeps the
+--              buckets of archived months and only recomputes later ones.
+--              Months archived before this migration are recovered from the
+--              session claims whose month no longer has a partition.
+--              exam_results, topic_performance and question_results get a
+--              DEFAULT partition, so a result completed outside the months
+--              created ahead (clock skew, a late event of an archived month)
+--              is stored instead of failing the insert and, in batch mode, the
+--              whole batch. create_result_month_partitions moves rows of the
+--              month out of the default partition before creating it, since
+--              PostgreSQL refuses to create a partition whose range has rows in
+--              the default one.
+-- Version: 15.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: ARCHIVED MONTHS
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS result_archived_months (
+    month       DATE      PRIMARY KEY,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE result_archived_months IS 'First day of every month whose result partitions were archived and dropped';
+
+INSERT INTO result_archived_months (month)
+SELECT m.month
+FROM (SELECT DISTINCT date_trunc('month', completed_at)::date AS month FROM exam_result_sessions) m
+WHERE to_regclass('exam_results' || to_char(m.month, '"_p"YYYYMM')) IS NULL
+ON CONFLICT (month) DO NOTHING;
+
+-- ============================================================================
+-- SECTION 2: DEFAULT PARTITIONS
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS exam_results_default PARTITION OF exam_results DEFAULT;
+CREATE TABLE IF NOT EXISTS topic_performance_default PARTITION OF topic_performance DEFAULT;
+CREATE TABLE IF NOT EXISTS question_results_default PARTITION OF question_results DEFAULT;
+
+-- ============================================================================
+-- SECTION 3: PARTITION HELPER
+-- ============================================================================
+CREATE OR REPLACE FUNCTION create_result_month_partitions(month_start DATE)
+RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    to_date   DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    suffix    TEXT := to_char(from_date, '"_p"YYYYMM');
+    tbl       TEXT;
+    moved     BIGINT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['exam_results', 'topic_performance', 'question_results',
+                               'question_result_blocks'] LOOP
+        IF to_regclass(tbl || suffix) IS NOT NULL THEN
+            CONTINUE;
+        END IF;
+
+        moved := 0;
+        IF to_regclass(tbl || '_default') IS NOT NULL THEN
+            EXECUTE format('CREATE TEMP TABLE result_partition_moved (LIKE %I)', tbl);
+            EXECUTE format('WITH moved AS (DELETE FROM %I WHERE completed_at >= %L AND completed_at < %L RETURNING *) '
+                           'INSERT INTO result_partition_moved SELECT * FROM moved',
+                           tbl || '_default', from_date, to_date);
+            GET DIAGNOSTICS moved = ROW_COUNT;
+        END IF;
+
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       tbl || suffix, tbl, from_date, to_date);
+
+        IF to_regclass(tbl || '_default') IS NOT NULL THEN
+            IF moved > 0 THEN
+                EXECUTE format('INSERT INTO %I SELECT * FROM result_partition_moved', tbl);
+                RAISE NOTICE 'Moved % rows of % from %_default to %', moved, from_date, tbl, tbl || suffix;
+            END IF;
+            DROP TABLE result_partition_moved;
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMIT;
@@ -0,0 +1,36 @@
+-- ============================================================================
+-- Result Service Migration: Stored Question Contents
+-- ============================================================================
+-- Description: Question text, explanation and reference arrive with every
+--              ExamCompletedEvent but were only kept in the result cache, so a
+--              result read after eviction or on another instance came without
+--              them. question_contents stores each distinct content once (keyed
+--              by a SHA-256 of question id, text, explanation and reference, so
+--              an edited question gets a new row and old results keep the text
+--              they were graded against). exam_results.question_content_ids
+--              lists the contents of the result's questions.
+-- Version: 16.0
+-- Database: PostgreSQL 12+
+-- Note: Not backfilled; results stored before this migration keep coming back
+--       without question text.
+-- ============================================================================
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS question_contents (
+    id            BIGSERIAL PRIMARY KEY,
+    content_hash  CHAR(64)  NOT NULL,
+    question_id   BIGINT    NOT NULL,
+    question_text TEXT,
+    explanation   TEXT,
+    reference     TEXT,
+    created_at    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_question_contents_hash UNIQUE (content_hash)
+);
+
+COMMENT ON TABLE question_contents IS 'Distinct question text, explanation and reference seen in graded results';
+
+-- Added to every monthly partition
+ALTER TABLE exam_results ADD COLUMN IF NOT EXISTS question_content_ids BIGINT[];
+
+COMMIT;
@@ -0,0 +1,34 @@
+-- ============================================================================
+-- Result Service Migration: Durable Queue of Batched Projection Deltas
+-- ============================================================================
+-- Description: Projections merged into hot rows in batches (exam statistics
+--              buckets, question item statistics) no longer buffer their
+--              deltas in memory after commit, where a crash lost them for good
+--              once the Kafka offset was committed. A result whose question
+--              results are packed or archived while still queued is skipped
+--              by the item statistics (logged; --rebuild-item-analysis counts
+--              it). The transaction that inserts a result queues one row
+--              per batched projection instead (a plain append, no shared row).
+--              Every flush interval an instance claims queued rows with
+--              FOR UPDATE SKIP LOCKED, deletes them, reads the results they
+--              point to and merges the folded deltas, all in one transaction:
+--              a delta is applied exactly once, whichever instance or restart
+--              gets to it. A rebuild deletes the queued rows it recomputes.
+-- Version: 17.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS result_projection_queue (
+    projection   VARCHAR(32) NOT NULL,
+    result_id    BIGINT      NOT NULL,
+    completed_at TIMESTAMP   NOT NULL,
+    queued_at    TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (projection, result_id)
+);
+
+COMMENT ON TABLE result_projection_queue IS 'Results not yet merged into a batched projection (ResultProjectionQueueRepository.Projection)';
+COMMENT ON COLUMN result_projection_queue.completed_at IS 'Partition key of the result, so the flush join prunes to its month';
+
+COMMIT;
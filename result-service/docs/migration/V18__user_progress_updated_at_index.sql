@@ -0,0 +1,18 @@
+-- ============================================================================
+-- Result Service Migration: Incremental Leaderboard Resync Index
+-- ============================================================================
+-- Description: Leaderboards are loaded from user_progress once at startup;
+--              the periodic resync that picks up results processed by other
+--              instances only reads the rows updated since the last resync
+--              (LeaderboardService), instead of every row of every instance
+--              every few minutes. user_progress.updated_at changes on every
+--              result, so its upserts stop being HOT updates; that is one
+--              extra index entry per result (not per answer) on a narrow row,
+--              against a full table scan per instance per resync.
+-- Version: 18.0
+-- Database: PostgreSQL 12+
+-- Note: Run outside a transaction block (CREATE INDEX CONCURRENTLY).
+-- ============================================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_progress_updated_at
+    ON user_progress(updated_at);
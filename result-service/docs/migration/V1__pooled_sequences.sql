@@ -0,0 +1,38 @@
+-- ============================================================================
+-- Result Service Migration: Pooled Sequences for High-Volume Tables
+-- ============================================================================
+-- Description: Per-table sequences with INCREMENT BY 50 for entities that use
+--              pooled sequence IDs (AuditableEntity.POOLED_SEQUENCE_ALLOCATION_SIZE).
+--              Hibernate reserves 50 IDs per nextval and can then batch INSERTs,
+--              which IDENTITY columns prevent.
+--              Each sequence starts past the current MAX(id), and the column
+--              default is switched to it so the JDBC batch writer
+--              (ExamResultBatchRepository) stays disjoint from Hibernate's ranges.
+-- Version: 1.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ----------------------------------------------------------------------------
+-- exam_results
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE exam_results_seq INCREMENT BY 50 OWNED BY exam_results.id;
+SELECT setval('exam_results_seq', COALESCE(MAX(id), 0) + 50, false) FROM exam_results;
+ALTER TABLE exam_results ALTER COLUMN id SET DEFAULT nextval('exam_results_seq');
+
+-- ----------------------------------------------------------------------------
+-- topic_performance
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE topic_performance_seq INCREMENT BY 50 OWNED BY topic_performance.id;
+SELECT setval('topic_performance_seq', COALESCE(MAX(id), 0) + 50, false) FROM topic_performance;
+ALTER TABLE topic_performance ALTER COLUMN id SET DEFAULT nextval('topic_performance_seq');
+
+-- ----------------------------------------------------------------------------
+-- question_results
+-- ----------------------------------------------------------------------------
+CREATE SEQUENCE question_results_seq INCREMENT BY 50 OWNED BY question_results.id;
+SELECT setval('question_results_seq', COALESCE(MAX(id), 0) + 50, false) FROM question_results;
+ALTER TABLE question_results ALTER COLUMN id SET DEFAULT nextval('question_results_seq');
+
+COMMIT;
@@ -0,0 +1,58 @@
+-- ============================================================================
+-- Result Service Migration: Incremental User Progress
+-- ============================================================================
+-- Description: user_progress becomes a projection of exam_results maintained
+--              by a single-row upsert per processed result (running sum,
+--              count and max), so progress reads never aggregate exam_results.
+--              The backfill below matches what
+--              `--rebuild-user-progress` computes.
+-- Version: 2.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: RUNNING TOTALS
+-- ============================================================================
+ALTER TABLE user_progress
+    ADD COLUMN IF NOT EXISTS score_sum NUMERIC(12, 2) NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN user_progress.score_sum IS 'Sum of result percentages; average_score = score_sum / total_exams_taken';
+
+-- ============================================================================
+-- SECTION 2: UPSERT TARGET
+-- ============================================================================
+
+-- Collapse any duplicate rows before enforcing one row per (user, certification)
+DELETE FROM user_progress up
+USING user_progress dup
+WHERE up.user_id = dup.user_id
+  AND up.certification_id = dup.certification_id
+  AND up.id < dup.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_user_progress_user_certification
+    ON user_progress(user_id, certification_id);
+
+-- ============================================================================
+-- SECTION 3: BACKFILL
+-- ============================================================================
+INSERT INTO user_progress (user_id, certification_id, total_exams_taken, total_questions_answered,
+                           correct_answers, score_sum, average_score, best_score, latest_exam_date,
+                           created_at, updated_at)
+SELECT r.user_id, r.certification_id, COUNT(*), SUM(r.total_questions), SUM(r.correct_answers),
+       SUM(r.percentage), ROUND(AVG(r.percentage), 2), MAX(r.percentage), MAX(r.completed_at),
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM exam_results r
+GROUP BY r.user_id, r.certification_id
+ON CONFLICT (user_id, certification_id) DO UPDATE
+SET total_exams_taken = EXCLUDED.total_exams_taken,
+    total_questions_answered = EXCLUDED.total_questions_answered,
+    correct_answers = EXCLUDED.correct_answers,
+    score_sum = EXCLUDED.score_sum,
+    average_score = EXCLUDED.average_score,
+    best_score = EXCLUDED.best_score,
+    latest_exam_date = EXCLUDED.latest_exam_date,
+    updated_at = CURRENT_TIMESTAMP;
+
+COMMIT;
@@ -0,0 +1,53 @@
+-- ============================================================================
+-- Result Service Migration: Daily Performance Rollups
+-- ============================================================================
+-- Description: performance_history becomes one rollup row per
+--              (user, certification, day) holding count, sums, min and max,
+--              updated by delta in the transaction that inserts the result.
+--              Trend queries read at most 365 rows per user-year instead of
+--              grouping raw rows on every dashboard load.
+-- Version: 3.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: ROLLUP COLUMNS
+-- ============================================================================
+ALTER TABLE performance_history
+    ADD COLUMN IF NOT EXISTS exam_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS score_sum NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS percentage_sum NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS min_percentage NUMERIC(5, 2),
+    ADD COLUMN IF NOT EXISTS max_percentage NUMERIC(5, 2);
+
+COMMENT ON COLUMN performance_history.score IS 'Average score of the day (score_sum / exam_count)';
+COMMENT ON COLUMN performance_history.percentage IS 'Average percentage of the day (percentage_sum / exam_count)';
+
+-- ============================================================================
+-- SECTION 2: REBUILD FROM EXAM RESULTS
+-- ============================================================================
+
+-- Rows are fully derivable from exam_results; recompute them as daily rollups
+DELETE FROM performance_history;
+
+INSERT INTO performance_history (user_id, certification_id, exam_date, exam_count, score_sum, percentage_sum,
+                                 score, percentage, min_percentage, max_percentage, created_at, updated_at)
+SELECT r.user_id, r.certification_id, r.completed_at::date, COUNT(*), SUM(r.score), SUM(r.percentage),
+       ROUND(AVG(r.score), 2), ROUND(AVG(r.percentage), 2), MIN(r.percentage), MAX(r.percentage),
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM exam_results r
+GROUP BY r.user_id, r.certification_id, r.completed_at::date;
+
+-- ============================================================================
+-- SECTION 3: UPSERT TARGET / TREND INDEX
+-- ============================================================================
+CREATE UNIQUE INDEX IF NOT EXISTS uq_performance_history_user_certification_day
+    ON performance_history(user_id, certification_id, exam_date);
+
+-- Cross-certification daily summary for a user
+CREATE INDEX IF NOT EXISTS idx_performance_history_user_day
+    ON performance_history(user_id, exam_date);
+
+COMMIT;
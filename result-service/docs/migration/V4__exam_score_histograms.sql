@@ -0,0 +1,47 @@
+-- ============================================================================
+-- Result Service Migration: Exam Score Histograms
+-- ============================================================================
+-- Description: One sparse histogram per exam over 0.01 percentage buckets,
+--              used to answer "better than X% of takers" without scanning
+--              exam_results. Instances merge their local deltas into the row
+--              under a row lock on a fixed interval.
+-- Version: 4.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: HISTOGRAM TABLE
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS exam_score_histograms (
+    id          BIGSERIAL PRIMARY KEY,
+    exam_id     BIGINT    NOT NULL,
+    total_count BIGINT    NOT NULL DEFAULT 0,
+    buckets     INTEGER[] NOT NULL DEFAULT '{}',
+    counts      INTEGER[] NOT NULL DEFAULT '{}',
+    created_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  TIMESTAMP,
+    created_by  VARCHAR(50),
+    updated_by  VARCHAR(50),
+    CONSTRAINT uq_exam_score_histograms_exam UNIQUE (exam_id)
+);
+
+COMMENT ON COLUMN exam_score_histograms.buckets IS 'Non-empty buckets, ascending (ROUND(percentage * 100))';
+COMMENT ON COLUMN exam_score_histograms.counts IS 'Attempts per bucket, parallel to buckets';
+
+-- ============================================================================
+-- SECTION 2: BACKFILL FROM EXAM RESULTS
+-- ============================================================================
+INSERT INTO exam_score_histograms (exam_id, total_count, buckets, counts, created_at, updated_at)
+SELECT b.exam_id, SUM(b.cnt), ARRAY_AGG(b.bucket ORDER BY b.bucket), ARRAY_AGG(b.cnt ORDER BY b.bucket),
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (SELECT r.exam_id,
+             LEAST(GREATEST(ROUND(r.percentage * 100), 0), 10000)::INTEGER AS bucket,
+             COUNT(*)::INTEGER                                              AS cnt
+      FROM exam_results r
+      GROUP BY r.exam_id, 2) b
+GROUP BY b.exam_id
+ON CONFLICT (exam_id) DO NOTHING;
+
+COMMIT;
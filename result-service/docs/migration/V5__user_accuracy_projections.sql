@@ -0,0 +1,92 @@
+-- ============================================================================
+-- Result Service Migration: User Accuracy Projections
+-- ============================================================================
+-- Description: Per-user counters per (certification, topic) and per question,
+--              updated by delta upserts in the transaction that inserts the
+--              result. Weak-topic and frequently-wrong lists become index
+--              lookups instead of aggregating a user's whole history.
+-- Version: 5.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: TOPIC ACCURACY
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS user_topic_accuracy (
+    id                 BIGSERIAL PRIMARY KEY,
+    user_id            BIGINT         NOT NULL,
+    certification_id   BIGINT         NOT NULL,
+    topic_id           BIGINT         NOT NULL,
+    topic_name         VARCHAR(255),
+    attempt_count      INTEGER        NOT NULL DEFAULT 0,
+    question_count     INTEGER        NOT NULL DEFAULT 0,
+    correct_count      INTEGER        NOT NULL DEFAULT 0,
+    percentage_sum     NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    average_percentage NUMERIC(5, 2),
+    last_attempt_at    TIMESTAMP,
+    created_at         TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         TIMESTAMP,
+    created_by         VARCHAR(50),
+    updated_by         VARCHAR(50),
+    CONSTRAINT uq_user_topic_accuracy UNIQUE (user_id, certification_id, topic_id)
+);
+
+-- Weak topics of a user in a certification, weakest first
+CREATE INDEX IF NOT EXISTS idx_user_topic_accuracy_weak
+    ON user_topic_accuracy(user_id, certification_id, average_percentage);
+
+-- All topics of a user, weakest first
+CREATE INDEX IF NOT EXISTS idx_user_topic_accuracy_user
+    ON user_topic_accuracy(user_id, average_percentage);
+
+-- ============================================================================
+-- SECTION 2: QUESTION ACCURACY
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS user_question_accuracy (
+    id               BIGSERIAL PRIMARY KEY,
+    user_id          BIGINT    NOT NULL,
+    question_id      BIGINT    NOT NULL,
+    attempt_count    INTEGER   NOT NULL DEFAULT 0,
+    correct_count    INTEGER   NOT NULL DEFAULT 0,
+    wrong_count      INTEGER   NOT NULL DEFAULT 0,
+    last_answered_at TIMESTAMP,
+    created_at       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP,
+    created_by       VARCHAR(50),
+    updated_by       VARCHAR(50),
+    CONSTRAINT uq_user_question_accuracy UNIQUE (user_id, question_id)
+);
+
+-- Frequently wrong questions of a user; questions never answered wrongly are not indexed
+CREATE INDEX IF NOT EXISTS idx_user_question_accuracy_wrong
+    ON user_question_accuracy(user_id, wrong_count DESC, question_id)
+    WHERE wrong_count > 0;
+
+-- ============================================================================
+-- SECTION 3: BACKFILL FROM EXAM RESULTS
+-- ============================================================================
+INSERT INTO user_topic_accuracy (user_id, certification_id, topic_id, topic_name, attempt_count, question_count,
+                                 correct_count, percentage_sum, average_percentage, last_attempt_at,
+                                 created_at, updated_at)
+SELECT r.user_id, r.certification_id, tp.topic_id, MAX(tp.topic_name), COUNT(*), SUM(tp.total_questions),
+       SUM(tp.correct_answers), SUM(tp.percentage), ROUND(AVG(tp.percentage), 2), MAX(r.completed_at),
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM topic_performance tp
+JOIN exam_results r ON r.id = tp.result_id
+GROUP BY r.user_id, r.certification_id, tp.topic_id
+ON CONFLICT (user_id, certification_id, topic_id) DO NOTHING;
+
+INSERT INTO user_question_accuracy (user_id, question_id, attempt_count, correct_count, wrong_count,
+                                    last_answered_at, created_at, updated_at)
+SELECT r.user_id, qr.question_id, COUNT(*),
+       COUNT(*) FILTER (WHERE qr.is_correct = TRUE),
+       COUNT(*) FILTER (WHERE qr.is_correct = FALSE),
+       MAX(r.completed_at), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM question_results qr
+JOIN exam_results r ON r.id = qr.result_id
+GROUP BY r.user_id, qr.question_id
+ON CONFLICT (user_id, question_id) DO NOTHING;
+
+COMMIT;
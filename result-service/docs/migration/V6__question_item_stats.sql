@@ -0,0 +1,54 @@
+-- ============================================================================
+-- Result Service Migration: Question Item Statistics
+-- ============================================================================
+-- Description: Streaming item analysis per question. Only running sums are
+--              accumulated (batched by each instance); difficulty, mean time
+--              and point-biserial discrimination are derived from them on
+--              every write, so admin reads never touch question_results.
+-- Version: 6.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: ITEM STATISTICS TABLE
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS question_item_stats (
+    id                BIGSERIAL PRIMARY KEY,
+    question_id       BIGINT           NOT NULL,
+    attempt_count     BIGINT           NOT NULL DEFAULT 0,
+    correct_count     BIGINT           NOT NULL DEFAULT 0,
+    time_count        BIGINT           NOT NULL DEFAULT 0,
+    time_sum          BIGINT           NOT NULL DEFAULT 0,
+    score_sum         DOUBLE PRECISION NOT NULL DEFAULT 0,
+    score_sq_sum      DOUBLE PRECISION NOT NULL DEFAULT 0,
+    correct_score_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    difficulty        NUMERIC(5, 4),
+    mean_time_seconds NUMERIC(10, 2),
+    discrimination    NUMERIC(5, 4),
+    created_at        TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at        TIMESTAMP,
+    created_by        VARCHAR(50),
+    updated_by        VARCHAR(50),
+    CONSTRAINT uq_question_item_stats_question UNIQUE (question_id)
+);
+
+COMMENT ON COLUMN question_item_stats.difficulty IS 'Proportion of attempts answering correctly (0-1)';
+COMMENT ON COLUMN question_item_stats.discrimination IS 'Point-biserial correlation of correctness with exam percentage';
+
+-- Admin listings (too easy / too hard / poor discrimination / most attempted)
+CREATE INDEX IF NOT EXISTS idx_question_item_stats_difficulty
+    ON question_item_stats(difficulty);
+CREATE INDEX IF NOT EXISTS idx_question_item_stats_discrimination
+    ON question_item_stats(discrimination);
+CREATE INDEX IF NOT EXISTS idx_question_item_stats_attempts
+    ON question_item_stats(attempt_count DESC);
+
+COMMIT;
+
+-- ============================================================================
+-- SECTION 2: BACKFILL
+-- ============================================================================
+-- Start result-service once with --rebuild-item-analysis (consumers paused)
+-- to fill the table from question_results.
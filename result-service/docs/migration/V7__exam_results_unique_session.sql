@@ -0,0 +1,36 @@
+-- ============================================================================
+-- Result Service Migration: Unique Session per Exam Result
+-- ============================================================================
+-- Description: One result per exam session, enforced by the database. Inserts
+--              use ON CONFLICT (session_id) DO NOTHING, so a duplicate event
+--              that slips past the in-memory Bloom filter is detected on
+--              insert and answered from the stored result.
+-- Version: 7.0
+-- Database: PostgreSQL 12+
+-- Note: Run outside a transaction block (CREATE INDEX CONCURRENTLY).
+-- ============================================================================
+
+-- ============================================================================
+-- SECTION 1: PRE-CHECK
+-- ============================================================================
+-- Abort if duplicates exist; they must be resolved by hand (keep the first result)
+DO $$
+DECLARE
+    duplicate_sessions BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO duplicate_sessions
+    FROM (SELECT session_id FROM exam_results GROUP BY session_id HAVING COUNT(*) > 1) d;
+    IF duplicate_sessions > 0 THEN
+        RAISE EXCEPTION 'exam_results has % sessions with more than one result', duplicate_sessions;
+    END IF;
+END $$;
+
+-- ============================================================================
+-- SECTION 2: UNIQUE CONSTRAINT
+-- ============================================================================
+-- Build without blocking writes, then attach as a constraint (ON CONFLICT target)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_exam_results_session
+    ON exam_results(session_id);
+
+ALTER TABLE exam_results
+    ADD CONSTRAINT uq_exam_results_session UNIQUE USING INDEX uq_exam_results_session;
@@ -0,0 +1,151 @@
+-- ============================================================================
+-- Result Service Migration: Monthly Partitions for Result Tables
+-- ============================================================================
+-- Description: exam_results, topic_performance and question_results become
+--              tables range-partitioned by month on completed_at. The child
+--              tables carry the completed_at of their result so a month is
+--              one partition in each table: vacuum and index maintenance work
+--              on the current month only, and old months are detached and
+--              archived (PartitionMaintenanceService) instead of deleted row
+--              by row.
+--              A partitioned table can only enforce uniqueness together with
+--              the partition key, so one result per session is now enforced
+--              by exam_result_sessions (session_id -> result_id, completed_at),
+--              which the writer claims with ON CONFLICT DO NOTHING before
+--              inserting. Session lookups go through it to the one partition
+--              holding the result.
+--              Foreign keys from the child tables are dropped: the writer
+--              inserts children in the parent's transaction, and a foreign
+--              key would block detaching a month.
+-- Version: 8.0
+-- Database: PostgreSQL 12+
+-- Note: Copies every result row. Run with exam result consumers stopped; the
+--       previous tables are kept as *_unpartitioned until dropped by hand
+--       (SECTION 6).
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: PARTITION HELPER
+-- ============================================================================
+-- Creates the partitions of one month (named <table>_pYYYYMM) in all three
+-- tables; called here and by PartitionMaintenanceService for months ahead
+CREATE OR REPLACE FUNCTION create_result_month_partitions(month_start DATE)
+RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    to_date   DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    suffix    TEXT := to_char(from_date, '"_p"YYYYMM');
+    tbl       TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['exam_results', 'topic_performance', 'question_results'] LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       tbl || suffix, tbl, from_date, to_date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ============================================================================
+-- SECTION 2: PARTITIONED TABLES
+-- ============================================================================
+ALTER TABLE exam_results RENAME TO exam_results_unpartitioned;
+ALTER TABLE topic_performance RENAME TO topic_performance_unpartitioned;
+ALTER TABLE question_results RENAME TO question_results_unpartitioned;
+
+CREATE TABLE exam_results (
+    LIKE exam_results_unpartitioned INCLUDING DEFAULTS,
+    PRIMARY KEY (id, completed_at)
+) PARTITION BY RANGE (completed_at);
+
+CREATE TABLE topic_performance (
+    LIKE topic_performance_unpartitioned INCLUDING DEFAULTS,
+    completed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, completed_at)
+) PARTITION BY RANGE (completed_at);
+
+CREATE TABLE question_results (
+    LIKE question_results_unpartitioned INCLUDING DEFAULTS,
+    completed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, completed_at)
+) PARTITION BY RANGE (completed_at);
+
+-- The pooled sequences keep feeding the id defaults
+ALTER SEQUENCE exam_results_seq OWNED BY exam_results.id;
+ALTER SEQUENCE topic_performance_seq OWNED BY topic_performance.id;
+ALTER SEQUENCE question_results_seq OWNED BY question_results.id;
+
+-- Indexes are created per partition; each month's indexes stay small. No
+-- IF NOT EXISTS: the renamed tables may still own indexes with similar names
+CREATE INDEX idx_exam_results_part_user_completed
+    ON exam_results(user_id, completed_at DESC);
+CREATE INDEX idx_exam_results_part_user_cert_completed
+    ON exam_results(user_id, certification_id, completed_at DESC);
+CREATE INDEX idx_topic_performance_part_result
+    ON topic_performance(result_id);
+CREATE INDEX idx_question_results_part_result
+    ON question_results(result_id);
+
+-- One partition per month that has results, through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(
+                   date_trunc('month', COALESCE((SELECT MIN(completed_at) FROM exam_results_unpartitioned), now())),
+                   date_trunc('month', now()) + INTERVAL '3 months',
+                   INTERVAL '1 month')::date
+    LOOP
+        PERFORM create_result_month_partitions(month_start);
+    END LOOP;
+END $$;
+
+-- ============================================================================
+-- SECTION 3: SESSION GUARD
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS exam_result_sessions (
+    session_id   BIGINT    PRIMARY KEY,
+    result_id    BIGINT    NOT NULL,
+    completed_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE exam_result_sessions IS 'One row per processed session; kept when a month is archived';
+
+-- ============================================================================
+-- SECTION 4: COPY
+-- ============================================================================
+INSERT INTO exam_results SELECT * FROM exam_results_unpartitioned;
+
+INSERT INTO exam_result_sessions (session_id, result_id, completed_at)
+SELECT session_id, id, completed_at FROM exam_results_unpartitioned;
+
+INSERT INTO topic_performance
+SELECT tp.*, r.completed_at
+FROM topic_performance_unpartitioned tp
+JOIN exam_results_unpartitioned r ON r.id = tp.result_id;
+
+INSERT INTO question_results
+SELECT qr.*, r.completed_at
+FROM question_results_unpartitioned qr
+JOIN exam_results_unpartitioned r ON r.id = qr.result_id;
+
+ANALYZE exam_results;
+ANALYZE topic_performance;
+ANALYZE question_results;
+ANALYZE exam_result_sessions;
+
+COMMIT;
+
+-- ============================================================================
+-- SECTION 5: VERIFY
+-- ============================================================================
+-- SELECT (SELECT COUNT(*) FROM exam_results) = (SELECT COUNT(*) FROM exam_results_unpartitioned),
+--        (SELECT COUNT(*) FROM question_results) = (SELECT COUNT(*) FROM question_results_unpartitioned);
+
+-- ============================================================================
+-- SECTION 6: CLEANUP (after verification)
+-- ============================================================================
+-- DROP TABLE question_results_unpartitioned;
+-- DROP TABLE topic_performance_unpartitioned;
+-- DROP TABLE exam_results_unpartitioned;
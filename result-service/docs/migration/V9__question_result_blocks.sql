@@ -0,0 +1,81 @@
+-- ============================================================================
+-- Result Service Migration: Columnar Cold Storage for Question Results
+-- ============================================================================
+-- Description: Once a month is closed its question_results are only read by
+--              analytics and the occasional result lookup. ColdStorageService
+--              packs every result of such a month into one compressed block
+--              (QuestionResultBlock: delta-encoded question IDs, bit-packed
+--              correctness, varint times and answer IDs) stored here, then
+--              truncates the month's question_results partition. One row of
+--              a few hundred bytes replaces about 65 rows and their index
+--              entries.
+--              The table is partitioned by month like the result tables, so
+--              archiving a month (PartitionMaintenanceService) also detaches
+--              and exports its blocks.
+-- Version: 9.0
+-- Database: PostgreSQL 12+
+-- ============================================================================
+
+BEGIN;
+
+-- ============================================================================
+-- SECTION 1: BLOCK TABLE
+-- ============================================================================
+-- user_id, exam_id and percentage are copied from the result so analytic
+-- scans do not join exam_results
+CREATE TABLE IF NOT EXISTS question_result_blocks (
+    result_id      BIGINT        NOT NULL,
+    completed_at   TIMESTAMP     NOT NULL,
+    user_id        BIGINT        NOT NULL,
+    exam_id        BIGINT        NOT NULL,
+    percentage     DECIMAL(5,2)  NOT NULL,
+    question_count INTEGER       NOT NULL,
+    block          BYTEA         NOT NULL,
+    created_at     TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (result_id, completed_at)
+) PARTITION BY RANGE (completed_at);
+
+-- Blocks are already compressed; skip TOAST compression attempts
+ALTER TABLE question_result_blocks ALTER COLUMN block SET STORAGE EXTERNAL;
+
+CREATE INDEX idx_question_result_blocks_part_user
+    ON question_result_blocks(user_id, completed_at);
+
+COMMENT ON TABLE question_result_blocks IS 'Packed question results of closed months, one row per exam result';
+COMMENT ON COLUMN question_result_blocks.block IS 'QuestionResultBlock encoding (version byte first)';
+
+-- ============================================================================
+-- SECTION 2: PARTITION HELPER
+-- ============================================================================
+CREATE OR REPLACE FUNCTION create_result_month_partitions(month_start DATE)
+RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    to_date   DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    suffix    TEXT := to_char(from_date, '"_p"YYYYMM');
+    tbl       TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['exam_results', 'topic_performance', 'question_results',
+                               'question_result_blocks'] LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       tbl || suffix, tbl, from_date, to_date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Block partitions for every month that already has result partitions
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT to_date(substring(c.relname FROM '_p([0-9]{6})$'), 'YYYYMM')
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'exam_results'::regclass
+    LOOP
+        PERFORM create_result_month_partitions(month_start);
+    END LOOP;
+END $$;
+
+COMMIT;
@@ -2,8 +2,12 @@ package com.certimaster.result_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ComponentScan(basePackages = {"com.certimaster.common_library", "com.certimaster.result_service"})
 public class ResultServiceApplication {
 
     public static void main(String[] args) {
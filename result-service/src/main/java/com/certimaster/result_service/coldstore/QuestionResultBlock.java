@@ -0,0 +1,331 @@
+package com.certimaster.result_service.coldstore;
+
+import com.certimaster.result_service.entity.QuestionResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact columnar encoding of the question results of one exam result, used for closed
+ * months (see ColdStorageService).
+ * <p>
+ * Columns are written one after another, so analytic scans stop after the first three:
+ * <pre>
+ * version (1 byte) | n (varint)
+ * question IDs      zigzag varint delta to the previous ID
+ * correctness       two bitsets of n bits: known, correct
+ * time spent        varint seconds + 1, 0 = null
+ * correct answers   per question varint length + 1 (0 = null), then zigzag varint deltas
+ *                   running across the whole column
+ * user answers      bitset "same as correct answers", then the differing ones encoded like
+ *                   the correct answers
+ * </pre>
+ * A 65-question result takes a few hundred bytes instead of roughly 13 KB of rows and index
+ * entries. Audit columns and row IDs are not kept.
+ */
+public final class QuestionResultBlock {
+
+    /**
+     * Passed to {@link AnswerVisitor} when no time was recorded.
+     */
+    public static final int NO_TIME = -1;
+
+    private static final byte VERSION = 1;
+
+    private QuestionResultBlock() {
+    }
+
+    /**
+     * Encode question results in their given order.
+     */
+    public static byte[] encode(List<QuestionResult> questionResults) {
+        int n = questionResults.size();
+        Writer out = new Writer(16 + n * 8);
+        out.writeByte(VERSION);
+        out.writeVarint(n);
+
+        long previous = 0;
+        for (QuestionResult qr : questionResults) {
+            out.writeZigzag(qr.getQuestionId() - previous);
+            previous = qr.getQuestionId();
+        }
+
+        byte[] known = new byte[bitsetLength(n)];
+        byte[] correct = new byte[bitsetLength(n)];
+        for (int i = 0; i < n; i++) {
+            Boolean isCorrect = questionResults.get(i).getIsCorrect();
+            if (isCorrect != null) {
+                setBit(known, i);
+                if (isCorrect) {
+                    setBit(correct, i);
+                }
+            }
+        }
+        out.writeBytes(known);
+        out.writeBytes(correct);
+
+        for (QuestionResult qr : questionResults) {
+            Integer time = qr.getTimeSpentSeconds();
+            out.writeVarint(time == null || time < 0 ? 0 : time + 1L);
+        }
+
+        long[] previousAnswer = {0};
+        for (QuestionResult qr : questionResults) {
+            writeIds(out, qr.getCorrectAnswerIds(), previousAnswer);
+        }
+
+        byte[] sameAsCorrect = new byte[bitsetLength(n)];
+        for (int i = 0; i < n; i++) {
+            QuestionResult qr = questionResults.get(i);
+            if (Arrays.equals(qr.getUserAnswerIds(), qr.getCorrectAnswerIds())) {
+                setBit(sameAsCorrect, i);
+            }
+        }
+        out.writeBytes(sameAsCorrect);
+        previousAnswer[0] = 0;
+        for (int i = 0; i < n; i++) {
+            if (!getBit(sameAsCorrect, i)) {
+                writeIds(out, questionResults.get(i).getUserAnswerIds(), previousAnswer);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode every column back into detached question results (no ID, result or audit fields).
+     */
+    public static List<QuestionResult> decode(byte[] block) {
+        Reader in = new Reader(block);
+        int n = in.readHeader();
+
+        long[] questionIds = new long[n];
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            previous += in.readZigzag();
+            questionIds[i] = previous;
+        }
+        int knownOffset = in.position();
+        int correctOffset = in.skip(bitsetLength(n));
+        in.skip(bitsetLength(n));
+
+        Integer[] times = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            long time = in.readVarint();
+            times[i] = time == 0 ? null : (int) (time - 1);
+        }
+
+        Long[][] correctAnswers = new Long[n][];
+        long[] previousAnswer = {0};
+        for (int i = 0; i < n; i++) {
+            correctAnswers[i] = in.readIds(previousAnswer);
+        }
+
+        int sameOffset = in.position();
+        in.skip(bitsetLength(n));
+        previousAnswer[0] = 0;
+        List<QuestionResult> questionResults = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Long[] userAnswers = getBit(block, sameOffset, i)
+                    ? copyOf(correctAnswers[i])
+                    : in.readIds(previousAnswer);
+            questionResults.add(QuestionResult.builder()
+                    .questionId(questionIds[i])
+                    .isCorrect(correctness(block, knownOffset, correctOffset, i))
+                    .timeSpentSeconds(times[i])
+                    .correctAnswerIds(correctAnswers[i])
+                    .userAnswerIds(userAnswers)
+                    .build());
+        }
+        return questionResults;
+    }
+
+    /**
+     * Visit question ID, correctness and time of every answer without decoding the answer
+     * columns and without allocating.
+     *
+     * @return number of answers visited
+     */
+    public static int scan(byte[] block, AnswerVisitor visitor) {
+        Reader in = new Reader(block);
+        int n = in.readHeader();
+        int questionOffset = in.position();
+        for (int i = 0; i < n; i++) {
+            in.readZigzag();
+        }
+        int knownOffset = in.position();
+        int correctOffset = in.skip(bitsetLength(n));
+        int timeOffset = in.skip(bitsetLength(n));
+
+        Reader questions = new Reader(block, questionOffset);
+        Reader times = new Reader(block, timeOffset);
+        long questionId = 0;
+        for (int i = 0; i < n; i++) {
+            questionId += questions.readZigzag();
+            long time = times.readVarint();
+            visitor.visit(questionId, correctness(block, knownOffset, correctOffset, i),
+                    time == 0 ? NO_TIME : (int) (time - 1));
+        }
+        return n;
+    }
+
+    private static void writeIds(Writer out, Long[] ids, long[] previous) {
+        if (ids == null) {
+            out.writeVarint(0);
+            return;
+        }
+        out.writeVarint(ids.length + 1L);
+        for (Long id : ids) {
+            out.writeZigzag(id - previous[0]);
+            previous[0] = id;
+        }
+    }
+
+    private static Boolean correctness(byte[] block, int knownOffset, int correctOffset, int i) {
+        if (!getBit(block, knownOffset, i)) {
+            return null;
+        }
+        return getBit(block, correctOffset, i);
+    }
+
+    private static Long[] copyOf(Long[] ids) {
+        return ids == null ? null : ids.clone();
+    }
+
+    private static int bitsetLength(int bits) {
+        return (bits + 7) >>> 3;
+    }
+
+    private static void setBit(byte[] bits, int i) {
+        bits[i >>> 3] |= (byte) (1 << (i & 7));
+    }
+
+    private static boolean getBit(byte[] bits, int i) {
+        return getBit(bits, 0, i);
+    }
+
+    private static boolean getBit(byte[] block, int offset, int i) {
+        return (block[offset + (i >>> 3)] & (1 << (i & 7))) != 0;
+    }
+
+    /**
+     * Receives one answer of a {@link #scan}.
+     */
+    @FunctionalInterface
+    public interface AnswerVisitor {
+
+        /**
+         * @param correct          null if correctness was not recorded
+         * @param timeSpentSeconds {@link #NO_TIME} if no time was recorded
+         */
+        void visit(long questionId, Boolean correct, int timeSpentSeconds);
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int size;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeZigzag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this(buf, 0);
+        }
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readHeader() {
+            if (buf.length == 0 || buf[0] != VERSION) {
+                throw new IllegalArgumentException("Unsupported question result block version");
+            }
+            pos = 1;
+            return (int) readVarint();
+        }
+
+        int position() {
+            return pos;
+        }
+
+        /**
+         * Skip bytes and return the new position.
+         */
+        int skip(int length) {
+            pos += length;
+            return pos;
+        }
+
+        long readZigzag() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+
+        Long[] readIds(long[] previous) {
+            long length = readVarint();
+            if (length == 0) {
+                return null;
+            }
+            Long[] ids = new Long[(int) (length - 1)];
+            for (int i = 0; i < ids.length; i++) {
+                previous[0] += readZigzag();
+                ids[i] = previous[0];
+            }
+            return ids;
+        }
+    }
+}
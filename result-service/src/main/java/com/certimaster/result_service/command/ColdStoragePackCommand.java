@@ -0,0 +1,47 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.ColdStorageService;
+import com.certimaster.result_service.service.ColdStorageService.PackReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Packs the question results of closed months into compressed blocks when the service is
+ * started with {@code --pack-cold-storage} (every closed month with rows) or
+ * {@code --pack-cold-storage=2025-01,2025-02}. Safe while consumers run: a late result of a
+ * month being packed waits for the pack to commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ColdStoragePackCommand implements ApplicationRunner {
+
+    static final String OPTION = "pack-cold-storage";
+
+    private final ColdStorageService coldStorageService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<YearMonth> months = args.getOptionValues(OPTION).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(YearMonth::parse)
+                .toList();
+        log.info("Packing question results into cold storage (--{}) {}", OPTION, months.isEmpty() ? "" : months);
+        List<PackReport> reports = months.isEmpty()
+                ? coldStorageService.packClosedMonths()
+                : months.stream().map(coldStorageService::packMonth).toList();
+        log.info("Cold storage pack complete: {} months, {} rows", reports.size(),
+                reports.stream().mapToLong(PackReport::rows).sum());
+    }
+}
@@ -0,0 +1,104 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.common_library.event.KafkaTopics;
+import com.certimaster.result_service.kafka.ExamEventRetryRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Republishes dead-lettered ExamCompletedEvents to the main topic when the service is started
+ * with {@code --replay-dlt} (optionally {@code --replay-dlt-max=N}). Records are copied as raw
+ * bytes without their retry and dead-letter headers, so they start again at attempt zero;
+ * already stored sessions are answered from the existing result. The replay group commits
+ * after every poll, so a second run only picks up records dead-lettered since.
+ */
+@Slf4j
+@Component
+public class DltReplayCommand implements ApplicationRunner {
+
+    static final String OPTION = "replay-dlt";
+    static final String MAX_OPTION = "replay-dlt-max";
+
+    private static final String GROUP_ID = "result-service-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(5);
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+
+    private final ConsumerFactory<String, byte[]> examEventDeadLetterConsumerFactory;
+    private final KafkaTemplate<String, byte[]> examEventBytesKafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public DltReplayCommand(ConsumerFactory<String, byte[]> examEventDeadLetterConsumerFactory,
+                            @Qualifier("examEventBytesKafkaTemplate") KafkaTemplate<String, byte[]> examEventBytesKafkaTemplate,
+                            MeterRegistry meterRegistry) {
+        this.examEventDeadLetterConsumerFactory = examEventDeadLetterConsumerFactory;
+        this.examEventBytesKafkaTemplate = examEventBytesKafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<String> maxValues = args.getOptionValues(MAX_OPTION);
+        long max = maxValues != null && !maxValues.isEmpty() ? Long.parseLong(maxValues.get(0)) : Long.MAX_VALUE;
+        log.info("Replaying up to {} records from {} (--{})", max, KafkaTopics.EXAM_COMPLETED_DLT, OPTION);
+
+        long replayed = 0;
+        try (Consumer<String, byte[]> consumer =
+                     examEventDeadLetterConsumerFactory.createConsumer(GROUP_ID, null)) {
+            consumer.subscribe(List.of(KafkaTopics.EXAM_COMPLETED_DLT));
+            while (replayed < max) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                // Only offsets actually republished are committed; the rest of a poll cut short
+                // by --replay-dlt-max is picked up by the next run
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (replayed >= max) {
+                        break;
+                    }
+                    examEventBytesKafkaTemplate.send(toMainTopic(record)).join();
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                consumer.commitSync(offsets);
+            }
+        }
+
+        meterRegistry.counter("result.kafka.dlt.replayed").increment(replayed);
+        log.info("DLT replay complete: {} records republished to {}", replayed, KafkaTopics.EXAM_COMPLETED);
+    }
+
+    private static ProducerRecord<String, byte[]> toMainTopic(ConsumerRecord<String, byte[]> record) {
+        ProducerRecord<String, byte[]> out =
+                new ProducerRecord<>(KafkaTopics.EXAM_COMPLETED, null, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!ExamEventRetryRouter.isRetryHeader(header.key()) && !header.key().startsWith(DLT_HEADER_PREFIX)) {
+                out.headers().add(header);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,33 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.ExamStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills exam_stats_buckets from stored results when the service is started with
+ * {@code --rebuild-exam-stats}. Consumption is not started in this run
+ * ({@link RebuildMode}), so no buffered delta is flushed concurrently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExamStatsRebuildCommand implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-exam-stats";
+
+    private final ExamStatsService examStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding exam statistics from exam results (--{})", OPTION);
+        int rows = examStatsService.rebuildAll();
+        log.info("Exam statistics rebuild complete: {} rows", rows);
+    }
+}
@@ -0,0 +1,33 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.ItemAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills question_item_stats from stored results when the service is started with
+ * {@code --rebuild-item-analysis}. Consumption is not started in this run
+ * ({@link RebuildMode}), so no buffered delta is flushed concurrently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemAnalysisRebuildCommand implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-item-analysis";
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding item analysis from exam results (--{})", OPTION);
+        int rows = itemAnalysisService.rebuildAll();
+        log.info("Item analysis rebuild complete: {} rows", rows);
+    }
+}
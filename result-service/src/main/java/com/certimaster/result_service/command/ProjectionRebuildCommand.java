@@ -0,0 +1,53 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.ProjectionRebuildService;
+import com.certimaster.result_service.service.ProjectionRebuildService.Projection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Rebuilds per-user projections in parallel through shadow tables when the service is
+ * started with {@code --rebuild-projections} (all projections) or
+ * {@code --rebuild-projections=user_progress,user_topic_accuracy}. Unlike the single-statement
+ * rebuild commands, the live tables stay readable until the final swap. Consumption is
+ * not started in this run ({@link RebuildMode}), so no delta is lost at the swap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectionRebuildCommand implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-projections";
+
+    private final ProjectionRebuildService projectionRebuildService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        Set<Projection> projections = parse(args.getOptionValues(OPTION));
+        log.info("Rebuilding projections {} through shadow tables (--{})", projections, OPTION);
+        ProjectionRebuildService.RebuildReport report = projectionRebuildService.rebuild(projections);
+        log.info("Projection rebuild complete: {} rows, {} rows/sec", report.totalRows(), report.rowsPerSecond());
+    }
+
+    private static Set<Projection> parse(List<String> values) {
+        Set<Projection> projections = EnumSet.noneOf(Projection.class);
+        values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> projections.add(Projection.valueOf(name.toUpperCase(Locale.ROOT))));
+        return projections.isEmpty() ? EnumSet.allOf(Projection.class) : projections;
+    }
+}
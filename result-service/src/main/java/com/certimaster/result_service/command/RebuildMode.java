@@ -0,0 +1,82 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.PartitionMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * One-off mode of a service started with any of the rebuild options. The exam-completed and
+ * retry listener containers are not started (see KafkaConsumerConfig), so no result delta is
+ * applied to a projection while it is recomputed, and the service exits once every rebuild
+ * command has run. Other instances of the consumer group must be stopped for the duration.
+ * <p>
+ * The projections recomputed from all stored results (user progress, accuracy, item analysis)
+ * cannot be rebuilt once a month has been archived: its results would silently drop out of
+ * the totals, so the service refuses to start. The exam statistics rebuild keeps the buckets
+ * of archived months and is always allowed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RebuildMode {
+
+    private static final List<String> OPTIONS = List.of(
+            ProjectionRebuildCommand.OPTION,
+            UserProgressRebuildCommand.OPTION,
+            UserAccuracyRebuildCommand.OPTION,
+            ItemAnalysisRebuildCommand.OPTION,
+            ExamStatsRebuildCommand.OPTION);
+
+    private static final List<String> FULL_HISTORY_OPTIONS = List.of(
+            ProjectionRebuildCommand.OPTION,
+            UserProgressRebuildCommand.OPTION,
+            UserAccuracyRebuildCommand.OPTION,
+            ItemAnalysisRebuildCommand.OPTION);
+
+    private final ApplicationArguments applicationArguments;
+    private final ConfigurableApplicationContext applicationContext;
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    /**
+     * Whether the service was started with at least one rebuild option.
+     */
+    public boolean isActive() {
+        return OPTIONS.stream().anyMatch(applicationArguments::containsOption);
+    }
+
+    // Published before the ApplicationRunners; an exception aborts startup
+    @EventListener(ApplicationStartedEvent.class)
+    public void refuseRebuildOfArchivedHistory() {
+        List<String> requested = FULL_HISTORY_OPTIONS.stream().filter(applicationArguments::containsOption).toList();
+        if (requested.isEmpty()) {
+            return;
+        }
+        SortedSet<YearMonth> archived = partitionMaintenanceService.findArchivedMonths();
+        if (!archived.isEmpty()) {
+            throw new IllegalStateException("Cannot run --" + String.join(", --", requested) + ": results of "
+                    + archived.first() + " to " + archived.last() + " have been archived and would be missing from "
+                    + "the rebuilt projections");
+        }
+    }
+
+    // Published after every ApplicationRunner has returned; a failed rebuild aborts startup instead
+    @EventListener(ApplicationReadyEvent.class)
+    public void exitAfterRebuild() {
+        if (!isActive()) {
+            return;
+        }
+        log.info("Rebuild finished, shutting down");
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
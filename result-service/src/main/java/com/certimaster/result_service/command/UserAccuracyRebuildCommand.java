@@ -0,0 +1,33 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.UserAccuracyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills user_topic_accuracy and user_question_accuracy from stored results when the
+ * service is started with {@code --rebuild-user-accuracy}. Consumption is not started in
+ * this run ({@link RebuildMode}), so no delta is applied concurrently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAccuracyRebuildCommand implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-user-accuracy";
+
+    private final UserAccuracyService userAccuracyService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding user accuracy from exam results (--{})", OPTION);
+        int rows = userAccuracyService.rebuildAll();
+        log.info("User accuracy rebuild complete: {} rows", rows);
+    }
+}
@@ -0,0 +1,33 @@
+package com.certimaster.result_service.command;
+
+import com.certimaster.result_service.service.UserProgressService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills user_progress from exam_results when the service is started with
+ * {@code --rebuild-user-progress}. The rebuild is a single set-based upsert; consumption is
+ * not started in this run ({@link RebuildMode}), so no delta is applied concurrently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProgressRebuildCommand implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-user-progress";
+
+    private final UserProgressService userProgressService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding user progress from exam results (--{})", OPTION);
+        int rows = userProgressService.rebuildAll();
+        log.info("User progress rebuild complete: {} rows", rows);
+    }
+}
@@ -3,8 +3,12 @@ package com.certimaster.result_service.config;
 import com.certimaster.common_library.event.ExamCompletedEvent;
 import com.certimaster.common_library.event.ExamResultResponse;
 import com.certimaster.common_library.event.KafkaTopics;
+import com.certimaster.result_service.command.RebuildMode;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,17 +19,26 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Kafka consumer configuration for result-service.
- * Configures listener for ExamCompletedEvent with reply pattern.
+ * Configures listener for ExamCompletedEvent with reply pattern, the retry tier listeners
+ * and dead-letter publishing. None of the listener containers start when the service runs
+ * a projection rebuild ({@link RebuildMode}).
  */
 @EnableKafka
 @Configuration
@@ -37,6 +50,21 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:result-service-group}")
     private String groupId;
 
+    @Value("${result.kafka.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${result.kafka.concurrency:1}")
+    private int concurrency;
+
+    @Value("${result.kafka.retry.max-poll-records:20}")
+    private int retryMaxPollRecords;
+
+    private final RebuildMode rebuildMode;
+
+    public KafkaConsumerConfig(RebuildMode rebuildMode) {
+        this.rebuildMode = rebuildMode;
+    }
+
     // Producer for ExamResultResponse reply messages
     @Bean
     public ProducerFactory<String, ExamResultResponse> examResultReplyProducerFactory() {
@@ -51,15 +79,43 @@ public class KafkaConsumerConfig {
     public KafkaTemplate<String, ExamResultResponse> examResultReplyKafkaTemplate() {
         KafkaTemplate<String, ExamResultResponse> template = new KafkaTemplate<>(examResultReplyProducerFactory());
         template.setDefaultTopic(KafkaTopics.EXAM_RESULT_REPLY);
+        // Reply send latency: spring.kafka.template timer tagged name=examResultReplyKafkaTemplate
+        template.setMicrometerEnabled(true);
         return template;
     }
 
+    // Producer for records forwarded to the retry tiers and the DLT
+    @Bean
+    public KafkaTemplate<String, Object> examEventRetryKafkaTemplate() {
+        Map<String, Object> props = producerProps();
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    // Producer for raw record values: undeserializable records and DLT replay
+    @Bean
+    public KafkaTemplate<String, byte[]> examEventBytesKafkaTemplate() {
+        Map<String, Object> props = producerProps();
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    // Publishes records that cannot be processed at all to the DLT, keeping the original bytes
+    // of values that failed deserialization
+    @Bean
+    public DeadLetterPublishingRecoverer examEventDeadLetterRecoverer() {
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, examEventBytesKafkaTemplate());
+        templates.put(Object.class, examEventRetryKafkaTemplate());
+        return new DeadLetterPublishingRecoverer(templates,
+                (record, e) -> new TopicPartition(KafkaTopics.EXAM_COMPLETED_DLT, -1));
+    }
+
     // Consumer factory for ExamCompletedEvent
     @Bean
     public ConsumerFactory<String, ExamCompletedEvent> examCompletedConsumerFactory() {
         Map<String, Object> props = consumerProps();
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
-                new JsonDeserializer<>(ExamCompletedEvent.class, false));
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), examCompletedValueDeserializer());
     }
 
     // Listener container factory for ExamCompletedEvent with reply support
@@ -68,10 +124,99 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(examCompletedConsumerFactory());
+        factory.setAutoStartup(!rebuildMode.isActive());
+        factory.setConcurrency(concurrency);
+        factory.setReplyTemplate(examResultReplyKafkaTemplate());
+        factory.setCommonErrorHandler(deadLetterErrorHandler());
+        return factory;
+    }
+
+    // Consumer factory for batch mode: max-poll-records bounds the size of one transaction
+    @Bean
+    public ConsumerFactory<String, ExamCompletedEvent> examCompletedBatchConsumerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), examCompletedValueDeserializer());
+    }
+
+    // Batch listener container factory for ExamCompletedEvent (result.kafka.batch.enabled=true)
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> examCompletedBatchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(examCompletedBatchConsumerFactory());
+        factory.setAutoStartup(!rebuildMode.isActive());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
         factory.setReplyTemplate(examResultReplyKafkaTemplate());
+        factory.setCommonErrorHandler(deadLetterErrorHandler());
+        return factory;
+    }
+
+    // Parallel listener container factory (result.kafka.parallel.enabled=true): records are
+    // acknowledged out of order by worker threads and committed once contiguous
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> examCompletedParallelKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(examCompletedConsumerFactory());
+        factory.setAutoStartup(!rebuildMode.isActive());
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        factory.setCommonErrorHandler(deadLetterErrorHandler());
+        return factory;
+    }
+
+    // Consumer factory for the retry tiers: records that are not due yet are fetched again after
+    // their partition resumes, so a small poll limits the refetching
+    @Bean
+    public ConsumerFactory<String, ExamCompletedEvent> examCompletedRetryConsumerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, retryMaxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), examCompletedValueDeserializer());
+    }
+
+    // Listener container factory for the retry tiers; one container per tier topic. Manual acks,
+    // so records skipped while their partition waits for a due record are not committed
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> examCompletedRetryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ExamCompletedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(examCompletedRetryConsumerFactory());
+        factory.setAutoStartup(!rebuildMode.isActive());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(deadLetterErrorHandler());
         return factory;
     }
 
+    // Consumer factory for reading the DLT as raw bytes (replay-dlt command)
+    @Bean
+    public ConsumerFactory<String, byte[]> examEventDeadLetterConsumerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    // Errors that escape a listener (undeserializable values, failures to reach the retry tiers)
+    // are retried twice in place, then the record goes to the DLT; deserialization errors skip
+    // the in-place retries
+    private DefaultErrorHandler deadLetterErrorHandler() {
+        return new DefaultErrorHandler(examEventDeadLetterRecoverer(), new FixedBackOff(1000L, 2L));
+    }
+
+    private ErrorHandlingDeserializer<ExamCompletedEvent> examCompletedValueDeserializer() {
+        return new ErrorHandlingDeserializer<>(new JsonDeserializer<>(ExamCompletedEvent.class, false));
+    }
+
+    private Map<String, Object> producerProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return props;
+    }
+
     private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -0,0 +1,43 @@
+package com.certimaster.result_service.config;
+
+import com.certimaster.common_library.event.KafkaTopics;
+import com.certimaster.result_service.kafka.RetryTier;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.Arrays;
+
+/**
+ * Kafka topic configuration.
+ * Auto-creates the retry tier topics and the dead-letter topic owned by result-service.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    /**
+     * One topic per retry tier, partitioned like the main topic.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics examCompletedRetryTopics() {
+        return new KafkaAdmin.NewTopics(Arrays.stream(RetryTier.values())
+                .map(tier -> TopicBuilder.name(tier.topic())
+                        .partitions(3)
+                        .replicas(1)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    /**
+     * Dead-letter topic for exam completed events.
+     */
+    @Bean
+    public NewTopic examCompletedDeadLetterTopic() {
+        return TopicBuilder.name(KafkaTopics.EXAM_COMPLETED_DLT)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.certimaster.result_service.controller;
+
+import com.certimaster.common_library.dto.PageDto;
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.result_service.dto.response.ExamResultSummaryResponse;
+import com.certimaster.result_service.dto.response.UserProgressResponse;
+import com.certimaster.result_service.security.SecurityUtils;
+import com.certimaster.result_service.service.ExamResultQueryService;
+import com.certimaster.result_service.service.ResultExportService;
+import com.certimaster.result_service.service.ResultExportService.ExportRequest;
+import com.certimaster.result_service.service.ResultExportService.Format;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * REST controller for reading exam results.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/results")
+@RequiredArgsConstructor
+public class ExamResultController {
+
+    private final ExamResultQueryService examResultQueryService;
+    private final ResultExportService resultExportService;
+
+    /**
+     * Get the full result of an exam session. Only the session owner, admins and callers with
+     * result:read_all may read it; anyone else gets the same 404 as for an unknown session.
+     */
+    @GetMapping("/sessions/{sessionId}")
+    public ResponseEntity<ResponseDto<ExamResultResponse>> getResultBySession(@PathVariable Long sessionId) {
+        log.debug("Get result for session {}", sessionId);
+
+        return readableResult(sessionId)
+                .map(result -> ResponseEntity.ok(ResponseDto.success(result)))
+                .orElseGet(() -> sessionNotFound(sessionId));
+    }
+
+    /**
+     * Get one page of the per-question results of an exam session, for answer review.
+     */
+    @GetMapping("/sessions/{sessionId}/questions")
+    public ResponseEntity<ResponseDto<PageDto<ExamResultResponse.QuestionResultData>>> getQuestionResults(
+            @PathVariable Long sessionId,
+            @RequestParam(defaultValue = "false") boolean incorrectOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.debug("Get question results page {} for session {}", page, sessionId);
+
+        if (readableResult(sessionId).isEmpty()) {
+            return sessionNotFound(sessionId);
+        }
+        return examResultQueryService.getQuestionResults(sessionId, incorrectOnly, page, size)
+                .map(questions -> ResponseEntity.ok(ResponseDto.success(questions)))
+                .orElseGet(() -> sessionNotFound(sessionId));
+    }
+
+    /**
+     * Get a user's result history, newest first.
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<ResponseDto<PageDto<ExamResultSummaryResponse>>> getResultHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long certificationId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.debug("Get result history for user {} certification {}", userId, certificationId);
+
+        if (!SecurityUtils.canReadResultsOf(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(ResponseDto.success(
+                examResultQueryService.getResultHistory(userId, certificationId, page, size)));
+    }
+
+    /**
+     * Get a user's progress per certification.
+     */
+    @GetMapping("/users/{userId}/progress")
+    public ResponseEntity<ResponseDto<List<UserProgressResponse>>> getUserProgress(@PathVariable Long userId) {
+        log.debug("Get progress for user {}", userId);
+
+        if (!SecurityUtils.canReadResultsOf(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(ResponseDto.success(examResultQueryService.getUserProgress(userId)));
+    }
+
+    /**
+     * Export every result of a certification completed in [from, to) as CSV or NDJSON,
+     * streamed from a database cursor. Responds 429 when the concurrent export limit is reached.
+     * Requires the ADMIN role or the result:read_all permission.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('" + SecurityUtils.READ_ALL_RESULTS + "')")
+    public ResponseEntity<?> exportResults(
+            HttpServletRequest httpRequest,
+            @RequestParam Long certificationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long examId,
+            @RequestParam(defaultValue = "CSV") Format format,
+            @RequestParam(defaultValue = "false") boolean includeTopics
+    ) {
+        log.debug("Export results of certification {} from {} to {} as {}", certificationId, from, to, format);
+
+        if (!to.isAfter(from)) {
+            return ResponseEntity.badRequest()
+                    .body(ResponseDto.error("VALIDATION_ERROR", "'to' must be after 'from'"));
+        }
+        ExportRequest request = new ExportRequest(certificationId, examId, from, to, format, includeTopics);
+        return resultExportService.open(request)
+                .<ResponseEntity<?>>map(export -> {
+                    // The body runs asynchronously; free the slot when the async request ends even if
+                    // the body never ran (rejected by the executor, timed out, failed while dispatching)
+                    WebAsyncUtils.getAsyncManager(httpRequest).registerCallableInterceptor(export,
+                            new CallableProcessingInterceptor() {
+                                @Override
+                                public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                                    export.release();
+                                }
+                            });
+                    return ResponseEntity.ok()
+                            .contentType(new MediaType(MediaType.parseMediaType(format.contentType()),
+                                    StandardCharsets.UTF_8))
+                            .header(HttpHeaders.CONTENT_DISPOSITION,
+                                    ContentDisposition.attachment().filename(request.fileName()).build().toString())
+                            .body((StreamingResponseBody) export::writeTo);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body(ResponseDto.error("RATE_LIMIT_EXCEEDED", "Too many result exports running; retry later")));
+    }
+
+    /**
+     * The result of a session if the caller may read it. A result of another user is treated as
+     * missing, so session IDs cannot be probed by telling 403 from 404.
+     */
+    private Optional<ExamResultResponse> readableResult(Long sessionId) {
+        return examResultQueryService.getResultBySession(sessionId)
+                .filter(result -> SecurityUtils.canReadResultsOf(result.getUserId()));
+    }
+
+    private static <T> ResponseEntity<ResponseDto<T>> sessionNotFound(Long sessionId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ResponseDto.error("RESOURCE_NOT_FOUND", "No result for session " + sessionId));
+    }
+
+    private static <T> ResponseEntity<ResponseDto<T>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ResponseDto.error("FORBIDDEN", "Access denied to this resource"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.certimaster.result_service.controller;
+
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.result_service.dto.response.ExamStatsResponse;
+import com.certimaster.result_service.service.ExamStatsService;
+import com.certimaster.result_service.stats.ExamWindowStats.Granularity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Admin REST controller (ADMIN role) for windowed exam statistics, served from pre-aggregated buckets.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/exam-stats")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class ExamStatsController {
+
+    private final ExamStatsService examStatsService;
+
+    /**
+     * Aggregate the results of an exam, or of every exam of a certification, completed in [from, to).
+     */
+    @GetMapping
+    public ResponseEntity<ResponseDto<ExamStatsResponse>> getStats(
+            @RequestParam(required = false) Long certificationId,
+            @RequestParam(required = false) Long examId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.debug("Get exam stats of certification {} exam {} from {} to {}", certificationId, examId, from, to);
+
+        try {
+            return ResponseEntity.ok(ResponseDto.success(examStatsService.getStats(certificationId, examId, from, to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ResponseDto.error("VALIDATION_ERROR", e.getMessage()));
+        }
+    }
+
+    /**
+     * One aggregate per hour or day in [from, to), empty buckets included (at most 1000).
+     */
+    @GetMapping("/series")
+    public ResponseEntity<ResponseDto<List<ExamStatsResponse>>> getSeries(
+            @RequestParam(required = false) Long certificationId,
+            @RequestParam(required = false) Long examId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") Granularity granularity
+    ) {
+        log.debug("Get {} exam stats series of certification {} exam {} from {} to {}",
+                granularity, certificationId, examId, from, to);
+
+        try {
+            return ResponseEntity.ok(ResponseDto.success(
+                    examStatsService.getSeries(certificationId, examId, from, to, granularity)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ResponseDto.error("VALIDATION_ERROR", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.certimaster.result_service.controller;
+
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.result_service.dto.response.ItemAnalysisResponse;
+import com.certimaster.result_service.service.ItemAnalysisService;
+import com.certimaster.result_service.service.ItemAnalysisService.ItemFlag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin REST controller (ADMIN role) for question item analysis.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/item-analysis")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class ItemAnalysisController {
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    /**
+     * List questions by flag (TOO_EASY, TOO_HARD, POOR_DISCRIMINATION), or the most attempted if no flag.
+     */
+    @GetMapping
+    public ResponseEntity<ResponseDto<List<ItemAnalysisResponse>>> findItems(
+            @RequestParam(required = false) ItemFlag flag,
+            @RequestParam(defaultValue = "30") long minAttempts,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        log.debug("Find items flagged {} with at least {} attempts", flag, minAttempts);
+
+        return ResponseEntity.ok(ResponseDto.success(itemAnalysisService.findItems(flag, minAttempts, limit)));
+    }
+
+    /**
+     * Get the statistics of one question.
+     */
+    @GetMapping("/{questionId}")
+    public ResponseEntity<ResponseDto<ItemAnalysisResponse>> getItemAnalysis(@PathVariable Long questionId) {
+        log.debug("Get item analysis for question {}", questionId);
+
+        return itemAnalysisService.getItemAnalysis(questionId)
+                .map(result -> ResponseEntity.ok(ResponseDto.success(result)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ResponseDto.error("RESOURCE_NOT_FOUND", "No results recorded for question " + questionId)));
+    }
+}
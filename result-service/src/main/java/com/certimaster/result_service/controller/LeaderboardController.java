@@ -0,0 +1,57 @@
+package com.certimaster.result_service.controller;
+
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.result_service.dto.response.LeaderboardEntryResponse;
+import com.certimaster.result_service.dto.response.LeaderboardResponse;
+import com.certimaster.result_service.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for certification leaderboards.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Get the top of a certification leaderboard.
+     */
+    @GetMapping("/{certificationId}")
+    public ResponseEntity<ResponseDto<LeaderboardResponse>> getTop(
+            @PathVariable Long certificationId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.debug("Get top {} of leaderboard for certification {}", limit, certificationId);
+
+        LeaderboardResponse result = leaderboardService.getTop(certificationId, limit);
+        return ResponseEntity.ok(ResponseDto.success(result));
+    }
+
+    /**
+     * Get a user's rank in a certification leaderboard.
+     */
+    @GetMapping("/{certificationId}/users/{userId}")
+    public ResponseEntity<ResponseDto<LeaderboardEntryResponse>> getUserRank(
+            @PathVariable Long certificationId,
+            @PathVariable Long userId
+    ) {
+        log.debug("Get rank of user {} for certification {}", userId, certificationId);
+
+        return leaderboardService.getUserRank(certificationId, userId)
+                .map(result -> ResponseEntity.ok(ResponseDto.success(result)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ResponseDto.error("RESOURCE_NOT_FOUND", "User has no result in this certification")));
+    }
+}
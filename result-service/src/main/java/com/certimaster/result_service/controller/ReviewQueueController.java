@@ -0,0 +1,46 @@
+package com.certimaster.result_service.controller;
+
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.result_service.dto.response.ReviewQuestionResponse;
+import com.certimaster.result_service.security.SecurityUtils;
+import com.certimaster.result_service.service.ReviewQueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for a user's spaced-repetition review queue.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/users/{userId}/review-queue")
+@RequiredArgsConstructor
+public class ReviewQueueController {
+
+    private final ReviewQueueService reviewQueueService;
+
+    /**
+     * Get the questions a user should review now, earliest due first.
+     */
+    @GetMapping
+    public ResponseEntity<ResponseDto<List<ReviewQuestionResponse>>> getDueQuestions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        log.debug("Get {} due review questions for user {}", limit, userId);
+
+        if (!SecurityUtils.canReadResultsOf(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ResponseDto.error("FORBIDDEN", "Access denied to this resource"));
+        }
+        return ResponseEntity.ok(ResponseDto.success(reviewQueueService.getDueQuestions(userId, limit)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.certimaster.result_service.controller;
+
+import com.certimaster.common_library.dto.ResponseDto;
+import com.certimaster.result_service.dto.response.QuestionAccuracyResponse;
+import com.certimaster.result_service.dto.response.TopicAccuracyResponse;
+import com.certimaster.result_service.security.SecurityUtils;
+import com.certimaster.result_service.service.UserAccuracyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * REST controller for a user's topic and question accuracy.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/users/{userId}")
+@RequiredArgsConstructor
+public class UserAccuracyController {
+
+    private final UserAccuracyService userAccuracyService;
+
+    /**
+     * Get a user's accuracy on every topic, weakest first.
+     */
+    @GetMapping("/topic-accuracy")
+    public ResponseEntity<ResponseDto<List<TopicAccuracyResponse>>> getTopicAccuracy(@PathVariable Long userId) {
+        log.debug("Get topic accuracy for user {}", userId);
+
+        if (!SecurityUtils.canReadResultsOf(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(ResponseDto.success(userAccuracyService.getTopicAccuracy(userId)));
+    }
+
+    /**
+     * Get a user's weak topics in a certification.
+     */
+    @GetMapping("/weak-topics")
+    public ResponseEntity<ResponseDto<List<TopicAccuracyResponse>>> getWeakTopics(
+            @PathVariable Long userId,
+            @RequestParam Long certificationId,
+            @RequestParam(defaultValue = "70") BigDecimal threshold
+    ) {
+        log.debug("Get weak topics below {} for user {} certification {}", threshold, userId, certificationId);
+
+        if (!SecurityUtils.canReadResultsOf(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(ResponseDto.success(
+                userAccuracyService.getWeakTopics(userId, certificationId, threshold)));
+    }
+
+    /**
+     * Get the questions a user answered wrongly most often.
+     */
+    @GetMapping("/frequently-wrong-questions")
+    public ResponseEntity<ResponseDto<List<QuestionAccuracyResponse>>> getFrequentlyWrongQuestions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        log.debug("Get {} frequently wrong questions for user {}", limit, userId);
+
+        if (!SecurityUtils.canReadResultsOf(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(ResponseDto.success(
+                userAccuracyService.getFrequentlyWrongQuestions(userId, limit)));
+    }
+
+    private static <T> ResponseEntity<ResponseDto<T>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ResponseDto.error("FORBIDDEN", "Access denied to this resource"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.certimaster.result_service.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of session IDs that already have a stored result.
+ * <p>
+ * A negative answer means the session is definitely new, so the idempotency lookup can be
+ * skipped. Until the filter has been seeded from exam_result_sessions every session is
+ * reported as possibly processed. Sessions processed by another instance after this one was
+ * seeded are not in the filter; the session claim in exam_result_sessions catches those on
+ * insert.
+ * <p>
+ * Metrics: {@code result.dedup.bloom.lookups} by outcome (new, duplicate, false_positive,
+ * unseeded), the observed false-positive rate among new sessions, the theoretical rate at the
+ * current fill, and {@code result.dedup.insert.conflicts}.
+ */
+@Slf4j
+@Component
+public class ProcessedSessionFilter {
+
+    private static final int SEED_FETCH_SIZE = 10_000;
+
+    private final LongBloomFilter filter;
+    private final JdbcTemplate seedJdbcTemplate;
+    private final TransactionTemplate seedTransactionTemplate;
+
+    private volatile boolean seeded;
+
+    private final Counter newLookups;
+    private final Counter duplicateLookups;
+    private final Counter falsePositiveLookups;
+    private final Counter unseededLookups;
+    private final Counter insertConflicts;
+    private final AtomicLong seededCount = new AtomicLong();
+
+    public ProcessedSessionFilter(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${result.dedup.expected-sessions:20000000}") long expectedSessions,
+                                  @Value("${result.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.filter = LongBloomFilter.create(expectedSessions, falsePositiveRate);
+        this.seedJdbcTemplate = new JdbcTemplate(dataSource);
+        this.seedJdbcTemplate.setFetchSize(SEED_FETCH_SIZE);
+        this.seedTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.seedTransactionTemplate.setReadOnly(true);
+
+        this.newLookups = lookupCounter(meterRegistry, "new");
+        this.duplicateLookups = lookupCounter(meterRegistry, "duplicate");
+        this.falsePositiveLookups = lookupCounter(meterRegistry, "false_positive");
+        this.unseededLookups = lookupCounter(meterRegistry, "unseeded");
+        this.insertConflicts = Counter.builder("result.dedup.insert.conflicts")
+                .description("Sessions the filter reported as new but which already had a stored result")
+                .register(meterRegistry);
+        Gauge.builder("result.dedup.bloom.fpp.observed", this, ProcessedSessionFilter::observedFalsePositiveRate)
+                .description("Share of new sessions the filter reported as possibly processed")
+                .register(meterRegistry);
+        Gauge.builder("result.dedup.bloom.fpp.expected", filter, LongBloomFilter::expectedFpp)
+                .description("Theoretical false-positive probability at the current fill")
+                .register(meterRegistry);
+
+        log.info("Processed-session Bloom filter: {} bits ({} MB), {} hashes, sized for {} sessions at {}",
+                filter.bitSize(), filter.bitSize() >>> 23, filter.hashCount(), expectedSessions, falsePositiveRate);
+    }
+
+    /**
+     * Seed the filter from exam_result_sessions in the background; lookups fall back to the database until done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Thread.ofPlatform().name("processed-session-seed").daemon().start(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                seedTransactionTemplate.executeWithoutResult(status -> seedJdbcTemplate.query(
+                        "SELECT session_id FROM exam_result_sessions",
+                        rs -> {
+                            filter.put(rs.getLong(1));
+                            seededCount.incrementAndGet();
+                        }));
+                seeded = true;
+                log.info("Seeded processed-session filter with {} sessions in {} ms",
+                        seededCount.get(), System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                log.error("Failed to seed processed-session filter; idempotency checks stay on the database", e);
+            }
+        });
+    }
+
+    /**
+     * Whether the session may already have a stored result. False means it definitely has not.
+     */
+    public boolean mightBeProcessed(Long sessionId) {
+        if (!seeded) {
+            unseededLookups.increment();
+            return true;
+        }
+        if (!filter.mightContain(sessionId)) {
+            newLookups.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Report the database answer for a session the filter reported as possibly processed.
+     */
+    public void recordLookupOutcome(boolean existed) {
+        if (!seeded) {
+            return;
+        }
+        if (existed) {
+            duplicateLookups.increment();
+        } else {
+            falsePositiveLookups.increment();
+        }
+    }
+
+    /**
+     * Report that the filter said new but the insert hit an existing result.
+     */
+    public void recordInsertConflict(Long sessionId) {
+        insertConflicts.increment();
+        markProcessed(sessionId);
+    }
+
+    /**
+     * Record that the session has a stored result.
+     */
+    public void markProcessed(Long sessionId) {
+        filter.put(sessionId);
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = falsePositiveLookups.count();
+        double newSessions = newLookups.count() + falsePositives;
+        return newSessions == 0 ? 0 : falsePositives / newSessions;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("result.dedup.bloom.lookups")
+                .description("Idempotency checks by Bloom filter outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
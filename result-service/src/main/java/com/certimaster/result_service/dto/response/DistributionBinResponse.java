@@ -0,0 +1,28 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one histogram bin of exam statistics.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistributionBinResponse {
+
+    /**
+     * Inclusive lower bound (percentage points or seconds).
+     */
+    private Integer lower;
+
+    /**
+     * Exclusive upper bound; null for the open last bin. The last score bin includes 100.
+     */
+    private Integer upper;
+
+    private Long count;
+}
@@ -0,0 +1,39 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one result in a user's result history (without topic and question details).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamResultSummaryResponse {
+
+    private Long resultId;
+
+    private Long sessionId;
+
+    private Long examId;
+
+    private Long certificationId;
+
+    private Integer totalQuestions;
+
+    private Integer correctAnswers;
+
+    private BigDecimal percentage;
+
+    private String passStatus;
+
+    private Integer timeTakenSeconds;
+
+    private LocalDateTime completedAt;
+}
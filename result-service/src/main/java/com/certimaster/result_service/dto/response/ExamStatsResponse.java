@@ -0,0 +1,57 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for the aggregated results of an exam or certification in a time range.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamStatsResponse {
+
+    private Long certificationId;
+
+    private Long examId;
+
+    /**
+     * Start of the range actually covered (rounded to whole buckets).
+     */
+    private LocalDateTime from;
+
+    /**
+     * Exclusive end of the range actually covered.
+     */
+    private LocalDateTime to;
+
+    private Long resultCount;
+
+    private Long passCount;
+
+    /**
+     * Proportion of results passed (0-1); null without results.
+     */
+    private BigDecimal passRate;
+
+    private BigDecimal averagePercentage;
+
+    private BigDecimal averageTimeSeconds;
+
+    /**
+     * Results per 5-point percentage bin.
+     */
+    private List<DistributionBinResponse> scoreDistribution;
+
+    /**
+     * Results per time-taken bin (seconds); results without a recorded time are not counted.
+     */
+    private List<DistributionBinResponse> timeDistribution;
+}
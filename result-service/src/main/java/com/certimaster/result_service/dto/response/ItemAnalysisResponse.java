@@ -0,0 +1,36 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the item-analysis statistics of one question.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAnalysisResponse {
+
+    private Long questionId;
+
+    private Long attempts;
+
+    private Long correctCount;
+
+    /**
+     * Proportion of attempts answering correctly (0-1); higher means easier.
+     */
+    private BigDecimal difficulty;
+
+    private BigDecimal meanTimeSeconds;
+
+    /**
+     * Point-biserial correlation with the exam percentage (-1 to 1); near zero or negative suggests a broken item.
+     */
+    private BigDecimal discrimination;
+}
@@ -0,0 +1,38 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for one user's position on a certification leaderboard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+
+    /**
+     * 1-based rank (best score descending, user ID as tiebreak).
+     */
+    private Integer rank;
+
+    /**
+     * The user ID.
+     */
+    private Long userId;
+
+    /**
+     * The user's best percentage in the certification.
+     */
+    private BigDecimal bestScore;
+
+    /**
+     * Number of ranked users in the certification.
+     */
+    private Integer totalUsers;
+}
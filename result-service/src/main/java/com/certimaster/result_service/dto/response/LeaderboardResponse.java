@@ -0,0 +1,33 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the top of a certification leaderboard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardResponse {
+
+    /**
+     * The certification ID.
+     */
+    private Long certificationId;
+
+    /**
+     * Number of ranked users in the certification.
+     */
+    private Integer totalUsers;
+
+    /**
+     * Top entries in rank order.
+     */
+    private List<LeaderboardEntryResponse> entries;
+}
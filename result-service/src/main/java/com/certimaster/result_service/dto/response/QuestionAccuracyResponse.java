@@ -0,0 +1,28 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for how often a user answered one question correctly and wrongly.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionAccuracyResponse {
+
+    private Long questionId;
+
+    private Integer attempts;
+
+    private Integer correctCount;
+
+    private Integer wrongCount;
+
+    private LocalDateTime lastAnsweredAt;
+}
@@ -0,0 +1,39 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one question in a user's review queue.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewQuestionResponse {
+
+    private Long questionId;
+
+    private LocalDateTime dueAt;
+
+    /**
+     * Correct answers in a row since the last mistake.
+     */
+    private Integer repetitions;
+
+    private Integer intervalDays;
+
+    /**
+     * SM-2 ease factor (1.30-2.50); lower means the question is missed more often.
+     */
+    private BigDecimal easeFactor;
+
+    private Integer lapseCount;
+
+    private LocalDateTime lastReviewedAt;
+}
@@ -0,0 +1,41 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a user's accumulated accuracy on one topic.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicAccuracyResponse {
+
+    private Long certificationId;
+
+    private Long topicId;
+
+    private String topicName;
+
+    /**
+     * Number of exams that included the topic.
+     */
+    private Integer attempts;
+
+    private Integer questionCount;
+
+    private Integer correctCount;
+
+    /**
+     * Average of the per-exam topic percentages.
+     */
+    private BigDecimal averagePercentage;
+
+    private LocalDateTime lastAttemptAt;
+}
@@ -0,0 +1,33 @@
+package com.certimaster.result_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a user's overall progress in one certification.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProgressResponse {
+
+    private Long certificationId;
+
+    private Integer totalExamsTaken;
+
+    private Integer totalQuestionsAnswered;
+
+    private Integer correctAnswers;
+
+    private BigDecimal averageScore;
+
+    private BigDecimal bestScore;
+
+    private LocalDateTime latestExamDate;
+}
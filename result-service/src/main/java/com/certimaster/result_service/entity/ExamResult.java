@@ -1,11 +1,15 @@
 package com.certimaster.result_service.entity;
 
-import com.certimaster.common_library.entity.BaseEntity;
+import com.certimaster.common_library.entity.AuditableEntity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +17,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,7 +35,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class ExamResult extends BaseEntity {
+public class ExamResult extends AuditableEntity {
+
+    @Id
+    // Rows are written by ExamResultBatchRepository with one nextval each (sequence INCREMENT BY 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_results_seq")
+    @SequenceGenerator(name = "exam_results_seq", sequenceName = "exam_results_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
 
     @Column(name = "session_id", nullable = false)
     private Long sessionId;
@@ -61,6 +74,19 @@ public class ExamResult extends BaseEntity {
     @Column(name = "percentage", nullable = false, precision = 5, scale = 2)
     private BigDecimal percentage;
 
+    /**
+     * Percentile rank at grading time; null if the exam had no earlier attempts.
+     */
+    @Column(name = "percentile_rank", precision = 5, scale = 2)
+    private BigDecimal percentileRank;
+
+    /**
+     * question_contents rows holding the text, explanation and reference of the questions as graded.
+     */
+    @Column(name = "question_content_ids", columnDefinition = "bigint[]")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] questionContentIds;
+
     @Column(name = "pass_status", nullable = false, length = 20)
     private String passStatus; // PASSED, FAILED
 
@@ -0,0 +1,49 @@
+package com.certimaster.result_service.entity;
+
+import com.certimaster.common_library.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Entity holding the persisted score histogram of an exam.
+ * Sparse: only non-empty 0.01 percentage buckets are stored, as parallel arrays.
+ */
+@Entity
+@Table(name = "exam_score_histograms")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class ExamScoreHistogram extends BaseEntity {
+
+    @Column(name = "exam_id", nullable = false, unique = true)
+    private Long examId;
+
+    @Column(name = "total_count", nullable = false)
+    @Builder.Default
+    private Long totalCount = 0L;
+
+    /**
+     * Bucket indexes (percentage * 100), ascending.
+     */
+    @Column(name = "buckets", columnDefinition = "integer[]", nullable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Integer[] buckets;
+
+    /**
+     * Count per bucket, parallel to {@link #buckets}.
+     */
+    @Column(name = "counts", columnDefinition = "integer[]", nullable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Integer[] counts;
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,6 +16,8 @@ import java.time.LocalDate;
 
 /**
  * Entity representing historical performance data for analytics.
+ * One rollup row per (user, certification, day), updated by delta as results are processed,
+ * so trends read at most one row per day regardless of how many exams were taken.
  */
 @Entity
 @Table(name = "performance_history")
@@ -34,9 +37,33 @@ public class PerformanceHistory extends BaseEntity {
     @Column(name = "exam_date", nullable = false)
     private LocalDate examDate;
 
+    /**
+     * Average score of the day's exams.
+     */
     @Column(name = "score", precision = 5, scale = 2)
     private BigDecimal score;
 
+    /**
+     * Average percentage of the day's exams.
+     */
     @Column(name = "percentage", precision = 5, scale = 2)
     private BigDecimal percentage;
+
+    @Column(name = "exam_count", nullable = false)
+    @Builder.Default
+    private Integer examCount = 0;
+
+    @Column(name = "score_sum", nullable = false, precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+
+    @Column(name = "percentage_sum", nullable = false, precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal percentageSum = BigDecimal.ZERO;
+
+    @Column(name = "min_percentage", precision = 5, scale = 2)
+    private BigDecimal minPercentage;
+
+    @Column(name = "max_percentage", precision = 5, scale = 2)
+    private BigDecimal maxPercentage;
 }
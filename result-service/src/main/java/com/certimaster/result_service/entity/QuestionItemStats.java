@@ -0,0 +1,86 @@
+package com.certimaster.result_service.entity;
+
+import com.certimaster.common_library.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity holding streaming item-analysis statistics of one question.
+ * Only running sums are accumulated; difficulty, mean time and discrimination are
+ * derived from them whenever the row changes, so nothing is recomputed from
+ * question_results at query time.
+ */
+@Entity
+@Table(name = "question_item_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class QuestionItemStats extends BaseEntity {
+
+    @Column(name = "question_id", nullable = false, unique = true)
+    private Long questionId;
+
+    @Column(name = "attempt_count", nullable = false)
+    @Builder.Default
+    private Long attemptCount = 0L;
+
+    @Column(name = "correct_count", nullable = false)
+    @Builder.Default
+    private Long correctCount = 0L;
+
+    /**
+     * Number of attempts with a recorded time spent.
+     */
+    @Column(name = "time_count", nullable = false)
+    @Builder.Default
+    private Long timeCount = 0L;
+
+    @Column(name = "time_sum", nullable = false)
+    @Builder.Default
+    private Long timeSum = 0L;
+
+    /**
+     * Sum of the exam percentages of the attempts (x in the point-biserial).
+     */
+    @Column(name = "score_sum", nullable = false)
+    @Builder.Default
+    private Double scoreSum = 0d;
+
+    @Column(name = "score_sq_sum", nullable = false)
+    @Builder.Default
+    private Double scoreSqSum = 0d;
+
+    /**
+     * Sum of the exam percentages of the attempts that answered this question correctly.
+     */
+    @Column(name = "correct_score_sum", nullable = false)
+    @Builder.Default
+    private Double correctScoreSum = 0d;
+
+    /**
+     * Proportion of attempts answering correctly (classical p-value, 0-1).
+     */
+    @Column(name = "difficulty", precision = 5, scale = 4)
+    private BigDecimal difficulty;
+
+    @Column(name = "mean_time_seconds", precision = 10, scale = 2)
+    private BigDecimal meanTimeSeconds;
+
+    /**
+     * Point-biserial correlation between answering correctly and the exam percentage (-1 to 1).
+     * Null while either side has no variance.
+     */
+    @Column(name = "discrimination", precision = 5, scale = 4)
+    private BigDecimal discrimination;
+}
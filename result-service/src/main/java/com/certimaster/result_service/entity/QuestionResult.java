@@ -1,11 +1,15 @@
 package com.certimaster.result_service.entity;
 
-import com.certimaster.common_library.entity.BaseEntity;
+import com.certimaster.common_library.entity.AuditableEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,6 +19,8 @@ import lombok.experimental.SuperBuilder;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.time.LocalDateTime;
+
 /**
  * Entity representing the result of a single question in an exam.
  */
@@ -25,7 +31,14 @@ import org.hibernate.type.SqlTypes;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class QuestionResult extends BaseEntity {
+public class QuestionResult extends AuditableEntity {
+
+    @Id
+    // Rows are written by ExamResultBatchRepository with one nextval each (sequence INCREMENT BY 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_results_seq")
+    @SequenceGenerator(name = "question_results_seq", sequenceName = "question_results_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "result_id")
@@ -47,4 +60,10 @@ public class QuestionResult extends BaseEntity {
 
     @Column(name = "time_spent_seconds")
     private Integer timeSpentSeconds;
+
+    /**
+     * Copy of the result's completion time; the partition key of the table.
+     */
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
 }
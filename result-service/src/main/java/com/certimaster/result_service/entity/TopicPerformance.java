@@ -1,11 +1,15 @@
 package com.certimaster.result_service.entity;
 
-import com.certimaster.common_library.entity.BaseEntity;
+import com.certimaster.common_library.entity.AuditableEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,6 +18,7 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entity representing performance on a specific topic within an exam.
@@ -25,7 +30,14 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class TopicPerformance extends BaseEntity {
+public class TopicPerformance extends AuditableEntity {
+
+    @Id
+    // Rows are written by ExamResultBatchRepository with one nextval each (sequence INCREMENT BY 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topic_performance_seq")
+    @SequenceGenerator(name = "topic_performance_seq", sequenceName = "topic_performance_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "result_id")
@@ -45,4 +57,10 @@ public class TopicPerformance extends BaseEntity {
 
     @Column(name = "percentage", precision = 5, scale = 2)
     private BigDecimal percentage;
+
+    /**
+     * Copy of the result's completion time; the partition key of the table.
+     */
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
 }
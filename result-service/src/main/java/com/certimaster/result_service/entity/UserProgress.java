@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 
 /**
  * Entity representing a user's overall progress for a certification.
+ * A projection of exam_results maintained by delta upserts as results are processed.
  */
 @Entity
 @Table(name = "user_progress")
@@ -44,6 +45,13 @@ public class UserProgress extends BaseEntity {
     @Builder.Default
     private Integer correctAnswers = 0;
 
+    /**
+     * Running sum of result percentages; averageScore = scoreSum / totalExamsTaken.
+     */
+    @Column(name = "score_sum", precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+
     @Column(name = "average_score", precision = 5, scale = 2)
     private BigDecimal averageScore;
 
@@ -0,0 +1,49 @@
+package com.certimaster.result_service.entity;
+
+import com.certimaster.common_library.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding how often a user answered one question correctly and wrongly.
+ * A projection of question_results maintained by delta upserts as results are processed.
+ */
+@Entity
+@Table(name = "user_question_accuracy")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class UserQuestionAccuracy extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "attempt_count", nullable = false)
+    @Builder.Default
+    private Integer attemptCount = 0;
+
+    @Column(name = "correct_count", nullable = false)
+    @Builder.Default
+    private Integer correctCount = 0;
+
+    @Column(name = "wrong_count", nullable = false)
+    @Builder.Default
+    private Integer wrongCount = 0;
+
+    @Column(name = "last_answered_at")
+    private LocalDateTime lastAnsweredAt;
+}
@@ -0,0 +1,69 @@
+package com.certimaster.result_service.entity;
+
+import com.certimaster.common_library.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a user's running accuracy on one topic of a certification.
+ * A projection of topic_performance maintained by delta upserts as results are processed.
+ */
+@Entity
+@Table(name = "user_topic_accuracy")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class UserTopicAccuracy extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "certification_id", nullable = false)
+    private Long certificationId;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "topic_name")
+    private String topicName;
+
+    /**
+     * Number of exams that included the topic.
+     */
+    @Column(name = "attempt_count", nullable = false)
+    @Builder.Default
+    private Integer attemptCount = 0;
+
+    @Column(name = "question_count", nullable = false)
+    @Builder.Default
+    private Integer questionCount = 0;
+
+    @Column(name = "correct_count", nullable = false)
+    @Builder.Default
+    private Integer correctCount = 0;
+
+    /**
+     * Running sum of per-exam topic percentages; averagePercentage = percentageSum / attemptCount.
+     */
+    @Column(name = "percentage_sum", precision = 12, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal percentageSum = BigDecimal.ZERO;
+
+    @Column(name = "average_percentage", precision = 5, scale = 2)
+    private BigDecimal averagePercentage;
+
+    @Column(name = "last_attempt_at")
+    private LocalDateTime lastAttemptAt;
+}
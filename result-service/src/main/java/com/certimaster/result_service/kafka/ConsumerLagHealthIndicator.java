@@ -0,0 +1,49 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.result_service.kafka.ConsumerLagMonitor.LagSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health component {@code consumerLag}: DEGRADED while the group's total lag on exam-completed
+ * exceeds {@code result.kafka.lag.degraded-threshold}, UNKNOWN before the first check or when
+ * the last successful one is stale. DEGRADED is mapped to HTTP 200, so it signals an
+ * autoscaler without failing liveness or readiness probes.
+ */
+@Component("consumerLag")
+@RequiredArgsConstructor
+public class ConsumerLagHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "Consumer lag above threshold");
+
+    private final ConsumerLagMonitor consumerLagMonitor;
+
+    @Value("${result.kafka.lag.degraded-threshold:1000}")
+    private long degradedThreshold;
+
+    @Override
+    public Health health() {
+        LagSnapshot lag = consumerLagMonitor.snapshot();
+        if (lag == null) {
+            return Health.unknown()
+                    .withDetail("error", String.valueOf(consumerLagMonitor.lastError()))
+                    .build();
+        }
+        Health.Builder builder = consumerLagMonitor.isStale(lag) ? Health.unknown()
+                : lag.totalLag() > degradedThreshold ? Health.status(DEGRADED)
+                : Health.up();
+        builder.withDetail("totalLag", lag.totalLag())
+                .withDetail("maxPartitionLag", lag.maxLag())
+                .withDetail("threshold", degradedThreshold)
+                .withDetail("partitions", lag.lagByPartition())
+                .withDetail("checkedAt", lag.checkedAt().toString());
+        if (consumerLagMonitor.lastError() != null) {
+            builder.withDetail("error", consumerLagMonitor.lastError());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.common_library.event.KafkaTopics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the consumer group's lag on the exam-completed topic.
+ * <p>
+ * Every {@code result.kafka.lag.check-interval-ms} the group's committed offsets are compared
+ * with the partitions' end offsets through the admin client. This is the lag of the whole
+ * group, whichever instance owns a partition, so every instance reports the same value and an
+ * autoscaler can read it from any of them. A partition without a committed offset counts from
+ * its earliest offset.
+ * <p>
+ * Metrics: {@code result.kafka.consumer.lag} (per partition), {@code result.kafka.consumer.lag.total}
+ * and {@code result.kafka.consumer.lag.max}; -1 until the first successful check.
+ */
+@Slf4j
+@Component
+public class ConsumerLagMonitor {
+
+    private static final String TOPIC = KafkaTopics.EXAM_COMPLETED;
+    private static final long ADMIN_TIMEOUT_SECONDS = 5;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final String groupId;
+    private final long checkIntervalMillis;
+
+    private final Map<Integer, Long> lagByPartition = new ConcurrentHashMap<>();
+    private volatile Admin admin;
+    private volatile LagSnapshot snapshot;
+    private volatile String lastError;
+
+    public ConsumerLagMonitor(KafkaAdmin kafkaAdmin,
+                              MeterRegistry meterRegistry,
+                              @Value("${spring.kafka.consumer.group-id:result-service-group}") String groupId,
+                              @Value("${result.kafka.lag.check-interval-ms:15000}") long checkIntervalMillis) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.groupId = groupId;
+        this.checkIntervalMillis = checkIntervalMillis;
+        Gauge.builder("result.kafka.consumer.lag.total", this, m -> m.snapshot == null ? -1 : m.snapshot.totalLag())
+                .tag("topic", TOPIC)
+                .register(meterRegistry);
+        Gauge.builder("result.kafka.consumer.lag.max", this, m -> m.snapshot == null ? -1 : m.snapshot.maxLag())
+                .tag("topic", TOPIC)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${result.kafka.lag.check-interval-ms:15000}",
+            fixedDelayString = "${result.kafka.lag.check-interval-ms:15000}")
+    public void check() {
+        try {
+            snapshot = measure();
+            lastError = null;
+            log.debug("Consumer group {} lag on {}: total {}, max {}",
+                    groupId, TOPIC, snapshot.totalLag(), snapshot.maxLag());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            lastError = e.getMessage();
+            log.warn("Failed to measure consumer group {} lag on {}: {}", groupId, TOPIC, e.getMessage());
+        }
+    }
+
+    /**
+     * The last successful measurement, or null before the first one.
+     */
+    public LagSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Message of the last failed check, or null if the last check succeeded.
+     */
+    public String lastError() {
+        return lastError;
+    }
+
+    /**
+     * Whether the snapshot is older than three check intervals.
+     */
+    public boolean isStale(LagSnapshot lag) {
+        return lag.checkedAt().isBefore(Instant.now().minusMillis(3 * checkIntervalMillis));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (admin != null) {
+            admin.close();
+        }
+    }
+
+    private LagSnapshot measure() throws Exception {
+        Admin client = admin();
+        TopicDescription description = client.describeTopics(List.of(TOPIC)).allTopicNames()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS).get(TOPIC);
+        List<TopicPartition> partitions = description.partitions().stream()
+                .map(p -> new TopicPartition(TOPIC, p.partition()))
+                .toList();
+
+        Map<TopicPartition, OffsetAndMetadata> committed = client.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResultInfo> latest = client.listOffsets(partitions.stream()
+                        .collect(Collectors.toMap(Function.identity(), p -> OffsetSpec.latest())))
+                .all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResultInfo> earliest = client.listOffsets(partitions.stream()
+                        .collect(Collectors.toMap(Function.identity(), p -> OffsetSpec.earliest())))
+                .all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        SortedMap<Integer, Long> lags = new TreeMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            long position = offset != null ? offset.offset() : earliest.get(partition).offset();
+            long lag = Math.max(0, latest.get(partition).offset() - position);
+            lags.put(partition.partition(), lag);
+            if (lagByPartition.put(partition.partition(), lag) == null) {
+                int id = partition.partition();
+                Gauge.builder("result.kafka.consumer.lag", lagByPartition, m -> m.getOrDefault(id, -1L))
+                        .tag("topic", TOPIC)
+                        .tag("partition", String.valueOf(id))
+                        .register(meterRegistry);
+            }
+        }
+        long total = lags.values().stream().mapToLong(Long::longValue).sum();
+        long max = lags.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        return new LagSnapshot(Collections.unmodifiableSortedMap(lags), total, max, Instant.now());
+    }
+
+    private Admin admin() {
+        if (admin == null) {
+            admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return admin;
+    }
+
+    /**
+     * Lag of every partition at one point in time.
+     */
+    public record LagSnapshot(SortedMap<Integer, Long> lagByPartition, long totalLag, long maxLag,
+                              Instant checkedAt) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.common_library.event.ExamCompletedEvent;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.common_library.event.KafkaTopics;
+import com.certimaster.result_service.service.ExamResultService;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch-mode Kafka consumer for ExamCompletedEvent.
+ * Persists a whole poll in one transaction and still sends one reply per record.
+ * Enabled with {@code result.kafka.batch.enabled=true}; replaces {@link ExamEventConsumer}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "result.kafka.batch", name = "enabled", havingValue = "true")
+public class ExamEventBatchConsumer {
+
+    private static final String MODE = "batch";
+
+    private final ExamResultService examResultService;
+    private final ExamEventRetryRouter examEventRetryRouter;
+    private final DeadLetterPublishingRecoverer examEventDeadLetterRecoverer;
+    private final ExamEventMetrics examEventMetrics;
+
+    /**
+     * Handle a poll of exam completed events and reply to each request.
+     * Batch listeners cannot rely on per-record reply routing, so each reply carries the
+     * correlation ID and reply topic copied from its request record.
+     * Records that cannot be deserialized go straight to the DLT; records that fail
+     * transiently in the per-record fallback go to the first retry tier. Neither is answered
+     * here.
+     *
+     * @param records the polled records
+     * @return one reply message per record answered in this poll, in record order
+     */
+    @KafkaListener(
+            topics = KafkaTopics.EXAM_COMPLETED,
+            containerFactory = "examCompletedBatchKafkaListenerContainerFactory"
+    )
+    @SendTo
+    public List<Message<ExamResultResponse>> handleExamCompletedBatch(
+            List<ConsumerRecord<String, ExamCompletedEvent>> records) {
+        long startNanos = System.nanoTime();
+        Timer.Sample sample = examEventMetrics.startProcessing();
+
+        List<ConsumerRecord<String, ExamCompletedEvent>> readable = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, ExamCompletedEvent> record : records) {
+            examEventMetrics.recordQueueTime(record);
+            if (record.value() == null) {
+                examEventDeadLetterRecoverer.accept(record,
+                        new IllegalArgumentException("ExamCompletedEvent could not be deserialized"));
+            } else {
+                readable.add(record);
+            }
+        }
+        List<ExamCompletedEvent> events = readable.stream().map(ConsumerRecord::value).toList();
+
+        List<Message<ExamResultResponse>> replies = new ArrayList<>(readable.size());
+        String outcome = "success";
+        try {
+            List<ExamResultResponse> responses = examResultService.processCompletedExams(events);
+            for (int i = 0; i < readable.size(); i++) {
+                replies.add(ReplyMessages.forRequest(readable.get(i), responses.get(i)));
+            }
+        } catch (Exception e) {
+            // Isolate the failing record(s): fall back to one transaction per record
+            log.error("Batch of {} ExamCompletedEvents failed, retrying records individually", events.size(), e);
+            outcome = "fallback";
+            for (ConsumerRecord<String, ExamCompletedEvent> record : readable) {
+                try {
+                    replies.add(ReplyMessages.forRequest(record,
+                            examResultService.processCompletedExam(record.value())));
+                } catch (RuntimeException recordFailure) {
+                    if (!RetryableFailures.isTransient(recordFailure)) {
+                        examEventMetrics.stopProcessing(sample, MODE, "failed");
+                        throw recordFailure;
+                    }
+                    examEventRetryRouter.route(record, recordFailure);
+                }
+            }
+        }
+
+        examEventMetrics.stopProcessing(sample, MODE, outcome);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        log.info("Processed batch of {} ExamCompletedEvents in {} ms ({} results/sec)",
+                records.size(), elapsedNanos / 1_000_000,
+                elapsedNanos > 0 ? records.size() * 1_000_000_000L / elapsedNanos : records.size());
+
+        return replies;
+    }
+}
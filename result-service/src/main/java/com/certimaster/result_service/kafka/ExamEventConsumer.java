@@ -4,8 +4,11 @@ import com.certimaster.common_library.event.ExamCompletedEvent;
 import com.certimaster.common_library.event.ExamResultResponse;
 import com.certimaster.common_library.event.KafkaTopics;
 import com.certimaster.result_service.service.ExamResultService;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.stereotype.Component;
@@ -13,32 +16,46 @@ import org.springframework.stereotype.Component;
 /**
  * Kafka consumer for exam-related events.
  * Processes ExamCompletedEvent and returns ExamResultResponse via reply pattern.
+ * Record-at-a-time mode; disabled when {@link ExamEventBatchConsumer} or
+ * {@link ExamEventParallelConsumer} is enabled.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = {"result.kafka.batch.enabled", "result.kafka.parallel.enabled"},
+        havingValue = "false", matchIfMissing = true)
 public class ExamEventConsumer {
 
+    private static final String MODE = "record";
+
     private final ExamResultService examResultService;
+    private final ExamEventRetryRouter examEventRetryRouter;
+    private final ExamEventMetrics examEventMetrics;
 
     /**
      * Handle exam completed event and send reply with calculated results.
-     * Uses Request-Reply pattern.
+     * Uses Request-Reply pattern; the reply omits per-question results, which clients page
+     * through the result API. A transient failure moves the record to the first retry
+     * tier instead; the reply is then sent by {@link ExamEventRetryConsumer}.
      *
-     * @param event the exam completed event containing session data and answers
-     * @return the exam result response with calculated scores and performance data
+     * @param record the request record holding the exam completed event
+     * @return the exam result response, or {@code null} when the event was sent for retry
      */
     @KafkaListener(
             topics = KafkaTopics.EXAM_COMPLETED,
             containerFactory = "examCompletedKafkaListenerContainerFactory"
     )
     @SendTo
-    public ExamResultResponse handleExamCompleted(ExamCompletedEvent event) {
+    public ExamResultResponse handleExamCompleted(ConsumerRecord<String, ExamCompletedEvent> record) {
+        ExamCompletedEvent event = record.value();
         log.info("Received ExamCompletedEvent for session {} user {} exam {}",
                 event.getSessionId(), event.getUserId(), event.getExamId());
+        examEventMetrics.recordQueueTime(record);
+        Timer.Sample sample = examEventMetrics.startProcessing();
 
         try {
             ExamResultResponse response = examResultService.processCompletedExam(event);
+            examEventMetrics.stopProcessing(sample, MODE, response.isSuccess() ? "success" : "failed");
 
             if (response.isSuccess()) {
                 log.info("Successfully processed exam completion for session {} - score: {}%, status: {}",
@@ -48,8 +65,14 @@ public class ExamEventConsumer {
                         event.getSessionId(), response.getErrorMessage());
             }
 
-            return response;
+            return response.withoutQuestionResults();
         } catch (Exception e) {
+            if (RetryableFailures.isTransient(e)) {
+                examEventMetrics.stopProcessing(sample, MODE, "retry");
+                examEventRetryRouter.route(record, e);
+                return null;
+            }
+            examEventMetrics.stopProcessing(sample, MODE, "failed");
             log.error("Error processing ExamCompletedEvent for session {}", event.getSessionId(), e);
             return ExamResultResponse.builder()
                     .sessionId(event.getSessionId())
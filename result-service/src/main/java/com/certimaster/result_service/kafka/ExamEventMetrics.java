@@ -0,0 +1,56 @@
+package com.certimaster.result_service.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timers of the exam-completed listeners, shared by every listener mode.
+ * <ul>
+ *   <li>{@code result.kafka.queue.time}: record timestamp (set when exam-service published the
+ *       event) to the start of processing, tagged with the partition</li>
+ *   <li>{@code result.kafka.processing.time}: listener processing of a record or a poll, commit
+ *       included, tagged with the mode (record, batch, parallel) and outcome</li>
+ * </ul>
+ * The database phases inside processing are timed by ExamResultService
+ * ({@code result.processing.phase}) and the reply sends by the reply template
+ * ({@code spring.kafka.template}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ExamEventMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Record how long a record waited before processing started. Producer clocks may run
+     * ahead, so negative waits count as zero.
+     */
+    public void recordQueueTime(ConsumerRecord<?, ?> record) {
+        if (record.timestampType() == TimestampType.NO_TIMESTAMP_TYPE || record.timestamp() < 0) {
+            return;
+        }
+        long waitMillis = Math.max(0, System.currentTimeMillis() - record.timestamp());
+        Timer.builder("result.kafka.queue.time")
+                .tag("topic", record.topic())
+                .tag("partition", String.valueOf(record.partition()))
+                .register(meterRegistry)
+                .record(waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Timer.Sample startProcessing() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopProcessing(Timer.Sample sample, String mode, String outcome) {
+        sample.stop(Timer.builder("result.kafka.processing.time")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
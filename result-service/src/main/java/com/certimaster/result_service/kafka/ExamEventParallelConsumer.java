@@ -0,0 +1,137 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.common_library.event.ExamCompletedEvent;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.common_library.event.KafkaTopics;
+import com.certimaster.result_service.service.ExamResultService;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel Kafka consumer for ExamCompletedEvent.
+ * <p>
+ * The container thread only dispatches: each record is queued on a {@link KeyOrderedExecutor}
+ * lane chosen by its key (the user ID), processed in its own transaction, answered with a
+ * reply and then acknowledged. Records of one user therefore run strictly in order, while
+ * different users are processed on all lanes at once. The container uses out-of-order manual
+ * acks, so an offset is only committed once every earlier offset of the partition has been
+ * acknowledged; a crash can only cause redelivery, which the idempotency check absorbs.
+ * Because every record of a user lands on one lane, per-user projections such as
+ * user_progress are updated by one transaction at a time. A record that fails transiently is
+ * moved to a retry tier and acknowledged, so it does not hold back the rest of its lane.
+ * <p>
+ * A record that can be neither processed nor moved to a retry tier is answered with a failure
+ * reply and acknowledged, since an offset left unacknowledged would stall the partition.
+ * <p>
+ * Enabled with {@code result.kafka.parallel.enabled=true}; replaces {@link ExamEventConsumer}.
+ * Startup fails if batch mode is enabled as well.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "result.kafka.parallel", name = "enabled", havingValue = "true")
+public class ExamEventParallelConsumer {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final String MODE = "parallel";
+
+    private final ExamResultService examResultService;
+    private final KafkaTemplate<String, ExamResultResponse> examResultReplyKafkaTemplate;
+    private final ExamEventRetryRouter examEventRetryRouter;
+    private final ExamEventMetrics examEventMetrics;
+    private final KeyOrderedExecutor executor;
+
+    public ExamEventParallelConsumer(ExamResultService examResultService,
+                                     KafkaTemplate<String, ExamResultResponse> examResultReplyKafkaTemplate,
+                                     ExamEventRetryRouter examEventRetryRouter,
+                                     ExamEventMetrics examEventMetrics,
+                                     @Value("${result.kafka.parallel.workers:0}") int workers,
+                                     @Value("${result.kafka.batch.enabled:false}") boolean batchEnabled) {
+        if (batchEnabled) {
+            // Both listeners would join the group and split the partitions between two modes
+            throw new IllegalStateException(
+                    "result.kafka.batch.enabled and result.kafka.parallel.enabled are mutually exclusive");
+        }
+        this.examResultService = examResultService;
+        this.examResultReplyKafkaTemplate = examResultReplyKafkaTemplate;
+        this.examEventRetryRouter = examEventRetryRouter;
+        this.examEventMetrics = examEventMetrics;
+        this.executor = new KeyOrderedExecutor("exam-result-worker",
+                workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+        log.info("Parallel ExamCompletedEvent consumer with {} key-ordered workers", executor.laneCount());
+    }
+
+    /**
+     * Dispatch an exam completed event to the worker lane of its key.
+     *
+     * @param record the request record
+     * @param ack    acknowledged by the worker once the reply has been sent
+     */
+    @KafkaListener(
+            topics = KafkaTopics.EXAM_COMPLETED,
+            containerFactory = "examCompletedParallelKafkaListenerContainerFactory"
+    )
+    public void handleExamCompleted(ConsumerRecord<String, ExamCompletedEvent> record, Acknowledgment ack) {
+        executor.execute(record.key(), () -> process(record, ack));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void process(ConsumerRecord<String, ExamCompletedEvent> record, Acknowledgment ack) {
+        ExamCompletedEvent event = record.value();
+        // Queue time includes the wait on the lane
+        examEventMetrics.recordQueueTime(record);
+        Timer.Sample sample = examEventMetrics.startProcessing();
+        ExamResultResponse response;
+        try {
+            response = examResultService.processCompletedExam(event);
+            examEventMetrics.stopProcessing(sample, MODE, response.isSuccess() ? "success" : "failed");
+        } catch (Exception e) {
+            examEventMetrics.stopProcessing(sample, MODE, RetryableFailures.isTransient(e) ? "retry" : "failed");
+            if (RetryableFailures.isTransient(e)) {
+                // Answered by the retry consumer; the lane moves on to the next record of the key
+                try {
+                    examEventRetryRouter.route(record, e);
+                    ack.acknowledge();
+                    return;
+                } catch (Exception routeFailure) {
+                    // With async acks an unacknowledged offset holds back every later commit of
+                    // the partition, so answer with a failure and acknowledge like a permanent error
+                    log.error("Failed to route session {} (partition {} offset {}) to a retry tier",
+                            event.getSessionId(), record.partition(), record.offset(), routeFailure);
+                }
+            } else {
+                log.error("Error processing ExamCompletedEvent for session {}", event.getSessionId(), e);
+            }
+            response = ExamResultResponse.builder()
+                    .sessionId(event.getSessionId())
+                    .userId(event.getUserId())
+                    .examId(event.getExamId())
+                    .success(false)
+                    .errorMessage("Failed to process exam completion: " + e.getMessage())
+                    .build();
+        }
+
+        try {
+            examResultReplyKafkaTemplate.send(ReplyMessages.forRequest(record, response)).join();
+        } catch (Exception e) {
+            // The result is stored and readable through the result API; holding the offset back
+            // would stall every later commit of the partition
+            log.error("Failed to reply for session {} (partition {} offset {})",
+                    event.getSessionId(), record.partition(), record.offset(), e);
+        }
+        ack.acknowledge();
+    }
+}
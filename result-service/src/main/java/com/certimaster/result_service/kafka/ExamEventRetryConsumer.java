@@ -0,0 +1,176 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.common_library.event.ExamCompletedEvent;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.result_service.service.ExamResultService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer of the ExamCompletedEvent retry tiers, active in every listener mode.
+ * <p>
+ * A record that is not yet due is not waited for on the consumer thread: its partition is
+ * sought back to the record and paused, and resumed once the tier delay has elapsed. The
+ * records of the same poll that follow it are skipped without an acknowledgment and fetched
+ * again after the resume. Only the tier partition is held back, where every later record is
+ * due later anyway; the consumer keeps polling, so a long delay never approaches
+ * max.poll.interval.ms.
+ * <p>
+ * A success or permanent failure is answered with a reply only while the requester is still
+ * waiting, i.e. within {@code result.kafka.retry.reply-window-seconds} (exam-service's reply
+ * timeout) of the original request. Later the result is only available through the result
+ * API. Another transient failure moves the record to the next tier or the DLT.
+ * <p>
+ * While a record is in a retry tier, later records of the same user on the main topic are
+ * not held back, so per-user ordering only holds for records that succeed first time.
+ * <p>
+ * Metrics: {@code result.kafka.retry.processed} tagged with tier and outcome
+ * (success, failed, rerouted) and whether a reply was sent.
+ */
+@Slf4j
+@Component
+public class ExamEventRetryConsumer implements ConsumerSeekAware {
+
+    private static final String LISTENER_ID_PREFIX = "exam-completed-retry-";
+
+    private final ExamResultService examResultService;
+    private final ExamEventRetryRouter examEventRetryRouter;
+    private final KafkaTemplate<String, ExamResultResponse> examResultReplyKafkaTemplate;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final MeterRegistry meterRegistry;
+    private final long replyWindowMillis;
+
+    // Paused partitions and the offset of the record each one waits for
+    private final Map<TopicPartition, Long> waitingOffsets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService resumeScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "exam-result-retry-resume");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExamEventRetryConsumer(ExamResultService examResultService,
+                                  ExamEventRetryRouter examEventRetryRouter,
+                                  @Qualifier("examResultReplyKafkaTemplate") KafkaTemplate<String, ExamResultResponse> examResultReplyKafkaTemplate,
+                                  KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${result.kafka.retry.reply-window-seconds:30}") long replyWindowSeconds) {
+        this.examResultService = examResultService;
+        this.examEventRetryRouter = examEventRetryRouter;
+        this.examResultReplyKafkaTemplate = examResultReplyKafkaTemplate;
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.meterRegistry = meterRegistry;
+        this.replyWindowMillis = TimeUnit.SECONDS.toMillis(replyWindowSeconds);
+    }
+
+    /**
+     * Handle a record from one of the retry tiers. Each tier has its own container, so a
+     * paused 2m tier partition never holds back the 5s tier.
+     *
+     * @param record   the retried request record
+     * @param ack      acknowledged once the record has been answered or moved on
+     * @param consumer the container's consumer, used to seek back to a record that is not due
+     */
+    @KafkaListener(id = LISTENER_ID_PREFIX + "first", idIsGroup = false, topics = RetryTier.Topics.FIRST,
+            containerFactory = "examCompletedRetryKafkaListenerContainerFactory")
+    @KafkaListener(id = LISTENER_ID_PREFIX + "second", idIsGroup = false, topics = RetryTier.Topics.SECOND,
+            containerFactory = "examCompletedRetryKafkaListenerContainerFactory")
+    @KafkaListener(id = LISTENER_ID_PREFIX + "third", idIsGroup = false, topics = RetryTier.Topics.THIRD,
+            containerFactory = "examCompletedRetryKafkaListenerContainerFactory")
+    public void handleRetry(ConsumerRecord<String, ExamCompletedEvent> record, Acknowledgment ack,
+                            Consumer<?, ?> consumer) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        Long waitingOffset = waitingOffsets.get(partition);
+        if (waitingOffset != null) {
+            if (record.offset() != waitingOffset) {
+                // Fetched in the same poll as the record being waited for; fetched again after the resume
+                return;
+            }
+            waitingOffsets.remove(partition);
+        }
+
+        long waitMillis = ExamEventRetryRouter.dueAtOf(record) - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            pauseUntilDue(partition, record.offset(), waitMillis, consumer);
+            return;
+        }
+
+        process(record);
+        ack.acknowledge();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        // A reassigned partition starts again from its committed offset
+        assignments.keySet().forEach(waitingOffsets::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resumeScheduler.shutdownNow();
+    }
+
+    private void pauseUntilDue(TopicPartition partition, long offset, long waitMillis, Consumer<?, ?> consumer) {
+        MessageListenerContainer container = containerFor(partition.topic());
+        waitingOffsets.put(partition, offset);
+        consumer.seek(partition, offset);
+        container.pausePartition(partition);
+        resumeScheduler.schedule(() -> container.resumePartition(partition), waitMillis, TimeUnit.MILLISECONDS);
+        log.debug("Paused {} for {} ms until offset {} is due", partition, waitMillis, offset);
+    }
+
+    private void process(ConsumerRecord<String, ExamCompletedEvent> record) {
+        String tier = RetryTier.ofTopic(record.topic()).map(Enum::name).orElse(record.topic());
+        ExamCompletedEvent event = record.value();
+        ExamResultResponse response;
+        try {
+            response = examResultService.processCompletedExam(event);
+        } catch (RuntimeException e) {
+            if (!RetryableFailures.isTransient(e)) {
+                throw e;
+            }
+            examEventRetryRouter.route(record, e);
+            meterRegistry.counter("result.kafka.retry.processed", "tier", tier, "outcome", "rerouted",
+                    "replied", "false").increment();
+            return;
+        }
+
+        long waitedMillis = System.currentTimeMillis() - ExamEventRetryRouter.originalTimestampOf(record);
+        boolean reply = waitedMillis < replyWindowMillis;
+        if (reply) {
+            examResultReplyKafkaTemplate.send(ReplyMessages.forRequest(record, response)).join();
+        }
+        meterRegistry.counter("result.kafka.retry.processed", "tier", tier,
+                "outcome", response.isSuccess() ? "success" : "failed", "replied", String.valueOf(reply)).increment();
+        log.info("Retry {} of session {} finished: success={}, {}", tier, event.getSessionId(), response.isSuccess(),
+                reply ? "replied" : "requester gave up " + waitedMillis + " ms after the request, not replied");
+    }
+
+    private MessageListenerContainer containerFor(String topic) {
+        String suffix = RetryTier.ofTopic(topic).map(t -> t.name().toLowerCase()).orElseThrow(
+                () -> new IllegalStateException("Not a retry tier topic: " + topic));
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID_PREFIX + suffix);
+        if (container == null) {
+            throw new IllegalStateException("No listener container for retry tier topic " + topic);
+        }
+        return container;
+    }
+}
@@ -0,0 +1,123 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.common_library.event.KafkaTopics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Forwards ExamCompletedEvents whose processing failed transiently to the next retry tier,
+ * and to the DLT once every tier has been used. The original record keeps its key and its
+ * reply headers, so a successful retry still answers the waiting requester.
+ * <p>
+ * Metrics: {@code result.kafka.retry.routed} tagged with the destination tier (or "dlt").
+ */
+@Slf4j
+@Component
+public class ExamEventRetryRouter {
+
+    static final String ATTEMPT_HEADER = "x-retry-attempt";
+    static final String DUE_AT_HEADER = "x-retry-due-at";
+    static final String ORIGINAL_TOPIC_HEADER = "x-original-topic";
+    static final String ORIGINAL_TIMESTAMP_HEADER = "x-original-timestamp";
+    static final String EXCEPTION_CLASS_HEADER = "x-exception-class";
+    static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+
+    private final KafkaTemplate<String, Object> examEventRetryKafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public ExamEventRetryRouter(@Qualifier("examEventRetryKafkaTemplate") KafkaTemplate<String, Object> examEventRetryKafkaTemplate,
+                                MeterRegistry meterRegistry) {
+        this.examEventRetryKafkaTemplate = examEventRetryKafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Publish the record to its next tier (or the DLT) and wait for the broker to confirm,
+     * so the source offset is only acknowledged once the record is safe elsewhere.
+     */
+    public void route(ConsumerRecord<String, ?> record, Throwable cause) {
+        int attempt = attemptOf(record) + 1;
+        Optional<RetryTier> tier = RetryTier.forAttempt(attempt);
+        String destination = tier.map(RetryTier::topic).orElse(KafkaTopics.EXAM_COMPLETED_DLT);
+
+        ProducerRecord<String, Object> out = new ProducerRecord<>(destination, null, record.key(), record.value());
+        copyHeaders(record.headers(), out.headers());
+        out.headers().add(ATTEMPT_HEADER, bytes(String.valueOf(attempt)));
+        out.headers().add(ORIGINAL_TOPIC_HEADER, bytes(originalTopicOf(record)));
+        out.headers().add(ORIGINAL_TIMESTAMP_HEADER, bytes(String.valueOf(originalTimestampOf(record))));
+        tier.ifPresent(t -> out.headers().add(DUE_AT_HEADER,
+                bytes(String.valueOf(System.currentTimeMillis() + t.delay().toMillis()))));
+        if (cause != null) {
+            out.headers().add(EXCEPTION_CLASS_HEADER, bytes(cause.getClass().getName()));
+            out.headers().add(EXCEPTION_MESSAGE_HEADER, bytes(String.valueOf(cause.getMessage())));
+        }
+
+        examEventRetryKafkaTemplate.send(out).join();
+        meterRegistry.counter("result.kafka.retry.routed", "tier", tier.map(Enum::name).orElse("dlt")).increment();
+
+        log.warn("Routed record {}-{}@{} (key {}) to {} after attempt {}: {}",
+                record.topic(), record.partition(), record.offset(), record.key(), destination, attempt - 1,
+                cause != null ? cause.toString() : "no cause");
+    }
+
+    /**
+     * Number of retry attempts already made for the record (0 on the main topic).
+     */
+    static int attemptOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ATTEMPT_HEADER);
+        return header != null ? Integer.parseInt(new String(header.value(), StandardCharsets.UTF_8)) : 0;
+    }
+
+    /**
+     * Epoch millis at which a retry record becomes due (0 if not set).
+     */
+    static long dueAtOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(DUE_AT_HEADER);
+        return header != null ? Long.parseLong(new String(header.value(), StandardCharsets.UTF_8)) : 0L;
+    }
+
+    /**
+     * Epoch millis at which the request was first published (the record's own timestamp on the
+     * main topic), i.e. when the requester started waiting for its reply.
+     */
+    static long originalTimestampOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ORIGINAL_TIMESTAMP_HEADER);
+        return header != null ? Long.parseLong(new String(header.value(), StandardCharsets.UTF_8)) : record.timestamp();
+    }
+
+    /**
+     * Whether a header was added by the retry router (and must be replaced, not copied).
+     */
+    public static boolean isRetryHeader(String key) {
+        return key.equals(ATTEMPT_HEADER) || key.equals(DUE_AT_HEADER) || key.equals(ORIGINAL_TOPIC_HEADER)
+                || key.equals(ORIGINAL_TIMESTAMP_HEADER) || key.equals(EXCEPTION_CLASS_HEADER) || key.equals(EXCEPTION_MESSAGE_HEADER);
+    }
+
+    private static String originalTopicOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ORIGINAL_TOPIC_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : record.topic();
+    }
+
+    private static void copyHeaders(Headers from, Headers to) {
+        for (Header header : from) {
+            // Type headers are re-added by the serializer
+            if (!isRetryHeader(header.key()) && !header.key().startsWith("__")) {
+                to.add(header);
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
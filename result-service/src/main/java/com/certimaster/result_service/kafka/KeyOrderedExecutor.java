@@ -0,0 +1,59 @@
+package com.certimaster.result_service.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor that runs tasks of the same key in submission order and tasks of different keys in parallel.
+ * Each key is hashed to one of {@code lanes} single-threaded queues, so a key never runs on two
+ * threads at once; unrelated keys that share a lane simply queue behind each other.
+ */
+@Slf4j
+final class KeyOrderedExecutor {
+
+    private final List<ExecutorService> lanes;
+
+    KeyOrderedExecutor(String name, int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive");
+        }
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(Executors.newSingleThreadExecutor(Thread.ofPlatform().name(name + "-" + i).factory()));
+        }
+    }
+
+    void execute(Object key, Runnable task) {
+        lanes.get(Math.floorMod(key == null ? 0 : key.hashCode(), lanes.size())).execute(task);
+    }
+
+    int laneCount() {
+        return lanes.size();
+    }
+
+    /**
+     * Stop accepting tasks and wait for queued tasks to finish.
+     */
+    void shutdown(long timeout, TimeUnit unit) {
+        lanes.forEach(ExecutorService::shutdown);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (ExecutorService lane : lanes) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !lane.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("Timed out waiting for queued tasks; {} lanes still busy", lanes.size());
+                    lanes.forEach(ExecutorService::shutdownNow);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lanes.forEach(ExecutorService::shutdownNow);
+        }
+    }
+}
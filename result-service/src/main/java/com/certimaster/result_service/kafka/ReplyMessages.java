@@ -0,0 +1,46 @@
+package com.certimaster.result_service.kafka;
+
+import com.certimaster.common_library.event.ExamCompletedEvent;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.common_library.event.KafkaTopics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds reply messages for listeners that cannot rely on per-record {@code @SendTo} routing.
+ * Each reply carries the reply topic, partition and correlation ID copied from its request,
+ * and the response without its per-question results.
+ */
+final class ReplyMessages {
+
+    private ReplyMessages() {
+    }
+
+    static Message<ExamResultResponse> forRequest(ConsumerRecord<String, ExamCompletedEvent> record,
+                                                  ExamResultResponse response) {
+        MessageBuilder<ExamResultResponse> builder = MessageBuilder.withPayload(response.withoutQuestionResults())
+                .setHeader(KafkaHeaders.KEY, record.key());
+
+        Header replyTopic = record.headers().lastHeader(KafkaHeaders.REPLY_TOPIC);
+        builder.setHeader(KafkaHeaders.TOPIC, replyTopic != null
+                ? new String(replyTopic.value(), StandardCharsets.UTF_8)
+                : KafkaTopics.EXAM_RESULT_REPLY);
+
+        Header replyPartition = record.headers().lastHeader(KafkaHeaders.REPLY_PARTITION);
+        if (replyPartition != null) {
+            builder.setHeader(KafkaHeaders.PARTITION, ByteBuffer.wrap(replyPartition.value()).getInt());
+        }
+
+        Header correlationId = record.headers().lastHeader(KafkaHeaders.CORRELATION_ID);
+        if (correlationId != null) {
+            builder.setHeader(KafkaHeaders.CORRELATION_ID, correlationId.value());
+        }
+        return builder.build();
+    }
+}
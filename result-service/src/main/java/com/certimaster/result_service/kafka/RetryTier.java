@@ -0,0 +1,67 @@
+package com.certimaster.result_service.kafka;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Retry tiers for ExamCompletedEvent, each a topic with a fixed delay (5s, 30s, 2m).
+ * Because every record in a tier topic waits the same delay, records become due in offset
+ * order and the tier consumer only ever waits for the record at the head of a partition.
+ * <p>
+ * Only the first tier finishes inside exam-service's 30s reply timeout; records that succeed
+ * in the 30s and 2m tiers are stored but not replied to.
+ */
+public enum RetryTier {
+
+    FIRST(Topics.FIRST, Duration.ofSeconds(5)),
+    SECOND(Topics.SECOND, Duration.ofSeconds(30)),
+    THIRD(Topics.THIRD, Duration.ofMinutes(2));
+
+    /**
+     * Tier topic names as compile-time constants, for {@code @KafkaListener}.
+     */
+    static final class Topics {
+        static final String FIRST = "exam-completed-retry-5s";
+        static final String SECOND = "exam-completed-retry-30s";
+        static final String THIRD = "exam-completed-retry-2m";
+
+        private Topics() {
+        }
+    }
+
+    private final String topic;
+    private final Duration delay;
+
+    RetryTier(String topic, Duration delay) {
+        this.topic = topic;
+        this.delay = delay;
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    public Duration delay() {
+        return delay;
+    }
+
+    /**
+     * Tier that handles the given retry attempt (1-based), or empty once all tiers are used up.
+     */
+    public static Optional<RetryTier> forAttempt(int attempt) {
+        RetryTier[] tiers = values();
+        return attempt >= 1 && attempt <= tiers.length ? Optional.of(tiers[attempt - 1]) : Optional.empty();
+    }
+
+    /**
+     * Tier owning the given topic, or empty for the main topic.
+     */
+    public static Optional<RetryTier> ofTopic(String topic) {
+        for (RetryTier tier : values()) {
+            if (tier.topic.equals(topic)) {
+                return Optional.of(tier);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,51 @@
+package com.certimaster.result_service.leaderboard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Best-score leaderboard of one certification: one entry per user, ordered by
+ * best score descending with user ID as tiebreak. Memory is one skip list node
+ * plus one map entry per user who has a result in the certification.
+ */
+public final class CertificationLeaderboard {
+
+    private final RankedSkipList ranking = new RankedSkipList();
+    private final Map<Long, Long> bestScoreByUser = new HashMap<>();
+
+    /**
+     * Record a score; only an improvement on the user's best score moves them.
+     *
+     * @param userId the user ID
+     * @param score score in hundredths of a percent
+     */
+    public synchronized void offer(long userId, long score) {
+        Long current = bestScoreByUser.get(userId);
+        if (current != null) {
+            if (current >= score) {
+                return;
+            }
+            ranking.remove(userId, current);
+        }
+        ranking.insert(userId, score);
+        bestScoreByUser.put(userId, score);
+    }
+
+    public synchronized List<RankedSkipList.Entry> top(int k) {
+        return ranking.top(k);
+    }
+
+    public synchronized Optional<RankedSkipList.Entry> entryOf(long userId) {
+        Long score = bestScoreByUser.get(userId);
+        if (score == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RankedSkipList.Entry(ranking.rank(userId, score), userId, score));
+    }
+
+    public synchronized int size() {
+        return ranking.size();
+    }
+}
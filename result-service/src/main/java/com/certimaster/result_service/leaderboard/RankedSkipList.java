@@ -0,0 +1,178 @@
+package com.certimaster.result_service.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Indexable skip list ordered by score descending, then user ID ascending.
+ * Each forward link records how many positions it skips (its span), so insert,
+ * remove and rank are O(log n) expected and the top K entries are O(k).
+ * Not thread-safe; callers synchronize.
+ */
+public final class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(0, Long.MAX_VALUE, MAX_LEVEL);
+    private final SplittableRandom random = new SplittableRandom();
+    private int level = 1;
+    private int size;
+
+    /**
+     * Ranked position of a user.
+     *
+     * @param rank 1-based position
+     * @param userId the user ID
+     * @param score score in hundredths of a percent
+     */
+    public record Entry(int rank, long userId, long score) {
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Insert a (userId, score) pair. The pair must not already be present.
+     */
+    public void insert(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], userId, score)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node node = new Node(userId, score, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Remove a (userId, score) pair.
+     *
+     * @return true if the pair was present
+     */
+    public boolean remove(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], userId, score)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        x = x.next[0];
+        if (x == null || x.userId != userId || x.score != score) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * 1-based rank of a (userId, score) pair, or 0 if absent.
+     */
+    public int rank(long userId, long score) {
+        Node x = head;
+        int rank = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null
+                    && (precedes(x.next[i], userId, score) || x.next[i].matches(userId, score))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && x.matches(userId, score)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The first {@code k} entries in rank order.
+     */
+    public List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(Math.min(k, size));
+        Node x = head.next[0];
+        int rank = 1;
+        while (x != null && rank <= k) {
+            entries.add(new Entry(rank++, x.userId, x.score));
+            x = x.next[0];
+        }
+        return entries;
+    }
+
+    /**
+     * Whether {@code node} sorts strictly before (userId, score).
+     */
+    private static boolean precedes(Node node, long userId, long score) {
+        return node.score > score || (node.score == score && node.userId < userId);
+    }
+
+    private int randomLevel() {
+        int lvl = 1;
+        // p = 1/4, as in Redis sorted sets
+        while (lvl < MAX_LEVEL && random.nextInt(4) == 0) {
+            lvl++;
+        }
+        return lvl;
+    }
+
+    private static final class Node {
+        private final long userId;
+        private final long score;
+        private final Node[] next;
+        private final int[] span;
+
+        Node(long userId, long score, int level) {
+            this.userId = userId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        boolean matches(long userId, long score) {
+            return this.userId == userId && this.score == score;
+        }
+    }
+}
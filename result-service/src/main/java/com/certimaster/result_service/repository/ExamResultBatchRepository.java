@@ -0,0 +1,212 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.entity.QuestionResult;
+import com.certimaster.result_service.entity.TopicPerformance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC batch writer for exam results.
+ * Used by both ingest paths; the batch consumer writes a whole poll as one JDBC batch per
+ * table without loading thousands of entities into the persistence context. Duplicate
+ * sessions are resolved by claiming them in exam_result_sessions with
+ * {@code ON CONFLICT (session_id) DO NOTHING} (the partitioned exam_results cannot enforce a
+ * unique session itself). Result IDs are drawn from exam_results_seq up front so the claim
+ * can point at its result; child IDs come from the column defaults. The three sequences step
+ * by 1 (V14), so each row takes exactly one ID. Children carry their
+ * result's completed_at, which routes them to the same monthly partition.
+ * Must be called inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamResultBatchRepository {
+
+    private static final String NEXT_RESULT_IDS =
+            "SELECT nextval('exam_results_seq') FROM generate_series(1, ?)";
+
+    private static final String CLAIM_SESSIONS = """
+            INSERT INTO exam_result_sessions (session_id, result_id, completed_at)
+            SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::timestamp[])
+            ON CONFLICT (session_id) DO NOTHING
+            RETURNING session_id
+            """;
+
+    private static final String INSERT_EXAM_RESULT = """
+            INSERT INTO exam_results (id, session_id, user_id, exam_id, certification_id, total_questions,
+                                      correct_answers, wrong_answers, unanswered, score, percentage, pass_status,
+                                      time_taken_seconds, completed_at, percentile_rank, question_content_ids,
+                                      created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_TOPIC_PERFORMANCE = """
+            INSERT INTO topic_performance (result_id, topic_id, topic_name, total_questions, correct_answers,
+                                           percentage, completed_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_QUESTION_RESULT = """
+            INSERT INTO question_results (result_id, question_id, user_answer_ids, correct_answer_ids, is_correct,
+                                          time_spent_seconds, completed_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claim the sessions and insert the results of the claimed ones in one batch, assigning
+     * the IDs back to the entities. Results whose session already has a stored (or archived)
+     * result, e.g. written by another instance, are skipped and keep a null ID.
+     *
+     * @return the results that were inserted
+     */
+    public List<ExamResult> insertExamResults(List<ExamResult> results) {
+        if (results.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_RESULT_IDS, Long.class, results.size());
+        Long[] sessionIds = new Long[results.size()];
+        Long[] resultIds = new Long[results.size()];
+        Timestamp[] completedAts = new Timestamp[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            sessionIds[i] = results.get(i).getSessionId();
+            resultIds[i] = ids.get(i);
+            completedAts[i] = Timestamp.valueOf(results.get(i).getCompletedAt());
+        }
+        Set<Long> claimed = new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_SESSIONS);
+            ps.setArray(1, con.createArrayOf("bigint", sessionIds));
+            ps.setArray(2, con.createArrayOf("bigint", resultIds));
+            ps.setArray(3, con.createArrayOf("timestamp", completedAts));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+
+        List<ExamResult> inserted = new ArrayList<>(claimed.size());
+        for (int i = 0; i < results.size(); i++) {
+            ExamResult result = results.get(i);
+            // A session listed twice is claimed once; only its first result is kept
+            if (claimed.remove(result.getSessionId())) {
+                result.setId(resultIds[i]);
+                result.setCreatedAt(now.toLocalDateTime());
+                result.setUpdatedAt(now.toLocalDateTime());
+                inserted.add(result);
+            }
+        }
+        if (inserted.isEmpty()) {
+            return inserted;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EXAM_RESULT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ExamResult r = inserted.get(i);
+                ps.setLong(1, r.getId());
+                ps.setLong(2, r.getSessionId());
+                ps.setLong(3, r.getUserId());
+                ps.setLong(4, r.getExamId());
+                ps.setLong(5, r.getCertificationId());
+                ps.setInt(6, r.getTotalQuestions());
+                ps.setInt(7, r.getCorrectAnswers());
+                ps.setInt(8, r.getWrongAnswers());
+                ps.setInt(9, r.getUnanswered());
+                ps.setBigDecimal(10, r.getScore());
+                ps.setBigDecimal(11, r.getPercentage());
+                ps.setString(12, r.getPassStatus());
+                ps.setObject(13, r.getTimeTakenSeconds(), Types.INTEGER);
+                ps.setTimestamp(14, Timestamp.valueOf(r.getCompletedAt()));
+                ps.setBigDecimal(15, r.getPercentileRank());
+                ps.setArray(16, toBigintArray(ps, r.getQuestionContentIds()));
+                ps.setTimestamp(17, now);
+                ps.setTimestamp(18, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return inserted.size();
+            }
+        });
+        return inserted;
+    }
+
+    /**
+     * Insert topic performances in one batch. The parent results must already have IDs.
+     */
+    public void insertTopicPerformances(List<TopicPerformance> performances) {
+        if (performances.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_TOPIC_PERFORMANCE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TopicPerformance tp = performances.get(i);
+                ps.setLong(1, tp.getExamResult().getId());
+                ps.setLong(2, tp.getTopicId());
+                ps.setString(3, tp.getTopicName());
+                ps.setObject(4, tp.getTotalQuestions(), Types.INTEGER);
+                ps.setObject(5, tp.getCorrectAnswers(), Types.INTEGER);
+                ps.setBigDecimal(6, tp.getPercentage());
+                ps.setTimestamp(7, Timestamp.valueOf(tp.getExamResult().getCompletedAt()));
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return performances.size();
+            }
+        });
+    }
+
+    /**
+     * Insert question results in one batch. The parent results must already have IDs.
+     */
+    public void insertQuestionResults(List<QuestionResult> questionResults) {
+        if (questionResults.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_QUESTION_RESULT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                QuestionResult qr = questionResults.get(i);
+                ps.setLong(1, qr.getExamResult().getId());
+                ps.setLong(2, qr.getQuestionId());
+                ps.setArray(3, toBigintArray(ps, qr.getUserAnswerIds()));
+                ps.setArray(4, toBigintArray(ps, qr.getCorrectAnswerIds()));
+                ps.setObject(5, qr.getIsCorrect(), Types.BOOLEAN);
+                ps.setObject(6, qr.getTimeSpentSeconds(), Types.INTEGER);
+                ps.setTimestamp(7, Timestamp.valueOf(qr.getExamResult().getCompletedAt()));
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return questionResults.size();
+            }
+        });
+    }
+
+    private static Array toBigintArray(PreparedStatement ps, Long[] values) throws SQLException {
+        return values == null ? null : ps.getConnection().createArrayOf("bigint", values);
+    }
+}
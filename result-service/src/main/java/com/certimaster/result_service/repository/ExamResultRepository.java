@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,14 +17,42 @@ public interface ExamResultRepository extends JpaRepository<ExamResult, Long> {
 
     /**
      * Find result by session ID.
+     * Resolved through exam_result_sessions, whose completed_at prunes the lookup to one
+     * monthly partition. Empty for sessions whose month has been archived.
      */
-    Optional<ExamResult> findBySessionId(Long sessionId);
+    @Query(value = """
+            SELECT r.* FROM exam_result_sessions s
+            JOIN exam_results r ON r.id = s.result_id AND r.completed_at = s.completed_at
+            WHERE s.session_id = :sessionId
+            """, nativeQuery = true)
+    Optional<ExamResult> findBySessionId(@Param("sessionId") Long sessionId);
+
+    /**
+     * Find results for any of the given sessions (batch idempotency check).
+     * Resolved through exam_result_sessions like {@link #findBySessionId(Long)}.
+     */
+    @Query(value = """
+            SELECT r.* FROM exam_result_sessions s
+            JOIN exam_results r ON r.id = s.result_id AND r.completed_at = s.completed_at
+            WHERE s.session_id IN (:sessionIds)
+            """, nativeQuery = true)
+    List<ExamResult> findBySessionIdIn(@Param("sessionIds") Collection<Long> sessionIds);
 
     /**
      * Find all results by user ID.
      */
     List<ExamResult> findByUserIdOrderByCompletedAtDesc(Long userId);
 
+    /**
+     * Find a page of results by user ID.
+     */
+    Page<ExamResult> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Find a page of results by user and certification.
+     */
+    Page<ExamResult> findByUserIdAndCertificationId(Long userId, Long certificationId, Pageable pageable);
+
     /**
      * Find results by user and certification.
      */
@@ -57,16 +86,4 @@ public interface ExamResultRepository extends JpaRepository<ExamResult, Long> {
      * Count passed exams by user and certification.
      */
     long countByUserIdAndCertificationIdAndPassStatus(Long userId, Long certificationId, String passStatus);
-
-    /**
-     * Get average score by user and certification.
-     */
-    @Query("SELECT AVG(r.percentage) FROM ExamResult r WHERE r.userId = :userId AND r.certificationId = :certificationId")
-    Double getAverageScoreByUserAndCertification(@Param("userId") Long userId, @Param("certificationId") Long certificationId);
-
-    /**
-     * Get best score by user and certification.
-     */
-    @Query("SELECT MAX(r.percentage) FROM ExamResult r WHERE r.userId = :userId AND r.certificationId = :certificationId")
-    Double getBestScoreByUserAndCertification(@Param("userId") Long userId, @Param("certificationId") Long certificationId);
 }
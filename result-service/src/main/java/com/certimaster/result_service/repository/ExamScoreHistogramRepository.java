@@ -0,0 +1,41 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.ExamScoreHistogram;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExamScoreHistogramRepository extends JpaRepository<ExamScoreHistogram, Long> {
+
+    /**
+     * Find the persisted histogram of an exam.
+     */
+    Optional<ExamScoreHistogram> findByExamId(Long examId);
+
+    /**
+     * Create an empty histogram row unless one exists, so the first flush of several
+     * instances cannot race on insert.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO exam_score_histograms (exam_id, total_count, buckets, counts, created_at, updated_at)
+            VALUES (:examId, 0, '{}', '{}', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (exam_id) DO NOTHING
+            """, nativeQuery = true)
+    void insertEmptyIfAbsent(@Param("examId") Long examId);
+
+    /**
+     * Find and lock the persisted histogram of an exam, so concurrent flushes
+     * from several instances merge instead of overwriting each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ExamScoreHistogram h WHERE h.examId = :examId")
+    Optional<ExamScoreHistogram> findByExamIdForUpdate(@Param("examId") Long examId);
+}
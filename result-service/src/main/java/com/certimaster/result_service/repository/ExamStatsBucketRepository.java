@@ -0,0 +1,216 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.stats.ExamWindowStats;
+import com.certimaster.result_service.stats.ExamWindowStats.Granularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * JDBC access to exam_stats_buckets.
+ * Buckets are added to by delta upserts (histograms summed element-wise by
+ * add_bigint_arrays) and read back as mergeable {@link ExamWindowStats}. Writes must be
+ * called inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamStatsBucketRepository {
+
+    private static final String UPSERT_DELTA = """
+            INSERT INTO exam_stats_buckets AS b (granularity, exam_id, bucket_start, certification_id, result_count,
+                                                 pass_count, percentage_sum, time_count, time_sum,
+                                                 score_histogram, time_histogram, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (granularity, exam_id, bucket_start) DO UPDATE
+            SET result_count = b.result_count + EXCLUDED.result_count,
+                pass_count = b.pass_count + EXCLUDED.pass_count,
+                percentage_sum = b.percentage_sum + EXCLUDED.percentage_sum,
+                time_count = b.time_count + EXCLUDED.time_count,
+                time_sum = b.time_sum + EXCLUDED.time_sum,
+                score_histogram = add_bigint_arrays(b.score_histogram, EXCLUDED.score_histogram),
+                time_histogram = add_bigint_arrays(b.time_histogram, EXCLUDED.time_histogram),
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String BUCKET_COLUMNS = """
+            bucket_start, result_count, pass_count, percentage_sum, time_count, time_sum,
+            score_histogram, time_histogram
+            """;
+
+    private static final String FIND_BY_EXAM = "SELECT " + BUCKET_COLUMNS + """
+            FROM exam_stats_buckets
+            WHERE granularity = ? AND exam_id = ? AND bucket_start >= ? AND bucket_start < ?
+            """;
+
+    private static final String FIND_BY_CERTIFICATION = "SELECT " + BUCKET_COLUMNS + """
+            FROM exam_stats_buckets
+            WHERE granularity = ? AND certification_id = ? AND bucket_start >= ? AND bucket_start < ?
+            """;
+
+    /**
+     * Months still in exam_results are rebuilt; buckets of archived months are kept.
+     */
+    private static final String DELETE_REBUILT = "DELETE FROM exam_stats_buckets WHERE bucket_start >= ?";
+
+    /**
+     * Bucket indexes match {@link ExamWindowStats#scoreBucketOf} and
+     * {@link ExamWindowStats#timeBucketOf}: width_bucket counts the bounds at or below the value.
+     */
+    private static final String REBUILD_TEMPLATE = """
+            INSERT INTO exam_stats_buckets (granularity, exam_id, bucket_start, certification_id, result_count,
+                                            pass_count, percentage_sum, time_count, time_sum,
+                                            score_histogram, time_histogram, updated_at)
+            SELECT '%1$s', r.exam_id, date_trunc('%2$s', r.completed_at), MIN(r.certification_id), COUNT(*),
+                   COUNT(*) FILTER (WHERE r.pass_status = 'PASSED'), SUM(r.percentage),
+                   COUNT(r.time_taken_seconds), COALESCE(SUM(r.time_taken_seconds), 0),
+                   ARRAY[%3$s], ARRAY[%4$s], CURRENT_TIMESTAMP
+            FROM (SELECT exam_id, certification_id, completed_at, pass_status, percentage, time_taken_seconds,
+                         GREATEST(0, LEAST(%5$d, FLOOR(percentage / %6$d)::int)) AS score_bucket,
+                         width_bucket(time_taken_seconds, ARRAY[%7$s]) AS time_bucket
+                  FROM exam_results
+                  WHERE completed_at >= ?) r
+            GROUP BY r.exam_id, date_trunc('%2$s', r.completed_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add deltas, sorted by key so concurrent flushes from several instances lock rows in the same order.
+     */
+    public void applyDeltas(List<BucketDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DELTA, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BucketDelta d = deltas.get(i);
+                ExamWindowStats s = d.stats();
+                Connection con = ps.getConnection();
+                ps.setString(1, d.granularity().name());
+                ps.setLong(2, d.examId());
+                ps.setTimestamp(3, Timestamp.valueOf(d.bucketStart()));
+                ps.setLong(4, d.certificationId());
+                ps.setLong(5, s.resultCount());
+                ps.setLong(6, s.passCount());
+                ps.setBigDecimal(7, s.percentageSum());
+                ps.setLong(8, s.timeCount());
+                ps.setLong(9, s.timeSum());
+                ps.setArray(10, toArray(con, s.scoreHistogram()));
+                ps.setArray(11, toArray(con, s.timeHistogram()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    /**
+     * Buckets of one exam starting in [from, to), oldest first.
+     */
+    public List<StoredBucket> findByExam(Granularity granularity, Long examId, LocalDateTime from, LocalDateTime to) {
+        return find(FIND_BY_EXAM + " ORDER BY bucket_start", granularity, examId, from, to);
+    }
+
+    /**
+     * Buckets of every exam of a certification starting in [from, to), oldest first.
+     */
+    public List<StoredBucket> findByCertification(Granularity granularity, Long certificationId,
+                                                  LocalDateTime from, LocalDateTime to) {
+        return find(FIND_BY_CERTIFICATION + " ORDER BY bucket_start", granularity, certificationId, from, to);
+    }
+
+    /**
+     * Delete hourly buckets starting before the cutoff; daily buckets cover them.
+     *
+     * @return number of rows deleted
+     */
+    public int deleteHoursBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM exam_stats_buckets WHERE granularity = ? AND bucket_start < ?",
+                Granularity.HOUR.name(), Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Replace the buckets from {@code from} on with aggregates recomputed from exam_results;
+     * earlier buckets (archived months) are kept. Hourly buckets are only written from
+     * {@code hoursFrom} on.
+     *
+     * @return number of rows written
+     */
+    public int rebuildFromResults(LocalDateTime from, LocalDateTime hoursFrom) {
+        jdbcTemplate.update(DELETE_REBUILT, Timestamp.valueOf(from));
+        int days = jdbcTemplate.update(rebuildSql(Granularity.DAY), Timestamp.valueOf(from));
+        int hours = jdbcTemplate.update(rebuildSql(Granularity.HOUR),
+                Timestamp.valueOf(hoursFrom.isAfter(from) ? hoursFrom : from));
+        return days + hours;
+    }
+
+    private List<StoredBucket> find(String sql, Granularity granularity, Long id, LocalDateTime from,
+                                    LocalDateTime to) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new StoredBucket(
+                        rs.getTimestamp(1).toLocalDateTime(),
+                        new ExamWindowStats(rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4), rs.getLong(5),
+                                rs.getLong(6), toLongs(rs, 7), toLongs(rs, 8))),
+                granularity.name(), id, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static String rebuildSql(Granularity granularity) {
+        String scoreBuckets = IntStream.range(0, ExamWindowStats.SCORE_BUCKETS)
+                .mapToObj(i -> "COUNT(*) FILTER (WHERE r.score_bucket = " + i + ")")
+                .collect(Collectors.joining(", "));
+        String timeBuckets = IntStream.range(0, ExamWindowStats.TIME_BUCKETS)
+                .mapToObj(i -> "COUNT(*) FILTER (WHERE r.time_bucket = " + i + ")")
+                .collect(Collectors.joining(", "));
+        String timeBounds = IntStream.of(ExamWindowStats.TIME_BUCKET_BOUNDS_SECONDS)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(", "));
+        return REBUILD_TEMPLATE.formatted(granularity.name(), granularity.name().toLowerCase(Locale.ROOT),
+                scoreBuckets, timeBuckets, ExamWindowStats.SCORE_BUCKETS - 1, ExamWindowStats.SCORE_BUCKET_WIDTH,
+                timeBounds);
+    }
+
+    private static Array toArray(Connection con, long[] values) throws SQLException {
+        Long[] boxed = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return con.createArrayOf("bigint", boxed);
+    }
+
+    private static long[] toLongs(ResultSet rs, int column) throws SQLException {
+        Object[] values = (Object[]) rs.getArray(column).getArray();
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = ((Number) values[i]).longValue();
+        }
+        return result;
+    }
+
+    /**
+     * Change to one bucket of one exam.
+     */
+    public record BucketDelta(Granularity granularity, long examId, LocalDateTime bucketStart, long certificationId,
+                              ExamWindowStats stats) {
+    }
+
+    /**
+     * One stored bucket; for certification queries several exams share a bucket start.
+     */
+    public record StoredBucket(LocalDateTime bucketStart, ExamWindowStats stats) {
+    }
+}
@@ -2,16 +2,52 @@ package com.certimaster.result_service.repository;
 
 import com.certimaster.result_service.entity.PerformanceHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface PerformanceHistoryRepository extends JpaRepository<PerformanceHistory, Long> {
 
+    /**
+     * Apply a delta of one or more results to a daily rollup row (single-row upsert).
+     *
+     * @return number of rows affected
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO performance_history (user_id, certification_id, exam_date, exam_count, score_sum,
+                                             percentage_sum, score, percentage, min_percentage, max_percentage,
+                                             created_at, updated_at)
+            VALUES (:userId, :certificationId, :examDate, :examCount, :scoreSum, :percentageSum,
+                    ROUND(:scoreSum / :examCount, 2), ROUND(:percentageSum / :examCount, 2),
+                    :minPercentage, :maxPercentage, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, certification_id, exam_date) DO UPDATE
+            SET exam_count = performance_history.exam_count + EXCLUDED.exam_count,
+                score_sum = performance_history.score_sum + EXCLUDED.score_sum,
+                percentage_sum = performance_history.percentage_sum + EXCLUDED.percentage_sum,
+                score = ROUND((performance_history.score_sum + EXCLUDED.score_sum)
+                        / (performance_history.exam_count + EXCLUDED.exam_count), 2),
+                percentage = ROUND((performance_history.percentage_sum + EXCLUDED.percentage_sum)
+                        / (performance_history.exam_count + EXCLUDED.exam_count), 2),
+                min_percentage = LEAST(performance_history.min_percentage, EXCLUDED.min_percentage),
+                max_percentage = GREATEST(performance_history.max_percentage, EXCLUDED.max_percentage),
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("certificationId") Long certificationId,
+                   @Param("examDate") LocalDate examDate,
+                   @Param("examCount") int examCount,
+                   @Param("scoreSum") BigDecimal scoreSum,
+                   @Param("percentageSum") BigDecimal percentageSum,
+                   @Param("minPercentage") BigDecimal minPercentage,
+                   @Param("maxPercentage") BigDecimal maxPercentage);
+
     /**
      * Find history by user and certification.
      */
@@ -34,12 +70,12 @@ public interface PerformanceHistoryRepository extends JpaRepository<PerformanceH
 
     /**
      * Get performance trend for a user and certification.
+     * Reads one rollup row per day.
      */
     @Query("""
-            SELECT ph.examDate, AVG(ph.percentage) as avgPercentage
+            SELECT ph.examDate, ph.percentage as avgPercentage
             FROM PerformanceHistory ph
             WHERE ph.userId = :userId AND ph.certificationId = :certificationId
-            GROUP BY ph.examDate
             ORDER BY ph.examDate ASC
             """)
     List<Object[]> getPerformanceTrend(
@@ -48,10 +84,12 @@ public interface PerformanceHistoryRepository extends JpaRepository<PerformanceH
     );
 
     /**
-     * Get daily performance summary for a user.
+     * Get daily performance summary for a user across certifications.
+     * Groups rollup rows (one per certification per day), never raw results.
      */
     @Query("""
-            SELECT ph.examDate, COUNT(ph) as examCount, AVG(ph.percentage) as avgPercentage
+            SELECT ph.examDate, SUM(ph.examCount) as examCount,
+                   SUM(ph.percentageSum) / SUM(ph.examCount) as avgPercentage
             FROM PerformanceHistory ph
             WHERE ph.userId = :userId
             AND ph.examDate >= :startDate
@@ -0,0 +1,222 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.repository.UserAccuracyBatchRepository.QuestionDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access for rebuilding per-user projections into shadow tables.
+ * A shadow table is created {@code LIKE} its projection (columns, defaults, indexes),
+ * filled one user-ID range at a time by set-based {@code INSERT ... SELECT} statements that
+ * can run concurrently on disjoint ranges, and finally swapped in by renames in a single
+ * transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectionRebuildRepository {
+
+    static final String SHADOW_SUFFIX = "_rebuild";
+    static final String RETIRED_SUFFIX = "_retired";
+
+    private static final int USER_CURSOR_FETCH_SIZE = 10_000;
+
+    /**
+     * Users with their result count, in user ID order; read through a server-side cursor.
+     */
+    private static final String USER_RESULT_COUNTS = """
+            SELECT user_id, COUNT(*) FROM exam_results GROUP BY user_id ORDER BY user_id
+            """;
+
+    /**
+     * Range inserts per projection table, formatted with the shadow table name. The SELECTs
+     * match the repositories' rebuildFromResults queries restricted to a user-ID range.
+     */
+    private static final Map<String, String> RANGE_INSERTS = Map.of(
+            "user_progress", """
+                    INSERT INTO %s (user_id, certification_id, total_exams_taken, total_questions_answered,
+                                    correct_answers, score_sum, average_score, best_score, latest_exam_date,
+                                    created_at, updated_at)
+                    SELECT r.user_id, r.certification_id, COUNT(*), SUM(r.total_questions), SUM(r.correct_answers),
+                           SUM(r.percentage), ROUND(AVG(r.percentage), 2), MAX(r.percentage), MAX(r.completed_at),
+                           CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM exam_results r
+                    WHERE r.user_id BETWEEN ? AND ?
+                    GROUP BY r.user_id, r.certification_id
+                    """,
+            "user_topic_accuracy", """
+                    INSERT INTO %s (user_id, certification_id, topic_id, topic_name, attempt_count,
+                                    question_count, correct_count, percentage_sum, average_percentage,
+                                    last_attempt_at, created_at, updated_at)
+                    SELECT r.user_id, r.certification_id, tp.topic_id, MAX(tp.topic_name), COUNT(*),
+                           SUM(tp.total_questions), SUM(tp.correct_answers), SUM(tp.percentage),
+                           ROUND(AVG(tp.percentage), 2), MAX(r.completed_at), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM topic_performance tp
+                    JOIN exam_results r ON r.id = tp.result_id AND r.completed_at = tp.completed_at
+                    WHERE r.user_id BETWEEN ? AND ?
+                    GROUP BY r.user_id, r.certification_id, tp.topic_id
+                    """,
+            "user_question_accuracy", """
+                    INSERT INTO %s (user_id, question_id, attempt_count, correct_count, wrong_count,
+                                    last_answered_at, created_at, updated_at)
+                    SELECT r.user_id, qr.question_id, COUNT(*),
+                           COUNT(*) FILTER (WHERE qr.is_correct = TRUE),
+                           COUNT(*) FILTER (WHERE qr.is_correct = FALSE),
+                           MAX(r.completed_at), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM question_results qr
+                    JOIN exam_results r ON r.id = qr.result_id AND r.completed_at = qr.completed_at
+                    WHERE r.user_id BETWEEN ? AND ?
+                    GROUP BY r.user_id, qr.question_id
+                    """);
+
+    /**
+     * Adds packed answers (see ColdStorageService) to the user_question_accuracy shadow.
+     */
+    private static final String MERGE_QUESTION_ACCURACY = """
+            INSERT INTO user_question_accuracy%1$s AS a (user_id, question_id, attempt_count, correct_count,
+                                                         wrong_count, last_answered_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, question_id) DO UPDATE
+            SET attempt_count = a.attempt_count + EXCLUDED.attempt_count,
+                correct_count = a.correct_count + EXCLUDED.correct_count,
+                wrong_count = a.wrong_count + EXCLUDED.wrong_count,
+                last_answered_at = GREATEST(a.last_answered_at, EXCLUDED.last_answered_at)
+            """.formatted(SHADOW_SUFFIX);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream (userId, resultCount) pairs in user ID order with a server-side cursor, so the
+     * user list is never held in memory. Must be called inside a transaction (the PostgreSQL
+     * driver only uses a cursor with auto-commit off).
+     */
+    public void streamUserResultCounts(UserResultCountHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(USER_RESULT_COUNTS);
+            ps.setFetchSize(USER_CURSOR_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * Drop any leftover shadow of the table and create an empty one with the same columns,
+     * defaults and indexes.
+     */
+    public void createShadow(String table) {
+        String shadow = shadowOf(table);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + shadow);
+        jdbcTemplate.execute("CREATE TABLE " + shadow + " (LIKE " + table + " INCLUDING ALL)");
+    }
+
+    /**
+     * Fill the shadow table with the projection rows of users in [fromUserId, toUserId].
+     *
+     * @return number of rows written
+     */
+    public int insertRange(String table, long fromUserId, long toUserId) {
+        String sql = RANGE_INSERTS.get(table);
+        if (sql == null) {
+            throw new IllegalArgumentException("No range rebuild defined for " + table);
+        }
+        return jdbcTemplate.update(sql.formatted(shadowOf(table)), fromUserId, toUserId);
+    }
+
+    /**
+     * Add question accuracy deltas of packed answers to the user_question_accuracy shadow,
+     * after its range was filled from question_results.
+     */
+    public void mergeQuestionAccuracy(List<QuestionDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MERGE_QUESTION_ACCURACY, deltas.stream()
+                .map(d -> new Object[]{
+                        d.userId(), d.questionId(), d.attemptCount(), d.correctCount(), d.wrongCount(),
+                        Timestamp.valueOf(d.lastAnsweredAt())})
+                .toList());
+    }
+
+    /**
+     * Refresh planner statistics of a filled shadow table before it takes live traffic.
+     */
+    public void analyzeShadow(String table) {
+        jdbcTemplate.execute("ANALYZE " + shadowOf(table));
+    }
+
+    /**
+     * Replace each table with its shadow. Must be called inside one transaction, so readers
+     * see either every old table or every new one. The live table's ID sequence is handed to
+     * the shadow before the old table is dropped, and the shadow's indexes take the original
+     * index names so later migrations still find them.
+     *
+     * @param lockTimeoutMillis how long to wait for readers and writers of the live tables
+     */
+    public void swapShadows(List<String> tables, long lockTimeoutMillis) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMillis);
+        for (String table : tables) {
+            String shadow = shadowOf(table);
+            String retired = table + RETIRED_SUFFIX;
+            Map<String, String> originalIndexNames = indexNamesByDefinition(table);
+            Map<String, String> shadowIndexNames = indexNamesByDefinition(shadow);
+
+            jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+            // Serial columns share the live sequence through the copied default; identity
+            // columns got their own sequence with the shadow
+            String sequence = jdbcTemplate.queryForObject("""
+                    SELECT CASE WHEN a.attidentity = '' THEN pg_get_serial_sequence(?, 'id') END
+                    FROM pg_attribute a
+                    WHERE a.attrelid = ?::regclass AND a.attname = 'id'
+                    """, String.class, table, table);
+            if (sequence != null) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + shadow + ".id");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + retired);
+            jdbcTemplate.execute("ALTER TABLE " + shadow + " RENAME TO " + table);
+            jdbcTemplate.execute("DROP TABLE " + retired);
+
+            shadowIndexNames.forEach((definition, shadowIndex) -> {
+                String originalIndex = originalIndexNames.get(definition);
+                if (originalIndex != null && !originalIndex.equals(shadowIndex)) {
+                    jdbcTemplate.execute("ALTER INDEX " + shadowIndex + " RENAME TO " + originalIndex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop the shadow table of an aborted rebuild.
+     */
+    public void dropShadow(String table) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + shadowOf(table));
+    }
+
+    private Map<String, String> indexNamesByDefinition(String table) {
+        Map<String, String> names = new HashMap<>();
+        jdbcTemplate.query("SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?",
+                (RowCallbackHandler) rs -> names.put(
+                        // "CREATE UNIQUE INDEX name ON public.table USING btree (cols)" -> "UNIQUE ... (cols)"
+                        rs.getString(2).replaceFirst("INDEX \\S+ ON \\S+", "INDEX ON"),
+                        rs.getString(1)),
+                table);
+        return names;
+    }
+
+    private static String shadowOf(String table) {
+        return table + SHADOW_SUFFIX;
+    }
+
+    /**
+     * Receives one (userId, resultCount) row of the user stream.
+     */
+    @FunctionalInterface
+    public interface UserResultCountHandler {
+        void accept(long userId, long resultCount);
+    }
+}
@@ -0,0 +1,174 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.cache.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to question_contents (migration V16): the question text, explanation and
+ * reference of graded questions, each distinct content stored once under a SHA-256 of its
+ * fields. Content IDs are cached by hash once their transaction has committed, so a question
+ * seen before costs no round trip. Must be called inside a transaction.
+ */
+@Repository
+public class QuestionContentRepository {
+
+    private static final String INSERT_CONTENTS = """
+            INSERT INTO question_contents (content_hash, question_id, question_text, explanation, reference)
+            SELECT * FROM unnest(?::char(64)[], ?::bigint[], ?::text[], ?::text[], ?::text[])
+            ON CONFLICT (content_hash) DO NOTHING
+            """;
+
+    private static final String FIND_IDS_BY_HASH =
+            "SELECT content_hash, id FROM question_contents WHERE content_hash = ANY(?::char(64)[])";
+
+    private static final String FIND_BY_IDS = """
+            SELECT question_id, question_text, explanation, reference
+            FROM question_contents
+            WHERE id = ANY(?::bigint[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LruCache<String, Long> idsByHash;
+
+    public QuestionContentRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${result.cache.max-question-contents:50000}") int maxCachedContents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idsByHash = new LruCache<>(maxCachedContents);
+    }
+
+    /**
+     * IDs of the given contents, in input order, inserting the ones not stored yet.
+     * A content without text, explanation and reference gets a null ID.
+     */
+    public List<Long> resolveIds(List<QuestionContent> contents) {
+        List<String> hashes = new ArrayList<>(contents.size());
+        Map<String, Long> ids = new HashMap<>();
+        // Sorted by hash, so concurrent batches sharing new contents lock the unique index in the same order
+        Map<String, QuestionContent> missing = new TreeMap<>();
+        for (QuestionContent content : contents) {
+            String hash = content.isEmpty() ? null : hashOf(content);
+            hashes.add(hash);
+            if (hash != null && !ids.containsKey(hash) && !missing.containsKey(hash)) {
+                idsByHash.get(hash).ifPresentOrElse(id -> ids.put(hash, id), () -> missing.put(hash, content));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            String[] missingHashes = missing.keySet().toArray(String[]::new);
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(INSERT_CONTENTS);
+                ps.setArray(1, con.createArrayOf("text", missingHashes));
+                ps.setArray(2, con.createArrayOf("bigint",
+                        missing.values().stream().map(QuestionContent::questionId).toArray(Long[]::new)));
+                ps.setArray(3, con.createArrayOf("text",
+                        missing.values().stream().map(QuestionContent::questionText).toArray(String[]::new)));
+                ps.setArray(4, con.createArrayOf("text",
+                        missing.values().stream().map(QuestionContent::explanation).toArray(String[]::new)));
+                ps.setArray(5, con.createArrayOf("text",
+                        missing.values().stream().map(QuestionContent::reference).toArray(String[]::new)));
+                return ps;
+            });
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(FIND_IDS_BY_HASH);
+                ps.setArray(1, con.createArrayOf("text", missingHashes));
+                return ps;
+            }, rs -> {
+                ids.put(rs.getString(1), rs.getLong(2));
+            });
+            cacheAfterCommit(missing.keySet().stream()
+                    .filter(ids::containsKey)
+                    .collect(Collectors.toMap(Function.identity(), ids::get)));
+        }
+
+        List<Long> resolved = new ArrayList<>(hashes.size());
+        for (String hash : hashes) {
+            if (hash != null && !ids.containsKey(hash)) {
+                throw new IllegalStateException("Question content " + hash + " was not stored");
+            }
+            resolved.add(hash == null ? null : ids.get(hash));
+        }
+        return resolved;
+    }
+
+    /**
+     * Contents with the given IDs, keyed by question ID.
+     */
+    public Map<Long, QuestionContent> findByIds(Long[] ids) {
+        Map<Long, QuestionContent> byQuestion = new LinkedHashMap<>();
+        if (ids == null || ids.length == 0) {
+            return byQuestion;
+        }
+        Long[] nonNull = Arrays.stream(ids).filter(Objects::nonNull).toArray(Long[]::new);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_BY_IDS);
+            ps.setArray(1, con.createArrayOf("bigint", nonNull));
+            return ps;
+        }, rs -> {
+            QuestionContent content = new QuestionContent(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    rs.getString(4));
+            byQuestion.put(content.questionId(), content);
+        });
+        return byQuestion;
+    }
+
+    // A rolled-back insert must not leave its IDs in the cache
+    private void cacheAfterCommit(Map<String, Long> inserted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inserted.forEach(idsByHash::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                inserted.forEach(idsByHash::put);
+            }
+        });
+    }
+
+    private static String hashOf(QuestionContent content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((content.questionId() + ":").getBytes(StandardCharsets.UTF_8));
+            for (String field : new String[]{content.questionText(), content.explanation(), content.reference()}) {
+                // Length prefix keeps ("ab", "c") and ("a", "bc") apart; -1 marks null
+                byte[] bytes = field == null ? new byte[0] : field.getBytes(StandardCharsets.UTF_8);
+                digest.update(String.valueOf(field == null ? -1 : bytes.length).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Question text, explanation and reference of one question as graded.
+     */
+    public record QuestionContent(Long questionId, String questionText, String explanation, String reference) {
+
+        boolean isEmpty() {
+            return questionText == null && explanation == null && reference == null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.certimaster.result_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * JDBC writer for question_item_stats.
+ * Running sums are added by a batch of delta upserts; the derived columns of the touched
+ * questions are then recomputed from the stored sums in one statement. Must be called
+ * inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuestionItemStatsBatchRepository {
+
+    private static final String UPSERT_SUMS = """
+            INSERT INTO question_item_stats (question_id, attempt_count, correct_count, time_count, time_sum,
+                                             score_sum, score_sq_sum, correct_score_sum, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (question_id) DO UPDATE
+            SET attempt_count = question_item_stats.attempt_count + EXCLUDED.attempt_count,
+                correct_count = question_item_stats.correct_count + EXCLUDED.correct_count,
+                time_count = question_item_stats.time_count + EXCLUDED.time_count,
+                time_sum = question_item_stats.time_sum + EXCLUDED.time_sum,
+                score_sum = question_item_stats.score_sum + EXCLUDED.score_sum,
+                score_sq_sum = question_item_stats.score_sq_sum + EXCLUDED.score_sq_sum,
+                correct_score_sum = question_item_stats.correct_score_sum + EXCLUDED.correct_score_sum,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    /**
+     * Point-biserial r = (n*Sxy - Sx*Sy) / sqrt((n*Sxx - Sx^2) * (n*Sy - Sy^2)), with y in {0, 1}
+     * so Syy = Sy and Sxy is the score sum of correct attempts.
+     */
+    private static final String DERIVED_COLUMNS = """
+            difficulty = ROUND(correct_count::numeric / NULLIF(attempt_count, 0), 4),
+            mean_time_seconds = ROUND(time_sum::numeric / NULLIF(time_count, 0), 2),
+            discrimination = CASE
+                WHEN (attempt_count * score_sq_sum - score_sum * score_sum) > 0
+                     AND (attempt_count * correct_count - correct_count * correct_count) > 0
+                THEN ROUND(LEAST(1, GREATEST(-1,
+                        (attempt_count * correct_score_sum - score_sum * correct_count)
+                        / SQRT((attempt_count * score_sq_sum - score_sum * score_sum)
+                               * (attempt_count * correct_count - correct_count * correct_count)::float8)))::numeric, 4)
+            END
+            """;
+
+    private static final String UPDATE_DERIVED_FOR =
+            "UPDATE question_item_stats SET " + DERIVED_COLUMNS + " WHERE question_id = ANY(?)";
+
+    private static final String UPDATE_DERIVED_ALL =
+            "UPDATE question_item_stats SET " + DERIVED_COLUMNS;
+
+    private static final String REBUILD_SUMS = """
+            INSERT INTO question_item_stats (question_id, attempt_count, correct_count, time_count, time_sum,
+                                             score_sum, score_sq_sum, correct_score_sum, created_at, updated_at)
+            SELECT qr.question_id, COUNT(*),
+                   COUNT(*) FILTER (WHERE qr.is_correct = TRUE),
+                   COUNT(qr.time_spent_seconds), COALESCE(SUM(qr.time_spent_seconds), 0),
+                   SUM(r.percentage::float8), SUM(r.percentage::float8 * r.percentage::float8),
+                   COALESCE(SUM(r.percentage::float8) FILTER (WHERE qr.is_correct = TRUE), 0),
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM question_results qr
+            JOIN exam_results r ON r.id = qr.result_id AND r.completed_at = qr.completed_at
+            GROUP BY qr.question_id
+            ON CONFLICT (question_id) DO UPDATE
+            SET attempt_count = EXCLUDED.attempt_count,
+                correct_count = EXCLUDED.correct_count,
+                time_count = EXCLUDED.time_count,
+                time_sum = EXCLUDED.time_sum,
+                score_sum = EXCLUDED.score_sum,
+                score_sq_sum = EXCLUDED.score_sq_sum,
+                correct_score_sum = EXCLUDED.correct_score_sum,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add deltas (sorted by question ID) and refresh the derived columns of the touched questions.
+     */
+    public void applyDeltas(List<ItemDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SUMS, deltas.stream()
+                .map(d -> new Object[]{
+                        d.questionId(), d.attemptCount(), d.correctCount(), d.timeCount(), d.timeSum(),
+                        d.scoreSum(), d.scoreSqSum(), d.correctScoreSum()})
+                .toList());
+
+        Long[] questionIds = deltas.stream().map(ItemDelta::questionId).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_DERIVED_FOR);
+            ps.setArray(1, con.createArrayOf("bigint", questionIds));
+            return ps;
+        });
+    }
+
+    /**
+     * Replace every row with sums recomputed from question_results and exam_results. Questions
+     * whose answers are all packed or archived start from zero.
+     *
+     * @return number of rows written
+     */
+    public int rebuildFromResults() {
+        jdbcTemplate.update("DELETE FROM question_item_stats");
+        int rows = jdbcTemplate.update(REBUILD_SUMS);
+        jdbcTemplate.update(UPDATE_DERIVED_ALL);
+        return rows;
+    }
+
+    /**
+     * Change to the running sums of one question.
+     */
+    public record ItemDelta(Long questionId, long attemptCount, long correctCount, long timeCount, long timeSum,
+                            double scoreSum, double scoreSqSum, double correctScoreSum) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.QuestionItemStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuestionItemStatsRepository extends JpaRepository<QuestionItemStats, Long> {
+
+    /**
+     * Find the statistics of a question.
+     */
+    Optional<QuestionItemStats> findByQuestionId(Long questionId);
+
+    /**
+     * Get questions answered correctly at least as often as the threshold, easiest first.
+     */
+    List<QuestionItemStats> findByAttemptCountGreaterThanEqualAndDifficultyGreaterThanEqualOrderByDifficultyDesc(
+            Long minAttempts, BigDecimal threshold, Limit limit);
+
+    /**
+     * Get questions answered correctly at most as often as the threshold, hardest first.
+     */
+    List<QuestionItemStats> findByAttemptCountGreaterThanEqualAndDifficultyLessThanEqualOrderByDifficultyAsc(
+            Long minAttempts, BigDecimal threshold, Limit limit);
+
+    /**
+     * Get questions discriminating below the threshold, worst first.
+     */
+    List<QuestionItemStats> findByAttemptCountGreaterThanEqualAndDiscriminationLessThanOrderByDiscriminationAsc(
+            Long minAttempts, BigDecimal threshold, Limit limit);
+
+    /**
+     * Get the most attempted questions.
+     */
+    List<QuestionItemStats> findByAttemptCountGreaterThanEqualOrderByAttemptCountDesc(Long minAttempts, Limit limit);
+}
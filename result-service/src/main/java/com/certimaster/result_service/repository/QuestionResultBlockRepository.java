@@ -0,0 +1,217 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.QuestionResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to question_result_blocks and to the question_results partitions they are
+ * packed from (see migration V9). Streaming methods read through a server-side cursor and
+ * must be called inside a transaction (the PostgreSQL driver only uses a cursor with
+ * auto-commit off).
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuestionResultBlockRepository {
+
+    private static final int CURSOR_FETCH_SIZE = 1_000;
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("'_p'yyyyMM");
+
+    /**
+     * Rows of one question_results partition with the result columns copied into a block,
+     * grouped by result in question order; formatted with the partition name.
+     */
+    private static final String PARTITION_ROWS = """
+            SELECT qr.result_id, qr.completed_at, r.user_id, r.exam_id, r.percentage,
+                   qr.question_id, qr.user_answer_ids, qr.correct_answer_ids, qr.is_correct, qr.time_spent_seconds
+            FROM %s qr
+            JOIN exam_results r ON r.id = qr.result_id AND r.completed_at = qr.completed_at
+            ORDER BY qr.result_id, qr.id
+            """;
+
+    private static final String INSERT_BLOCK = """
+            INSERT INTO question_result_blocks (result_id, completed_at, user_id, exam_id, percentage,
+                                                question_count, block)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Whether the month's question_results partition exists, is attached and has rows.
+     */
+    public boolean hasUnpackedRows(YearMonth month) {
+        String partition = questionPartitionOf(month);
+        Boolean attached = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?))",
+                Boolean.class, partition);
+        return Boolean.TRUE.equals(attached)
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class));
+    }
+
+    /**
+     * Block inserts into the month's question_results partition until the transaction ends,
+     * while still allowing reads. Taken before packing so no row arrives between the read and
+     * the truncate; conflicts with itself, so two packers of one month run one after another.
+     */
+    public void lockQuestionPartition(YearMonth month, long lockTimeoutMillis) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMillis);
+        jdbcTemplate.execute("LOCK TABLE " + questionPartitionOf(month) + " IN SHARE ROW EXCLUSIVE MODE");
+    }
+
+    /**
+     * Stream the month's question results in (result, question) order.
+     */
+    public void streamPartitionRows(YearMonth month, PartitionRowHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(PARTITION_ROWS.formatted(questionPartitionOf(month)));
+            ps.setFetchSize(CURSOR_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(
+                rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getLong(3), rs.getLong(4),
+                rs.getBigDecimal(5), toQuestionResult(rs)));
+    }
+
+    /**
+     * Number of rows in the month's question_results partition.
+     */
+    public long countPartitionRows(YearMonth month) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + questionPartitionOf(month), Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * On-disk size of the month's question_results or question_result_blocks partition,
+     * including indexes and TOAST.
+     */
+    public long partitionBytes(YearMonth month, boolean blocks) {
+        String partition = blocks ? blockPartitionOf(month) : questionPartitionOf(month);
+        Long bytes = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(pg_total_relation_size(to_regclass(?)), 0)", Long.class, partition);
+        return bytes == null ? 0 : bytes;
+    }
+
+    /**
+     * Insert packed blocks in one batch.
+     */
+    public void insertBlocks(List<PackedBlock> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_BLOCK, blocks.stream()
+                .map(b -> new Object[]{
+                        b.resultId(), Timestamp.valueOf(b.completedAt()), b.userId(), b.examId(),
+                        b.percentage(), b.questionCount(), b.block()})
+                .toList());
+    }
+
+    /**
+     * Empty the month's question_results partition once its rows are packed. The partition
+     * stays attached, so a late result of the month is still stored (and packed on the next run).
+     */
+    public void truncateQuestionPartition(YearMonth month) {
+        jdbcTemplate.execute("TRUNCATE " + questionPartitionOf(month));
+    }
+
+    /**
+     * The block of one result, if its month was packed.
+     */
+    public Optional<byte[]> findBlock(Long resultId, LocalDateTime completedAt) {
+        return jdbcTemplate.query(
+                "SELECT block FROM question_result_blocks WHERE result_id = ? AND completed_at = ?",
+                (rs, rowNum) -> rs.getBytes(1),
+                resultId, Timestamp.valueOf(completedAt)).stream().findFirst();
+    }
+
+    /**
+     * Stream every block, in no particular order.
+     */
+    public void streamBlocks(BlockHandler handler) {
+        stream("SELECT user_id, completed_at, percentage, block FROM question_result_blocks", handler);
+    }
+
+    /**
+     * Stream the blocks of users in [fromUserId, toUserId], in user ID order.
+     */
+    public void streamBlocksOfUsers(long fromUserId, long toUserId, BlockHandler handler) {
+        stream("""
+                SELECT user_id, completed_at, percentage, block FROM question_result_blocks
+                WHERE user_id BETWEEN ? AND ?
+                ORDER BY user_id
+                """, handler, fromUserId, toUserId);
+    }
+
+    private void stream(String sql, BlockHandler handler, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(CURSOR_FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(
+                rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getDouble(3), rs.getBytes(4)));
+    }
+
+    private static QuestionResult toQuestionResult(ResultSet rs) throws SQLException {
+        Integer time = rs.getObject(10, Integer.class);
+        return QuestionResult.builder()
+                .questionId(rs.getLong(6))
+                .userAnswerIds(toLongs(rs.getArray(7)))
+                .correctAnswerIds(toLongs(rs.getArray(8)))
+                .isCorrect(rs.getObject(9, Boolean.class))
+                .timeSpentSeconds(time)
+                .build();
+    }
+
+    private static Long[] toLongs(Array array) throws SQLException {
+        return array == null ? null : (Long[]) array.getArray();
+    }
+
+    private static String questionPartitionOf(YearMonth month) {
+        return "question_results" + month.format(SUFFIX_FORMAT);
+    }
+
+    private static String blockPartitionOf(YearMonth month) {
+        return "question_result_blocks" + month.format(SUFFIX_FORMAT);
+    }
+
+    /**
+     * One question_results row with the columns of its result.
+     */
+    @FunctionalInterface
+    public interface PartitionRowHandler {
+        void accept(long resultId, LocalDateTime completedAt, long userId, long examId, BigDecimal percentage,
+                    QuestionResult questionResult);
+    }
+
+    /**
+     * One stored block with the columns of its result.
+     */
+    @FunctionalInterface
+    public interface BlockHandler {
+        void accept(long userId, LocalDateTime completedAt, double percentage, byte[] block);
+    }
+
+    /**
+     * Packed question results of one exam result.
+     */
+    public record PackedBlock(long resultId, LocalDateTime completedAt, long userId, long examId,
+                              BigDecimal percentage, int questionCount, byte[] block) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.certimaster.result_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * JDBC reader for result exports.
+ * Rows are read through a forward-only server-side cursor with a fixed fetch size, so an
+ * export of any size holds one fetch of rows in memory. Must be called inside a transaction
+ * (the PostgreSQL driver only uses a cursor with auto-commit off).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResultExportRepository {
+
+    private static final String RESULT_COLUMNS = """
+            r.id, r.session_id, r.user_id, r.exam_id, r.certification_id, r.total_questions, r.correct_answers,
+            r.wrong_answers, r.unanswered, r.score, r.percentage, r.pass_status, r.time_taken_seconds, r.completed_at
+            """;
+
+    /**
+     * The completed_at range prunes to the months of the export.
+     */
+    private static final String RESULTS = "SELECT " + RESULT_COLUMNS + """
+            FROM exam_results r
+            WHERE r.certification_id = ? AND r.completed_at >= ? AND r.completed_at < ?
+              AND (?::bigint IS NULL OR r.exam_id = ?)
+            ORDER BY r.completed_at, r.id
+            """;
+
+    /**
+     * One row per topic; a result's topics are adjacent. Results without topic rows are kept.
+     */
+    private static final String RESULTS_WITH_TOPICS = "SELECT " + RESULT_COLUMNS + """
+                   , tp.topic_id, tp.topic_name, tp.total_questions, tp.correct_answers, tp.percentage
+            FROM exam_results r
+            LEFT JOIN topic_performance tp ON tp.result_id = r.id AND tp.completed_at = r.completed_at
+            WHERE r.certification_id = ? AND r.completed_at >= ? AND r.completed_at < ?
+              AND (?::bigint IS NULL OR r.exam_id = ?)
+            ORDER BY r.completed_at, r.id, tp.topic_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream the results of a certification completed in [from, to), oldest first.
+     *
+     * @param examId        optional exam filter
+     * @param includeTopics whether to join the topic breakdown (one callback per topic)
+     * @param fetchSize     rows per cursor fetch
+     */
+    public void stream(Long certificationId, Long examId, LocalDateTime from, LocalDateTime to,
+                       boolean includeTopics, int fetchSize, ExportRowHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(includeTopics ? RESULTS_WITH_TOPICS : RESULTS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, certificationId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            for (int i = 4; i <= 5; i++) {
+                if (examId == null) {
+                    ps.setNull(i, Types.BIGINT);
+                } else {
+                    ps.setLong(i, examId);
+                }
+            }
+            return ps;
+        }, new RowCallbackHandler() {
+            private ExportedResult current;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                long resultId = rs.getLong(1);
+                // Topic rows of one result share its object
+                if (current == null || current.id() != resultId) {
+                    current = toResult(rs);
+                }
+                ExportedTopic topic = null;
+                if (includeTopics) {
+                    long topicId = rs.getLong(15);
+                    if (!rs.wasNull()) {
+                        topic = new ExportedTopic(topicId, rs.getString(16), rs.getObject(17, Integer.class),
+                                rs.getObject(18, Integer.class), rs.getBigDecimal(19));
+                    }
+                }
+                handler.accept(current, topic);
+            }
+        });
+    }
+
+    private static ExportedResult toResult(ResultSet rs) throws SQLException {
+        return new ExportedResult(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+                rs.getInt(6), rs.getInt(7), rs.getInt(8), rs.getInt(9), rs.getBigDecimal(10), rs.getBigDecimal(11),
+                rs.getString(12), rs.getObject(13, Integer.class), rs.getTimestamp(14).toLocalDateTime());
+    }
+
+    /**
+     * Receives one exported row; {@code topic} is null without the topic join or for a
+     * result without topics.
+     */
+    @FunctionalInterface
+    public interface ExportRowHandler {
+        void accept(ExportedResult result, ExportedTopic topic);
+    }
+
+    /**
+     * Columns of one exam result.
+     */
+    public record ExportedResult(long id, long sessionId, long userId, long examId, long certificationId,
+                                 int totalQuestions, int correctAnswers, int wrongAnswers, int unanswered,
+                                 BigDecimal score, BigDecimal percentage, String passStatus,
+                                 Integer timeTakenSeconds, LocalDateTime completedAt) {
+    }
+
+    /**
+     * Columns of one topic performance.
+     */
+    public record ExportedTopic(long topicId, String topicName, Integer totalQuestions, Integer correctAnswers,
+                                BigDecimal percentage) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.certimaster.result_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JDBC access to the monthly partitions of exam_results, topic_performance,
+ * question_results and question_result_blocks (named {@code <table>_pYYYYMM}, see
+ * migrations V8 and V9).
+ * <p>
+ * Archiving a month detaches its partition from each table, exports the detached table with
+ * {@code COPY ... TO STDOUT} into a gzip-compressed CSV file and drops it. The whole run uses
+ * one connection holding a session advisory lock, so only one instance archives at a time.
+ * A partition left detached by an interrupted run is still found by name and finished on the
+ * next run. Once every table of a month is done, the month is recorded in
+ * result_archived_months (migration V15).
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ResultPartitionRepository {
+
+    /**
+     * Parent first, so a result disappears before its children.
+     */
+    static final List<String> PARTITIONED_TABLES =
+            List.of("exam_results", "topic_performance", "question_results", "question_result_blocks");
+
+    /**
+     * Tables with a DEFAULT partition catching results outside the created months (migration V15).
+     */
+    static final List<String> DEFAULT_PARTITIONED_TABLES =
+            List.of("exam_results", "topic_performance", "question_results");
+
+    private static final long ARCHIVE_LOCK_KEY = 0x7265_7375_6c74_6172L;
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("'_p'yyyyMM");
+    private static final Pattern PARTITION_NAME =
+            Pattern.compile("^(?:exam_results|topic_performance|question_results|question_result_blocks)"
+                    + "_p(\\d{4})(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create the month's partition in every table if missing.
+     */
+    public void createMonthPartitions(YearMonth month) {
+        jdbcTemplate.queryForList("SELECT create_result_month_partitions(?)", Date.valueOf(month.atDay(1)));
+    }
+
+    /**
+     * Months that still have a partition table, attached or left detached.
+     */
+    public SortedSet<YearMonth> findPartitionMonths() {
+        SortedSet<YearMonth> months = new TreeSet<>();
+        jdbcTemplate.query("""
+                        SELECT relname FROM pg_class
+                        WHERE relkind IN ('r', 'p') AND relnamespace = current_schema()::regnamespace
+                          AND relname ~ '^(exam_results|topic_performance|question_results|question_result_blocks)_p[0-9]{6}$'
+                        """,
+                rs -> {
+                    Matcher m = PARTITION_NAME.matcher(rs.getString(1));
+                    if (m.matches()) {
+                        months.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+                    }
+                });
+        return months;
+    }
+
+    /**
+     * Months whose partitions have been archived and dropped.
+     */
+    public SortedSet<YearMonth> findArchivedMonths() {
+        SortedSet<YearMonth> months = new TreeSet<>();
+        jdbcTemplate.query("SELECT month FROM result_archived_months",
+                rs -> {
+                    months.add(YearMonth.from(rs.getDate(1).toLocalDate()));
+                });
+        return months;
+    }
+
+    /**
+     * Rows held by the DEFAULT partitions, i.e. results completed in a month without a partition.
+     */
+    public long countDefaultPartitionRows() {
+        long rows = 0;
+        for (String table : DEFAULT_PARTITIONED_TABLES) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + "_default", Long.class);
+            rows += count != null ? count : 0;
+        }
+        return rows;
+    }
+
+    /**
+     * Detach, export and drop the partitions of the given months.
+     *
+     * @param archiveDir        directory receiving {@code <table>_pYYYYMM.csv.gz}
+     * @param lockTimeoutMillis how long a detach may wait for the parent table lock
+     * @return the archived partitions, or empty if another instance holds the archive lock
+     */
+    public List<ArchivedPartition> archiveMonths(List<YearMonth> months, Path archiveDir, long lockTimeoutMillis) {
+        return jdbcTemplate.execute((ConnectionCallback<List<ArchivedPartition>>) con -> {
+            if (!tryLock(con)) {
+                log.info("Result partition archival is running elsewhere; skipping");
+                return List.of();
+            }
+            try (Statement st = con.createStatement()) {
+                st.execute("SET lock_timeout = " + lockTimeoutMillis);
+                List<ArchivedPartition> archived = new ArrayList<>();
+                for (YearMonth month : months) {
+                    for (String table : PARTITIONED_TABLES) {
+                        String partition = table + month.format(SUFFIX_FORMAT);
+                        if (!exists(con, partition)) {
+                            continue;
+                        }
+                        if (isAttached(con, partition)) {
+                            st.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                        }
+                        archived.add(export(con, table, month, partition, archiveDir));
+                        st.execute("DROP TABLE " + partition);
+                    }
+                    recordArchived(con, month);
+                }
+                return archived;
+            } finally {
+                try (Statement st = con.createStatement()) {
+                    st.execute("RESET lock_timeout");
+                    st.execute("SELECT pg_advisory_unlock(" + ARCHIVE_LOCK_KEY + ")");
+                }
+            }
+        });
+    }
+
+    private ArchivedPartition export(Connection con, String table, YearMonth month, String partition,
+                                     Path archiveDir) throws SQLException {
+        Path target = archiveDir.resolve(partition + ".csv.gz");
+        Path temp = archiveDir.resolve(partition + ".csv.gz.tmp");
+        try {
+            Files.createDirectories(archiveDir);
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                rows = con.unwrap(PGConnection.class).getCopyAPI()
+                        .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            }
+            // Only a complete file gets the final name; the partition is dropped after this
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new ArchivedPartition(table, month, rows, target, Files.size(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export " + partition + " to " + target, e);
+        }
+    }
+
+    private static void recordArchived(Connection con, YearMonth month) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO result_archived_months (month) VALUES (?) ON CONFLICT (month) DO NOTHING")) {
+            ps.setDate(1, Date.valueOf(month.atDay(1)));
+            ps.executeUpdate();
+        }
+    }
+
+    private static boolean tryLock(Connection con) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, ARCHIVE_LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean exists(Connection con, String relation) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            ps.setString(1, relation);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean isAttached(Connection con, String partition) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?))")) {
+            ps.setString(1, partition);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * One exported and dropped partition.
+     */
+    public record ArchivedPartition(String table, YearMonth month, long rows, Path file, long bytes) {
+    }
+}
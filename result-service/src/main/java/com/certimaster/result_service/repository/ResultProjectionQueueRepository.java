@@ -0,0 +1,139 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.ExamResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to result_projection_queue (migration V17): results whose deltas a batched
+ * projection has not merged yet. Rows are queued in the transaction that inserts the results
+ * and claimed by the projection's flush, which deletes them in the transaction that merges
+ * their deltas. Claims skip rows locked by another instance's flush. Must be called inside a
+ * transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResultProjectionQueueRepository {
+
+    private static final String ENQUEUE = """
+            INSERT INTO result_projection_queue (projection, result_id, completed_at)
+            SELECT ?, * FROM unnest(?::bigint[], ?::timestamp[])
+            ON CONFLICT (projection, result_id) DO NOTHING
+            """;
+
+    private static final String CLAIM = """
+            WITH claimed AS (
+                DELETE FROM result_projection_queue
+                WHERE projection = ? AND result_id IN (
+                    SELECT result_id FROM result_projection_queue
+                    WHERE projection = ?
+                    ORDER BY result_id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING result_id, completed_at
+            )
+            """;
+
+    private static final String CLAIM_RESULTS = CLAIM + """
+            SELECT r.exam_id, r.certification_id, r.completed_at, r.pass_status, r.percentage, r.time_taken_seconds
+            FROM claimed c
+            JOIN exam_results r ON r.id = c.result_id AND r.completed_at = c.completed_at
+            """;
+
+    // Left joins keep a claimed result whose question results are gone (packed into a block), so it
+    // still counts as claimed
+    private static final String CLAIM_ANSWERS = CLAIM + """
+            SELECT c.result_id, qr.question_id, qr.is_correct, qr.time_spent_seconds, r.percentage
+            FROM claimed c
+            LEFT JOIN exam_results r ON r.id = c.result_id AND r.completed_at = c.completed_at
+            LEFT JOIN question_results qr ON qr.result_id = c.result_id AND qr.completed_at = c.completed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A projection whose deltas are merged in batches from the queue.
+     */
+    public enum Projection {
+        EXAM_STATS,
+        ITEM_ANALYSIS
+    }
+
+    /**
+     * Queue newly inserted results (IDs assigned) for a projection.
+     */
+    public void enqueue(Projection projection, Collection<ExamResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(ENQUEUE);
+            ps.setString(1, projection.name());
+            ps.setArray(2, con.createArrayOf("bigint",
+                    results.stream().map(ExamResult::getId).toArray(Long[]::new)));
+            ps.setArray(3, con.createArrayOf("timestamp",
+                    results.stream().map(r -> Timestamp.valueOf(r.getCompletedAt())).toArray(Timestamp[]::new)));
+            return ps;
+        });
+    }
+
+    /**
+     * Dequeue up to {@code limit} results of a projection, oldest ID first, and read the
+     * fields the exam statistics need (exam, certification, completion time, pass status,
+     * percentage, time taken). The rows stay locked until the transaction ends; a rollback
+     * puts them back.
+     */
+    public List<ExamResult> claimResults(Projection projection, int limit) {
+        return jdbcTemplate.query(CLAIM_RESULTS, (rs, rowNum) -> ExamResult.builder()
+                        .examId(rs.getLong(1))
+                        .certificationId(rs.getLong(2))
+                        .completedAt(rs.getTimestamp(3).toLocalDateTime())
+                        .passStatus(rs.getString(4))
+                        .percentage(rs.getBigDecimal(5))
+                        .timeTakenSeconds(rs.getObject(6, Integer.class))
+                        .build(),
+                projection.name(), projection.name(), limit);
+    }
+
+    /**
+     * Dequeue up to {@code limit} results of a projection, oldest ID first, and read every
+     * answer of them with the result's percentage. A result without question results yields
+     * one row with a null question ID. The rows stay locked until the transaction ends; a
+     * rollback puts them back.
+     */
+    public List<ClaimedAnswer> claimAnswers(Projection projection, int limit) {
+        return jdbcTemplate.query(CLAIM_ANSWERS, (rs, rowNum) -> new ClaimedAnswer(
+                        rs.getLong(1),
+                        rs.getObject(2, Long.class),
+                        rs.getObject(3, Boolean.class),
+                        rs.getObject(4, Integer.class),
+                        rs.getBigDecimal(5)),
+                projection.name(), projection.name(), limit);
+    }
+
+    /**
+     * Drop the queued results completed at or after {@code from}, which a rebuild recomputes
+     * from exam_results in the same transaction.
+     *
+     * @return number of rows deleted
+     */
+    public int deleteFrom(Projection projection, LocalDateTime from) {
+        return jdbcTemplate.update("DELETE FROM result_projection_queue WHERE projection = ? AND completed_at >= ?",
+                projection.name(), Timestamp.valueOf(from));
+    }
+
+    /**
+     * One answer of a claimed result.
+     */
+    public record ClaimedAnswer(long resultId, Long questionId, Boolean correct, Integer timeSpentSeconds,
+                                BigDecimal percentage) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.certimaster.result_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to user_review_queue.
+ * The SM-2 step is computed in the upsert from the stored row, so an answer costs one indexed
+ * write. An answer older than the row's last review is ignored, which makes redelivered and
+ * out-of-order results harmless. Writes must be called inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewQueueRepository {
+
+    /**
+     * Longest interval between reviews; keeps well-known questions in the queue.
+     */
+    private static final int MAX_INTERVAL_DAYS = 365;
+
+    private static final String NEXT_INTERVAL = "LEAST(" + MAX_INTERVAL_DAYS + ", CASE q.repetitions "
+            + "WHEN 0 THEN 1 WHEN 1 THEN 6 ELSE CEIL(q.interval_days * q.ease_factor)::int END)";
+
+    /**
+     * A wrong answer enqueues the question, or restarts its schedule; a correct answer advances
+     * a queued question, and questions never answered wrongly are not queued. The inserted
+     * lapse_count (1 for a lapse, 0 for a recall) tells the two apart on conflict, so both kinds
+     * go through one statement. Rows are never deleted, so a recall passing the EXISTS guard
+     * always conflicts and never inserts.
+     */
+    private static final String UPSERT_REVIEW = """
+            INSERT INTO user_review_queue AS q (user_id, question_id, repetitions, interval_days, ease_factor,
+                                                lapse_count, last_reviewed_at, due_at, created_at, updated_at)
+            SELECT ?, ?, 0, 1, 2.50, CASE WHEN ? THEN 0 ELSE 1 END, ?::timestamp, ?::timestamp + INTERVAL '1 day',
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            WHERE NOT ? OR EXISTS (SELECT 1 FROM user_review_queue WHERE user_id = ? AND question_id = ?)
+            ON CONFLICT (user_id, question_id) DO UPDATE
+            SET repetitions = CASE WHEN EXCLUDED.lapse_count = 0 THEN q.repetitions + 1 ELSE 0 END,
+                interval_days = CASE WHEN EXCLUDED.lapse_count = 0 THEN %1$s ELSE 1 END,
+                ease_factor = GREATEST(1.30, q.ease_factor + ?),
+                lapse_count = q.lapse_count + EXCLUDED.lapse_count,
+                last_reviewed_at = EXCLUDED.last_reviewed_at,
+                due_at = EXCLUDED.last_reviewed_at + CASE WHEN EXCLUDED.lapse_count = 0
+                    THEN make_interval(days => %1$s) ELSE INTERVAL '1 day' END,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE q.last_reviewed_at < EXCLUDED.last_reviewed_at
+            """.formatted(NEXT_INTERVAL);
+
+    private static final String FIND_DUE = """
+            SELECT question_id, repetitions, interval_days, ease_factor, lapse_count, last_reviewed_at, due_at
+            FROM user_review_queue
+            WHERE user_id = ? AND due_at <= ?
+            ORDER BY due_at, question_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Apply graded answers in one batch; at most one per (user, question), sorted by key so
+     * concurrent batches lock shared rows in the same order.
+     */
+    public void applyReviews(List<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_REVIEW, reviews.stream()
+                .map(r -> new Object[]{
+                        r.userId(), r.questionId(), r.correct(), Timestamp.valueOf(r.reviewedAt()),
+                        Timestamp.valueOf(r.reviewedAt()), r.correct(), r.userId(), r.questionId(), r.easeDelta()})
+                .toList());
+    }
+
+    /**
+     * Questions of a user due at or before {@code asOf}, earliest due first.
+     */
+    public List<QueuedQuestion> findDue(Long userId, LocalDateTime asOf, int limit) {
+        return jdbcTemplate.query(FIND_DUE, (rs, rowNum) -> new QueuedQuestion(
+                        rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getBigDecimal(4), rs.getInt(5),
+                        rs.getTimestamp(6).toLocalDateTime(), rs.getTimestamp(7).toLocalDateTime()),
+                userId, Timestamp.valueOf(asOf), limit);
+    }
+
+    /**
+     * One graded answer; {@code easeDelta} is the SM-2 ease adjustment of its quality.
+     */
+    public record Review(Long userId, Long questionId, LocalDateTime reviewedAt, boolean correct,
+                         BigDecimal easeDelta) {
+    }
+
+    /**
+     * Schedule of one queued question.
+     */
+    public record QueuedQuestion(long questionId, int repetitions, int intervalDays, BigDecimal easeFactor,
+                                 int lapseCount, LocalDateTime lastReviewedAt, LocalDateTime dueAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.certimaster.result_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writer for the per-user accuracy projections.
+ * A 65-question exam touches 65 question rows; sending the delta upserts as one JDBC batch
+ * keeps ingest at one round trip per table. Callers pass deltas sorted by key so concurrent
+ * batches lock rows in the same order. Must be called inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserAccuracyBatchRepository {
+
+    private static final String UPSERT_TOPIC_ACCURACY = """
+            INSERT INTO user_topic_accuracy (user_id, certification_id, topic_id, topic_name, attempt_count,
+                                             question_count, correct_count, percentage_sum, average_percentage,
+                                             last_attempt_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, certification_id, topic_id) DO UPDATE
+            SET topic_name = COALESCE(EXCLUDED.topic_name, user_topic_accuracy.topic_name),
+                attempt_count = user_topic_accuracy.attempt_count + EXCLUDED.attempt_count,
+                question_count = user_topic_accuracy.question_count + EXCLUDED.question_count,
+                correct_count = user_topic_accuracy.correct_count + EXCLUDED.correct_count,
+                percentage_sum = user_topic_accuracy.percentage_sum + EXCLUDED.percentage_sum,
+                average_percentage = ROUND((user_topic_accuracy.percentage_sum + EXCLUDED.percentage_sum)
+                        / (user_topic_accuracy.attempt_count + EXCLUDED.attempt_count), 2),
+                last_attempt_at = GREATEST(user_topic_accuracy.last_attempt_at, EXCLUDED.last_attempt_at),
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String UPSERT_QUESTION_ACCURACY = """
+            INSERT INTO user_question_accuracy (user_id, question_id, attempt_count, correct_count, wrong_count,
+                                                last_answered_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, question_id) DO UPDATE
+            SET attempt_count = user_question_accuracy.attempt_count + EXCLUDED.attempt_count,
+                correct_count = user_question_accuracy.correct_count + EXCLUDED.correct_count,
+                wrong_count = user_question_accuracy.wrong_count + EXCLUDED.wrong_count,
+                last_answered_at = GREATEST(user_question_accuracy.last_answered_at, EXCLUDED.last_answered_at),
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add topic deltas to user_topic_accuracy in one batch.
+     */
+    public void applyTopicDeltas(List<TopicDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_TOPIC_ACCURACY, deltas.stream()
+                .map(d -> new Object[]{
+                        d.userId(), d.certificationId(), d.topicId(), d.topicName(), d.attemptCount(),
+                        d.questionCount(), d.correctCount(), d.percentageSum(),
+                        d.percentageSum().divide(BigDecimal.valueOf(d.attemptCount()), 2, RoundingMode.HALF_UP),
+                        Timestamp.valueOf(d.lastAttemptAt())})
+                .toList());
+    }
+
+    /**
+     * Add question deltas to user_question_accuracy in one batch.
+     */
+    public void applyQuestionDeltas(List<QuestionDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_QUESTION_ACCURACY, deltas.stream()
+                .map(d -> new Object[]{
+                        d.userId(), d.questionId(), d.attemptCount(), d.correctCount(), d.wrongCount(),
+                        Timestamp.valueOf(d.lastAnsweredAt())})
+                .toList());
+    }
+
+    /**
+     * Change to one (user, certification, topic) row.
+     */
+    public record TopicDelta(Long userId, Long certificationId, Long topicId, String topicName,
+                             int attemptCount, int questionCount, int correctCount,
+                             BigDecimal percentageSum, LocalDateTime lastAttemptAt) {
+    }
+
+    /**
+     * Change to one (user, question) row.
+     */
+    public record QuestionDelta(Long userId, Long questionId, int attemptCount, int correctCount,
+                                int wrongCount, LocalDateTime lastAnsweredAt) {
+    }
+}
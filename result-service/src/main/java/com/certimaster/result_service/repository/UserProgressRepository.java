@@ -1,13 +1,20 @@
 package com.certimaster.result_service.repository;
 
 import com.certimaster.result_service.entity.UserProgress;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserProgressRepository extends JpaRepository<UserProgress, Long> {
@@ -17,6 +24,68 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
      */
     Optional<UserProgress> findByUserIdAndCertificationId(Long userId, Long certificationId);
 
+    /**
+     * Apply a delta of one or more results to a user's progress (single-row upsert).
+     * Average is recomputed from the running sum and count, best and latest by GREATEST.
+     *
+     * @return number of rows affected
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_progress (user_id, certification_id, total_exams_taken, total_questions_answered,
+                                       correct_answers, score_sum, average_score, best_score, latest_exam_date,
+                                       created_at, updated_at)
+            VALUES (:userId, :certificationId, :examCount, :questionCount, :correctCount, :scoreSum,
+                    ROUND(:scoreSum / :examCount, 2), :bestScore, :latestExamDate,
+                    CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, certification_id) DO UPDATE
+            SET total_exams_taken = user_progress.total_exams_taken + EXCLUDED.total_exams_taken,
+                total_questions_answered = user_progress.total_questions_answered + EXCLUDED.total_questions_answered,
+                correct_answers = user_progress.correct_answers + EXCLUDED.correct_answers,
+                score_sum = user_progress.score_sum + EXCLUDED.score_sum,
+                average_score = ROUND((user_progress.score_sum + EXCLUDED.score_sum)
+                        / (user_progress.total_exams_taken + EXCLUDED.total_exams_taken), 2),
+                best_score = GREATEST(user_progress.best_score, EXCLUDED.best_score),
+                latest_exam_date = GREATEST(user_progress.latest_exam_date, EXCLUDED.latest_exam_date),
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("certificationId") Long certificationId,
+                   @Param("examCount") int examCount,
+                   @Param("questionCount") int questionCount,
+                   @Param("correctCount") int correctCount,
+                   @Param("scoreSum") BigDecimal scoreSum,
+                   @Param("bestScore") BigDecimal bestScore,
+                   @Param("latestExamDate") LocalDateTime latestExamDate);
+
+    /**
+     * Recompute every progress row from exam_results in one set-based statement.
+     * Used for backfilling and for repairing drift; rows without results are left untouched.
+     *
+     * @return number of progress rows written
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_progress (user_id, certification_id, total_exams_taken, total_questions_answered,
+                                       correct_answers, score_sum, average_score, best_score, latest_exam_date,
+                                       created_at, updated_at)
+            SELECT r.user_id, r.certification_id, COUNT(*), SUM(r.total_questions), SUM(r.correct_answers),
+                   SUM(r.percentage), ROUND(AVG(r.percentage), 2), MAX(r.percentage), MAX(r.completed_at),
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM exam_results r
+            GROUP BY r.user_id, r.certification_id
+            ON CONFLICT (user_id, certification_id) DO UPDATE
+            SET total_exams_taken = EXCLUDED.total_exams_taken,
+                total_questions_answered = EXCLUDED.total_questions_answered,
+                correct_answers = EXCLUDED.correct_answers,
+                score_sum = EXCLUDED.score_sum,
+                average_score = EXCLUDED.average_score,
+                best_score = EXCLUDED.best_score,
+                latest_exam_date = EXCLUDED.latest_exam_date,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int rebuildFromResults();
+
     /**
      * Get certifications with progress for a user.
      */
@@ -28,13 +97,26 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     List<UserProgress> getCertificationsWithProgressForUser(@Param("userId") Long userId);
 
     /**
-     * Get users with best scores for a certification (leaderboard).
+     * Stream (certificationId, userId, bestScore) for every user with a result, fetched through
+     * a cursor so the rows are never held in memory at once. Used to rebuild the in-memory
+     * leaderboards; must be consumed and closed inside a transaction.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
     @Query("""
-            SELECT up FROM UserProgress up
-            WHERE up.certificationId = :certificationId
-            AND up.bestScore IS NOT NULL
-            ORDER BY up.bestScore DESC
+            SELECT up.certificationId, up.userId, up.bestScore FROM UserProgress up
+            WHERE up.bestScore IS NOT NULL
+            """)
+    Stream<Object[]> streamAllBestScores();
+
+    /**
+     * Stream (certificationId, userId, bestScore) of the rows updated at or after {@code since}
+     * (index idx_user_progress_updated_at). Used to resync the in-memory leaderboards with
+     * results processed by other instances; must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT up.certificationId, up.userId, up.bestScore FROM UserProgress up
+            WHERE up.updatedAt >= :since AND up.bestScore IS NOT NULL
             """)
-    List<UserProgress> getLeaderboardByCertification(@Param("certificationId") Long certificationId);
+    Stream<Object[]> streamBestScoresUpdatedSince(@Param("since") LocalDateTime since);
 }
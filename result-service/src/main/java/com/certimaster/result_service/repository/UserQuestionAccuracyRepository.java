@@ -0,0 +1,45 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.UserQuestionAccuracy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserQuestionAccuracyRepository extends JpaRepository<UserQuestionAccuracy, Long> {
+
+    /**
+     * Get the questions a user answered wrongly most often (served by a partial index).
+     */
+    List<UserQuestionAccuracy> findByUserIdAndWrongCountGreaterThanOrderByWrongCountDescQuestionIdAsc(
+            Long userId, Integer wrongCount, Limit limit);
+
+    /**
+     * Recompute every question accuracy row from question_results in one set-based statement.
+     *
+     * @return number of rows written
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_question_accuracy (user_id, question_id, attempt_count, correct_count, wrong_count,
+                                                last_answered_at, created_at, updated_at)
+            SELECT r.user_id, qr.question_id, COUNT(*),
+                   COUNT(*) FILTER (WHERE qr.is_correct = TRUE),
+                   COUNT(*) FILTER (WHERE qr.is_correct = FALSE),
+                   MAX(r.completed_at), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM question_results qr
+            JOIN exam_results r ON r.id = qr.result_id AND r.completed_at = qr.completed_at
+            GROUP BY r.user_id, qr.question_id
+            ON CONFLICT (user_id, question_id) DO UPDATE
+            SET attempt_count = EXCLUDED.attempt_count,
+                correct_count = EXCLUDED.correct_count,
+                wrong_count = EXCLUDED.wrong_count,
+                last_answered_at = EXCLUDED.last_answered_at,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int rebuildFromResults();
+}
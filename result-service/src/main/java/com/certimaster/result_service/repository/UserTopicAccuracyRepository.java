@@ -0,0 +1,53 @@
+package com.certimaster.result_service.repository;
+
+import com.certimaster.result_service.entity.UserTopicAccuracy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface UserTopicAccuracyRepository extends JpaRepository<UserTopicAccuracy, Long> {
+
+    /**
+     * Get a user's accuracy on every topic, weakest first.
+     */
+    List<UserTopicAccuracy> findByUserIdOrderByAveragePercentageAsc(Long userId);
+
+    /**
+     * Get a user's topics in a certification averaging below the threshold, weakest first.
+     */
+    List<UserTopicAccuracy> findByUserIdAndCertificationIdAndAveragePercentageLessThanOrderByAveragePercentageAsc(
+            Long userId, Long certificationId, BigDecimal threshold);
+
+    /**
+     * Recompute every topic accuracy row from topic_performance in one set-based statement.
+     *
+     * @return number of rows written
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_topic_accuracy (user_id, certification_id, topic_id, topic_name, attempt_count,
+                                             question_count, correct_count, percentage_sum, average_percentage,
+                                             last_attempt_at, created_at, updated_at)
+            SELECT r.user_id, r.certification_id, tp.topic_id, MAX(tp.topic_name), COUNT(*),
+                   SUM(tp.total_questions), SUM(tp.correct_answers), SUM(tp.percentage),
+                   ROUND(AVG(tp.percentage), 2), MAX(r.completed_at), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM topic_performance tp
+            JOIN exam_results r ON r.id = tp.result_id AND r.completed_at = tp.completed_at
+            GROUP BY r.user_id, r.certification_id, tp.topic_id
+            ON CONFLICT (user_id, certification_id, topic_id) DO UPDATE
+            SET topic_name = EXCLUDED.topic_name,
+                attempt_count = EXCLUDED.attempt_count,
+                question_count = EXCLUDED.question_count,
+                correct_count = EXCLUDED.correct_count,
+                percentage_sum = EXCLUDED.percentage_sum,
+                average_percentage = EXCLUDED.average_percentage,
+                last_attempt_at = EXCLUDED.last_attempt_at,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int rebuildFromResults();
+}
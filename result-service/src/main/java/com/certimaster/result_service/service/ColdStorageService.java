@@ -0,0 +1,77 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.entity.QuestionResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for the cold storage of question results.
+ * Closed months are packed into one compressed block per exam result; the readers below
+ * serve item analysis, per-user accuracy and result lookups from those blocks.
+ */
+public interface ColdStorageService {
+
+    /**
+     * Pack every closed month whose question_results partition still has rows.
+     *
+     * @return one report per packed month
+     */
+    List<PackReport> packClosedMonths();
+
+    /**
+     * Pack the question results of one month and empty its partition, in one transaction.
+     */
+    PackReport packMonth(YearMonth month);
+
+    /**
+     * The question results of a result whose month was packed.
+     */
+    Optional<List<QuestionResult>> findQuestionResults(Long resultId, LocalDateTime completedAt);
+
+    /**
+     * Visit every packed answer. Runs in one transaction, which the visitor may write in.
+     *
+     * @return number of answers visited
+     */
+    long scanAnswers(PackedAnswerVisitor visitor);
+
+    /**
+     * Visit the packed answers of users in [fromUserId, toUserId] in user ID order. Runs in
+     * one transaction, which the visitor may write in.
+     *
+     * @return number of answers visited
+     */
+    long scanAnswersOfUsers(long fromUserId, long toUserId, PackedAnswerVisitor visitor);
+
+    /**
+     * Receives one packed answer with the columns of its exam result.
+     */
+    @FunctionalInterface
+    interface PackedAnswerVisitor {
+
+        /**
+         * @param percentage       score of the exam result
+         * @param correct          null if correctness was not recorded
+         * @param timeSpentSeconds {@code QuestionResultBlock.NO_TIME} if no time was recorded
+         */
+        void visit(long userId, LocalDateTime completedAt, double percentage,
+                   long questionId, Boolean correct, int timeSpentSeconds);
+    }
+
+    /**
+     * Outcome of packing one month.
+     *
+     * @param rawBytes    size of the question_results partition before packing
+     * @param packedBytes size added to the question_result_blocks partition
+     */
+    record PackReport(YearMonth month, long results, long rows, long rawBytes, long packedBytes, Duration elapsed) {
+
+        public double compressionRatio() {
+            return packedBytes == 0 ? 0 : (double) rawBytes / packedBytes;
+        }
+    }
+}
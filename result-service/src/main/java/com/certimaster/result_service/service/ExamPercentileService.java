@@ -0,0 +1,25 @@
+package com.certimaster.result_service.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Service interface for per-exam percentile ranks ("better than X% of takers").
+ * Each exam keeps a mergeable score histogram in memory, updated after commit as
+ * results arrive and merged into exam_score_histograms periodically.
+ */
+public interface ExamPercentileService extends ResultProjection {
+
+    /**
+     * Percentage of recorded attempts of the exam that scored strictly below {@code percentage}.
+     *
+     * @param examId exam ID
+     * @param percentage score percentage
+     * @return percentile rank (0-100, two decimals), or null if the exam has no recorded attempts
+     */
+    BigDecimal getPercentileRank(Long examId, BigDecimal percentage);
+
+    /**
+     * Merge pending histogram deltas into the database and refresh the in-memory copies.
+     */
+    void flush();
+}
@@ -0,0 +1,55 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.common_library.dto.PageDto;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.result_service.dto.response.ExamResultSummaryResponse;
+import com.certimaster.result_service.dto.response.UserProgressResponse;
+import com.certimaster.result_service.entity.ExamResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for reading exam results.
+ * Full results are served from a bounded LRU cache of assembled responses keyed by session,
+ * filled when results are created and on first read; summaries come from exam_results and
+ * user_progress.
+ */
+public interface ExamResultQueryService {
+
+    /**
+     * Get the full result of a session.
+     */
+    Optional<ExamResultResponse> getResultBySession(Long sessionId);
+
+    /**
+     * Get one page of the per-question results of a session, in question order.
+     * Question text, explanation and reference come from the contents stored at grading time
+     * (absent for results stored before they were kept).
+     *
+     * @param incorrectOnly only questions answered wrongly or left unanswered
+     * @return empty if the session has no result
+     */
+    Optional<PageDto<ExamResultResponse.QuestionResultData>> getQuestionResults(Long sessionId, boolean incorrectOnly,
+                                                                                int page, int size);
+
+    /**
+     * Get the full response of a stored result, from the cache if present.
+     */
+    ExamResultResponse getResponse(ExamResult examResult);
+
+    /**
+     * Get a user's results, newest first, optionally limited to one certification.
+     */
+    PageDto<ExamResultSummaryResponse> getResultHistory(Long userId, Long certificationId, int page, int size);
+
+    /**
+     * Get a user's progress in every certification they have results in.
+     */
+    List<UserProgressResponse> getUserProgress(Long userId);
+
+    /**
+     * Cache freshly created results once their transaction commits.
+     */
+    void cacheAfterCommit(List<ExamResultResponse> responses);
+}
@@ -3,6 +3,8 @@ package com.certimaster.result_service.service;
 import com.certimaster.common_library.event.ExamCompletedEvent;
 import com.certimaster.common_library.event.ExamResultResponse;
 
+import java.util.List;
+
 /**
  * Service interface for exam result operations.
  */
@@ -11,9 +13,21 @@ public interface ExamResultService {
     /**
      * Process a completed exam event and calculate results.
      * Creates ExamResult, TopicPerformance, and QuestionResult records.
+     * Permanent failures are answered with {@code success=false}; transient database
+     * failures are thrown so the listener can retry the event later.
      *
      * @param event the exam completed event containing session data and answers
      * @return the exam result response with calculated scores and performance data
      */
     ExamResultResponse processCompletedExam(ExamCompletedEvent event);
+
+    /**
+     * Process a batch of completed exam events in a single transaction.
+     * Results are written with one JDBC batch per table; already processed sessions
+     * are answered from the stored result. Any failure rolls back the whole batch.
+     *
+     * @param events the exam completed events of one poll
+     * @return one response per event, in the same order
+     */
+    List<ExamResultResponse> processCompletedExams(List<ExamCompletedEvent> events);
 }
@@ -0,0 +1,54 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.dto.response.ExamStatsResponse;
+import com.certimaster.result_service.stats.ExamWindowStats.Granularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for windowed exam statistics (result count, pass rate, averages, score and
+ * time distributions). Results are folded into hourly and daily buckets per exam on ingest, so
+ * a range is answered by merging a few buckets instead of grouping exam_results.
+ */
+public interface ExamStatsService extends ResultProjection {
+
+    /**
+     * Aggregate the results completed in [from, to), of one exam if {@code examId} is given,
+     * else of every exam of the certification. The range is widened to whole hours, and to whole
+     * days where hourly buckets have been purged; the response carries the range covered.
+     *
+     * @throws IllegalArgumentException if neither ID is given or {@code to} is not after {@code from}
+     */
+    ExamStatsResponse getStats(Long certificationId, Long examId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * One aggregate per bucket of the given size in [from, to), empty buckets included.
+     *
+     * @throws IllegalArgumentException as for {@link #getStats}, if the range spans more than
+     *                                  1000 buckets, or if hourly buckets are requested for a
+     *                                  purged range
+     */
+    List<ExamStatsResponse> getSeries(Long certificationId, Long examId, LocalDateTime from, LocalDateTime to,
+                                      Granularity granularity);
+
+    /**
+     * Merge the bucket deltas of queued results into the database, in batches, until the queue
+     * is empty. A failed batch stays queued.
+     */
+    void flush();
+
+    /**
+     * Delete hourly buckets older than {@code result.exam-stats.hour-retention-days}.
+     *
+     * @return number of rows deleted
+     */
+    int purgeExpiredHours();
+
+    /**
+     * Recompute the buckets after the last archived month; buckets of archived months are kept.
+     *
+     * @return number of rows written
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,58 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.dto.response.ItemAnalysisResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for question item analysis (difficulty, mean time, discrimination).
+ * Results are queued with their transaction and merged into question_item_stats in batches,
+ * so popular questions are not a per-result write hot spot.
+ */
+public interface ItemAnalysisService extends ResultProjection {
+
+    /**
+     * Classification used to list questions that likely need review.
+     */
+    enum ItemFlag {
+        /**
+         * Difficulty at or above 0.90.
+         */
+        TOO_EASY,
+        /**
+         * Difficulty at or below 0.20.
+         */
+        TOO_HARD,
+        /**
+         * Discrimination below 0.10 (including negative: strong takers miss it more often).
+         */
+        POOR_DISCRIMINATION
+    }
+
+    /**
+     * Get the statistics of one question.
+     */
+    Optional<ItemAnalysisResponse> getItemAnalysis(Long questionId);
+
+    /**
+     * List questions with at least {@code minAttempts} attempts, filtered by flag or,
+     * if flag is null, the most attempted first.
+     *
+     * @param limit maximum number of questions (capped at 200)
+     */
+    List<ItemAnalysisResponse> findItems(ItemFlag flag, long minAttempts, int limit);
+
+    /**
+     * Merge the answers of queued results into the database, in batches, until the queue is
+     * empty. A failed batch stays queued.
+     */
+    void flush();
+
+    /**
+     * Recompute question_item_stats from question_results.
+     *
+     * @return number of rows written
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,43 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.dto.response.LeaderboardEntryResponse;
+import com.certimaster.result_service.dto.response.LeaderboardResponse;
+
+import java.util.Optional;
+
+/**
+ * Service interface for in-memory certification leaderboards.
+ * Boards are rebuilt from user_progress on startup and periodically resynced,
+ * and updated after commit as results are processed.
+ */
+public interface LeaderboardService extends ResultProjection {
+
+    /**
+     * Get the top entries of a certification leaderboard.
+     *
+     * @param certificationId certification ID
+     * @param limit number of entries (capped)
+     * @return top entries, empty if no one has a result yet
+     */
+    LeaderboardResponse getTop(Long certificationId, int limit);
+
+    /**
+     * Get a user's rank in a certification leaderboard.
+     *
+     * @param certificationId certification ID
+     * @param userId user ID
+     * @return the user's entry, empty if the user has no result in the certification
+     */
+    Optional<LeaderboardEntryResponse> getUserRank(Long certificationId, Long userId);
+
+    /**
+     * Rebuild every board from user_progress and swap it in. Results committed meanwhile are
+     * replayed into the new boards.
+     */
+    void rebuild();
+
+    /**
+     * Offer the user_progress rows updated since the last rebuild or resync to the boards.
+     */
+    void resync();
+}
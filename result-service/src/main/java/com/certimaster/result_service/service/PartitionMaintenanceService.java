@@ -0,0 +1,32 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.repository.ResultPartitionRepository.ArchivedPartition;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Service interface for the monthly partitions of the result tables.
+ * Partitions are created ahead of time so inserts never miss one, and months older than the
+ * retention period are exported to compressed files and dropped.
+ */
+public interface PartitionMaintenanceService {
+
+    /**
+     * Make sure the partitions of the current month and the configured months ahead exist.
+     */
+    void ensurePartitions();
+
+    /**
+     * Months whose results have been archived and are no longer in the database.
+     */
+    SortedSet<YearMonth> findArchivedMonths();
+
+    /**
+     * Archive every month that ended before the retention window.
+     *
+     * @return the archived partitions, empty if nothing was due or another instance is archiving
+     */
+    List<ArchivedPartition> archiveExpiredPartitions();
+}
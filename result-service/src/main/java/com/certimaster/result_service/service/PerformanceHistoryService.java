@@ -0,0 +1,9 @@
+package com.certimaster.result_service.service;
+
+/**
+ * Service interface for the daily performance_history rollups.
+ * One row per (user, certification, day) holding count, sums, min and max,
+ * folded per key so each day costs one upsert per batch.
+ */
+public interface PerformanceHistoryService extends ResultProjection {
+}
@@ -0,0 +1,62 @@
+package com.certimaster.result_service.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service interface for rebuilding per-user projections from the stored results.
+ * Projections are recomputed into shadow tables by parallel workers, each owning a range of
+ * user IDs, and swapped in together once every range is written. Readers keep seeing the
+ * old projections until the swap commits.
+ */
+public interface ProjectionRebuildService {
+
+    /**
+     * Projections that can be rebuilt, with the table each one lives in.
+     */
+    enum Projection {
+        USER_PROGRESS("user_progress"),
+        USER_TOPIC_ACCURACY("user_topic_accuracy"),
+        USER_QUESTION_ACCURACY("user_question_accuracy");
+
+        private final String table;
+
+        Projection(String table) {
+            this.table = table;
+        }
+
+        public String table() {
+            return table;
+        }
+    }
+
+    /**
+     * Outcome of a rebuild.
+     *
+     * @param rows    rows written per projection
+     * @param users   users covered
+     * @param elapsed wall time including the swap
+     */
+    record RebuildReport(Map<Projection, Long> rows, long users, Duration elapsed) {
+
+        public long totalRows() {
+            return rows.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long rowsPerSecond() {
+            long millis = Math.max(1, elapsed.toMillis());
+            return totalRows() * 1000 / millis;
+        }
+    }
+
+    /**
+     * Rebuild the given projections and swap them in atomically. Run it while exam result
+     * consumption is paused: deltas applied to the live tables during the rebuild are lost
+     * at the swap.
+     *
+     * @param projections projections to rebuild
+     * @return rows written and throughput
+     */
+    RebuildReport rebuild(Set<Projection> projections);
+}
@@ -0,0 +1,83 @@
+package com.certimaster.result_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Service interface for bulk result exports.
+ * An export streams every result of a certification in a date range straight from a
+ * database cursor to the client, in constant memory, instead of paging through counts.
+ */
+public interface ResultExportService {
+
+    /**
+     * Reserve one of the {@code result.export.max-concurrent} export slots.
+     * The returned export must be written once or released; either frees the slot.
+     *
+     * @return empty if all slots are taken
+     */
+    Optional<ResultExport> open(ExportRequest request);
+
+    /**
+     * Output format of an export.
+     */
+    enum Format {
+        /**
+         * Header line, then one line per result (per topic with the topic breakdown).
+         */
+        CSV("text/csv", "csv"),
+        /**
+         * One JSON object per line and result, topics nested as an array.
+         */
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Results of a certification completed from {@code from} (inclusive) to {@code to}
+     * (exclusive), optionally of one exam.
+     */
+    record ExportRequest(Long certificationId, Long examId, LocalDate from, LocalDate to, Format format,
+                         boolean includeTopics) {
+
+        public String fileName() {
+            return "results-certification-%d-%s-%s.%s".formatted(certificationId, from, to, format.extension());
+        }
+    }
+
+    /**
+     * A reserved export, written once to the response body.
+     */
+    interface ResultExport {
+
+        /**
+         * Stream the export and release its slot.
+         *
+         * @return number of results written
+         */
+        long writeTo(OutputStream out) throws IOException;
+
+        /**
+         * Release the slot without writing, e.g. when the response ends before the body runs.
+         * Idempotent, and a no-op once the export has been written.
+         */
+        void release();
+    }
+}
@@ -0,0 +1,21 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.entity.ExamResult;
+
+import java.util.Collection;
+
+/**
+ * A read model derived from exam results.
+ * Every projection bean is applied by ExamResultService in the same transaction
+ * that inserts the results, so projections never lag or diverge from exam_results.
+ */
+public interface ResultProjection {
+
+    /**
+     * Apply newly created results to the projection.
+     * Implementations should fold the results per key so each key costs one write.
+     *
+     * @param results newly inserted results (IDs assigned)
+     */
+    void applyResults(Collection<ExamResult> results);
+}
@@ -0,0 +1,20 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.dto.response.ReviewQuestionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the per-user spaced-repetition review queue.
+ * Questions answered wrongly are scheduled SM-2 style as results are ingested, so the next
+ * questions to review are a range read on the user's due times.
+ */
+public interface ReviewQueueService extends ResultProjection {
+
+    /**
+     * Get the questions a user should review now, earliest due first.
+     *
+     * @param limit maximum number of questions (capped at 100)
+     */
+    List<ReviewQuestionResponse> getDueQuestions(Long userId, int limit);
+}
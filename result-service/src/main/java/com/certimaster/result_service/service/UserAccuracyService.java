@@ -0,0 +1,50 @@
+package com.certimaster.result_service.service;
+
+import com.certimaster.result_service.dto.response.QuestionAccuracyResponse;
+import com.certimaster.result_service.dto.response.TopicAccuracyResponse;
+import com.certimaster.result_service.repository.UserAccuracyBatchRepository.QuestionDelta;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for the per-user topic and question accuracy projections.
+ * Counters are folded in on result ingest, so reads are index lookups whose cost
+ * does not grow with the number of exams a user has taken.
+ */
+public interface UserAccuracyService extends ResultProjection {
+
+    /**
+     * Get a user's accuracy on every topic, weakest first.
+     */
+    List<TopicAccuracyResponse> getTopicAccuracy(Long userId);
+
+    /**
+     * Get a user's topics in a certification whose average percentage is below the threshold, weakest first.
+     */
+    List<TopicAccuracyResponse> getWeakTopics(Long userId, Long certificationId, BigDecimal threshold);
+
+    /**
+     * Get the questions a user answered wrongly most often.
+     *
+     * @param limit maximum number of questions (capped at 100)
+     */
+    List<QuestionAccuracyResponse> getFrequentlyWrongQuestions(Long userId, int limit);
+
+    /**
+     * Recompute both projections from topic_performance, question_results and the packed
+     * answers of cold months.
+     *
+     * @return number of rows written
+     */
+    int rebuildAll();
+
+    /**
+     * Fold the packed answers of users in [fromUserId, toUserId] into question accuracy
+     * deltas, handed to the sink in sorted batches that never split a user.
+     *
+     * @return number of deltas produced
+     */
+    int foldPackedAnswers(long fromUserId, long toUserId, Consumer<List<QuestionDelta>> sink);
+}
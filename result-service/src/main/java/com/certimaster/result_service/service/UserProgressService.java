@@ -0,0 +1,15 @@
+package com.certimaster.result_service.service;
+
+/**
+ * Service interface for the user_progress projection.
+ * Results are folded per (user, certification) so each key costs one upsert.
+ */
+public interface UserProgressService extends ResultProjection {
+
+    /**
+     * Recompute all progress rows from exam_results.
+     *
+     * @return number of progress rows written
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,204 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.coldstore.QuestionResultBlock;
+import com.certimaster.result_service.entity.QuestionResult;
+import com.certimaster.result_service.repository.QuestionResultBlockRepository;
+import com.certimaster.result_service.repository.QuestionResultBlockRepository.PackedBlock;
+import com.certimaster.result_service.repository.ResultPartitionRepository;
+import com.certimaster.result_service.service.ColdStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of ColdStorageService.
+ * <p>
+ * Packing a month locks its question_results partition against inserts, streams the rows in
+ * (result, question) order through a cursor, encodes each result's rows into one
+ * {@link QuestionResultBlock}, inserts the blocks in batches of
+ * {@code result.cold-storage.batch-size} and truncates the partition, all in one
+ * transaction: a failure leaves the month as it was. Months before the current one are
+ * packed daily when {@code result.cold-storage.enabled} is set.
+ * <p>
+ * Metrics: {@code result.cold-storage.packed.rows}, {@code result.cold-storage.raw.bytes}
+ * and {@code result.cold-storage.packed.bytes}.
+ */
+@Slf4j
+@Service
+public class ColdStorageServiceImpl implements ColdStorageService {
+
+    private final QuestionResultBlockRepository questionResultBlockRepository;
+    private final ResultPartitionRepository resultPartitionRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lockTimeoutMillis;
+
+    public ColdStorageServiceImpl(QuestionResultBlockRepository questionResultBlockRepository,
+                                  ResultPartitionRepository resultPartitionRepository,
+                                  MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${result.cold-storage.enabled:false}") boolean enabled,
+                                  @Value("${result.cold-storage.batch-size:1000}") int batchSize,
+                                  @Value("${result.cold-storage.lock-timeout-ms:10000}") long lockTimeoutMillis) {
+        this.questionResultBlockRepository = questionResultBlockRepository;
+        this.resultPartitionRepository = resultPartitionRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    @Scheduled(cron = "${result.cold-storage.cron:0 0 4 * * *}")
+    public void scheduledPack() {
+        if (enabled) {
+            packClosedMonths();
+        }
+    }
+
+    @Override
+    public List<PackReport> packClosedMonths() {
+        List<YearMonth> closed = resultPartitionRepository.findPartitionMonths().headSet(YearMonth.now()).stream()
+                .filter(questionResultBlockRepository::hasUnpackedRows)
+                .toList();
+        List<PackReport> reports = new ArrayList<>();
+        for (YearMonth month : closed) {
+            try {
+                reports.add(packMonth(month));
+            } catch (RuntimeException e) {
+                log.error("Failed to pack question results of {}; will retry on the next run", month, e);
+            }
+        }
+        return reports;
+    }
+
+    @Override
+    public PackReport packMonth(YearMonth month) {
+        long startNanos = System.nanoTime();
+        PackReport report = transactionTemplate.execute(status -> {
+            questionResultBlockRepository.lockQuestionPartition(month, lockTimeoutMillis);
+            long rawBytes = questionResultBlockRepository.partitionBytes(month, false);
+            long blockBytesBefore = questionResultBlockRepository.partitionBytes(month, true);
+
+            Packer packer = new Packer();
+            questionResultBlockRepository.streamPartitionRows(month, packer::add);
+            packer.finish();
+
+            // Rows without their exam result would be lost by the truncate
+            long rows = questionResultBlockRepository.countPartitionRows(month);
+            if (rows != packer.rows) {
+                throw new IllegalStateException("Packed " + packer.rows + " of " + rows
+                        + " question results of " + month + "; some rows have no exam result");
+            }
+            questionResultBlockRepository.truncateQuestionPartition(month);
+
+            long packedBytes = questionResultBlockRepository.partitionBytes(month, true) - blockBytesBefore;
+            return new PackReport(month, packer.results, rows, rawBytes, packedBytes,
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        });
+
+        meterRegistry.counter("result.cold-storage.packed.rows").increment(report.rows());
+        meterRegistry.counter("result.cold-storage.raw.bytes").increment(report.rawBytes());
+        meterRegistry.counter("result.cold-storage.packed.bytes").increment(report.packedBytes());
+        log.info("Packed question results of {}: {} results, {} rows, {} -> {} bytes ({}x) in {} ms",
+                month, report.results(), report.rows(), report.rawBytes(), report.packedBytes(),
+                String.format("%.1f", report.compressionRatio()), report.elapsed().toMillis());
+        return report;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<QuestionResult>> findQuestionResults(Long resultId, LocalDateTime completedAt) {
+        return questionResultBlockRepository.findBlock(resultId, completedAt).map(block -> {
+            List<QuestionResult> questionResults = QuestionResultBlock.decode(block);
+            questionResults.forEach(qr -> qr.setCompletedAt(completedAt));
+            return questionResults;
+        });
+    }
+
+    @Override
+    @Transactional
+    public long scanAnswers(PackedAnswerVisitor visitor) {
+        long[] answers = {0};
+        questionResultBlockRepository.streamBlocks((userId, completedAt, percentage, block) ->
+                answers[0] += QuestionResultBlock.scan(block, (questionId, correct, timeSpentSeconds) ->
+                        visitor.visit(userId, completedAt, percentage, questionId, correct, timeSpentSeconds)));
+        return answers[0];
+    }
+
+    @Override
+    @Transactional
+    public long scanAnswersOfUsers(long fromUserId, long toUserId, PackedAnswerVisitor visitor) {
+        long[] answers = {0};
+        questionResultBlockRepository.streamBlocksOfUsers(fromUserId, toUserId, (userId, completedAt, percentage, block) ->
+                answers[0] += QuestionResultBlock.scan(block, (questionId, correct, timeSpentSeconds) ->
+                        visitor.visit(userId, completedAt, percentage, questionId, correct, timeSpentSeconds)));
+        return answers[0];
+    }
+
+    /**
+     * Groups the streamed rows by result and writes full batches of blocks. Rows of one
+     * result arrive together, so only the current result is held besides the batch.
+     */
+    private final class Packer {
+        private final List<PackedBlock> batch = new ArrayList<>();
+        private final List<QuestionResult> current = new ArrayList<>();
+        private long resultId;
+        private LocalDateTime completedAt;
+        private long userId;
+        private long examId;
+        private BigDecimal percentage;
+        private long results;
+        private long rows;
+
+        void add(long resultId, LocalDateTime completedAt, long userId, long examId, BigDecimal percentage,
+                 QuestionResult questionResult) {
+            if (!current.isEmpty() && resultId != this.resultId) {
+                pack();
+            }
+            if (current.isEmpty()) {
+                this.resultId = resultId;
+                this.completedAt = completedAt;
+                this.userId = userId;
+                this.examId = examId;
+                this.percentage = percentage;
+            }
+            current.add(questionResult);
+            rows++;
+        }
+
+        void finish() {
+            if (!current.isEmpty()) {
+                pack();
+            }
+            questionResultBlockRepository.insertBlocks(batch);
+            batch.clear();
+        }
+
+        private void pack() {
+            batch.add(new PackedBlock(resultId, completedAt, userId, examId, percentage, current.size(),
+                    QuestionResultBlock.encode(current)));
+            current.clear();
+            results++;
+            if (batch.size() >= batchSize) {
+                questionResultBlockRepository.insertBlocks(batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.entity.ExamScoreHistogram;
+import com.certimaster.result_service.repository.ExamScoreHistogramRepository;
+import com.certimaster.result_service.service.ExamPercentileService;
+import com.certimaster.result_service.stats.ScoreHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of ExamPercentileService.
+ * <p>
+ * Each exam's in-memory state is the merged histogram last read from the database plus
+ * this instance's local additions, and a sparse delta of additions not yet flushed.
+ * Flushing locks the exam's row, adds the delta and reloads the merged result, so
+ * instances consuming different partitions converge without overwriting each other.
+ */
+@Slf4j
+@Service
+public class ExamPercentileServiceImpl implements ExamPercentileService {
+
+    private final ExamScoreHistogramRepository histogramRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, HistogramState> states = new ConcurrentHashMap<>();
+
+    public ExamPercentileServiceImpl(ExamScoreHistogramRepository histogramRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.histogramRepository = histogramRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void applyResults(Collection<ExamResult> results) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only committed results are counted
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordAll(results);
+                }
+            });
+        } else {
+            recordAll(results);
+        }
+    }
+
+    @Override
+    public BigDecimal getPercentileRank(Long examId, BigDecimal percentage) {
+        if (examId == null || percentage == null) {
+            return null;
+        }
+        return state(examId).percentileRank(percentage);
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(initialDelayString = "${result.percentile.flush-interval-ms:30000}",
+            fixedDelayString = "${result.percentile.flush-interval-ms:30000}")
+    public void flush() {
+        int flushed = 0;
+        for (Map.Entry<Long, HistogramState> entry : states.entrySet()) {
+            Long examId = entry.getKey();
+            HistogramState state = entry.getValue();
+            Map<Integer, Integer> delta = state.drainPending();
+            if (delta.isEmpty()) {
+                continue;
+            }
+            try {
+                ScoreHistogram merged = transactionTemplate.execute(status -> mergeIntoDatabase(examId, delta));
+                state.replaceMerged(merged);
+                flushed++;
+            } catch (RuntimeException e) {
+                state.restorePending(delta);
+                log.error("Failed to flush score histogram for exam {}; will retry", examId, e);
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed score histograms of {} exams", flushed);
+        }
+    }
+
+    private void recordAll(Collection<ExamResult> results) {
+        for (ExamResult result : results) {
+            state(result.getExamId()).record(ScoreHistogram.bucketOf(result.getPercentage()));
+        }
+    }
+
+    private HistogramState state(Long examId) {
+        return states.computeIfAbsent(examId, id -> new HistogramState(load(id)));
+    }
+
+    private ScoreHistogram load(Long examId) {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogramRepository.findByExamId(examId)
+                .ifPresent(row -> histogram.merge(row.getBuckets(), row.getCounts()));
+        return histogram;
+    }
+
+    private ScoreHistogram mergeIntoDatabase(Long examId, Map<Integer, Integer> delta) {
+        histogramRepository.insertEmptyIfAbsent(examId);
+        ExamScoreHistogram row = histogramRepository.findByExamIdForUpdate(examId)
+                .orElseThrow(() -> new IllegalStateException("Histogram row missing for exam " + examId));
+
+        ScoreHistogram merged = new ScoreHistogram();
+        merged.merge(row.getBuckets(), row.getCounts());
+        merged.merge(delta);
+
+        Integer[][] sparse = merged.toSparse();
+        row.setBuckets(sparse[0]);
+        row.setCounts(sparse[1]);
+        row.setTotalCount(merged.total());
+        histogramRepository.save(row);
+        return merged;
+    }
+
+    /**
+     * In-memory histogram of one exam and its unflushed local additions.
+     */
+    private static final class HistogramState {
+        private ScoreHistogram histogram;
+        private Map<Integer, Integer> pending = new HashMap<>();
+
+        HistogramState(ScoreHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        synchronized void record(int bucket) {
+            histogram.add(bucket, 1);
+            pending.merge(bucket, 1, Integer::sum);
+        }
+
+        synchronized BigDecimal percentileRank(BigDecimal percentage) {
+            return histogram.percentileRank(percentage);
+        }
+
+        synchronized Map<Integer, Integer> drainPending() {
+            Map<Integer, Integer> drained = pending;
+            pending = new HashMap<>();
+            return drained;
+        }
+
+        synchronized void restorePending(Map<Integer, Integer> delta) {
+            delta.forEach((bucket, count) -> pending.merge(bucket, count, Integer::sum));
+        }
+
+        /**
+         * Adopt the database's merged histogram, re-applying additions recorded since the drain.
+         */
+        synchronized void replaceMerged(ScoreHistogram merged) {
+            merged.merge(pending);
+            histogram = merged;
+        }
+    }
+}
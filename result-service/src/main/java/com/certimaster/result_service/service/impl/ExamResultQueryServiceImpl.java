@@ -0,0 +1,228 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.common_library.dto.PageDto;
+import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.result_service.cache.LruCache;
+import com.certimaster.result_service.dto.response.ExamResultSummaryResponse;
+import com.certimaster.result_service.dto.response.UserProgressResponse;
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.entity.QuestionResult;
+import com.certimaster.result_service.entity.TopicPerformance;
+import com.certimaster.result_service.repository.ExamResultRepository;
+import com.certimaster.result_service.repository.QuestionContentRepository;
+import com.certimaster.result_service.repository.QuestionContentRepository.QuestionContent;
+import com.certimaster.result_service.repository.QuestionResultRepository;
+import com.certimaster.result_service.repository.TopicPerformanceRepository;
+import com.certimaster.result_service.repository.UserProgressRepository;
+import com.certimaster.result_service.service.ColdStorageService;
+import com.certimaster.result_service.service.ExamResultQueryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of ExamResultQueryService.
+ * Stored results are immutable (the percentile rank is stored at grading time, not recomputed),
+ * so cached responses never need invalidation; the cache only bounds memory. Question text,
+ * explanation and reference are read from question_contents through the result's content IDs
+ * (results stored before V16 have none). Question results of packed months are read from
+ * their block.
+ */
+@Slf4j
+@Service
+public class ExamResultQueryServiceImpl implements ExamResultQueryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ExamResultRepository examResultRepository;
+    private final TopicPerformanceRepository topicPerformanceRepository;
+    private final QuestionResultRepository questionResultRepository;
+    private final QuestionContentRepository questionContentRepository;
+    private final UserProgressRepository userProgressRepository;
+    private final ColdStorageService coldStorageService;
+
+    private final LruCache<Long, ExamResultResponse> responsesBySession;
+
+    public ExamResultQueryServiceImpl(ExamResultRepository examResultRepository,
+                                      TopicPerformanceRepository topicPerformanceRepository,
+                                      QuestionResultRepository questionResultRepository,
+                                      QuestionContentRepository questionContentRepository,
+                                      UserProgressRepository userProgressRepository,
+                                      ColdStorageService coldStorageService,
+                                      @Value("${result.cache.max-results:10000}") int maxCachedResults) {
+        this.examResultRepository = examResultRepository;
+        this.topicPerformanceRepository = topicPerformanceRepository;
+        this.questionResultRepository = questionResultRepository;
+        this.questionContentRepository = questionContentRepository;
+        this.userProgressRepository = userProgressRepository;
+        this.coldStorageService = coldStorageService;
+        this.responsesBySession = new LruCache<>(maxCachedResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ExamResultResponse> getResultBySession(Long sessionId) {
+        Optional<ExamResultResponse> cached = responsesBySession.get(sessionId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return examResultRepository.findBySessionId(sessionId).map(this::getResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PageDto<ExamResultResponse.QuestionResultData>> getQuestionResults(Long sessionId,
+                                                                                       boolean incorrectOnly,
+                                                                                       int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        return getResultBySession(sessionId).map(response -> {
+            List<ExamResultResponse.QuestionResultData> questions = response.getQuestionResults() == null
+                    ? List.of()
+                    : response.getQuestionResults();
+            if (incorrectOnly) {
+                questions = questions.stream()
+                        .filter(q -> !Boolean.TRUE.equals(q.getIsCorrect()))
+                        .toList();
+            }
+            int from = (int) Math.min(pageable.getOffset(), questions.size());
+            int to = Math.min(from + pageable.getPageSize(), questions.size());
+            return PageDto.of(new PageImpl<>(questions.subList(from, to), pageable, questions.size()));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExamResultResponse getResponse(ExamResult examResult) {
+        return responsesBySession.get(examResult.getSessionId()).orElseGet(() -> {
+            ExamResultResponse response = assemble(examResult);
+            responsesBySession.put(examResult.getSessionId(), response);
+            return response;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ExamResultSummaryResponse> getResultHistory(Long userId, Long certificationId, int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by(Sort.Direction.DESC, "completedAt"));
+        Page<ExamResult> results = certificationId == null
+                ? examResultRepository.findByUserId(userId, pageable)
+                : examResultRepository.findByUserIdAndCertificationId(userId, certificationId, pageable);
+        return PageDto.of(results.map(this::toSummary));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserProgressResponse> getUserProgress(Long userId) {
+        return userProgressRepository.getCertificationsWithProgressForUser(userId).stream()
+                .map(up -> UserProgressResponse.builder()
+                        .certificationId(up.getCertificationId())
+                        .totalExamsTaken(up.getTotalExamsTaken())
+                        .totalQuestionsAnswered(up.getTotalQuestionsAnswered())
+                        .correctAnswers(up.getCorrectAnswers())
+                        .averageScore(up.getAverageScore())
+                        .bestScore(up.getBestScore())
+                        .latestExamDate(up.getLatestExamDate())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void cacheAfterCommit(List<ExamResultResponse> responses) {
+        if (responses.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responses.forEach(response -> responsesBySession.put(response.getSessionId(), response));
+            }
+        });
+    }
+
+    /**
+     * Build the response of a stored result from its topic performances and question results.
+     */
+    private ExamResultResponse assemble(ExamResult examResult) {
+        List<TopicPerformance> topicPerformances = topicPerformanceRepository.findByExamResultIdAndCompletedAt(
+                examResult.getId(), examResult.getCompletedAt());
+        List<ExamResultResponse.TopicPerformanceData> topicPerformanceDataList = topicPerformances.stream()
+                .map(tp -> ExamResultResponse.TopicPerformanceData.builder()
+                        .topicId(tp.getTopicId())
+                        .topicName(tp.getTopicName())
+                        .totalQuestions(tp.getTotalQuestions())
+                        .correctAnswers(tp.getCorrectAnswers())
+                        .percentage(tp.getPercentage())
+                        .build())
+                .toList();
+
+        List<QuestionResult> questionResults = questionResultRepository.findByExamResultIdAndCompletedAt(
+                examResult.getId(), examResult.getCompletedAt());
+        if (questionResults.isEmpty()) {
+            questionResults = coldStorageService.findQuestionResults(examResult.getId(), examResult.getCompletedAt())
+                    .orElse(questionResults);
+        }
+        Map<Long, QuestionContent> contents = questionContentRepository.findByIds(examResult.getQuestionContentIds());
+        List<ExamResultResponse.QuestionResultData> questionResultDataList = questionResults.stream()
+                .map(qr -> {
+                    QuestionContent content = contents.get(qr.getQuestionId());
+                    return ExamResultResponse.QuestionResultData.builder()
+                            .questionId(qr.getQuestionId())
+                            .questionText(content != null ? content.questionText() : null)
+                            .userAnswerIds(qr.getUserAnswerIds())
+                            .correctAnswerIds(qr.getCorrectAnswerIds())
+                            .isCorrect(qr.getIsCorrect())
+                            .timeSpentSeconds(qr.getTimeSpentSeconds())
+                            .explanation(content != null ? content.explanation() : null)
+                            .reference(content != null ? content.reference() : null)
+                            .build();
+                })
+                .toList();
+
+        return ExamResultResponse.builder()
+                .resultId(examResult.getId())
+                .sessionId(examResult.getSessionId())
+                .userId(examResult.getUserId())
+                .examId(examResult.getExamId())
+                .totalQuestions(examResult.getTotalQuestions())
+                .correctAnswers(examResult.getCorrectAnswers())
+                .wrongAnswers(examResult.getWrongAnswers())
+                .unanswered(examResult.getUnanswered())
+                .score(examResult.getScore())
+                .percentage(examResult.getPercentage())
+                .percentileRank(examResult.getPercentileRank())
+                .passStatus(examResult.getPassStatus())
+                .timeTakenSeconds(examResult.getTimeTakenSeconds())
+                .completedAt(examResult.getCompletedAt())
+                .topicPerformances(topicPerformanceDataList)
+                .questionResults(questionResultDataList)
+                .success(true)
+                .build();
+    }
+
+    private ExamResultSummaryResponse toSummary(ExamResult r) {
+        return ExamResultSummaryResponse.builder()
+                .resultId(r.getId())
+                .sessionId(r.getSessionId())
+                .examId(r.getExamId())
+                .certificationId(r.getCertificationId())
+                .totalQuestions(r.getTotalQuestions())
+                .correctAnswers(r.getCorrectAnswers())
+                .percentage(r.getPercentage())
+                .passStatus(r.getPassStatus())
+                .timeTakenSeconds(r.getTimeTakenSeconds())
+                .completedAt(r.getCompletedAt())
+                .build();
+    }
+}
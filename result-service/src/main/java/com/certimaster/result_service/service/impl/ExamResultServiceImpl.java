@@ -2,29 +2,53 @@ package com.certimaster.result_service.service.impl;
 
 import com.certimaster.common_library.event.ExamCompletedEvent;
 import com.certimaster.common_library.event.ExamResultResponse;
+import com.certimaster.result_service.dedup.ProcessedSessionFilter;
 import com.certimaster.result_service.entity.ExamResult;
 import com.certimaster.result_service.entity.QuestionResult;
 import com.certimaster.result_service.entity.TopicPerformance;
+import com.certimaster.result_service.kafka.RetryableFailures;
+import com.certimaster.result_service.repository.ExamResultBatchRepository;
 import com.certimaster.result_service.repository.ExamResultRepository;
-import com.certimaster.result_service.repository.QuestionResultRepository;
-import com.certimaster.result_service.repository.TopicPerformanceRepository;
+import com.certimaster.result_service.repository.QuestionContentRepository;
+import com.certimaster.result_service.repository.QuestionContentRepository.QuestionContent;
+import com.certimaster.result_service.service.ExamPercentileService;
+import com.certimaster.result_service.service.ExamResultQueryService;
 import com.certimaster.result_service.service.ExamResultService;
+import com.certimaster.result_service.service.ResultProjection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of ExamResultService.
  * Processes completed exam events and calculates detailed results.
+ * <p>
+ * Metrics: {@code result.processing.phase} timers tagged with the phase (lookup, grade,
+ * insert, projections, commit) and {@code result.processing.projection} timers tagged with
+ * the projection.
  */
 @Slf4j
 @Service
@@ -32,114 +56,259 @@ import java.util.stream.Collectors;
 public class ExamResultServiceImpl implements ExamResultService {
 
     private final ExamResultRepository examResultRepository;
-    private final TopicPerformanceRepository topicPerformanceRepository;
-    private final QuestionResultRepository questionResultRepository;
+    private final ExamResultBatchRepository examResultBatchRepository;
+    private final QuestionContentRepository questionContentRepository;
+    private final List<ResultProjection> resultProjections;
+    private final ExamPercentileService examPercentileService;
+    private final ExamResultQueryService examResultQueryService;
+    private final ProcessedSessionFilter processedSessionFilter;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional
     public ExamResultResponse processCompletedExam(ExamCompletedEvent event) {
         log.debug("Processing completed exam for session {} user {} exam {}",
                 event.getSessionId(), event.getUserId(), event.getExamId());
+        timeCommit();
 
         try {
-            // Check if result already exists (idempotency)
-            var existingResult = examResultRepository.findBySessionId(event.getSessionId());
-            if (existingResult.isPresent()) {
-                log.warn("Result already exists for session {}, returning existing result",
-                        event.getSessionId());
-                return buildResponseFromExistingResult(existingResult.get());
+            // Idempotency: only sessions the filter cannot rule out are looked up (cache, then database)
+            if (processedSessionFilter.mightBeProcessed(event.getSessionId())) {
+                var existingResult = phaseTimer("lookup").record(
+                        () -> examResultQueryService.getResultBySession(event.getSessionId()));
+                processedSessionFilter.recordLookupOutcome(existingResult.isPresent());
+                if (existingResult.isPresent()) {
+                    log.warn("Result already exists for session {}, returning existing result",
+                            event.getSessionId());
+                    return existingResult.get();
+                }
             }
 
-            // Calculate score percentage
-            int totalQuestions = event.getTotalQuestions() != null ? event.getTotalQuestions() : 0;
-            int correctCount = event.getCorrectCount() != null ? event.getCorrectCount() : 0;
-            int wrongCount = event.getWrongCount() != null ? event.getWrongCount() : 0;
-            int unanswered = totalQuestions - (correctCount + wrongCount);
+            GradedExam graded = phaseTimer("grade").record(() -> grade(event));
 
-            BigDecimal percentage = BigDecimal.ZERO;
-            if (totalQuestions > 0) {
-                percentage = BigDecimal.valueOf(correctCount)
-                        .multiply(BigDecimal.valueOf(100))
-                        .divide(BigDecimal.valueOf(totalQuestions), 2, RoundingMode.HALF_UP);
+            Timer.Sample insert = Timer.start(meterRegistry);
+            storeQuestionContents(List.of(graded));
+            if (examResultBatchRepository.insertExamResults(List.of(graded.examResult())).isEmpty()) {
+                // Stored by another instance after this instance seeded its filter
+                processedSessionFilter.recordInsertConflict(event.getSessionId());
+                log.warn("Result already exists for session {} (insert conflict), returning existing result",
+                        event.getSessionId());
+                return examResultRepository.findBySessionId(event.getSessionId())
+                        .map(examResultQueryService::getResponse)
+                        .orElseThrow(() -> new IllegalStateException(
+                                "Result of session " + event.getSessionId() + " has been archived"));
             }
+            ExamResult examResult = graded.examResult();
+            processedSessionFilter.markProcessed(examResult.getSessionId());
+            log.info("Created ExamResult {} for session {}", examResult.getId(), event.getSessionId());
 
-            // Determine pass/fail status
-            int passingScore = event.getPassingScore() != null ? event.getPassingScore() : 70;
-            String passStatus = percentage.compareTo(BigDecimal.valueOf(passingScore)) >= 0 ? "PASSED" : "FAILED";
+            examResultBatchRepository.insertTopicPerformances(graded.topicPerformances());
+            log.debug("Created {} TopicPerformance records for result {}",
+                    graded.topicPerformances().size(), examResult.getId());
 
-            // Calculate time taken
-            Integer timeTakenSeconds = event.getTimeSpentSeconds();
-            if (timeTakenSeconds == null && event.getStartTime() != null && event.getEndTime() != null) {
-                timeTakenSeconds = (int) java.time.Duration.between(event.getStartTime(), event.getEndTime()).getSeconds();
-            }
+            examResultBatchRepository.insertQuestionResults(graded.questionResults());
+            log.debug("Created {} QuestionResult records for result {}",
+                    graded.questionResults().size(), examResult.getId());
+            insert.stop(phaseTimer("insert"));
 
-            // Create ExamResult entity
-            ExamResult examResult = ExamResult.builder()
-                    .sessionId(event.getSessionId())
-                    .userId(event.getUserId())
-                    .examId(event.getExamId())
-                    .certificationId(event.getCertificationId())
-                    .totalQuestions(totalQuestions)
-                    .correctAnswers(correctCount)
-                    .wrongAnswers(wrongCount)
-                    .unanswered(unanswered)
-                    .score(BigDecimal.valueOf(correctCount))
-                    .percentage(percentage)
-                    .passStatus(passStatus)
-                    .timeTakenSeconds(timeTakenSeconds)
-                    .completedAt(event.getEndTime() != null ? event.getEndTime() : LocalDateTime.now())
-                    .build();
-
-            examResult = examResultRepository.save(examResult);
-            log.info("Created ExamResult {} for session {}", examResult.getId(), event.getSessionId());
+            applyProjections(List.of(examResult));
 
-            // Calculate and create TopicPerformance records
-            List<ExamResultResponse.TopicPerformanceData> topicPerformanceDataList =
-                    calculateAndSaveTopicPerformances(examResult, event.getAnswers());
-
-            // Create QuestionResult records
-            List<ExamResultResponse.QuestionResultData> questionResultDataList =
-                    createAndSaveQuestionResults(examResult, event.getAnswers());
-
-            // Build and return response
-            return ExamResultResponse.builder()
-                    .resultId(examResult.getId())
-                    .sessionId(event.getSessionId())
-                    .userId(event.getUserId())
-                    .examId(event.getExamId())
-                    .examTitle(event.getExamTitle())
-                    .totalQuestions(totalQuestions)
-                    .correctAnswers(correctCount)
-                    .wrongAnswers(wrongCount)
-                    .unanswered(unanswered)
-                    .score(BigDecimal.valueOf(correctCount))
-                    .percentage(percentage)
-                    .passStatus(passStatus)
-                    .passingScore(passingScore)
-                    .timeTakenSeconds(timeTakenSeconds)
-                    .completedAt(examResult.getCompletedAt())
-                    .topicPerformances(topicPerformanceDataList)
-                    .questionResults(questionResultDataList)
-                    .success(true)
-                    .build();
+            ExamResultResponse response = graded.toResponse();
+            examResultQueryService.cacheAfterCommit(List.of(response));
+            return response;
 
         } catch (Exception e) {
+            if (e instanceof RuntimeException re && RetryableFailures.isTransient(re)) {
+                // Rolled back by the interceptor; the listener moves the record to a retry tier
+                throw re;
+            }
             log.error("Failed to process completed exam for session {}", event.getSessionId(), e);
-            return ExamResultResponse.builder()
-                    .sessionId(event.getSessionId())
-                    .userId(event.getUserId())
-                    .examId(event.getExamId())
-                    .success(false)
-                    .errorMessage("Failed to calculate results: " + e.getMessage())
-                    .build();
+            // The failure is answered, not thrown, so discard any partial writes explicitly
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return failedResponse(event, e);
         }
     }
 
+    @Override
+    @Transactional
+    public List<ExamResultResponse> processCompletedExams(List<ExamCompletedEvent> events) {
+        log.debug("Processing batch of {} completed exams", events.size());
+        timeCommit();
+
+        // One idempotency query for the sessions the filter cannot rule out, instead of one per event
+        Set<Long> candidateSessionIds = events.stream()
+                .map(ExamCompletedEvent::getSessionId)
+                .filter(processedSessionFilter::mightBeProcessed)
+                .collect(Collectors.toSet());
+        Map<Long, ExamResult> existingBySession = new HashMap<>(
+                phaseTimer("lookup").record(() -> findBySessions(candidateSessionIds)));
+        candidateSessionIds.forEach(id -> processedSessionFilter.recordLookupOutcome(existingBySession.containsKey(id)));
+
+        // Grade every new session; a session redelivered within the same batch is graded once
+        Map<Long, GradedExam> gradedBySession = new LinkedHashMap<>();
+        phaseTimer("grade").record(() -> {
+            for (ExamCompletedEvent event : events) {
+                if (!existingBySession.containsKey(event.getSessionId())) {
+                    gradedBySession.computeIfAbsent(event.getSessionId(), id -> grade(event));
+                }
+            }
+        });
+
+        Timer.Sample insert = Timer.start(meterRegistry);
+        storeQuestionContents(gradedBySession.values());
+
+        List<ExamResult> newResults = examResultBatchRepository.insertExamResults(gradedBySession.values().stream()
+                .map(GradedExam::examResult)
+                .toList());
+        if (newResults.size() < gradedBySession.size()) {
+            // Sessions stored by another instance after this instance seeded its filter
+            Set<Long> conflicted = new HashSet<>(gradedBySession.keySet());
+            newResults.forEach(r -> conflicted.remove(r.getSessionId()));
+            conflicted.forEach(processedSessionFilter::recordInsertConflict);
+            gradedBySession.keySet().removeAll(conflicted);
+            existingBySession.putAll(findBySessions(conflicted));
+        }
+        newResults.forEach(r -> processedSessionFilter.markProcessed(r.getSessionId()));
+
+        List<TopicPerformance> newTopicPerformances = new ArrayList<>();
+        List<QuestionResult> newQuestionResults = new ArrayList<>();
+        for (GradedExam graded : gradedBySession.values()) {
+            newTopicPerformances.addAll(graded.topicPerformances());
+            newQuestionResults.addAll(graded.questionResults());
+        }
+        examResultBatchRepository.insertTopicPerformances(newTopicPerformances);
+        examResultBatchRepository.insertQuestionResults(newQuestionResults);
+        insert.stop(phaseTimer("insert"));
+        applyProjections(newResults);
+
+        log.info("Batch created {} ExamResults, {} TopicPerformances, {} QuestionResults ({} already existed)",
+                newResults.size(), newTopicPerformances.size(), newQuestionResults.size(), existingBySession.size());
+
+        examResultQueryService.cacheAfterCommit(gradedBySession.values().stream()
+                .map(GradedExam::toResponse)
+                .toList());
+
+        // One reply per input event, in input order
+        List<ExamResultResponse> responses = new ArrayList<>(events.size());
+        for (ExamCompletedEvent event : events) {
+            ExamResult existing = existingBySession.get(event.getSessionId());
+            GradedExam graded = gradedBySession.get(event.getSessionId());
+            if (existing != null) {
+                responses.add(examResultQueryService.getResponse(existing));
+            } else if (graded != null) {
+                responses.add(graded.toResponse());
+            } else {
+                // Claimed by a session whose month has been archived
+                responses.add(failedResponse(event, new IllegalStateException(
+                        "Result of session " + event.getSessionId() + " has been archived")));
+            }
+        }
+        return responses;
+    }
+
+    private Map<Long, ExamResult> findBySessions(Set<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return Map.of();
+        }
+        return examResultRepository.findBySessionIdIn(sessionIds).stream()
+                .collect(Collectors.toMap(ExamResult::getSessionId, r -> r, (a, b) -> a));
+    }
+
+    /**
+     * Calculate scores, topic performances and question results for an event without persisting anything.
+     */
+    private GradedExam grade(ExamCompletedEvent event) {
+        // Calculate score percentage
+        int totalQuestions = event.getTotalQuestions() != null ? event.getTotalQuestions() : 0;
+        int correctCount = event.getCorrectCount() != null ? event.getCorrectCount() : 0;
+        int wrongCount = event.getWrongCount() != null ? event.getWrongCount() : 0;
+        int unanswered = totalQuestions - (correctCount + wrongCount);
+
+        BigDecimal percentage = BigDecimal.ZERO;
+        if (totalQuestions > 0) {
+            percentage = BigDecimal.valueOf(correctCount)
+                    .multiply(BigDecimal.valueOf(100))
+                    .divide(BigDecimal.valueOf(totalQuestions), 2, RoundingMode.HALF_UP);
+        }
+
+        // Determine pass/fail status
+        int passingScore = event.getPassingScore() != null ? event.getPassingScore() : 70;
+        String passStatus = percentage.compareTo(BigDecimal.valueOf(passingScore)) >= 0 ? "PASSED" : "FAILED";
+
+        // Calculate time taken
+        Integer timeTakenSeconds = event.getTimeSpentSeconds();
+        if (timeTakenSeconds == null && event.getStartTime() != null && event.getEndTime() != null) {
+            timeTakenSeconds = (int) java.time.Duration.between(event.getStartTime(), event.getEndTime()).getSeconds();
+        }
+
+        // Rank against the attempts recorded so far; stored so later reads report the same rank
+        BigDecimal percentileRank = examPercentileService.getPercentileRank(event.getExamId(), percentage);
+
+        // Create ExamResult entity
+        ExamResult examResult = ExamResult.builder()
+                .sessionId(event.getSessionId())
+                .userId(event.getUserId())
+                .examId(event.getExamId())
+                .certificationId(event.getCertificationId())
+                .totalQuestions(totalQuestions)
+                .correctAnswers(correctCount)
+                .wrongAnswers(wrongCount)
+                .unanswered(unanswered)
+                .score(BigDecimal.valueOf(correctCount))
+                .percentage(percentage)
+                .passStatus(passStatus)
+                .percentileRank(percentileRank)
+                .timeTakenSeconds(timeTakenSeconds)
+                .completedAt(event.getEndTime() != null ? event.getEndTime() : LocalDateTime.now())
+                .build();
+
+        List<TopicPerformance> topicPerformances = new ArrayList<>();
+        List<ExamResultResponse.TopicPerformanceData> topicPerformanceDataList =
+                calculateTopicPerformances(examResult, event.getAnswers(), topicPerformances);
+
+        List<QuestionResult> questionResults = new ArrayList<>();
+        List<ExamResultResponse.QuestionResultData> questionResultDataList =
+                createQuestionResults(examResult, event.getAnswers(), questionResults);
+
+        // Attach children so projections can read them from the result alone
+        examResult.setTopicPerformances(topicPerformances);
+        examResult.setQuestionResults(questionResults);
+
+        List<QuestionContent> questionContents = event.getAnswers() == null ? List.of() : event.getAnswers().stream()
+                .map(a -> new QuestionContent(a.getQuestionId(), a.getQuestionText(), a.getExplanation(),
+                        a.getReference()))
+                .toList();
+
+        ExamResultResponse response = ExamResultResponse.builder()
+                .sessionId(event.getSessionId())
+                .userId(event.getUserId())
+                .examId(event.getExamId())
+                .examTitle(event.getExamTitle())
+                .totalQuestions(totalQuestions)
+                .correctAnswers(correctCount)
+                .wrongAnswers(wrongCount)
+                .unanswered(unanswered)
+                .score(BigDecimal.valueOf(correctCount))
+                .percentage(percentage)
+                .percentileRank(percentileRank)
+                .passStatus(passStatus)
+                .passingScore(passingScore)
+                .timeTakenSeconds(timeTakenSeconds)
+                .completedAt(examResult.getCompletedAt())
+                .topicPerformances(topicPerformanceDataList)
+                .questionResults(questionResultDataList)
+                .success(true)
+                .build();
+
+        return new GradedExam(examResult, topicPerformances, questionResults, questionContents, response);
+    }
+
     /**
-     * Calculate topic-wise performance and save TopicPerformance records.
+     * Calculate topic-wise performance, collecting TopicPerformance entities into {@code entities}.
      */
-    private List<ExamResultResponse.TopicPerformanceData> calculateAndSaveTopicPerformances(
-            ExamResult examResult, List<ExamCompletedEvent.UserAnswerData> answers) {
+    private List<ExamResultResponse.TopicPerformanceData> calculateTopicPerformances(
+            ExamResult examResult, List<ExamCompletedEvent.UserAnswerData> answers,
+            List<TopicPerformance> entities) {
 
         if (answers == null || answers.isEmpty()) {
             return new ArrayList<>();
@@ -171,17 +340,15 @@ public class ExamResultServiceImpl implements ExamResultService {
             // Get topic name from first answer
             String topicName = topicAnswers.get(0).getTopicName();
 
-            // Create and save TopicPerformance entity
-            TopicPerformance topicPerformance = TopicPerformance.builder()
+            entities.add(TopicPerformance.builder()
                     .examResult(examResult)
                     .topicId(topicId)
                     .topicName(topicName)
                     .totalQuestions(totalInTopic)
                     .correctAnswers(correctInTopic)
                     .percentage(topicPercentage)
-                    .build();
-
-            topicPerformanceRepository.save(topicPerformance);
+                    .completedAt(examResult.getCompletedAt())
+                    .build());
 
             // Add to response list
             topicPerformanceDataList.add(ExamResultResponse.TopicPerformanceData.builder()
@@ -193,15 +360,15 @@ public class ExamResultServiceImpl implements ExamResultService {
                     .build());
         }
 
-        log.debug("Created {} TopicPerformance records for result {}", topicPerformanceDataList.size(), examResult.getId());
         return topicPerformanceDataList;
     }
 
     /**
-     * Create QuestionResult records for each answer.
+     * Create a QuestionResult for each answer, collecting the entities into {@code entities}.
      */
-    private List<ExamResultResponse.QuestionResultData> createAndSaveQuestionResults(
-            ExamResult examResult, List<ExamCompletedEvent.UserAnswerData> answers) {
+    private List<ExamResultResponse.QuestionResultData> createQuestionResults(
+            ExamResult examResult, List<ExamCompletedEvent.UserAnswerData> answers,
+            List<QuestionResult> entities) {
 
         if (answers == null || answers.isEmpty()) {
             return new ArrayList<>();
@@ -210,17 +377,15 @@ public class ExamResultServiceImpl implements ExamResultService {
         List<ExamResultResponse.QuestionResultData> questionResultDataList = new ArrayList<>();
 
         for (ExamCompletedEvent.UserAnswerData answer : answers) {
-            // Create and save QuestionResult entity
-            QuestionResult questionResult = QuestionResult.builder()
+            entities.add(QuestionResult.builder()
                     .examResult(examResult)
                     .questionId(answer.getQuestionId())
                     .userAnswerIds(answer.getSelectedOptionIds())
                     .correctAnswerIds(answer.getCorrectOptionIds())
                     .isCorrect(answer.getIsCorrect())
                     .timeSpentSeconds(answer.getTimeSpentSeconds())
-                    .build();
-
-            questionResultRepository.save(questionResult);
+                    .completedAt(examResult.getCompletedAt())
+                    .build());
 
             // Add to response list - include explanation and reference for incorrect answers
             ExamResultResponse.QuestionResultData.QuestionResultDataBuilder dataBuilder =
@@ -239,55 +404,99 @@ public class ExamResultServiceImpl implements ExamResultService {
             questionResultDataList.add(dataBuilder.build());
         }
 
-        log.debug("Created {} QuestionResult records for result {}", questionResultDataList.size(), examResult.getId());
         return questionResultDataList;
     }
 
     /**
-     * Build response from existing ExamResult (for idempotency).
+     * Store the question text, explanation and reference of the graded exams (once per distinct
+     * content) and point each result at its contents, so they survive eviction from the cache.
      */
-    private ExamResultResponse buildResponseFromExistingResult(ExamResult examResult) {
-        // Load topic performances
-        List<TopicPerformance> topicPerformances = topicPerformanceRepository.findByExamResultId(examResult.getId());
-        List<ExamResultResponse.TopicPerformanceData> topicPerformanceDataList = topicPerformances.stream()
-                .map(tp -> ExamResultResponse.TopicPerformanceData.builder()
-                        .topicId(tp.getTopicId())
-                        .topicName(tp.getTopicName())
-                        .totalQuestions(tp.getTotalQuestions())
-                        .correctAnswers(tp.getCorrectAnswers())
-                        .percentage(tp.getPercentage())
-                        .build())
-                .collect(Collectors.toList());
-
-        // Load question results
-        List<QuestionResult> questionResults = questionResultRepository.findByExamResultId(examResult.getId());
-        List<ExamResultResponse.QuestionResultData> questionResultDataList = questionResults.stream()
-                .map(qr -> ExamResultResponse.QuestionResultData.builder()
-                        .questionId(qr.getQuestionId())
-                        .userAnswerIds(qr.getUserAnswerIds())
-                        .correctAnswerIds(qr.getCorrectAnswerIds())
-                        .isCorrect(qr.getIsCorrect())
-                        .timeSpentSeconds(qr.getTimeSpentSeconds())
-                        .build())
-                .collect(Collectors.toList());
+    private void storeQuestionContents(Collection<GradedExam> gradedExams) {
+        List<QuestionContent> contents = gradedExams.stream()
+                .flatMap(graded -> graded.questionContents().stream())
+                .toList();
+        if (contents.isEmpty()) {
+            return;
+        }
+        Iterator<Long> ids = questionContentRepository.resolveIds(contents).iterator();
+        for (GradedExam graded : gradedExams) {
+            List<Long> resultContentIds = new ArrayList<>(graded.questionContents().size());
+            for (int i = 0; i < graded.questionContents().size(); i++) {
+                resultContentIds.add(ids.next());
+            }
+            graded.examResult().setQuestionContentIds(resultContentIds.stream()
+                    .filter(Objects::nonNull)
+                    .toArray(Long[]::new));
+        }
+    }
+
+    /**
+     * Update every read model derived from exam results, in the current transaction.
+     */
+    private void applyProjections(List<ExamResult> newResults) {
+        if (newResults.isEmpty()) {
+            return;
+        }
+        phaseTimer("projections").record(() -> {
+            for (ResultProjection projection : resultProjections) {
+                meterRegistry.timer("result.processing.projection",
+                                "projection", AopUtils.getTargetClass(projection).getSimpleName())
+                        .record(() -> projection.applyResults(newResults));
+            }
+        });
+    }
+
+    private Timer phaseTimer(String phase) {
+        return meterRegistry.timer("result.processing.phase", "phase", phase);
+    }
 
+    /**
+     * Time the commit of the current transaction: from the start of commit to its completion.
+     */
+    private void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartNanos;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && commitStartNanos != 0) {
+                    phaseTimer("commit").record(System.nanoTime() - commitStartNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    private ExamResultResponse failedResponse(ExamCompletedEvent event, Exception e) {
         return ExamResultResponse.builder()
-                .resultId(examResult.getId())
-                .sessionId(examResult.getSessionId())
-                .userId(examResult.getUserId())
-                .examId(examResult.getExamId())
-                .totalQuestions(examResult.getTotalQuestions())
-                .correctAnswers(examResult.getCorrectAnswers())
-                .wrongAnswers(examResult.getWrongAnswers())
-                .unanswered(examResult.getUnanswered())
-                .score(examResult.getScore())
-                .percentage(examResult.getPercentage())
-                .passStatus(examResult.getPassStatus())
-                .timeTakenSeconds(examResult.getTimeTakenSeconds())
-                .completedAt(examResult.getCompletedAt())
-                .topicPerformances(topicPerformanceDataList)
-                .questionResults(questionResultDataList)
-                .success(true)
+                .sessionId(event.getSessionId())
+                .userId(event.getUserId())
+                .examId(event.getExamId())
+                .success(false)
+                .errorMessage("Failed to calculate results: " + e.getMessage())
                 .build();
     }
+
+    /**
+     * Graded but not necessarily persisted exam: entities to write plus the reply to send.
+     * The reply's resultId is read from the entity so it reflects the ID assigned on insert.
+     */
+    private record GradedExam(ExamResult examResult,
+                              List<TopicPerformance> topicPerformances,
+                              List<QuestionResult> questionResults,
+                              List<QuestionContent> questionContents,
+                              ExamResultResponse response) {
+
+        ExamResultResponse toResponse() {
+            response.setResultId(examResult.getId());
+            return response;
+        }
+    }
 }
@@ -0,0 +1,305 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.dto.response.DistributionBinResponse;
+import com.certimaster.result_service.dto.response.ExamStatsResponse;
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.repository.ExamStatsBucketRepository;
+import com.certimaster.result_service.repository.ExamStatsBucketRepository.BucketDelta;
+import com.certimaster.result_service.repository.ExamStatsBucketRepository.StoredBucket;
+import com.certimaster.result_service.repository.ResultProjectionQueueRepository;
+import com.certimaster.result_service.repository.ResultProjectionQueueRepository.Projection;
+import com.certimaster.result_service.service.ExamStatsService;
+import com.certimaster.result_service.service.PartitionMaintenanceService;
+import com.certimaster.result_service.stats.ExamWindowStats;
+import com.certimaster.result_service.stats.ExamWindowStats.Granularity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+/**
+ * Implementation of ExamStatsService.
+ * Every result is queued in result_projection_queue by the transaction that inserts it; every
+ * {@code result.exam-stats.flush-interval-ms} the queued results are claimed, added to the
+ * hourly and the daily bucket of their exam and merged as one sorted batch, in the transaction
+ * that deletes them from the queue. An exam taken by many users at once is therefore not a
+ * per-result write hot spot, and a crash or failed flush leaves the deltas queued for the next
+ * flush of any instance. Reads see results once they are flushed.
+ * <p>
+ * A range query reads the daily buckets it fully covers and the hourly buckets at its edges.
+ * Hourly buckets are kept for {@code result.exam-stats.hour-retention-days} days; before that,
+ * ranges are widened to whole days.
+ */
+@Slf4j
+@Service
+public class ExamStatsServiceImpl implements ExamStatsService {
+
+    private static final int MAX_SERIES_BUCKETS = 1000;
+    private static final int FLUSH_BATCH_SIZE = 5000;
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparing(BucketKey::granularity)
+            .thenComparingLong(BucketKey::examId)
+            .thenComparing(BucketKey::bucketStart);
+
+    private final ExamStatsBucketRepository examStatsBucketRepository;
+    private final ResultProjectionQueueRepository resultProjectionQueueRepository;
+    private final PartitionMaintenanceService partitionMaintenanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final int hourRetentionDays;
+
+    public ExamStatsServiceImpl(ExamStatsBucketRepository examStatsBucketRepository,
+                                ResultProjectionQueueRepository resultProjectionQueueRepository,
+                                PartitionMaintenanceService partitionMaintenanceService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${result.exam-stats.hour-retention-days:35}") int hourRetentionDays) {
+        this.examStatsBucketRepository = examStatsBucketRepository;
+        this.resultProjectionQueueRepository = resultProjectionQueueRepository;
+        this.partitionMaintenanceService = partitionMaintenanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.hourRetentionDays = Math.max(1, hourRetentionDays);
+    }
+
+    @Override
+    public void applyResults(Collection<ExamResult> results) {
+        // Committed, and merged, together with the results
+        resultProjectionQueueRepository.enqueue(Projection.EXAM_STATS, results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExamStatsResponse getStats(Long certificationId, Long examId, LocalDateTime from, LocalDateTime to) {
+        validate(certificationId, examId, from, to);
+
+        LocalDateTime hoursFrom = hoursFrom();
+        LocalDateTime start = Granularity.HOUR.bucketOf(from);
+        LocalDateTime end = Granularity.HOUR.ceil(to);
+        if (start.isBefore(hoursFrom)) {
+            start = Granularity.DAY.bucketOf(start);
+        }
+        if (end.isBefore(hoursFrom)) {
+            end = Granularity.DAY.ceil(end);
+        }
+
+        ExamWindowStats total = new ExamWindowStats();
+        LocalDateTime dayStart = Granularity.DAY.ceil(start);
+        LocalDateTime dayEnd = Granularity.DAY.bucketOf(end);
+        if (dayStart.isBefore(dayEnd)) {
+            merge(total, find(Granularity.HOUR, certificationId, examId, start, dayStart));
+            merge(total, find(Granularity.DAY, certificationId, examId, dayStart, dayEnd));
+            merge(total, find(Granularity.HOUR, certificationId, examId, dayEnd, end));
+        } else {
+            merge(total, find(Granularity.HOUR, certificationId, examId, start, end));
+        }
+        return toResponse(certificationId, examId, start, end, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExamStatsResponse> getSeries(Long certificationId, Long examId, LocalDateTime from,
+                                             LocalDateTime to, Granularity granularity) {
+        validate(certificationId, examId, from, to);
+
+        LocalDateTime start = granularity.bucketOf(from);
+        LocalDateTime end = granularity.ceil(to);
+        long buckets = granularity == Granularity.HOUR
+                ? ChronoUnit.HOURS.between(start, end)
+                : ChronoUnit.DAYS.between(start, end);
+        if (buckets > MAX_SERIES_BUCKETS) {
+            throw new IllegalArgumentException("Range spans " + buckets + " buckets; at most "
+                    + MAX_SERIES_BUCKETS + " are returned");
+        }
+        if (granularity == Granularity.HOUR && start.isBefore(hoursFrom())) {
+            throw new IllegalArgumentException("Hourly statistics are kept for " + hourRetentionDays
+                    + " days; use DAY granularity for earlier ranges");
+        }
+
+        Map<LocalDateTime, ExamWindowStats> series = new TreeMap<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            series.put(bucket, new ExamWindowStats());
+        }
+        for (StoredBucket stored : find(granularity, certificationId, examId, start, end)) {
+            series.get(stored.bucketStart()).merge(stored.stats());
+        }
+
+        List<ExamStatsResponse> responses = new ArrayList<>(series.size());
+        series.forEach((bucketStart, stats) -> responses.add(
+                toResponse(certificationId, examId, bucketStart, granularity.next(bucketStart), stats)));
+        return responses;
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${result.exam-stats.flush-interval-ms:10000}",
+            fixedDelayString = "${result.exam-stats.flush-interval-ms:10000}")
+    public void flush() {
+        int claimed;
+        do {
+            try {
+                claimed = transactionTemplate.execute(status -> flushBatch());
+            } catch (RuntimeException e) {
+                log.error("Failed to flush exam statistics; the results stay queued for the next flush", e);
+                return;
+            }
+        } while (claimed == FLUSH_BATCH_SIZE);
+    }
+
+    @Override
+    @Scheduled(cron = "${result.exam-stats.purge-cron:0 45 3 * * *}")
+    public int purgeExpiredHours() {
+        LocalDateTime cutoff = hoursFrom();
+        int deleted = transactionTemplate.execute(status -> examStatsBucketRepository.deleteHoursBefore(cutoff));
+        log.info("Purged {} hourly exam statistics buckets before {}", deleted, cutoff);
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        // Buckets of archived months cannot be recomputed and are kept as they are
+        SortedSet<YearMonth> archived = partitionMaintenanceService.findArchivedMonths();
+        LocalDateTime from = archived.isEmpty() ? LocalDateTime.of(1, 1, 1, 0, 0)
+                : archived.last().plusMonths(1).atDay(1).atStartOfDay();
+        // First, so a concurrent flush skips the rows instead of holding bucket locks
+        resultProjectionQueueRepository.deleteFrom(Projection.EXAM_STATS, from);
+        int rows = examStatsBucketRepository.rebuildFromResults(from, hoursFrom());
+        log.info("Rebuilt {} exam statistics buckets from exam results since {}", rows, from);
+        return rows;
+    }
+
+    /**
+     * Start of the oldest hourly bucket kept.
+     */
+    private LocalDateTime hoursFrom() {
+        return Granularity.DAY.bucketOf(LocalDateTime.now()).minusDays(hourRetentionDays);
+    }
+
+    private static void validate(Long certificationId, Long examId, LocalDateTime from, LocalDateTime to) {
+        if (certificationId == null && examId == null) {
+            throw new IllegalArgumentException("Either 'certificationId' or 'examId' is required");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+    }
+
+    private List<StoredBucket> find(Granularity granularity, Long certificationId, Long examId,
+                                    LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        return examId != null
+                ? examStatsBucketRepository.findByExam(granularity, examId, from, to)
+                : examStatsBucketRepository.findByCertification(granularity, certificationId, from, to);
+    }
+
+    private static void merge(ExamWindowStats total, List<StoredBucket> buckets) {
+        for (StoredBucket bucket : buckets) {
+            total.merge(bucket.stats());
+        }
+    }
+
+    /**
+     * Claim one batch of queued results and merge their bucket deltas.
+     *
+     * @return number of results claimed
+     */
+    private int flushBatch() {
+        List<ExamResult> results = resultProjectionQueueRepository.claimResults(Projection.EXAM_STATS,
+                FLUSH_BATCH_SIZE);
+        Map<BucketKey, PendingBucket> pending = new HashMap<>();
+        for (ExamResult result : results) {
+            boolean passed = "PASSED".equals(result.getPassStatus());
+            for (Granularity granularity : Granularity.values()) {
+                BucketKey key = new BucketKey(granularity, result.getExamId(),
+                        granularity.bucketOf(result.getCompletedAt()));
+                pending.computeIfAbsent(key, k -> new PendingBucket(result.getCertificationId(),
+                                new ExamWindowStats()))
+                        .stats().add(passed, result.getPercentage(), result.getTimeTakenSeconds());
+            }
+        }
+
+        // Sorted so concurrent flushes from several instances lock rows in the same order
+        List<BucketDelta> deltas = pending.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .map(e -> new BucketDelta(e.getKey().granularity(), e.getKey().examId(), e.getKey().bucketStart(),
+                        e.getValue().certificationId(), e.getValue().stats()))
+                .toList();
+        examStatsBucketRepository.applyDeltas(deltas);
+        if (!results.isEmpty()) {
+            log.debug("Flushed {} results into {} exam statistics buckets", results.size(), deltas.size());
+        }
+        return results.size();
+    }
+
+    private static ExamStatsResponse toResponse(Long certificationId, Long examId, LocalDateTime from,
+                                                LocalDateTime to, ExamWindowStats stats) {
+        long count = stats.resultCount();
+        return ExamStatsResponse.builder()
+                .certificationId(certificationId)
+                .examId(examId)
+                .from(from)
+                .to(to)
+                .resultCount(count)
+                .passCount(stats.passCount())
+                .passRate(count == 0 ? null
+                        : BigDecimal.valueOf(stats.passCount()).divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP))
+                .averagePercentage(count == 0 ? null
+                        : stats.percentageSum().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP))
+                .averageTimeSeconds(stats.timeCount() == 0 ? null
+                        : BigDecimal.valueOf(stats.timeSum())
+                                .divide(BigDecimal.valueOf(stats.timeCount()), 2, RoundingMode.HALF_UP))
+                .scoreDistribution(scoreBins(stats.scoreHistogram()))
+                .timeDistribution(timeBins(stats.timeHistogram()))
+                .build();
+    }
+
+    private static List<DistributionBinResponse> scoreBins(long[] counts) {
+        List<DistributionBinResponse> bins = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            bins.add(DistributionBinResponse.builder()
+                    .lower(i * ExamWindowStats.SCORE_BUCKET_WIDTH)
+                    .upper((i + 1) * ExamWindowStats.SCORE_BUCKET_WIDTH)
+                    .count(counts[i])
+                    .build());
+        }
+        return bins;
+    }
+
+    private static List<DistributionBinResponse> timeBins(long[] counts) {
+        int[] bounds = ExamWindowStats.TIME_BUCKET_BOUNDS_SECONDS;
+        List<DistributionBinResponse> bins = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            bins.add(DistributionBinResponse.builder()
+                    .lower(i == 0 ? 0 : bounds[i - 1])
+                    .upper(i < bounds.length ? bounds[i] : null)
+                    .count(counts[i])
+                    .build());
+        }
+        return bins;
+    }
+
+    private record BucketKey(Granularity granularity, long examId, LocalDateTime bucketStart) {
+    }
+
+    /**
+     * Delta of one bucket in a flush batch.
+     */
+    private record PendingBucket(long certificationId, ExamWindowStats stats) {
+    }
+}
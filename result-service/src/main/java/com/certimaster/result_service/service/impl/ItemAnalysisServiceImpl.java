@@ -0,0 +1,228 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.coldstore.QuestionResultBlock;
+import com.certimaster.result_service.dto.response.ItemAnalysisResponse;
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.entity.QuestionItemStats;
+import com.certimaster.result_service.repository.QuestionItemStatsBatchRepository;
+import com.certimaster.result_service.repository.QuestionItemStatsBatchRepository.ItemDelta;
+import com.certimaster.result_service.repository.QuestionItemStatsRepository;
+import com.certimaster.result_service.repository.ResultProjectionQueueRepository;
+import com.certimaster.result_service.repository.ResultProjectionQueueRepository.ClaimedAnswer;
+import com.certimaster.result_service.repository.ResultProjectionQueueRepository.Projection;
+import com.certimaster.result_service.service.ColdStorageService;
+import com.certimaster.result_service.service.ItemAnalysisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of ItemAnalysisService.
+ * Every result is queued in result_projection_queue by the transaction that inserts it; every
+ * {@code result.item-analysis.flush-interval-ms} the queued results are claimed, their answers
+ * folded into per-question running sums and written as one sorted batch, in the transaction
+ * that deletes them from the queue. A crash or failed flush leaves the results queued for the
+ * next flush of any instance. A rebuild adds the packed answers of cold months to the sums
+ * recomputed from question_results.
+ */
+@Slf4j
+@Service
+public class ItemAnalysisServiceImpl implements ItemAnalysisService {
+
+    private static final int MAX_LIMIT = 200;
+    // Results per flush transaction; each brings all of its answers
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final BigDecimal TOO_EASY_THRESHOLD = new BigDecimal("0.90");
+    private static final BigDecimal TOO_HARD_THRESHOLD = new BigDecimal("0.20");
+    private static final BigDecimal POOR_DISCRIMINATION_THRESHOLD = new BigDecimal("0.10");
+
+    private final QuestionItemStatsRepository questionItemStatsRepository;
+    private final QuestionItemStatsBatchRepository questionItemStatsBatchRepository;
+    private final ResultProjectionQueueRepository resultProjectionQueueRepository;
+    private final ColdStorageService coldStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ItemAnalysisServiceImpl(QuestionItemStatsRepository questionItemStatsRepository,
+                                   QuestionItemStatsBatchRepository questionItemStatsBatchRepository,
+                                   ResultProjectionQueueRepository resultProjectionQueueRepository,
+                                   ColdStorageService coldStorageService,
+                                   PlatformTransactionManager transactionManager) {
+        this.questionItemStatsRepository = questionItemStatsRepository;
+        this.questionItemStatsBatchRepository = questionItemStatsBatchRepository;
+        this.resultProjectionQueueRepository = resultProjectionQueueRepository;
+        this.coldStorageService = coldStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void applyResults(Collection<ExamResult> results) {
+        // Committed, and merged, together with the results
+        resultProjectionQueueRepository.enqueue(Projection.ITEM_ANALYSIS, results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ItemAnalysisResponse> getItemAnalysis(Long questionId) {
+        return questionItemStatsRepository.findByQuestionId(questionId).map(this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemAnalysisResponse> findItems(ItemFlag flag, long minAttempts, int limit) {
+        Limit size = Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<QuestionItemStats> rows = flag == null
+                ? questionItemStatsRepository.findByAttemptCountGreaterThanEqualOrderByAttemptCountDesc(
+                        minAttempts, size)
+                : switch (flag) {
+                    case TOO_EASY -> questionItemStatsRepository
+                            .findByAttemptCountGreaterThanEqualAndDifficultyGreaterThanEqualOrderByDifficultyDesc(
+                                    minAttempts, TOO_EASY_THRESHOLD, size);
+                    case TOO_HARD -> questionItemStatsRepository
+                            .findByAttemptCountGreaterThanEqualAndDifficultyLessThanEqualOrderByDifficultyAsc(
+                                    minAttempts, TOO_HARD_THRESHOLD, size);
+                    case POOR_DISCRIMINATION -> questionItemStatsRepository
+                            .findByAttemptCountGreaterThanEqualAndDiscriminationLessThanOrderByDiscriminationAsc(
+                                    minAttempts, POOR_DISCRIMINATION_THRESHOLD, size);
+                };
+        return rows.stream().map(this::toResponse).toList();
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${result.item-analysis.flush-interval-ms:60000}",
+            fixedDelayString = "${result.item-analysis.flush-interval-ms:60000}")
+    public void flush() {
+        int claimed;
+        do {
+            try {
+                claimed = transactionTemplate.execute(status -> flushBatch());
+            } catch (RuntimeException e) {
+                log.error("Failed to flush item statistics; the results stay queued for the next flush", e);
+                return;
+            }
+        } while (claimed == FLUSH_BATCH_SIZE);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        // First, so a concurrent flush skips the rows instead of holding question locks
+        resultProjectionQueueRepository.deleteFrom(Projection.ITEM_ANALYSIS, LocalDateTime.of(1, 1, 1, 0, 0));
+        int rows = questionItemStatsBatchRepository.rebuildFromResults();
+
+        Map<Long, ItemAccumulator> packed = new HashMap<>();
+        long packedAnswers = coldStorageService.scanAnswers(
+                (userId, completedAt, percentage, questionId, correct, timeSpentSeconds) ->
+                        packed.computeIfAbsent(questionId, k -> new ItemAccumulator())
+                                .add(correct, timeSpentSeconds, percentage));
+        questionItemStatsBatchRepository.applyDeltas(toDeltas(packed));
+
+        int total = (int) questionItemStatsRepository.count();
+        log.info("Rebuilt {} question item statistics rows from exam results ({} from question results, "
+                + "{} packed answers)", total, rows, packedAnswers);
+        return total;
+    }
+
+    /**
+     * Sorted so concurrent flushes from several instances lock rows in the same order.
+     */
+    private static List<ItemDelta> toDeltas(Map<Long, ItemAccumulator> sums) {
+        return sums.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getValue().toDelta(e.getKey()))
+                .toList();
+    }
+
+    /**
+     * Claim one batch of queued results and merge the running sums of their answers.
+     *
+     * @return number of results claimed
+     */
+    private int flushBatch() {
+        List<ClaimedAnswer> answers = resultProjectionQueueRepository.claimAnswers(Projection.ITEM_ANALYSIS,
+                FLUSH_BATCH_SIZE);
+        Map<Long, ItemAccumulator> sums = new HashMap<>();
+        Set<Long> claimed = new HashSet<>();
+        Set<Long> unavailable = new HashSet<>();
+        for (ClaimedAnswer answer : answers) {
+            claimed.add(answer.resultId());
+            if (answer.questionId() == null || answer.percentage() == null) {
+                unavailable.add(answer.resultId());
+                continue;
+            }
+            sums.computeIfAbsent(answer.questionId(), k -> new ItemAccumulator())
+                    .add(answer.correct(),
+                            answer.timeSpentSeconds() == null ? QuestionResultBlock.NO_TIME : answer.timeSpentSeconds(),
+                            answer.percentage().doubleValue());
+        }
+        if (!unavailable.isEmpty()) {
+            // Packed or archived while queued; counted again by --rebuild-item-analysis
+            log.warn("Skipped {} queued results whose question results are no longer stored: {}",
+                    unavailable.size(), unavailable);
+        }
+
+        List<ItemDelta> deltas = toDeltas(sums);
+        questionItemStatsBatchRepository.applyDeltas(deltas);
+        if (!claimed.isEmpty()) {
+            log.debug("Flushed {} results into item statistics of {} questions", claimed.size(), deltas.size());
+        }
+        return claimed.size();
+    }
+
+    private ItemAnalysisResponse toResponse(QuestionItemStats row) {
+        return ItemAnalysisResponse.builder()
+                .questionId(row.getQuestionId())
+                .attempts(row.getAttemptCount())
+                .correctCount(row.getCorrectCount())
+                .difficulty(row.getDifficulty())
+                .meanTimeSeconds(row.getMeanTimeSeconds())
+                .discrimination(row.getDiscrimination())
+                .build();
+    }
+
+    /**
+     * Running sums for one question in a flush batch or rebuild.
+     */
+    private static final class ItemAccumulator {
+        private long attemptCount;
+        private long correctCount;
+        private long timeCount;
+        private long timeSum;
+        private double scoreSum;
+        private double scoreSqSum;
+        private double correctScoreSum;
+
+        void add(Boolean correct, int timeSpentSeconds, double score) {
+            attemptCount++;
+            scoreSum += score;
+            scoreSqSum += score * score;
+            if (Boolean.TRUE.equals(correct)) {
+                correctCount++;
+                correctScoreSum += score;
+            }
+            if (timeSpentSeconds != QuestionResultBlock.NO_TIME) {
+                timeCount++;
+                timeSum += timeSpentSeconds;
+            }
+        }
+
+        ItemDelta toDelta(Long questionId) {
+            return new ItemDelta(questionId, attemptCount, correctCount, timeCount, timeSum,
+                    scoreSum, scoreSqSum, correctScoreSum);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.dto.response.LeaderboardEntryResponse;
+import com.certimaster.result_service.dto.response.LeaderboardResponse;
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.leaderboard.CertificationLeaderboard;
+import com.certimaster.result_service.leaderboard.RankedSkipList;
+import com.certimaster.result_service.repository.UserProgressRepository;
+import com.certimaster.result_service.service.LeaderboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of LeaderboardService.
+ * Each certification has a {@link CertificationLeaderboard} (indexable skip list), so
+ * top-K is O(log n + k) and a user's rank is O(log n) without touching the database.
+ * <p>
+ * Boards are loaded from user_progress at startup (streamed, never held as a list). Each
+ * instance only consumes its share of partitions, so on a fixed delay the rows updated since
+ * the last resync, with {@code result.leaderboard.resync-overlap-ms} of overlap for
+ * transactions still running then and clock skew, are offered to the boards to pick up results
+ * processed elsewhere. Offers only ever raise a best score, so seeing a row twice is harmless.
+ * Results committed while a full rebuild streams are replayed into the new boards before they
+ * are swapped in.
+ */
+@Slf4j
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final UserProgressRepository userProgressRepository;
+    private final long resyncOverlapMillis;
+
+    private final Object boardsLock = new Object();
+    private volatile Map<Long, CertificationLeaderboard> boards = new ConcurrentHashMap<>();
+    // Guarded by boardsLock; non-null while a full rebuild streams
+    private List<ExamResult> offeredDuringRebuild;
+    // Start of the last rebuild or resync; null before the first rebuild
+    private volatile LocalDateTime resyncedFrom;
+
+    public LeaderboardServiceImpl(UserProgressRepository userProgressRepository,
+                                  @Value("${result.leaderboard.resync-overlap-ms:60000}") long resyncOverlapMillis) {
+        this.userProgressRepository = userProgressRepository;
+        this.resyncOverlapMillis = resyncOverlapMillis;
+    }
+
+    @Override
+    public void applyResults(Collection<ExamResult> results) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only committed results may move anyone on the board
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offerAll(results);
+                }
+            });
+        } else {
+            offerAll(results);
+        }
+    }
+
+    @Override
+    public LeaderboardResponse getTop(Long certificationId, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        CertificationLeaderboard board = boards.get(certificationId);
+        if (board == null) {
+            return LeaderboardResponse.builder()
+                    .certificationId(certificationId)
+                    .totalUsers(0)
+                    .entries(List.of())
+                    .build();
+        }
+
+        int totalUsers = board.size();
+        List<LeaderboardEntryResponse> entries = board.top(k).stream()
+                .map(entry -> toResponse(entry, totalUsers))
+                .toList();
+
+        return LeaderboardResponse.builder()
+                .certificationId(certificationId)
+                .totalUsers(totalUsers)
+                .entries(entries)
+                .build();
+    }
+
+    @Override
+    public Optional<LeaderboardEntryResponse> getUserRank(Long certificationId, Long userId) {
+        CertificationLeaderboard board = boards.get(certificationId);
+        if (board == null) {
+            return Optional.empty();
+        }
+        int totalUsers = board.size();
+        return board.entryOf(userId).map(entry -> toResponse(entry, totalUsers));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        synchronized (boardsLock) {
+            offeredDuringRebuild = new ArrayList<>();
+        }
+
+        Map<Long, CertificationLeaderboard> rebuilt = new ConcurrentHashMap<>();
+        try {
+            try (Stream<Object[]> rows = userProgressRepository.streamAllBestScores()) {
+                rows.forEach(row -> offer(rebuilt, row));
+            }
+            synchronized (boardsLock) {
+                offerAll(rebuilt, offeredDuringRebuild);
+                boards = rebuilt;
+            }
+        } finally {
+            synchronized (boardsLock) {
+                offeredDuringRebuild = null;
+            }
+        }
+
+        resyncedFrom = startedAt;
+        log.info("Rebuilt {} certification leaderboards in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelayString = "${result.leaderboard.resync-interval-ms:300000}",
+            fixedDelayString = "${result.leaderboard.resync-interval-ms:300000}")
+    public void resync() {
+        LocalDateTime since = resyncedFrom;
+        if (since == null) {
+            // Startup rebuild not finished yet
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<Long, CertificationLeaderboard> current = boards;
+        long[] offered = {0};
+        try (Stream<Object[]> rows = userProgressRepository.streamBestScoresUpdatedSince(
+                since.minus(Duration.ofMillis(resyncOverlapMillis)))) {
+            rows.forEach(row -> {
+                offer(current, row);
+                offered[0]++;
+            });
+        }
+        resyncedFrom = startedAt;
+        log.debug("Resynced leaderboards with {} progress rows updated since {}", offered[0], since);
+    }
+
+    private void offerAll(Collection<ExamResult> results) {
+        synchronized (boardsLock) {
+            offerAll(boards, results);
+            if (offeredDuringRebuild != null) {
+                offeredDuringRebuild.addAll(results);
+            }
+        }
+    }
+
+    private static void offerAll(Map<Long, CertificationLeaderboard> target, Collection<ExamResult> results) {
+        for (ExamResult result : results) {
+            target.computeIfAbsent(result.getCertificationId(), id -> new CertificationLeaderboard())
+                    .offer(result.getUserId(), toHundredths(result.getPercentage()));
+        }
+    }
+
+    /**
+     * Offer a (certificationId, userId, bestScore) row.
+     */
+    private static void offer(Map<Long, CertificationLeaderboard> target, Object[] row) {
+        Long certificationId = (Long) row[0];
+        Long userId = (Long) row[1];
+        BigDecimal bestScore = (BigDecimal) row[2];
+        target.computeIfAbsent(certificationId, id -> new CertificationLeaderboard())
+                .offer(userId, toHundredths(bestScore));
+    }
+
+    private static long toHundredths(BigDecimal percentage) {
+        return percentage.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static LeaderboardEntryResponse toResponse(RankedSkipList.Entry entry, int totalUsers) {
+        return LeaderboardEntryResponse.builder()
+                .rank(entry.rank())
+                .userId(entry.userId())
+                .bestScore(BigDecimal.valueOf(entry.score(), 2))
+                .totalUsers(totalUsers)
+                .build();
+    }
+}
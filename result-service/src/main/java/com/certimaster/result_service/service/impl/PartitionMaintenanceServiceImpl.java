@@ -0,0 +1,112 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.repository.ResultPartitionRepository;
+import com.certimaster.result_service.repository.ResultPartitionRepository.ArchivedPartition;
+import com.certimaster.result_service.service.PartitionMaintenanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Implementation of PartitionMaintenanceService.
+ * Partitions for the next {@code result.partition.months-ahead} months are created on
+ * startup and daily. Archival keeps {@code result.partition.retention-months} full months
+ * plus the current one in the database and runs daily when
+ * {@code result.partition.archive.enabled} is set; the resulting files go to
+ * {@code result.partition.archive.dir}. Session claims in exam_result_sessions are kept, so a
+ * replayed event of an archived session is still recognized as processed.
+ * <p>
+ * Results completed in a month without a partition land in the DEFAULT partitions; they are
+ * moved into their month's partition when it is created, and reported here until then.
+ * <p>
+ * Metrics: {@code result.partition.archived.rows} and {@code result.partition.archived.bytes},
+ * tagged with the table.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    private final ResultPartitionRepository resultPartitionRepository;
+    private final MeterRegistry meterRegistry;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archiveEnabled;
+    private final Path archiveDir;
+    private final long detachLockTimeoutMillis;
+
+    public PartitionMaintenanceServiceImpl(ResultPartitionRepository resultPartitionRepository,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${result.partition.months-ahead:3}") int monthsAhead,
+                                           @Value("${result.partition.retention-months:24}") int retentionMonths,
+                                           @Value("${result.partition.archive.enabled:false}") boolean archiveEnabled,
+                                           @Value("${result.partition.archive.dir:./archive}") String archiveDir,
+                                           @Value("${result.partition.archive.detach-lock-timeout-ms:10000}")
+                                           long detachLockTimeoutMillis) {
+        this.resultPartitionRepository = resultPartitionRepository;
+        this.meterRegistry = meterRegistry;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.archiveEnabled = archiveEnabled;
+        this.archiveDir = Path.of(archiveDir);
+        this.detachLockTimeoutMillis = detachLockTimeoutMillis;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${result.partition.maintenance-cron:0 15 3 * * *}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            resultPartitionRepository.createMonthPartitions(current.plusMonths(i));
+        }
+        log.debug("Result partitions present through {}", current.plusMonths(monthsAhead));
+        long outOfRange = resultPartitionRepository.countDefaultPartitionRows();
+        if (outOfRange > 0) {
+            log.warn("{} result rows are in the default partitions: completed after {} or in an archived month",
+                    outOfRange, current.plusMonths(monthsAhead));
+        }
+    }
+
+    @Override
+    public SortedSet<YearMonth> findArchivedMonths() {
+        return resultPartitionRepository.findArchivedMonths();
+    }
+
+    @Scheduled(cron = "${result.partition.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (archiveEnabled) {
+            archiveExpiredPartitions();
+        }
+    }
+
+    @Override
+    public List<ArchivedPartition> archiveExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        List<YearMonth> expired = resultPartitionRepository.findPartitionMonths().headSet(oldestKept).stream().toList();
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+
+        log.info("Archiving result partitions of {} to {}", expired, archiveDir.toAbsolutePath());
+        List<ArchivedPartition> archived =
+                resultPartitionRepository.archiveMonths(expired, archiveDir, detachLockTimeoutMillis);
+        for (ArchivedPartition partition : archived) {
+            meterRegistry.counter("result.partition.archived.rows", "table", partition.table())
+                    .increment(partition.rows());
+            meterRegistry.counter("result.partition.archived.bytes", "table", partition.table())
+                    .increment(partition.bytes());
+            log.info("Archived {} {}: {} rows, {} bytes -> {}",
+                    partition.table(), partition.month(), partition.rows(), partition.bytes(), partition.file());
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,81 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.repository.PerformanceHistoryRepository;
+import com.certimaster.result_service.service.PerformanceHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of PerformanceHistoryService.
+ * Rolls results up by completion day so trend queries read at most one row per day.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PerformanceHistoryServiceImpl implements PerformanceHistoryService {
+
+    private final PerformanceHistoryRepository performanceHistoryRepository;
+
+    @Override
+    @Transactional
+    public void applyResults(Collection<ExamResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+
+        Map<DayKey, DayDelta> deltas = new LinkedHashMap<>();
+        for (ExamResult result : results) {
+            DayKey key = new DayKey(result.getUserId(), result.getCertificationId(),
+                    result.getCompletedAt().toLocalDate());
+            deltas.computeIfAbsent(key, k -> new DayDelta()).add(result);
+        }
+
+        deltas.forEach((key, delta) -> performanceHistoryRepository.applyDelta(
+                key.userId(),
+                key.certificationId(),
+                key.examDate(),
+                delta.examCount,
+                delta.scoreSum,
+                delta.percentageSum,
+                delta.minPercentage,
+                delta.maxPercentage));
+
+        log.debug("Applied {} results to {} daily performance rows", results.size(), deltas.size());
+    }
+
+    private record DayKey(Long userId, Long certificationId, LocalDate examDate) {
+    }
+
+    /**
+     * Accumulated change for one daily rollup row.
+     */
+    private static final class DayDelta {
+        private int examCount;
+        private BigDecimal scoreSum = BigDecimal.ZERO;
+        private BigDecimal percentageSum = BigDecimal.ZERO;
+        private BigDecimal minPercentage;
+        private BigDecimal maxPercentage;
+
+        void add(ExamResult result) {
+            BigDecimal percentage = result.getPercentage();
+            examCount++;
+            scoreSum = scoreSum.add(result.getScore());
+            percentageSum = percentageSum.add(percentage);
+            if (minPercentage == null || percentage.compareTo(minPercentage) < 0) {
+                minPercentage = percentage;
+            }
+            if (maxPercentage == null || percentage.compareTo(maxPercentage) > 0) {
+                maxPercentage = percentage;
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.repository.ProjectionRebuildRepository;
+import com.certimaster.result_service.service.LeaderboardService;
+import com.certimaster.result_service.service.ProjectionRebuildService;
+import com.certimaster.result_service.service.UserAccuracyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of ProjectionRebuildService.
+ * <p>
+ * One read transaction streams (userId, resultCount) pairs through a server-side cursor and
+ * cuts them into contiguous user-ID ranges of about {@code result.rebuild.chunk-results}
+ * results. Each range is handed to a virtual thread, at most
+ * {@code result.rebuild.parallelism} at a time (each holds a database connection), which
+ * writes every requested projection for its users with one {@code INSERT ... SELECT} per
+ * shadow table. The database does the aggregation next to the data; only range bounds cross
+ * the wire. Packed answers of cold months are then folded into the range's question accuracy
+ * rows. Once all ranges are written the shadows are analyzed and swapped in together.
+ * Any failure drops the shadows and leaves the live projections untouched.
+ */
+@Slf4j
+@Service
+public class ProjectionRebuildServiceImpl implements ProjectionRebuildService {
+
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ProjectionRebuildRepository projectionRebuildRepository;
+    private final LeaderboardService leaderboardService;
+    private final UserAccuracyService userAccuracyService;
+    private final TransactionTemplate streamTransactionTemplate;
+    private final TransactionTemplate swapTransactionTemplate;
+    private final int parallelism;
+    private final long chunkResults;
+    private final long swapLockTimeoutMillis;
+
+    public ProjectionRebuildServiceImpl(ProjectionRebuildRepository projectionRebuildRepository,
+                                        LeaderboardService leaderboardService,
+                                        UserAccuracyService userAccuracyService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${result.rebuild.parallelism:8}") int parallelism,
+                                        @Value("${result.rebuild.chunk-results:20000}") long chunkResults,
+                                        @Value("${result.rebuild.swap-lock-timeout-ms:10000}") long swapLockTimeoutMillis) {
+        this.projectionRebuildRepository = projectionRebuildRepository;
+        this.leaderboardService = leaderboardService;
+        this.userAccuracyService = userAccuracyService;
+        this.streamTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.streamTransactionTemplate.setReadOnly(true);
+        this.swapTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkResults = Math.max(1, chunkResults);
+        this.swapLockTimeoutMillis = swapLockTimeoutMillis;
+    }
+
+    @Override
+    public RebuildReport rebuild(Set<Projection> projections) {
+        if (projections.isEmpty()) {
+            throw new IllegalArgumentException("No projection to rebuild");
+        }
+        List<Projection> ordered = List.copyOf(EnumSet.copyOf(projections));
+        List<String> tables = ordered.stream().map(Projection::table).toList();
+        log.info("Rebuilding {} with {} workers, ~{} results per range", tables, parallelism, chunkResults);
+
+        Progress progress = new Progress(ordered);
+        tables.forEach(projectionRebuildRepository::createShadow);
+        try {
+            fillShadows(ordered, progress);
+            tables.forEach(projectionRebuildRepository::analyzeShadow);
+            swapTransactionTemplate.executeWithoutResult(
+                    status -> projectionRebuildRepository.swapShadows(tables, swapLockTimeoutMillis));
+        } catch (RuntimeException e) {
+            log.error("Projection rebuild failed after {} rows; dropping shadow tables", progress.totalRows(), e);
+            tables.forEach(projectionRebuildRepository::dropShadow);
+            throw e;
+        }
+
+        if (ordered.contains(Projection.USER_PROGRESS)) {
+            leaderboardService.rebuild();
+        }
+
+        RebuildReport report = progress.toReport();
+        log.info("Projection rebuild complete: {} users, {} rows in {} ms ({} rows/sec) {}",
+                report.users(), report.totalRows(), report.elapsed().toMillis(), report.rowsPerSecond(),
+                report.rows());
+        return report;
+    }
+
+    private void fillShadows(List<Projection> projections, Progress progress) {
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("projection-rebuild-", 0).factory())) {
+            UserRange.Builder range = new UserRange.Builder();
+            streamTransactionTemplate.executeWithoutResult(status ->
+                    projectionRebuildRepository.streamUserResultCounts((userId, resultCount) -> {
+                        if (failure.get() != null) {
+                            // Stop streaming; the executor still waits for running ranges
+                            throw failure.get();
+                        }
+                        range.add(userId, resultCount);
+                        if (range.results() >= chunkResults) {
+                            submit(executor, permits, range.take(), projections, progress, failure);
+                        }
+                    }));
+            if (!range.isEmpty()) {
+                submit(executor, permits, range.take(), projections, progress, failure);
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void submit(ExecutorService executor, Semaphore permits, UserRange range,
+                        List<Projection> projections, Progress progress,
+                        AtomicReference<RuntimeException> failure) {
+        try {
+            // Back-pressure: the cursor only advances as fast as the workers write
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching user range " + range, e);
+        }
+        executor.execute(() -> {
+            try {
+                for (Projection projection : projections) {
+                    int rows = projectionRebuildRepository.insertRange(
+                            projection.table(), range.fromUserId(), range.toUserId());
+                    if (projection == Projection.USER_QUESTION_ACCURACY) {
+                        userAccuracyService.foldPackedAnswers(range.fromUserId(), range.toUserId(),
+                                projectionRebuildRepository::mergeQuestionAccuracy);
+                    }
+                    progress.addRows(projection, rows);
+                }
+                progress.rangeDone(range);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Contiguous users [fromUserId, toUserId] written by one worker.
+     */
+    private record UserRange(long fromUserId, long toUserId, long users, long results) {
+
+        /**
+         * Accumulates streamed users until the range is large enough. Used by the streaming
+         * thread only.
+         */
+        private static final class Builder {
+            private long fromUserId;
+            private long toUserId;
+            private long users;
+            private long results;
+
+            void add(long userId, long resultCount) {
+                if (users == 0) {
+                    fromUserId = userId;
+                }
+                toUserId = userId;
+                users++;
+                results += resultCount;
+            }
+
+            long results() {
+                return results;
+            }
+
+            boolean isEmpty() {
+                return users == 0;
+            }
+
+            UserRange take() {
+                UserRange range = new UserRange(fromUserId, toUserId, users, results);
+                users = 0;
+                results = 0;
+                return range;
+            }
+        }
+    }
+
+    /**
+     * Counters shared by the workers; logs progress at most every 10 seconds.
+     */
+    private static final class Progress {
+        private final long startNanos = System.nanoTime();
+        private final Map<Projection, LongAdder> rows = new EnumMap<>(Projection.class);
+        private final LongAdder users = new LongAdder();
+        private final LongAdder ranges = new LongAdder();
+        private final AtomicLong lastLogNanos = new AtomicLong(startNanos);
+
+        Progress(List<Projection> projections) {
+            projections.forEach(p -> rows.put(p, new LongAdder()));
+        }
+
+        void addRows(Projection projection, int count) {
+            rows.get(projection).add(count);
+        }
+
+        void rangeDone(UserRange range) {
+            users.add(range.users());
+            ranges.increment();
+
+            long now = System.nanoTime();
+            long last = lastLogNanos.get();
+            if (now - last >= PROGRESS_LOG_INTERVAL_NANOS && lastLogNanos.compareAndSet(last, now)) {
+                long totalRows = totalRows();
+                long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - startNanos));
+                log.info("Projection rebuild progress: {} ranges, {} users, {} rows ({} rows/sec), up to user {}",
+                        ranges.sum(), users.sum(), totalRows, totalRows * 1000 / elapsedMillis, range.toUserId());
+            }
+        }
+
+        long totalRows() {
+            return rows.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        RebuildReport toReport() {
+            Map<Projection, Long> written = new EnumMap<>(Projection.class);
+            rows.forEach((projection, count) -> written.put(projection, count.sum()));
+            return new RebuildReport(written, users.sum(), Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.repository.ResultExportRepository;
+import com.certimaster.result_service.repository.ResultExportRepository.ExportedResult;
+import com.certimaster.result_service.repository.ResultExportRepository.ExportedTopic;
+import com.certimaster.result_service.service.ResultExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of ResultExportService.
+ * <p>
+ * Each export runs one read-only transaction whose cursor fetches
+ * {@code result.export.fetch-size} rows at a time; rows are written to the response as they
+ * arrive, so memory use does not depend on the export size and a slow client slows the
+ * cursor down. An export holds a database connection until it finishes, which is why at most
+ * {@code result.export.max-concurrent} run at a time. A client that disconnects ends the
+ * export with the next failed write.
+ * <p>
+ * Metrics: {@code result.export.rows} (tagged with the format) and
+ * {@code result.export.rejected}.
+ */
+@Slf4j
+@Service
+public class ResultExportServiceImpl implements ResultExportService {
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private static final String CSV_HEADER = "result_id,session_id,user_id,exam_id,certification_id,total_questions,"
+            + "correct_answers,wrong_answers,unanswered,score,percentage,pass_status,time_taken_seconds,completed_at";
+    private static final String CSV_TOPIC_HEADER =
+            ",topic_id,topic_name,topic_total_questions,topic_correct_answers,topic_percentage";
+
+    private final ResultExportRepository resultExportRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore slots;
+    private final int fetchSize;
+
+    public ResultExportServiceImpl(ResultExportRepository resultExportRepository,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${result.export.max-concurrent:2}") int maxConcurrent,
+                                   @Value("${result.export.fetch-size:1000}") int fetchSize) {
+        this.resultExportRepository = resultExportRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    @Override
+    public Optional<ResultExport> open(ExportRequest request) {
+        if (!slots.tryAcquire()) {
+            meterRegistry.counter("result.export.rejected").increment();
+            return Optional.empty();
+        }
+        return Optional.of(new ReservedExport(request));
+    }
+
+    private long write(ExportRequest request, OutputStream out) throws IOException {
+        long startNanos = System.nanoTime();
+        RowWriter writer = request.format() == Format.CSV
+                ? new CsvRowWriter(out, request.includeTopics())
+                : new NdjsonRowWriter(out);
+        try {
+            transactionTemplate.executeWithoutResult(status -> resultExportRepository.stream(
+                    request.certificationId(), request.examId(),
+                    request.from().atStartOfDay(), request.to().atStartOfDay(),
+                    request.includeTopics(), fetchSize,
+                    (result, topic) -> {
+                        try {
+                            writer.write(result, topic);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            log.info("Result export {} aborted after {} results: {}", request, writer.results(), e.getMessage());
+            throw e.getCause();
+        } finally {
+            meterRegistry.counter("result.export.rows", "format", request.format().name().toLowerCase(Locale.ROOT))
+                    .increment(writer.results());
+        }
+        log.info("Exported {} results of certification {} ({} to {}) as {} in {} ms", writer.results(),
+                request.certificationId(), request.from(), request.to(), request.format(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return writer.results();
+    }
+
+    /**
+     * Holds one slot until it is written or released, whichever comes first.
+     */
+    private final class ReservedExport implements ResultExport {
+        private final ExportRequest request;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReservedExport(ExportRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public long writeTo(OutputStream out) throws IOException {
+            if (released.get()) {
+                throw new IllegalStateException("Result export slot already released");
+            }
+            try {
+                return write(request, out);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+
+    /**
+     * Writes streamed rows in one format. Rows of one result arrive together.
+     */
+    private interface RowWriter {
+        void write(ExportedResult result, ExportedTopic topic) throws IOException;
+
+        void finish() throws IOException;
+
+        long results();
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer out;
+        private final boolean includeTopics;
+        private long lastResultId = -1;
+        private long results;
+
+        CsvRowWriter(OutputStream out, boolean includeTopics) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+            this.includeTopics = includeTopics;
+            this.out.write(includeTopics ? CSV_HEADER + CSV_TOPIC_HEADER : CSV_HEADER);
+            this.out.write('\n');
+        }
+
+        @Override
+        public void write(ExportedResult r, ExportedTopic topic) throws IOException {
+            if (r.id() != lastResultId) {
+                lastResultId = r.id();
+                results++;
+            }
+            out.write(r.id() + "," + r.sessionId() + "," + r.userId() + "," + r.examId() + "," + r.certificationId()
+                    + "," + r.totalQuestions() + "," + r.correctAnswers() + "," + r.wrongAnswers()
+                    + "," + r.unanswered() + "," + r.score().toPlainString() + "," + r.percentage().toPlainString()
+                    + "," + escape(r.passStatus()) + "," + nullable(r.timeTakenSeconds()) + "," + r.completedAt());
+            if (includeTopics) {
+                if (topic == null) {
+                    out.write(",,,,,");
+                } else {
+                    out.write("," + topic.topicId() + "," + escape(topic.topicName())
+                            + "," + nullable(topic.totalQuestions()) + "," + nullable(topic.correctAnswers())
+                            + "," + (topic.percentage() == null ? "" : topic.percentage().toPlainString()));
+                }
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public long results() {
+            return results;
+        }
+
+        private static String nullable(Integer value) {
+            return value == null ? "" : value.toString();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * Holds the topics of the current result until its last row has arrived.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator json;
+        private final List<ExportedTopic> topics = new ArrayList<>();
+        private ExportedResult current;
+        private long results;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(ExportedResult result, ExportedTopic topic) throws IOException {
+            if (current != null && current.id() != result.id()) {
+                writeCurrent();
+            }
+            current = result;
+            if (topic != null) {
+                topics.add(topic);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (current != null) {
+                writeCurrent();
+            }
+            json.flush();
+        }
+
+        @Override
+        public long results() {
+            return results;
+        }
+
+        private void writeCurrent() throws IOException {
+            ExportedResult r = current;
+            json.writeStartObject();
+            json.writeNumberField("resultId", r.id());
+            json.writeNumberField("sessionId", r.sessionId());
+            json.writeNumberField("userId", r.userId());
+            json.writeNumberField("examId", r.examId());
+            json.writeNumberField("certificationId", r.certificationId());
+            json.writeNumberField("totalQuestions", r.totalQuestions());
+            json.writeNumberField("correctAnswers", r.correctAnswers());
+            json.writeNumberField("wrongAnswers", r.wrongAnswers());
+            json.writeNumberField("unanswered", r.unanswered());
+            json.writeNumberField("score", r.score());
+            json.writeNumberField("percentage", r.percentage());
+            json.writeStringField("passStatus", r.passStatus());
+            writeNullableNumber("timeTakenSeconds", r.timeTakenSeconds());
+            json.writeStringField("completedAt", r.completedAt().toString());
+            if (!topics.isEmpty()) {
+                json.writeArrayFieldStart("topicPerformances");
+                for (ExportedTopic topic : topics) {
+                    json.writeStartObject();
+                    json.writeNumberField("topicId", topic.topicId());
+                    json.writeStringField("topicName", topic.topicName());
+                    writeNullableNumber("totalQuestions", topic.totalQuestions());
+                    writeNullableNumber("correctAnswers", topic.correctAnswers());
+                    writeNullableDecimal("percentage", topic.percentage());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+
+            topics.clear();
+            current = null;
+            results++;
+        }
+
+        private void writeNullableNumber(String field, Integer value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+
+        private void writeNullableDecimal(String field, BigDecimal value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+    }
+}
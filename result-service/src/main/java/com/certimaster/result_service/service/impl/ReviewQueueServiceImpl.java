@@ -0,0 +1,125 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.dto.response.ReviewQuestionResponse;
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.entity.QuestionResult;
+import com.certimaster.result_service.repository.ReviewQueueRepository;
+import com.certimaster.result_service.repository.ReviewQueueRepository.QueuedQuestion;
+import com.certimaster.result_service.repository.ReviewQueueRepository.Review;
+import com.certimaster.result_service.service.ReviewQueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementation of ReviewQueueService.
+ * A correct answer is graded quality 4 and a wrong one quality 1; unanswered questions are
+ * not graded. The answers of a batch are written in rounds of at most one answer per
+ * (user, question), so a question answered in several results of the batch is scheduled in
+ * completion order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewQueueServiceImpl implements ReviewQueueService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final int RECALL_QUALITY = 4;
+    private static final int LAPSE_QUALITY = 1;
+
+    private static final Comparator<GradedAnswer> ANSWER_ORDER = Comparator.comparing(GradedAnswer::userId)
+            .thenComparing(GradedAnswer::questionId)
+            .thenComparing(GradedAnswer::answeredAt);
+
+    private final ReviewQueueRepository reviewQueueRepository;
+
+    @Override
+    @Transactional
+    public void applyResults(Collection<ExamResult> results) {
+        List<GradedAnswer> answers = new ArrayList<>();
+        for (ExamResult result : results) {
+            for (QuestionResult qr : result.getQuestionResults()) {
+                if (qr.getIsCorrect() != null) {
+                    answers.add(new GradedAnswer(result.getUserId(), qr.getQuestionId(), result.getCompletedAt(),
+                            qr.getIsCorrect()));
+                }
+            }
+        }
+        if (answers.isEmpty()) {
+            return;
+        }
+        // Sorted by key, so each key's answers are in time order. Each round is one batch in key
+        // order, and later rounds only revisit keys of the first, so concurrent batches lock shared
+        // rows in the same order (bar a question first recalled while unqueued, then lapsed)
+        answers.sort(ANSWER_ORDER);
+
+        List<GradedAnswer> pending = answers;
+        int rounds = 0;
+        while (!pending.isEmpty()) {
+            List<Review> reviews = new ArrayList<>();
+            List<GradedAnswer> later = new ArrayList<>();
+            GradedAnswer previous = null;
+            for (GradedAnswer answer : pending) {
+                if (previous != null && previous.sameKey(answer)) {
+                    later.add(answer);
+                    continue;
+                }
+                previous = answer;
+                reviews.add(answer.toReview());
+            }
+            reviewQueueRepository.applyReviews(reviews);
+            pending = later;
+            rounds++;
+        }
+        log.debug("Applied {} graded answers to review queues in {} rounds", answers.size(), rounds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewQuestionResponse> getDueQuestions(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return reviewQueueRepository.findDue(userId, LocalDateTime.now(), size).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * SM-2 ease adjustment: EF' = EF + 0.1 - (5 - q) * (0.08 + (5 - q) * 0.02).
+     */
+    static BigDecimal easeDelta(int quality) {
+        int miss = 5 - quality;
+        return BigDecimal.valueOf(10 - miss * (8 + miss * 2), 2);
+    }
+
+    private ReviewQuestionResponse toResponse(QueuedQuestion row) {
+        return ReviewQuestionResponse.builder()
+                .questionId(row.questionId())
+                .dueAt(row.dueAt())
+                .repetitions(row.repetitions())
+                .intervalDays(row.intervalDays())
+                .easeFactor(row.easeFactor())
+                .lapseCount(row.lapseCount())
+                .lastReviewedAt(row.lastReviewedAt())
+                .build();
+    }
+
+    private record GradedAnswer(Long userId, Long questionId, LocalDateTime answeredAt, boolean correct) {
+
+        boolean sameKey(GradedAnswer other) {
+            return userId.equals(other.userId) && questionId.equals(other.questionId);
+        }
+
+        Review toReview() {
+            return new Review(userId, questionId, answeredAt, correct,
+                    easeDelta(correct ? RECALL_QUALITY : LAPSE_QUALITY));
+        }
+    }
+}
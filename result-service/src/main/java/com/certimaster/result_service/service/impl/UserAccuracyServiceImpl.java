@@ -0,0 +1,264 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.dto.response.QuestionAccuracyResponse;
+import com.certimaster.result_service.dto.response.TopicAccuracyResponse;
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.entity.QuestionResult;
+import com.certimaster.result_service.entity.TopicPerformance;
+import com.certimaster.result_service.entity.UserQuestionAccuracy;
+import com.certimaster.result_service.entity.UserTopicAccuracy;
+import com.certimaster.result_service.repository.UserAccuracyBatchRepository;
+import com.certimaster.result_service.repository.UserAccuracyBatchRepository.QuestionDelta;
+import com.certimaster.result_service.repository.UserAccuracyBatchRepository.TopicDelta;
+import com.certimaster.result_service.repository.UserQuestionAccuracyRepository;
+import com.certimaster.result_service.repository.UserTopicAccuracyRepository;
+import com.certimaster.result_service.service.ColdStorageService;
+import com.certimaster.result_service.service.UserAccuracyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of UserAccuracyService.
+ * Results are folded per (user, certification, topic) and per (user, question) and written
+ * as sorted JDBC batches of delta upserts. A rebuild adds the packed answers of cold months
+ * to the question rows recomputed from question_results.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAccuracyServiceImpl implements UserAccuracyService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final int PACKED_DELTA_BATCH = 10_000;
+
+    private final UserTopicAccuracyRepository userTopicAccuracyRepository;
+    private final UserQuestionAccuracyRepository userQuestionAccuracyRepository;
+    private final UserAccuracyBatchRepository userAccuracyBatchRepository;
+    private final ColdStorageService coldStorageService;
+
+    @Override
+    @Transactional
+    public void applyResults(Collection<ExamResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+
+        Map<TopicKey, TopicAccumulator> topics = new HashMap<>();
+        Map<QuestionKey, QuestionAccumulator> questions = new HashMap<>();
+        for (ExamResult result : results) {
+            for (TopicPerformance tp : result.getTopicPerformances()) {
+                topics.computeIfAbsent(new TopicKey(result.getUserId(), result.getCertificationId(), tp.getTopicId()),
+                        k -> new TopicAccumulator()).add(tp, result.getCompletedAt());
+            }
+            for (QuestionResult qr : result.getQuestionResults()) {
+                questions.computeIfAbsent(new QuestionKey(result.getUserId(), qr.getQuestionId()),
+                        k -> new QuestionAccumulator()).add(qr, result.getCompletedAt());
+            }
+        }
+
+        // Sorted so concurrent batches lock rows in the same order
+        List<TopicDelta> topicDeltas = topics.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(TopicKey.ORDER))
+                .map(e -> e.getValue().toDelta(e.getKey()))
+                .toList();
+        List<QuestionDelta> questionDeltas = toQuestionDeltas(questions);
+
+        userAccuracyBatchRepository.applyTopicDeltas(topicDeltas);
+        userAccuracyBatchRepository.applyQuestionDeltas(questionDeltas);
+
+        log.debug("Applied {} results to {} topic and {} question accuracy rows",
+                results.size(), topicDeltas.size(), questionDeltas.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopicAccuracyResponse> getTopicAccuracy(Long userId) {
+        return userTopicAccuracyRepository.findByUserIdOrderByAveragePercentageAsc(userId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopicAccuracyResponse> getWeakTopics(Long userId, Long certificationId, BigDecimal threshold) {
+        return userTopicAccuracyRepository
+                .findByUserIdAndCertificationIdAndAveragePercentageLessThanOrderByAveragePercentageAsc(
+                        userId, certificationId, threshold).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuestionAccuracyResponse> getFrequentlyWrongQuestions(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return userQuestionAccuracyRepository
+                .findByUserIdAndWrongCountGreaterThanOrderByWrongCountDescQuestionIdAsc(userId, 0, Limit.of(size))
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        int topicRows = userTopicAccuracyRepository.rebuildFromResults();
+        // Rows of users whose answers are all packed would otherwise keep their old counts
+        userQuestionAccuracyRepository.deleteAllInBatch();
+        int questionRows = userQuestionAccuracyRepository.rebuildFromResults();
+        int packedRows = foldPackedAnswers(Long.MIN_VALUE, Long.MAX_VALUE,
+                userAccuracyBatchRepository::applyQuestionDeltas);
+        log.info("Rebuilt {} topic and {} question accuracy rows from exam results ({} packed deltas)",
+                topicRows, questionRows, packedRows);
+        return topicRows + questionRows;
+    }
+
+    /**
+     * Answers arrive in user ID order, so a batch is handed over whenever it is large enough
+     * and the next user starts.
+     */
+    @Override
+    public int foldPackedAnswers(long fromUserId, long toUserId, Consumer<List<QuestionDelta>> sink) {
+        Map<QuestionKey, QuestionAccumulator> questions = new HashMap<>();
+        long[] lastUserId = {Long.MIN_VALUE};
+        int[] folded = {0};
+        coldStorageService.scanAnswersOfUsers(fromUserId, toUserId,
+                (userId, completedAt, percentage, questionId, correct, timeSpentSeconds) -> {
+                    if (userId != lastUserId[0] && questions.size() >= PACKED_DELTA_BATCH) {
+                        folded[0] += drainTo(questions, sink);
+                    }
+                    lastUserId[0] = userId;
+                    questions.computeIfAbsent(new QuestionKey(userId, questionId), k -> new QuestionAccumulator())
+                            .add(correct, completedAt);
+                });
+        folded[0] += drainTo(questions, sink);
+        return folded[0];
+    }
+
+    private static int drainTo(Map<QuestionKey, QuestionAccumulator> questions, Consumer<List<QuestionDelta>> sink) {
+        if (questions.isEmpty()) {
+            return 0;
+        }
+        List<QuestionDelta> deltas = toQuestionDeltas(questions);
+        questions.clear();
+        sink.accept(deltas);
+        return deltas.size();
+    }
+
+    /**
+     * Sorted so concurrent batches lock rows in the same order.
+     */
+    private static List<QuestionDelta> toQuestionDeltas(Map<QuestionKey, QuestionAccumulator> questions) {
+        return questions.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(QuestionKey.ORDER))
+                .map(e -> e.getValue().toDelta(e.getKey()))
+                .toList();
+    }
+
+    private TopicAccuracyResponse toResponse(UserTopicAccuracy row) {
+        return TopicAccuracyResponse.builder()
+                .certificationId(row.getCertificationId())
+                .topicId(row.getTopicId())
+                .topicName(row.getTopicName())
+                .attempts(row.getAttemptCount())
+                .questionCount(row.getQuestionCount())
+                .correctCount(row.getCorrectCount())
+                .averagePercentage(row.getAveragePercentage())
+                .lastAttemptAt(row.getLastAttemptAt())
+                .build();
+    }
+
+    private QuestionAccuracyResponse toResponse(UserQuestionAccuracy row) {
+        return QuestionAccuracyResponse.builder()
+                .questionId(row.getQuestionId())
+                .attempts(row.getAttemptCount())
+                .correctCount(row.getCorrectCount())
+                .wrongCount(row.getWrongCount())
+                .lastAnsweredAt(row.getLastAnsweredAt())
+                .build();
+    }
+
+    private record TopicKey(Long userId, Long certificationId, Long topicId) {
+        static final Comparator<TopicKey> ORDER = Comparator.comparing(TopicKey::userId)
+                .thenComparing(TopicKey::certificationId)
+                .thenComparing(TopicKey::topicId);
+    }
+
+    private record QuestionKey(Long userId, Long questionId) {
+        static final Comparator<QuestionKey> ORDER = Comparator.comparing(QuestionKey::userId)
+                .thenComparing(QuestionKey::questionId);
+    }
+
+    /**
+     * Accumulated change for one topic accuracy row.
+     */
+    private static final class TopicAccumulator {
+        private String topicName;
+        private int attemptCount;
+        private int questionCount;
+        private int correctCount;
+        private BigDecimal percentageSum = BigDecimal.ZERO;
+        private LocalDateTime lastAttemptAt;
+
+        void add(TopicPerformance tp, LocalDateTime completedAt) {
+            if (tp.getTopicName() != null) {
+                topicName = tp.getTopicName();
+            }
+            attemptCount++;
+            questionCount += tp.getTotalQuestions();
+            correctCount += tp.getCorrectAnswers();
+            percentageSum = percentageSum.add(tp.getPercentage());
+            if (lastAttemptAt == null || completedAt.isAfter(lastAttemptAt)) {
+                lastAttemptAt = completedAt;
+            }
+        }
+
+        TopicDelta toDelta(TopicKey key) {
+            return new TopicDelta(key.userId(), key.certificationId(), key.topicId(), topicName,
+                    attemptCount, questionCount, correctCount, percentageSum, lastAttemptAt);
+        }
+    }
+
+    /**
+     * Accumulated change for one question accuracy row.
+     */
+    private static final class QuestionAccumulator {
+        private int attemptCount;
+        private int correctCount;
+        private int wrongCount;
+        private LocalDateTime lastAnsweredAt;
+
+        void add(QuestionResult qr, LocalDateTime completedAt) {
+            add(qr.getIsCorrect(), completedAt);
+        }
+
+        void add(Boolean correct, LocalDateTime completedAt) {
+            attemptCount++;
+            if (Boolean.TRUE.equals(correct)) {
+                correctCount++;
+            } else if (Boolean.FALSE.equals(correct)) {
+                wrongCount++;
+            }
+            if (lastAnsweredAt == null || completedAt.isAfter(lastAnsweredAt)) {
+                lastAnsweredAt = completedAt;
+            }
+        }
+
+        QuestionDelta toDelta(QuestionKey key) {
+            return new QuestionDelta(key.userId(), key.questionId(), attemptCount, correctCount, wrongCount,
+                    lastAnsweredAt);
+        }
+    }
+}
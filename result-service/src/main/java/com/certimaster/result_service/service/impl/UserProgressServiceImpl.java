@@ -0,0 +1,89 @@
+package com.certimaster.result_service.service.impl;
+
+import com.certimaster.result_service.entity.ExamResult;
+import com.certimaster.result_service.repository.UserProgressRepository;
+import com.certimaster.result_service.service.UserProgressService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of UserProgressService.
+ * Keeps user_progress as running totals so progress reads are single-row lookups.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProgressServiceImpl implements UserProgressService {
+
+    private final UserProgressRepository userProgressRepository;
+
+    @Override
+    @Transactional
+    public void applyResults(Collection<ExamResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+
+        Map<ProgressKey, ProgressDelta> deltas = new LinkedHashMap<>();
+        for (ExamResult result : results) {
+            deltas.computeIfAbsent(new ProgressKey(result.getUserId(), result.getCertificationId()),
+                    k -> new ProgressDelta()).add(result);
+        }
+
+        deltas.forEach((key, delta) -> userProgressRepository.applyDelta(
+                key.userId(),
+                key.certificationId(),
+                delta.examCount,
+                delta.questionCount,
+                delta.correctCount,
+                delta.scoreSum,
+                delta.bestScore,
+                delta.latestExamDate));
+
+        log.debug("Applied {} results to {} user progress rows", results.size(), deltas.size());
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        int rows = userProgressRepository.rebuildFromResults();
+        log.info("Rebuilt {} user progress rows from exam results", rows);
+        return rows;
+    }
+
+    private record ProgressKey(Long userId, Long certificationId) {
+    }
+
+    /**
+     * Accumulated change for one progress row.
+     */
+    private static final class ProgressDelta {
+        private int examCount;
+        private int questionCount;
+        private int correctCount;
+        private BigDecimal scoreSum = BigDecimal.ZERO;
+        private BigDecimal bestScore;
+        private LocalDateTime latestExamDate;
+
+        void add(ExamResult result) {
+            examCount++;
+            questionCount += result.getTotalQuestions();
+            correctCount += result.getCorrectAnswers();
+            scoreSum = scoreSum.add(result.getPercentage());
+            if (bestScore == null || result.getPercentage().compareTo(bestScore) > 0) {
+                bestScore = result.getPercentage();
+            }
+            if (latestExamDate == null || result.getCompletedAt().isAfter(latestExamDate)) {
+                latestExamDate = result.getCompletedAt();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.certimaster.result_service.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Mergeable aggregate of the results of one exam in one time bucket: count, passes,
+ * percentage and time sums, and fixed-width score and time histograms. Two aggregates merge
+ * by adding every field, so any range is answered by merging its buckets. Not thread-safe;
+ * callers synchronize.
+ */
+public final class ExamWindowStats {
+
+    /**
+     * Score histogram buckets of 5 percentage points; 100% falls into the last one.
+     */
+    public static final int SCORE_BUCKET_WIDTH = 5;
+    public static final int SCORE_BUCKETS = 100 / SCORE_BUCKET_WIDTH;
+
+    /**
+     * Lower bounds (seconds) of the time histogram buckets after the first: under 5 minutes,
+     * 5-10, 10-15, 15-20, 20-30, 30-45, 45-60, 60-90, 90-120, 120-180, 180 and more.
+     */
+    public static final int[] TIME_BUCKET_BOUNDS_SECONDS = {300, 600, 900, 1200, 1800, 2700, 3600, 5400, 7200, 10800};
+    public static final int TIME_BUCKETS = TIME_BUCKET_BOUNDS_SECONDS.length + 1;
+
+    private long resultCount;
+    private long passCount;
+    private BigDecimal percentageSum = BigDecimal.ZERO;
+    private long timeCount;
+    private long timeSum;
+    private final long[] scoreHistogram;
+    private final long[] timeHistogram;
+
+    public ExamWindowStats() {
+        this(0, 0, BigDecimal.ZERO, 0, 0, new long[SCORE_BUCKETS], new long[TIME_BUCKETS]);
+    }
+
+    public ExamWindowStats(long resultCount, long passCount, BigDecimal percentageSum, long timeCount, long timeSum,
+                           long[] scoreHistogram, long[] timeHistogram) {
+        if (scoreHistogram.length != SCORE_BUCKETS || timeHistogram.length != TIME_BUCKETS) {
+            throw new IllegalArgumentException("Unexpected histogram size " + scoreHistogram.length
+                    + "/" + timeHistogram.length);
+        }
+        this.resultCount = resultCount;
+        this.passCount = passCount;
+        this.percentageSum = percentageSum;
+        this.timeCount = timeCount;
+        this.timeSum = timeSum;
+        this.scoreHistogram = scoreHistogram;
+        this.timeHistogram = timeHistogram;
+    }
+
+    /**
+     * Score histogram bucket of a percentage, clamped to 0-100.
+     */
+    public static int scoreBucketOf(BigDecimal percentage) {
+        return Math.max(0, Math.min(SCORE_BUCKETS - 1, percentage.intValue() / SCORE_BUCKET_WIDTH));
+    }
+
+    /**
+     * Time histogram bucket of a duration: the number of bounds at or below it.
+     */
+    public static int timeBucketOf(int seconds) {
+        int bucket = 0;
+        while (bucket < TIME_BUCKET_BOUNDS_SECONDS.length && seconds >= TIME_BUCKET_BOUNDS_SECONDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public void add(boolean passed, BigDecimal percentage, Integer timeTakenSeconds) {
+        resultCount++;
+        if (passed) {
+            passCount++;
+        }
+        percentageSum = percentageSum.add(percentage);
+        scoreHistogram[scoreBucketOf(percentage)]++;
+        if (timeTakenSeconds != null) {
+            timeCount++;
+            timeSum += timeTakenSeconds;
+            timeHistogram[timeBucketOf(timeTakenSeconds)]++;
+        }
+    }
+
+    public ExamWindowStats merge(ExamWindowStats other) {
+        resultCount += other.resultCount;
+        passCount += other.passCount;
+        percentageSum = percentageSum.add(other.percentageSum);
+        timeCount += other.timeCount;
+        timeSum += other.timeSum;
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            scoreHistogram[i] += other.scoreHistogram[i];
+        }
+        for (int i = 0; i < TIME_BUCKETS; i++) {
+            timeHistogram[i] += other.timeHistogram[i];
+        }
+        return this;
+    }
+
+    public long resultCount() {
+        return resultCount;
+    }
+
+    public long passCount() {
+        return passCount;
+    }
+
+    public BigDecimal percentageSum() {
+        return percentageSum;
+    }
+
+    public long timeCount() {
+        return timeCount;
+    }
+
+    public long timeSum() {
+        return timeSum;
+    }
+
+    public long[] scoreHistogram() {
+        return scoreHistogram.clone();
+    }
+
+    public long[] timeHistogram() {
+        return timeHistogram.clone();
+    }
+
+    /**
+     * Size of a time bucket; buckets start at the truncated time.
+     */
+    public enum Granularity {
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime bucketOf(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        /**
+         * The first bucket start at or after the given time.
+         */
+        public LocalDateTime ceil(LocalDateTime time) {
+            LocalDateTime floor = bucketOf(time);
+            return floor.equals(time) ? floor : floor.plus(1, unit);
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plus(1, unit);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.certimaster.result_service.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable histogram of exam percentages with fixed 0.01 buckets over 0.00-100.00.
+ * Backed by a Fenwick tree, so adding a score and counting scores below a value are
+ * O(log 10001) (at most 14 steps, independent of the number of takers). Two histograms
+ * merge by adding bucket counts. Not thread-safe; callers synchronize.
+ */
+public final class ScoreHistogram {
+
+    /**
+     * Number of buckets: 0.00, 0.01, ..., 100.00.
+     */
+    public static final int BUCKETS = 10_001;
+
+    private final int[] tree = new int[BUCKETS + 1];
+    private long total;
+
+    /**
+     * Bucket index of a percentage, clamped to 0.00-100.00.
+     */
+    public static int bucketOf(BigDecimal percentage) {
+        int bucket = percentage.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+        return Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void add(int bucket, int count) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * Number of scores strictly below the given bucket.
+     */
+    public long countBelow(int bucket) {
+        long sum = 0;
+        for (int i = bucket; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Percentage of recorded scores strictly below {@code percentage}, or null if empty.
+     */
+    public BigDecimal percentileRank(BigDecimal percentage) {
+        if (total == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(countBelow(bucketOf(percentage)) * 100)
+                .divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Add every bucket of a sparse delta (bucket to count).
+     */
+    public void merge(Map<Integer, Integer> delta) {
+        delta.forEach(this::add);
+    }
+
+    /**
+     * Add every bucket of a persisted sparse histogram.
+     */
+    public void merge(Integer[] buckets, Integer[] counts) {
+        for (int i = 0; i < buckets.length; i++) {
+            add(buckets[i], counts[i]);
+        }
+    }
+
+    /**
+     * Export non-empty buckets as parallel arrays {buckets, counts} for persistence.
+     */
+    public Integer[][] toSparse() {
+        List<Integer> buckets = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        long previous = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long cumulative = countBelow(bucket + 1);
+            if (cumulative != previous) {
+                buckets.add(bucket);
+                counts.add((int) (cumulative - previous));
+                previous = cumulative;
+            }
+        }
+        return new Integer[][]{buckets.toArray(Integer[]::new), counts.toArray(Integer[]::new)};
+    }
+}
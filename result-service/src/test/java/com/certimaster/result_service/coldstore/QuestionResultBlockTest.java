@@ -0,0 +1,96 @@
+package com.certimaster.result_service.coldstore;
+
+import com.certimaster.result_service.entity.QuestionResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionResultBlockTest {
+
+    @Test
+    void decodeRestoresEveryColumn() {
+        List<QuestionResult> questionResults = sample();
+
+        List<QuestionResult> decoded = QuestionResultBlock.decode(QuestionResultBlock.encode(questionResults));
+
+        assertThat(decoded).hasSameSizeAs(questionResults);
+        for (int i = 0; i < questionResults.size(); i++) {
+            QuestionResult expected = questionResults.get(i);
+            QuestionResult actual = decoded.get(i);
+            assertThat(actual.getQuestionId()).as("question %d", i).isEqualTo(expected.getQuestionId());
+            assertThat(actual.getIsCorrect()).as("correctness %d", i).isEqualTo(expected.getIsCorrect());
+            assertThat(actual.getTimeSpentSeconds()).as("time %d", i).isEqualTo(expected.getTimeSpentSeconds());
+            assertThat(actual.getCorrectAnswerIds()).as("correct answers %d", i).isEqualTo(expected.getCorrectAnswerIds());
+            assertThat(actual.getUserAnswerIds()).as("user answers %d", i).isEqualTo(expected.getUserAnswerIds());
+        }
+    }
+
+    @Test
+    void scanVisitsQuestionCorrectnessAndTime() {
+        List<QuestionResult> questionResults = sample();
+        List<Object[]> visited = new ArrayList<>();
+
+        int count = QuestionResultBlock.scan(QuestionResultBlock.encode(questionResults),
+                (questionId, correct, timeSpentSeconds) -> visited.add(new Object[]{questionId, correct, timeSpentSeconds}));
+
+        assertThat(count).isEqualTo(questionResults.size());
+        assertThat(visited).hasSameSizeAs(questionResults);
+        for (int i = 0; i < questionResults.size(); i++) {
+            QuestionResult expected = questionResults.get(i);
+            Integer time = expected.getTimeSpentSeconds();
+            assertThat(visited.get(i)).as("answer %d", i).containsExactly(expected.getQuestionId(),
+                    expected.getIsCorrect(), time == null ? QuestionResultBlock.NO_TIME : time);
+        }
+    }
+
+    @Test
+    void emptyResultRoundTrips() {
+        byte[] block = QuestionResultBlock.encode(List.of());
+
+        assertThat(QuestionResultBlock.decode(block)).isEmpty();
+        assertThat(QuestionResultBlock.scan(block, (questionId, correct, timeSpentSeconds) -> {
+            throw new AssertionError("no answer expected");
+        })).isZero();
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] block = QuestionResultBlock.encode(sample());
+        block[0] = 99;
+
+        assertThatThrownBy(() -> QuestionResultBlock.decode(block)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuestionResultBlock.scan(new byte[0], (questionId, correct, timeSpentSeconds) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Question and answer IDs go down as well as up, so deltas are negative too; more than
+    // eight questions so the bitsets span several bytes
+    private static List<QuestionResult> sample() {
+        return List.of(
+                question(500L, true, 30, new Long[]{9_001L}, new Long[]{9_001L}),
+                question(12L, false, 0, new Long[]{40L, 41L}, new Long[]{41L}),
+                question(3_000_000_000L, null, null, new Long[]{7L}, null),
+                question(2_999_999_999L, null, 5, null, null),
+                question(1L, false, 12, null, new Long[]{100L, 3L}),
+                question(77L, true, null, new Long[]{5L, 2L, 900L}, new Long[]{5L, 2L, 900L}),
+                question(76L, false, 600, new Long[]{}, new Long[]{8L}),
+                question(10_000L, true, 1, new Long[]{4L}, new Long[]{4L}),
+                question(9_000L, false, 2, new Long[]{3L}, new Long[]{}),
+                question(9_001L, null, 3, new Long[]{2L}, new Long[]{1L, 2L}));
+    }
+
+    private static QuestionResult question(Long questionId, Boolean correct, Integer timeSpentSeconds,
+                                           Long[] correctAnswerIds, Long[] userAnswerIds) {
+        return QuestionResult.builder()
+                .questionId(questionId)
+                .isCorrect(correct)
+                .timeSpentSeconds(timeSpentSeconds)
+                .correctAnswerIds(correctAnswerIds)
+                .userAnswerIds(userAnswerIds)
+                .build();
+    }
+}
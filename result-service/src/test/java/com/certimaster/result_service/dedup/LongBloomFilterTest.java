@@ -0,0 +1,56 @@
+package com.certimaster.result_service.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongBloomFilterTest {
+
+    @Test
+    void neverReportsAnAddedKeyAsAbsent() {
+        LongBloomFilter filter = LongBloomFilter.create(100_000, 0.01);
+        SplittableRandom random = new SplittableRandom(11);
+        long[] keys = new long[100_000];
+        for (int i = 0; i < keys.length; i++) {
+            // Sequential session IDs as well as arbitrary ones, including negatives
+            keys[i] = i % 2 == 0 ? i : random.nextLong();
+            filter.put(keys[i]);
+        }
+
+        for (long key : keys) {
+            assertThat(filter.mightContain(key)).as("key %d", key).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheTargetAtCapacity() {
+        LongBloomFilter filter = LongBloomFilter.create(50_000, 0.01);
+        for (long key = 0; key < 50_000; key++) {
+            filter.put(key);
+        }
+
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFpp()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void sizesForTheTargetProbability() {
+        LongBloomFilter filter = LongBloomFilter.create(1_000, 0.01);
+
+        // 1000 * -ln(0.01) / ln(2)^2 = 9586 bits, rounded up to whole words
+        assertThat(filter.bitSize()).isEqualTo(9_600);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(filter.expectedFpp()).isZero();
+        assertThatThrownBy(() -> LongBloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LongBloomFilter.create(1_000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.certimaster.result_service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedSkipListTest {
+
+    // Same order as the skip list: score descending, then user ID ascending
+    private static final Comparator<long[]> ORDER = Comparator.<long[]>comparingLong(e -> -e[1])
+            .thenComparingLong(e -> e[0]);
+
+    @Test
+    void ranksByScoreDescendingThenUserIdAscending() {
+        RankedSkipList list = new RankedSkipList();
+        list.insert(3, 5_000);
+        list.insert(1, 9_000);
+        list.insert(2, 5_000);
+
+        assertThat(list.top(10)).containsExactly(
+                new RankedSkipList.Entry(1, 1, 9_000),
+                new RankedSkipList.Entry(2, 2, 5_000),
+                new RankedSkipList.Entry(3, 3, 5_000));
+        assertThat(list.rank(3, 5_000)).isEqualTo(3);
+    }
+
+    @Test
+    void absentPairHasNoRankAndIsNotRemoved() {
+        RankedSkipList list = new RankedSkipList();
+        list.insert(1, 8_000);
+
+        assertThat(list.rank(1, 7_000)).isZero();
+        assertThat(list.rank(2, 8_000)).isZero();
+        assertThat(list.remove(1, 7_000)).isFalse();
+        assertThat(list.size()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesSortedListUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        RankedSkipList list = new RankedSkipList();
+        List<long[]> oracle = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            if (oracle.isEmpty() || random.nextInt(3) > 0) {
+                long userId = random.nextInt(5_000);
+                long score = random.nextInt(200);
+                if (oracle.stream().anyMatch(e -> e[0] == userId && e[1] == score)) {
+                    continue;
+                }
+                list.insert(userId, score);
+                oracle.add(new long[]{userId, score});
+            } else {
+                long[] removed = oracle.remove(random.nextInt(oracle.size()));
+                assertThat(list.remove(removed[0], removed[1])).isTrue();
+                assertThat(list.rank(removed[0], removed[1])).isZero();
+            }
+
+            if (step % 500 == 0) {
+                assertMatches(list, oracle);
+            }
+        }
+        assertMatches(list, oracle);
+
+        while (!oracle.isEmpty()) {
+            long[] removed = oracle.remove(oracle.size() - 1);
+            assertThat(list.remove(removed[0], removed[1])).isTrue();
+        }
+        assertThat(list.size()).isZero();
+        assertThat(list.top(10)).isEmpty();
+    }
+
+    private static void assertMatches(RankedSkipList list, List<long[]> oracle) {
+        List<long[]> sorted = new ArrayList<>(oracle);
+        sorted.sort(ORDER);
+
+        assertThat(list.size()).isEqualTo(sorted.size());
+        List<RankedSkipList.Entry> expected = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            long[] entry = sorted.get(i);
+            expected.add(new RankedSkipList.Entry(i + 1, entry[0], entry[1]));
+            assertThat(list.rank(entry[0], entry[1])).isEqualTo(i + 1);
+        }
+        assertThat(list.top(sorted.size())).isEqualTo(expected);
+        assertThat(list.top(10)).isEqualTo(expected.subList(0, Math.min(10, expected.size())));
+    }
+}
@@ -0,0 +1,81 @@
+package com.certimaster.result_service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreHistogramTest {
+
+    @Test
+    void bucketOfRoundsAndClamps() {
+        assertThat(ScoreHistogram.bucketOf(new BigDecimal("0.00"))).isZero();
+        assertThat(ScoreHistogram.bucketOf(new BigDecimal("72.345"))).isEqualTo(7_235);
+        assertThat(ScoreHistogram.bucketOf(new BigDecimal("100.00"))).isEqualTo(ScoreHistogram.BUCKETS - 1);
+        assertThat(ScoreHistogram.bucketOf(new BigDecimal("-3"))).isZero();
+        assertThat(ScoreHistogram.bucketOf(new BigDecimal("250"))).isEqualTo(ScoreHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void toSparseRoundTripsThroughMerge() {
+        Random random = new Random(7);
+        ScoreHistogram histogram = new ScoreHistogram();
+        int[] counts = new int[ScoreHistogram.BUCKETS];
+        for (int i = 0; i < 5_000; i++) {
+            int bucket = random.nextInt(ScoreHistogram.BUCKETS);
+            histogram.add(bucket, 1);
+            counts[bucket]++;
+        }
+        // Both ends of the range
+        histogram.add(0, 3);
+        counts[0] += 3;
+        histogram.add(ScoreHistogram.BUCKETS - 1, 2);
+        counts[ScoreHistogram.BUCKETS - 1] += 2;
+
+        Integer[][] sparse = histogram.toSparse();
+        ScoreHistogram restored = new ScoreHistogram();
+        restored.merge(sparse[0], sparse[1]);
+
+        assertThat(sparse[0]).hasSameSizeAs(sparse[1]).isSorted();
+        for (int i = 0; i < sparse[0].length; i++) {
+            assertThat(sparse[1][i]).as("bucket %d", sparse[0][i]).isEqualTo(counts[sparse[0][i]]).isPositive();
+        }
+        assertThat(sparse[0].length).isEqualTo((int) Arrays.stream(counts).filter(c -> c > 0).count());
+        assertThat(restored.total()).isEqualTo(histogram.total()).isEqualTo(5_005);
+        for (int bucket = 0; bucket <= ScoreHistogram.BUCKETS; bucket += 37) {
+            assertThat(restored.countBelow(bucket)).as("below %d", bucket).isEqualTo(histogram.countBelow(bucket));
+        }
+        assertThat(restored.toSparse()).isDeepEqualTo(sparse);
+    }
+
+    @Test
+    void mergedHistogramsMatchOneFedWithEveryScore() {
+        ScoreHistogram left = new ScoreHistogram();
+        left.add(5_000, 2);
+        left.add(8_000, 1);
+        ScoreHistogram right = new ScoreHistogram();
+        right.merge(Map.of(5_000, 1, 9_950, 4));
+
+        ScoreHistogram merged = new ScoreHistogram();
+        Integer[][] leftSparse = left.toSparse();
+        Integer[][] rightSparse = right.toSparse();
+        merged.merge(leftSparse[0], leftSparse[1]);
+        merged.merge(rightSparse[0], rightSparse[1]);
+
+        assertThat(merged.toSparse()).isDeepEqualTo(new Integer[][]{{5_000, 8_000, 9_950}, {3, 1, 4}});
+        assertThat(merged.total()).isEqualTo(8);
+        assertThat(merged.percentileRank(new BigDecimal("80.00"))).isEqualByComparingTo("37.50");
+    }
+
+    @Test
+    void emptyHistogramHasNoPercentileRank() {
+        ScoreHistogram histogram = new ScoreHistogram();
+
+        assertThat(histogram.percentileRank(new BigDecimal("50"))).isNull();
+        assertThat(histogram.toSparse()).isDeepEqualTo(new Integer[][]{{}, {}});
+    }
+}